@@ -0,0 +1,225 @@
+package com.example.eventwave.adapter;
+
+import android.app.Instrumentation;
+import android.content.Context;
+import android.os.Handler;
+import android.os.Looper;
+import android.util.Log;
+import android.view.ContextThemeWrapper;
+import android.view.View;
+
+import androidx.annotation.NonNull;
+import androidx.lifecycle.Lifecycle;
+import androidx.lifecycle.LifecycleOwner;
+import androidx.lifecycle.LifecycleRegistry;
+import androidx.lifecycle.LiveData;
+import androidx.paging.Pager;
+import androidx.paging.PagingConfig;
+import androidx.paging.PagingData;
+import androidx.paging.PagingLiveData;
+import androidx.recyclerview.widget.LinearLayoutManager;
+import androidx.recyclerview.widget.RecyclerView;
+import androidx.room.Room;
+import androidx.test.ext.junit.runners.AndroidJUnit4;
+import androidx.test.platform.app.InstrumentationRegistry;
+
+import com.example.eventwave.R;
+import com.example.eventwave.database.EventDatabase;
+import com.example.eventwave.model.Event;
+import com.example.eventwave.repository.EventSearchPagingSource;
+import com.example.eventwave.utils.Constants;
+import com.example.eventwave.utils.FtsQuery;
+import com.example.eventwave.utils.FtsRanking;
+import com.google.common.util.concurrent.ListeningExecutorService;
+import com.google.common.util.concurrent.MoreExecutors;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import static org.junit.Assert.*;
+
+/**
+ * Mesure le temps passé sur le thread UI à chaque frappe dans la recherche de l'accueil,
+ * sur 5 000 événements : anti-rebond de HomeFragment, source plein texte paginée et
+ * PagedEventAdapter. Chaque frappe, la bascule vers la nouvelle source et la frame qui
+ * affiche la première page doivent tenir dans le budget d'une frame.
+ */
+@RunWith(AndroidJUnit4.class)
+public class SearchTypingBenchmarkTest {
+    private static final String TAG = "SearchTyping";
+    private static final int EVENT_COUNT = 5000;
+    private static final long FRAME_BUDGET_NANOS = 16_666_667L;
+    // Plus rapide que Constants.SEARCH_DEBOUNCE_MS : seule la saisie finale est recherchée
+    private static final long KEYSTROKE_INTERVAL_MS = 80;
+    private static final int WIDTH = 1080;
+    private static final int HEIGHT = 1920;
+
+    private static final EventAdapter.OnEventClickListener NO_OP = new EventAdapter.OnEventClickListener() {
+        @Override
+        public void onEventClick(Event event) {}
+
+        @Override
+        public void onFavoriteClick(Event event) {}
+    };
+
+    private Instrumentation instrumentation;
+    private EventDatabase db;
+    private ListeningExecutorService executor;
+    private List<Event> events;
+    private RecyclerView recyclerView;
+    private PagedEventAdapter adapter;
+    private LifecycleOwner owner;
+    private LifecycleRegistry lifecycle;
+    private Handler handler;
+
+    @Before
+    public void setUp() {
+        instrumentation = InstrumentationRegistry.getInstrumentation();
+        Context context = new ContextThemeWrapper(instrumentation.getTargetContext(), R.style.AppTheme);
+        db = Room.inMemoryDatabaseBuilder(context, EventDatabase.class)
+                .addCallback(EventDatabase.FTS_SYNC_CALLBACK)
+                .build();
+        executor = MoreExecutors.listeningDecorator(Executors.newSingleThreadExecutor());
+
+        events = new ArrayList<>();
+        String[] words = {"Concert", "Match", "Festival", "Spectacle", "Conférence"};
+        for (int i = 0; i < EVENT_COUNT; i++) {
+            events.add(new Event("bench" + i, words[i % words.length] + " " + i, "Description " + i, "",
+                    i % 2 == 0 ? "Musique" : "Sport", "Lieu " + i, 48.85, 2.35, 1_900_000_000_000L + i, false));
+        }
+        db.eventDao().insertEvents(events);
+
+        instrumentation.runOnMainSync(() -> {
+            owner = new LifecycleOwner() {
+                @NonNull
+                @Override
+                public Lifecycle getLifecycle() {
+                    return lifecycle;
+                }
+            };
+            lifecycle = new LifecycleRegistry(owner);
+            lifecycle.setCurrentState(Lifecycle.State.RESUMED);
+            handler = new Handler(Looper.getMainLooper());
+            recyclerView = new RecyclerView(context);
+            recyclerView.setLayoutManager(new LinearLayoutManager(context));
+            adapter = new PagedEventAdapter(NO_OP);
+            recyclerView.setAdapter(adapter);
+            layoutFrame();
+        });
+    }
+
+    @After
+    public void tearDown() {
+        instrumentation.runOnMainSync(() -> lifecycle.setCurrentState(Lifecycle.State.DESTROYED));
+        executor.shutdownNow();
+        db.close();
+    }
+
+    @Test
+    public void typingStaysWithinFrameBudget() throws Exception {
+        String query = "concert 12";
+        String match = FtsQuery.build(query);
+        int matches = FtsRanking.rank(db.eventDao().searchMatches(match)).length;
+        assertTrue(matches > 0);
+        // Première page affichée : chargement initial de la configuration de EventViewModel
+        int expected = Math.min(matches, Constants.EVENTS_PAGE_SIZE * 2);
+        PagingConfig config = new PagingConfig(Constants.EVENTS_PAGE_SIZE, Constants.EVENTS_PAGE_SIZE,
+                false, Constants.EVENTS_PAGE_SIZE * 2, Constants.EVENTS_MAX_IN_MEMORY);
+
+        CountDownLatch loaded = new CountDownLatch(1);
+        AtomicBoolean fullRebind = new AtomicBoolean();
+        instrumentation.runOnMainSync(() -> adapter.registerAdapterDataObserver(new RecyclerView.AdapterDataObserver() {
+            @Override
+            public void onChanged() {
+                fullRebind.set(true);
+            }
+
+            @Override
+            public void onItemRangeInserted(int positionStart, int itemCount) {
+                if (adapter.getItemCount() >= expected) {
+                    loaded.countDown();
+                }
+            }
+        }));
+
+        // Tâche différée de HomeFragment : nouvelle source plein texte, comme setSearchQuery
+        long[] swap = new long[1];
+        Runnable searchTask = () -> {
+            long start = System.nanoTime();
+            LiveData<PagingData<Event>> results = PagingLiveData.getLiveData(new Pager<>(config,
+                    () -> new EventSearchPagingSource(db, match, null, executor)));
+            results.observe(owner, data -> adapter.submitData(lifecycle, data));
+            swap[0] = System.nanoTime() - start;
+        };
+
+        long[] frames = new long[query.length() + 2];
+        for (int i = 1; i <= query.length(); i++) {
+            frames[i - 1] = onMainThread(() -> {
+                handler.removeCallbacks(searchTask);
+                handler.postDelayed(searchTask, Constants.SEARCH_DEBOUNCE_MS);
+                layoutFrame();
+            });
+            Thread.sleep(KEYSTROKE_INTERVAL_MS);
+        }
+
+        // Classement et chargement de la page se font sur l'exécuteur de la source
+        assertTrue(loaded.await(10, TimeUnit.SECONDS));
+        instrumentation.waitForIdleSync();
+        frames[query.length()] = swap[0];
+        frames[query.length() + 1] = onMainThread(this::layoutFrame);
+        assertEquals(expected, adapter.getItemCount());
+
+        // Référence : ancien chemin, parcours synchrone des titres à chaque frappe
+        long[] legacy = new long[query.length()];
+        int[] legacyMatches = new int[1];
+        for (int i = 1; i <= query.length(); i++) {
+            String needle = query.substring(0, i);
+            legacy[i - 1] = onMainThread(() -> {
+                for (Event event : events) {
+                    if (event.getTitle().toLowerCase().contains(needle.toLowerCase())) {
+                        legacyMatches[0]++;
+                    }
+                }
+            });
+        }
+
+        long p90 = percentile(frames, 0.9);
+        Log.i(TAG, "Saisie dans " + EVENT_COUNT + " événements : p90 " + p90 / 1000 + " µs, max "
+                + percentile(frames, 1.0) / 1000 + " µs ; ancien chemin p90 " + percentile(legacy, 0.9) / 1000 + " µs");
+
+        assertFalse("Le résultat doit être appliqué par diff, pas par notifyDataSetChanged", fullRebind.get());
+        assertTrue("Frame trop longue : " + p90 / 1000 + " µs", p90 < FRAME_BUDGET_NANOS);
+    }
+
+    private long onMainThread(Runnable work) {
+        long[] nanos = new long[1];
+        instrumentation.runOnMainSync(() -> {
+            long start = System.nanoTime();
+            work.run();
+            nanos[0] = System.nanoTime() - start;
+        });
+        return nanos[0];
+    }
+
+    private void layoutFrame() {
+        recyclerView.measure(View.MeasureSpec.makeMeasureSpec(WIDTH, View.MeasureSpec.EXACTLY),
+                View.MeasureSpec.makeMeasureSpec(HEIGHT, View.MeasureSpec.EXACTLY));
+        recyclerView.layout(0, 0, WIDTH, HEIGHT);
+    }
+
+    private static long percentile(long[] samples, double rank) {
+        long[] sorted = samples.clone();
+        Arrays.sort(sorted);
+        return sorted[(int) Math.ceil(rank * sorted.length) - 1];
+    }
+}
@@ -0,0 +1,122 @@
+package com.example.eventwave.database;
+
+import android.content.Context;
+
+import androidx.room.Room;
+import androidx.test.ext.junit.runners.AndroidJUnit4;
+import androidx.test.platform.app.InstrumentationRegistry;
+
+import com.example.eventwave.dao.EventDao;
+import com.example.eventwave.model.Event;
+import com.example.eventwave.model.EventAlias;
+import com.example.eventwave.model.HistoryEntry;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+import static org.junit.Assert.*;
+
+/**
+ * applyDiff reçoit un diff calculé sur un état lu avant la synchronisation : un favori
+ * posé ou une consultation enregistrée entre-temps ne doit être ni écrasé ni supprimé.
+ */
+@RunWith(AndroidJUnit4.class)
+public class EventDaoApplyDiffTest {
+    private EventDatabase db;
+    private EventDao dao;
+
+    @Before
+    public void setUp() {
+        Context context = InstrumentationRegistry.getInstrumentation().getTargetContext();
+        db = Room.inMemoryDatabaseBuilder(context, EventDatabase.class)
+                .addCallback(EventDatabase.FTS_SYNC_CALLBACK)
+                .build();
+        dao = db.eventDao();
+        dao.insertEvents(List.of(event("a", "Concert"), event("b", "Match")));
+    }
+
+    @After
+    public void tearDown() {
+        db.close();
+    }
+
+    @Test
+    public void changedRowKeepsAFavoriteSetDuringTheSync() {
+        // Diff calculé avec favorite = false, puis l'utilisateur marque la ligne
+        Event changed = event("a", "Concert reporté");
+        setFavorite("a");
+
+        dao.applyDiff(Collections.emptyList(), List.of(changed), Collections.emptyList());
+
+        Event stored = stored("a");
+        assertEquals("Concert reporté", stored.getTitle());
+        assertTrue(stored.isFavorite());
+    }
+
+    @Test
+    public void insertedRowAlreadyStoredKeepsItsFavorite() {
+        // Absente de l'état lu, la ligne a été ajoutée et marquée avant l'écriture du diff
+        dao.insertEvents(List.of(event("c", "Festival")));
+        setFavorite("c");
+
+        dao.applyDiff(List.of(event("c", "Festival d'été"), event("d", "Théâtre")),
+                Collections.emptyList(), Collections.emptyList());
+
+        Event stored = stored("c");
+        assertEquals("Festival d'été", stored.getTitle());
+        assertTrue(stored.isFavorite());
+        assertNotNull(stored("d"));
+    }
+
+    @Test
+    public void removalSparesRowsMarkedOrViewedDuringTheSync() {
+        dao.insertEvents(List.of(event("c", "Festival")));
+        dao.insertAliases(List.of(new EventAlias("openagenda:a", "a"), new EventAlias("openagenda:c", "c")));
+        setFavorite("a");
+        db.historyDao().insert(new HistoryEntry("b", 1_000L));
+
+        dao.applyDiff(Collections.emptyList(), Collections.emptyList(), List.of("a", "b", "c"));
+
+        assertEquals(List.of("a", "b"), storedIds());
+        // Les alias de la ligne conservée restent
+        List<String> canonicalIds = new ArrayList<>();
+        for (EventAlias alias : dao.getAliases()) {
+            canonicalIds.add(alias.canonicalId);
+        }
+        assertEquals(List.of("a"), canonicalIds);
+    }
+
+    private void setFavorite(String id) {
+        Event event = stored(id);
+        event.setFavorite(true);
+        dao.update(event);
+    }
+
+    private Event stored(String id) {
+        for (Event event : dao.getEventsFrom(0L, "", 100)) {
+            if (event.getId().equals(id)) {
+                return event;
+            }
+        }
+        return null;
+    }
+
+    private List<String> storedIds() {
+        List<String> ids = new ArrayList<>();
+        for (Event event : dao.getEventsFrom(0L, "", 100)) {
+            ids.add(event.getId());
+        }
+        Collections.sort(ids);
+        return ids;
+    }
+
+    private static Event event(String id, String title) {
+        return new Event(id, title, "", "", "Musique", "Lieu", 48.85, 2.35, 1_900_000_000_000L, false);
+    }
+}
@@ -0,0 +1,371 @@
+package com.example.eventwave.database;
+
+import android.app.Instrumentation;
+import android.content.Context;
+import android.database.Cursor;
+
+import androidx.lifecycle.LiveData;
+import androidx.lifecycle.Observer;
+import androidx.room.Room;
+import androidx.sqlite.db.SimpleSQLiteQuery;
+import androidx.test.ext.junit.runners.AndroidJUnit4;
+import androidx.test.platform.app.InstrumentationRegistry;
+
+import com.example.eventwave.dao.EventDao;
+import com.example.eventwave.dao.HistoryDao;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+
+import java.lang.reflect.Method;
+import java.lang.reflect.Modifier;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Set;
+import java.util.function.Supplier;
+
+import static org.junit.Assert.*;
+
+/**
+ * Vérifie avec EXPLAIN QUERY PLAN que chaque @Query de EventDao et HistoryDao utilise l'index
+ * attendu. Le SQL n'est pas recopié : chaque méthode du DAO est appelée et la requête est
+ * capturée telle que Room l'envoie à SQLite (QueryCallback), avec ses paramètres.
+ *
+ * Obligatoire : toute nouvelle méthode de requête d'un DAO a ici un test nommé
+ * {@code <méthode>_<plan attendu>} ; everyDaoQueryHasAPlanTest échoue sinon.
+ */
+@RunWith(AndroidJUnit4.class)
+public class EventDaoQueryPlanTest {
+    private static final List<Integer> CELLS = Arrays.asList(1388, 1389);
+
+    // Écritures par entité (@Insert, @Update, @Delete) et vidages complets de table : aucun choix de plan
+    private static final Set<String> WITHOUT_PLAN = new HashSet<>(Arrays.asList(
+            "insert", "insertAll", "insertEvents", "insertEventsIfAbsent", "insertAliases", "insertFetchedTiles",
+            "update", "updateEvents", "updateContents", "delete",
+            "deleteAllEvents", "deleteAllAliases", "deleteAllFetchedTiles", "clear"));
+
+    /**
+     * Requête envoyée à SQLite et ses paramètres liés
+     */
+    private static final class Statement {
+        final String sql;
+        final Object[] args;
+
+        Statement(String sql, List<Object> args) {
+            this.sql = sql;
+            this.args = args.toArray();
+        }
+
+        /**
+         * Requête issue du DAO, et non du suivi d'invalidation ou d'une transaction de Room
+         */
+        boolean isDaoQuery() {
+            String head = sql.trim().toUpperCase(Locale.ROOT);
+            return (head.startsWith("SELECT") || head.startsWith("DELETE")
+                    || head.startsWith("UPDATE") || head.startsWith("INSERT"))
+                    && !sql.contains("room_table_modification_log");
+        }
+
+        @Override
+        public String toString() {
+            return sql + " " + Arrays.toString(args);
+        }
+    }
+
+    private final Instrumentation instrumentation = InstrumentationRegistry.getInstrumentation();
+    private final List<Statement> captured = Collections.synchronizedList(new ArrayList<>());
+    private EventDatabase db;
+    private EventDao eventDao;
+    private HistoryDao historyDao;
+
+    @Before
+    public void setUp() {
+        Context context = instrumentation.getTargetContext();
+        // Exécution directe : une requête LiveData est calculée dès son observation
+        db = Room.inMemoryDatabaseBuilder(context, EventDatabase.class)
+                .setQueryCallback((sql, args) -> captured.add(new Statement(sql, args)), Runnable::run)
+                .setQueryExecutor(Runnable::run)
+                .allowMainThreadQueries()
+                .build();
+        eventDao = db.eventDao();
+        historyDao = db.historyDao();
+    }
+
+    @After
+    public void tearDown() {
+        db.close();
+    }
+
+    @Test
+    public void everyDaoQueryHasAPlanTest() {
+        Set<String> tested = new HashSet<>();
+        for (Method method : getClass().getDeclaredMethods()) {
+            if (method.isAnnotationPresent(Test.class)) {
+                tested.add(method.getName().split("_")[0]);
+            }
+        }
+        for (Class<?> dao : new Class<?>[]{EventDao.class, HistoryDao.class}) {
+            for (Method method : dao.getDeclaredMethods()) {
+                if (method.isDefault() || Modifier.isStatic(method.getModifiers())
+                        || WITHOUT_PLAN.contains(method.getName())) {
+                    continue;
+                }
+                assertTrue("Requête sans test de plan : " + dao.getSimpleName() + "." + method.getName(),
+                        tested.contains(method.getName()));
+            }
+        }
+    }
+
+    @Test
+    public void getAllEvents_scansByDesign() {
+        assertTrue(accesses(plan(observed(eventDao::getAllEvents)), "SCAN", "events"));
+    }
+
+    @Test
+    public void getFavoriteEvents_usesFavoriteIndex() {
+        assertUsesIndex(observed(eventDao::getFavoriteEvents), "index_events_favorite");
+    }
+
+    @Test
+    public void getEventsByCategory_usesCategoryIndex() {
+        assertUsesIndex(observed(() -> eventDao.getEventsByCategory(1)), "index_events_categoryCode_startDate_id");
+    }
+
+    @Test
+    public void getFavoriteEventsInArea_usesFavoriteIndex() {
+        assertUsesIndex(observed(() -> eventDao.getFavoriteEventsInArea(48.0, 49.0, 2.0, 3.0)),
+                "index_events_favorite");
+    }
+
+    @Test
+    public void getEventsByCategoryInArea_usesCategoryIndex() {
+        assertUsesIndex(observed(() -> eventDao.getEventsByCategoryInArea(1, 48.0, 49.0, 2.0, 3.0)),
+                "index_events_categoryCode_startDate_id");
+    }
+
+    @Test
+    public void getEventsInArea_isTheUnindexedFallback() {
+        // Utilisée uniquement quand la zone est trop large pour l'index de cellules
+        assertTrue(accesses(plan(observed(() -> eventDao.getEventsInArea(48.0, 49.0, 2.0, 3.0))), "SCAN", "events"));
+    }
+
+    @Test
+    public void getEventsInCells_usesGeoCellIndex() {
+        assertUsesIndex(observed(() -> eventDao.getEventsInCells(CELLS, 48.0, 49.0, 2.0, 3.0)),
+                "index_events_geoCell_latitude_longitude");
+    }
+
+    @Test
+    public void getFavoriteEventsInCells_usesAnIndex() {
+        assertUsesAnyIndex(plan(observed(() -> eventDao.getFavoriteEventsInCells(CELLS, 48.0, 49.0, 2.0, 3.0))));
+    }
+
+    @Test
+    public void getEventsByCategoryInCells_usesAnIndex() {
+        assertUsesAnyIndex(plan(observed(() -> eventDao.getEventsByCategoryInCells(1, CELLS, 48.0, 49.0, 2.0, 3.0))));
+    }
+
+    @Test
+    public void getEventsFrom_usesStartDateIdIndexWithoutTempBTree() {
+        assertKeysetPage(captured(() -> eventDao.getEventsFrom(0L, "a", 30)), "index_events_startDate_id");
+    }
+
+    @Test
+    public void getEventsAfter_usesStartDateIdIndexWithoutTempBTree() {
+        assertKeysetPage(captured(() -> eventDao.getEventsAfter(0L, "a", 30)), "index_events_startDate_id");
+    }
+
+    @Test
+    public void getEventsBefore_usesStartDateIdIndexWithoutTempBTree() {
+        assertKeysetPage(captured(() -> eventDao.getEventsBefore(0L, "a", 30)), "index_events_startDate_id");
+    }
+
+    @Test
+    public void getEventsByCategoryFrom_usesCategoryIndexWithoutTempBTree() {
+        assertKeysetPage(captured(() -> eventDao.getEventsByCategoryFrom(1, 0L, "a", 30)),
+                "index_events_categoryCode_startDate_id");
+    }
+
+    @Test
+    public void getEventsByCategoryAfter_usesCategoryIndexWithoutTempBTree() {
+        assertKeysetPage(captured(() -> eventDao.getEventsByCategoryAfter(1, 0L, "a", 30)),
+                "index_events_categoryCode_startDate_id");
+    }
+
+    @Test
+    public void getEventsByCategoryBefore_usesCategoryIndexWithoutTempBTree() {
+        assertKeysetPage(captured(() -> eventDao.getEventsByCategoryBefore(1, 0L, "a", 30)),
+                "index_events_categoryCode_startDate_id");
+    }
+
+    @Test
+    public void searchMatches_usesFullTextIndex() {
+        assertTrue(plan(captured(() -> eventDao.searchMatches("jazz*"))).contains("VIRTUAL TABLE INDEX"));
+    }
+
+    @Test
+    public void searchMatchesByCategory_joinsByRowid() {
+        String plan = plan(captured(() -> eventDao.searchMatchesByCategory("jazz*", 1)));
+        assertTrue(plan, plan.contains("VIRTUAL TABLE INDEX"));
+        // Chaque correspondance retrouve sa ligne par rowid, sans parcourir events
+        assertTrue(plan, plan.contains("INTEGER PRIMARY KEY") || plan.contains("rowid=?"));
+        assertFalse(plan, accesses(plan, "SCAN", "events"));
+    }
+
+    @Test
+    public void getSearchRows_joinsByRowid() {
+        String plan = plan(captured(() -> eventDao.getSearchRows("jazz*", Arrays.asList(1L, 2L))));
+        assertTrue(plan, plan.contains("VIRTUAL TABLE INDEX"));
+        assertTrue(plan, plan.contains("INTEGER PRIMARY KEY") || plan.contains("rowid=?"));
+    }
+
+    @Test
+    public void getSyncStates_scansEventsAndSearchesHistoryByKey() {
+        String plan = plan(captured(eventDao::getSyncStates));
+        // Parcours complet de events voulu : l'état de chaque ligne stockée est comparé à la synchronisation
+        assertTrue(plan, accesses(plan, "SCAN", "events"));
+        // Une recherche par clé primaire de history par ligne, jamais un parcours imbriqué
+        assertTrue(plan, accesses(plan, "SEARCH", "history")
+                && (plan.contains("sqlite_autoindex_history_1") || plan.contains("PRIMARY KEY")));
+        assertFalse(plan, accesses(plan, "SCAN", "history"));
+    }
+
+    @Test
+    public void getDedupRows_scansByDesign() {
+        // Lu une fois par synchronisation pour indexer les lignes stockées dans le déduplicateur
+        assertTrue(accesses(plan(captured(eventDao::getDedupRows)), "SCAN", "events"));
+    }
+
+    @Test
+    public void getAliases_scansByDesign() {
+        assertTrue(accesses(plan(captured(eventDao::getAliases)), "SCAN", "event_aliases"));
+    }
+
+    @Test
+    public void deleteAliasesOf_usesCanonicalIdIndex() {
+        // Appelée à chaque lot de suppressions : jamais un parcours de la table des alias
+        String plan = plan(captured(() -> eventDao.deleteAliasesOf(Arrays.asList("a", "b"))));
+        assertTrue(plan, plan.contains("index_event_aliases_canonicalId"));
+        assertFalse(plan, accesses(plan, "SCAN", "event_aliases"));
+    }
+
+    @Test
+    public void getFetchedTiles_scansByDesign() {
+        // Couverture rechargée une fois par processus
+        assertTrue(accesses(plan(captured(eventDao::getFetchedTiles)), "SCAN", "fetched_tiles"));
+    }
+
+    @Test
+    public void deleteFetchedTilesBefore_scansByDesign() {
+        // Table bornée par le TTL des tuiles : pas d'index sur fetchedAt à maintenir à chaque écriture
+        assertTrue(accesses(plan(captured(() -> eventDao.deleteFetchedTilesBefore(0L))), "SCAN", "fetched_tiles"));
+    }
+
+    @Test
+    public void deleteEventsByIds_usesPrimaryKey() {
+        assertUsesAnyIndex(plan(captured(() -> eventDao.deleteEventsByIds(Arrays.asList("a", "b")))));
+    }
+
+    @Test
+    public void deleteUnkeptEvents_usesPrimaryKeys() {
+        // Lignes visées par clé primaire, historique revérifié par la clé de history
+        String plan = plan(captured(() -> eventDao.deleteUnkeptEvents(Arrays.asList("a", "b"))));
+        assertFalse(plan, accesses(plan, "SCAN", "events"));
+        assertFalse(plan, accesses(plan, "SCAN", "history"));
+    }
+
+    @Test
+    public void getHistoryEvents_walksViewedAtIndex() {
+        String plan = plan(observed(() -> historyDao.getHistoryEvents(50)));
+        assertTrue(plan, plan.contains("index_history_viewedAt"));
+        // Chaque consultation retrouve son événement par clé primaire
+        assertTrue(plan, accesses(plan, "SEARCH", "events"));
+        assertFalse(plan, accesses(plan, "SCAN", "events"));
+    }
+
+    @Test
+    public void deleteOlderThan_usesViewedAtIndex() {
+        assertUsesIndex(captured(() -> historyDao.deleteOlderThan(0L)), "index_history_viewedAt");
+    }
+
+    @Test
+    public void deleteBeyond_walksViewedAtIndex() {
+        String plan = plan(captured(() -> historyDao.deleteBeyond(100)));
+        assertTrue(plan, plan.contains("index_history_viewedAt"));
+        // Les lignes au-delà de la limite sont supprimées par clé primaire
+        assertTrue(plan, plan.contains("sqlite_autoindex_history_1") || plan.contains("PRIMARY KEY"));
+    }
+
+    private void assertUsesIndex(Statement statement, String index) {
+        String plan = plan(statement);
+        assertTrue("Plan inattendu pour " + statement + " : " + plan, plan.contains(index));
+    }
+
+    private static void assertUsesAnyIndex(String plan) {
+        assertTrue("Aucun index utilisé : " + plan, plan.contains("USING") && plan.contains("INDEX"));
+    }
+
+    private void assertKeysetPage(Statement statement, String index) {
+        String plan = plan(statement);
+        assertTrue(plan, plan.contains(index));
+        // Le tri est fourni par l'index : aucune page ne trie la table
+        assertFalse(plan, plan.contains("TEMP B-TREE"));
+    }
+
+    /**
+     * Accès à une table dans le plan, quelle que soit la version de SQLite ("SCAN TABLE events" ou "SCAN events")
+     */
+    private static boolean accesses(String plan, String access, String table) {
+        return plan.contains(access + " TABLE " + table + " ") || plan.contains(access + " TABLE " + table + "\n")
+                || plan.contains(access + " " + table + " ") || plan.contains(access + " " + table + "\n");
+    }
+
+    /**
+     * Requête unique envoyée à SQLite par un appel de DAO
+     */
+    private Statement captured(Runnable call) {
+        captured.clear();
+        call.run();
+        List<Statement> queries = new ArrayList<>();
+        synchronized (captured) {
+            for (Statement statement : captured) {
+                if (statement.isDaoQuery()) {
+                    queries.add(statement);
+                }
+            }
+        }
+        assertEquals("Requêtes capturées : " + queries, 1, queries.size());
+        return queries.get(0);
+    }
+
+    /**
+     * Requête d'une méthode LiveData, exécutée dès que le résultat est observé
+     */
+    private <T> Statement observed(Supplier<LiveData<T>> query) {
+        return captured(() -> {
+            LiveData<T> liveData = query.get();
+            Observer<T> observer = value -> { };
+            instrumentation.runOnMainSync(() -> {
+                liveData.observeForever(observer);
+                liveData.removeObserver(observer);
+            });
+        });
+    }
+
+    private String plan(Statement statement) {
+        StringBuilder plan = new StringBuilder();
+        try (Cursor cursor = db.query(new SimpleSQLiteQuery("EXPLAIN QUERY PLAN " + statement.sql, statement.args))) {
+            int detail = cursor.getColumnIndexOrThrow("detail");
+            while (cursor.moveToNext()) {
+                plan.append(cursor.getString(detail)).append('\n');
+            }
+        }
+        return plan.toString();
+    }
+}
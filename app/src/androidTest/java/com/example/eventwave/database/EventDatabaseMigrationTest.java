@@ -0,0 +1,162 @@
+package com.example.eventwave.database;
+
+import android.content.Context;
+import android.database.Cursor;
+
+import androidx.room.Room;
+import androidx.room.testing.MigrationTestHelper;
+import androidx.sqlite.db.SupportSQLiteDatabase;
+import androidx.test.ext.junit.runners.AndroidJUnit4;
+import androidx.test.platform.app.InstrumentationRegistry;
+
+import com.example.eventwave.dao.EventDao;
+import com.example.eventwave.model.Event;
+import com.example.eventwave.model.EventCategory;
+import com.example.eventwave.utils.FtsQuery;
+import com.example.eventwave.utils.GeoCells;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+
+import java.io.IOException;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.TreeMap;
+
+import static org.junit.Assert.*;
+
+/**
+ * Migrations manuelles 2 → version courante avec MigrationTestHelper : la base de départ est
+ * créée à partir de schemas/.../2.json, le résultat validé contre le schéma exporté de la
+ * version courante. Les triggers de synchronisation FTS ne sont pas couverts par cette
+ * validation et sont comparés à ceux d'une base créée par Room.
+ *
+ * Les schémas des versions 3 à 10 n'ont jamais été exportés ; 2.json reprend la table events
+ * telle que Room la générait pour Event en version 2.
+ */
+@RunWith(AndroidJUnit4.class)
+public class EventDatabaseMigrationTest {
+    private static final String MIGRATED = "migration-test";
+    private static final String FRESH = "migration-test-fresh";
+    // Version de @Database(version = ...) dans EventDatabase
+    private static final int CURRENT_VERSION = 11;
+
+    @Rule
+    public MigrationTestHelper helper = new MigrationTestHelper(
+            InstrumentationRegistry.getInstrumentation(), EventDatabase.class);
+
+    private Context context;
+
+    @Before
+    public void setUp() {
+        context = InstrumentationRegistry.getInstrumentation().getTargetContext();
+        context.deleteDatabase(MIGRATED);
+        context.deleteDatabase(FRESH);
+    }
+
+    @After
+    public void tearDown() {
+        context.deleteDatabase(MIGRATED);
+        context.deleteDatabase(FRESH);
+    }
+
+    @Test
+    public void migratedSchemaMatchesFreshSchema() throws IOException {
+        createVersion2Database();
+
+        // IllegalStateException si une table, un index ou la table FTS diffère du schéma exporté,
+        // ou si une table n'y figure pas
+        helper.runMigrationsAndValidate(MIGRATED, CURRENT_VERSION, true, EventDatabase.MIGRATIONS).close();
+
+        EventDatabase migrated = open(MIGRATED);
+        EventDatabase fresh = open(FRESH);
+        try {
+            assertEquals(schema(fresh), schema(migrated));
+        } finally {
+            migrated.close();
+            fresh.close();
+        }
+    }
+
+    @Test
+    public void migratedRowsAreIndexedAndKeptInSync() throws IOException {
+        createVersion2Database();
+        helper.runMigrationsAndValidate(MIGRATED, CURRENT_VERSION, true, EventDatabase.MIGRATIONS).close();
+        EventDatabase db = open(MIGRATED);
+        try {
+            EventDao dao = db.eventDao();
+            // Ligne de la version 2 : catégorie codée, cellule spatiale calculée, indexée en plein texte
+            List<Event> music = dao.getEventsByCategoryFrom(EventCategory.MUSIC.getCode(), 0L, "", 10);
+            assertEquals(1, music.size());
+            Event event = music.get(0);
+            assertEquals(GeoCells.cellOf(event.getLatitude(), event.getLongitude()), event.getGeoCell());
+            assertEquals(1, dao.searchMatches(FtsQuery.build("jazz")).size());
+
+            // Triggers recréés par MIGRATION_6_7 : l'index suit les modifications et suppressions
+            event.setTitle("Concert de blues");
+            dao.update(event);
+            assertTrue(dao.searchMatches(FtsQuery.build("jazz")).isEmpty());
+            assertEquals(1, dao.searchMatches(FtsQuery.build("blues")).size());
+            dao.deleteEventsByIds(List.of(event.getId()));
+            assertTrue(dao.searchMatches(FtsQuery.build("blues")).isEmpty());
+        } finally {
+            db.close();
+        }
+    }
+
+    /**
+     * Base de la version 2, créée par Room à partir du schéma exporté, avec deux lignes
+     */
+    private void createVersion2Database() throws IOException {
+        SupportSQLiteDatabase db = helper.createDatabase(MIGRATED, 2);
+        try {
+            db.execSQL("INSERT INTO events VALUES ('v2-jazz', 'Concert de jazz', 'Quartet au bord du lac', '',"
+                    + " 'Musique', 'Olympia', 48.8566, 2.3522, 1900000000000, 1)");
+            db.execSQL("INSERT INTO events VALUES ('v2-match', 'Match de rugby', 'Finale', '',"
+                    + " 'Sport', 'Stade de France', 48.9245, 2.3602, 1900000000000, 0)");
+        } finally {
+            db.close();
+        }
+    }
+
+    private EventDatabase open(String name) {
+        EventDatabase db = Room.databaseBuilder(context, EventDatabase.class, name)
+                .addMigrations(EventDatabase.MIGRATIONS)
+                .addCallback(EventDatabase.FTS_SYNC_CALLBACK)
+                .build();
+        // Ouverture, donc migration et validation, dès maintenant
+        db.getOpenHelper().getWritableDatabase();
+        return db;
+    }
+
+    /**
+     * Tables par nom, index et triggers par définition normalisée. Les colonnes ajoutées par
+     * ALTER TABLE changent le texte de CREATE TABLE sans changer la table : Room les a déjà validées.
+     */
+    private static Map<String, String> schema(EventDatabase database) {
+        SupportSQLiteDatabase db = database.getOpenHelper().getWritableDatabase();
+        Map<String, String> schema = new TreeMap<>();
+        try (Cursor cursor = db.query("SELECT type, name, sql FROM sqlite_master"
+                + " WHERE name NOT LIKE 'sqlite_%' AND name != 'room_master_table'")) {
+            while (cursor.moveToNext()) {
+                String type = cursor.getString(0);
+                String sql = cursor.getString(2);
+                schema.put(type + " " + cursor.getString(1),
+                        type.equals("table") || sql == null ? "" : normalize(sql));
+            }
+        }
+        return schema;
+    }
+
+    private static String normalize(String sql) {
+        return sql.replace("`", "")
+                .replaceAll("(?i)IF NOT EXISTS ", "")
+                .replaceAll("\\s+", " ")
+                .trim()
+                .toUpperCase(Locale.ROOT);
+    }
+}
@@ -0,0 +1,151 @@
+package com.example.eventwave.database;
+
+import android.content.Context;
+
+import androidx.room.Room;
+import androidx.test.ext.junit.runners.AndroidJUnit4;
+import androidx.test.platform.app.InstrumentationRegistry;
+
+import com.example.eventwave.dao.EventDao;
+import com.example.eventwave.model.Event;
+import com.example.eventwave.model.EventCategory;
+import com.example.eventwave.model.EventSearchRow;
+import com.example.eventwave.utils.FtsQuery;
+import com.example.eventwave.utils.FtsRanking;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.Assert.*;
+
+/**
+ * Recherche plein texte sur events_fts : repli des accents, préfixes, phrases, NEAR,
+ * classement et synchronisation de l'index avec la table events.
+ */
+@RunWith(AndroidJUnit4.class)
+public class EventSearchTest {
+    private EventDatabase db;
+    private EventDao dao;
+
+    @Before
+    public void setUp() {
+        Context context = InstrumentationRegistry.getInstrumentation().getTargetContext();
+        db = Room.inMemoryDatabaseBuilder(context, EventDatabase.class)
+                .addCallback(EventDatabase.FTS_SYNC_CALLBACK)
+                .build();
+        dao = db.eventDao();
+        dao.insertEvents(List.of(
+                event("theatre", "Théâtre du Châtelet", "Une pièce classique", "Châtelet", "Théâtre"),
+                event("jazz-title", "Jazz au parc", "Concert en plein air", "Parc floral", "Musique"),
+                event("jazz-desc", "Soirée au parc", "Un quartet de jazz joue au bord du lac", "Parc", "Musique"),
+                event("fete", "Fête de la musique", "Concerts dans toute la ville", "Paris", "Musique")));
+    }
+
+    @After
+    public void tearDown() {
+        db.close();
+    }
+
+    @Test
+    public void foldsAccentsAndMatchesPrefixes() {
+        assertEquals(List.of("theatre"), search("theatre"));
+        assertEquals(List.of("theatre"), search("CHAT"));
+    }
+
+    @Test
+    public void searchesVenueAndDescription() {
+        assertEquals(List.of("jazz-title"), search("floral"));
+        assertEquals(List.of("jazz-desc"), search("quartet"));
+    }
+
+    @Test
+    public void requiresEveryQueryWord() {
+        assertEquals(List.of("jazz-desc"), search("jazz lac"));
+        assertTrue(search("jazz chatelet").isEmpty());
+    }
+
+    @Test
+    public void supportsPhrasesAndNear() {
+        assertEquals(List.of("fete"), search("\"fete de la musique\""));
+        assertTrue(search("\"musique de la fete\"").isEmpty());
+        assertEquals(List.of("jazz-desc"), search("quartet NEAR/2 joue"));
+        assertTrue(search("quartet NEAR/1 lac").isEmpty());
+    }
+
+    @Test
+    public void ranksTitleHitsFirst() {
+        assertEquals(List.of("jazz-title", "jazz-desc"), search("jazz"));
+    }
+
+    @Test
+    public void filtersByCategory() {
+        String match = FtsQuery.build("parc");
+        long[] ranked = FtsRanking.rank(dao.searchMatchesByCategory(match, EventCategory.THEATRE.getCode()));
+        assertEquals(0, ranked.length);
+        assertEquals(2, FtsRanking.rank(dao.searchMatchesByCategory(match, EventCategory.MUSIC.getCode())).length);
+    }
+
+    @Test
+    public void returnsHighlightOffsets() {
+        String match = FtsQuery.build("chatelet");
+        long[] ranked = FtsRanking.rank(dao.searchMatches(match));
+        List<EventSearchRow> rows = dao.getSearchRows(match, List.of(ranked[0]));
+
+        assertEquals(1, rows.size());
+        EventSearchRow row = rows.get(0);
+        int[] title = FtsRanking.highlights(row.matchOffsets, FtsRanking.COLUMN_TITLE, row.event.getTitle());
+        assertArrayEquals(new int[]{11, 19}, title);
+        assertEquals("Châtelet", row.event.getTitle().substring(title[0], title[1]));
+    }
+
+    @Test
+    public void indexFollowsInsertsReplacesAndDeletes() {
+        Event replaced = event("jazz-title", "Blues au parc", "Concert en plein air", "Parc floral", "Musique");
+        // INSERT OR REPLACE : l'ancien contenu doit disparaître de l'index
+        dao.insertEvents(List.of(replaced));
+        assertEquals(List.of("jazz-desc"), search("jazz"));
+        assertEquals(List.of("jazz-title"), search("blues"));
+
+        dao.deleteEventsByIds(List.of("jazz-title"));
+        assertTrue(search("blues").isEmpty());
+    }
+
+    @Test
+    public void migrationRebuildsIndexForExistingRows() {
+        db.getOpenHelper().getWritableDatabase().execSQL("DROP TABLE events_fts");
+        EventDatabase.MIGRATION_6_7.migrate(db.getOpenHelper().getWritableDatabase());
+
+        assertEquals(List.of("theatre"), search("theatre"));
+    }
+
+    private List<String> search(String query) {
+        String match = FtsQuery.build(query);
+        long[] ranked = FtsRanking.rank(dao.searchMatches(match));
+        List<Long> docids = new ArrayList<>();
+        for (long docid : ranked) {
+            docids.add(docid);
+        }
+        List<String> ids = new ArrayList<>();
+        if (docids.isEmpty()) {
+            return ids;
+        }
+        List<EventSearchRow> rows = dao.getSearchRows(match, docids);
+        for (long docid : ranked) {
+            for (EventSearchRow row : rows) {
+                if (row.docid == docid) {
+                    ids.add(row.event.getId());
+                }
+            }
+        }
+        return ids;
+    }
+
+    private static Event event(String id, String title, String description, String venue, String category) {
+        return new Event(id, title, description, "", category, venue, 48.85, 2.35, 1_900_000_000_000L, false);
+    }
+}
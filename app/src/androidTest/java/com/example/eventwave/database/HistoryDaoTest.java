@@ -0,0 +1,109 @@
+package com.example.eventwave.database;
+
+import android.content.Context;
+
+import androidx.room.Room;
+import androidx.test.ext.junit.runners.AndroidJUnit4;
+import androidx.test.platform.app.InstrumentationRegistry;
+
+import com.example.eventwave.dao.EventDao;
+import com.example.eventwave.dao.HistoryDao;
+import com.example.eventwave.model.Event;
+import com.example.eventwave.model.EventSyncState;
+import com.example.eventwave.model.HistoryEntry;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+import static org.junit.Assert.*;
+
+/**
+ * Table history : une ligne par événement, purge par ancienneté et par nombre d'entrées,
+ * événements consultés signalés à la synchronisation.
+ */
+@RunWith(AndroidJUnit4.class)
+public class HistoryDaoTest {
+    private EventDatabase db;
+    private EventDao eventDao;
+    private HistoryDao historyDao;
+
+    @Before
+    public void setUp() {
+        Context context = InstrumentationRegistry.getInstrumentation().getTargetContext();
+        db = Room.inMemoryDatabaseBuilder(context, EventDatabase.class)
+                .addCallback(EventDatabase.FTS_SYNC_CALLBACK)
+                .build();
+        eventDao = db.eventDao();
+        historyDao = db.historyDao();
+        eventDao.insertEvents(List.of(event("a"), event("b"), event("c"), event("d")));
+    }
+
+    @After
+    public void tearDown() {
+        db.close();
+    }
+
+    @Test
+    public void syncStatesFlagViewedEvents() {
+        historyDao.insert(new HistoryEntry("b", 1_000L));
+        historyDao.insert(new HistoryEntry("d", 2_000L));
+
+        assertEquals(List.of("b", "d"), viewedIds());
+    }
+
+    @Test
+    public void pruneDropsOldEntriesThenTheOldestBeyondTheLimit() {
+        historyDao.insert(new HistoryEntry("a", 1_000L));
+        historyDao.insert(new HistoryEntry("b", 2_000L));
+        historyDao.insert(new HistoryEntry("c", 3_000L));
+        historyDao.insert(new HistoryEntry("d", 4_000L));
+
+        historyDao.prune(1_500L, 2);
+
+        assertEquals(List.of("c", "d"), viewedIds());
+    }
+
+    @Test
+    public void newViewReplacesThePreviousOne() {
+        historyDao.insert(new HistoryEntry("a", 1_000L));
+        historyDao.insert(new HistoryEntry("b", 2_000L));
+        // Nouvelle consultation de a : elle devient la plus récente
+        historyDao.insert(new HistoryEntry("a", 3_000L));
+
+        historyDao.prune(0L, 1);
+
+        assertEquals(List.of("a"), viewedIds());
+    }
+
+    @Test
+    public void removedEventsKeepTheirHistoryEntry() {
+        historyDao.insert(new HistoryEntry("a", 1_000L));
+        eventDao.applyDiff(Collections.emptyList(), Collections.emptyList(), List.of("a"));
+        // Le réimport ne remplace pas une ligne déjà synchronisée
+        eventDao.insertEventsIfAbsent(List.of(event("a"), event("b")));
+
+        assertEquals(List.of("a"), viewedIds());
+        assertEquals(4, eventDao.getSyncStates().size());
+    }
+
+    private List<String> viewedIds() {
+        List<String> ids = new ArrayList<>();
+        for (EventSyncState state : eventDao.getSyncStates()) {
+            if (state.viewed) {
+                ids.add(state.id);
+            }
+        }
+        Collections.sort(ids);
+        return ids;
+    }
+
+    private static Event event(String id) {
+        return new Event(id, "Titre " + id, "", "", "Musique", "Lieu", 48.85, 2.35, 1_900_000_000_000L, false);
+    }
+}
@@ -0,0 +1,125 @@
+package com.example.eventwave.database;
+
+import android.content.Context;
+import android.database.Cursor;
+import android.util.Log;
+
+import androidx.room.Room;
+import androidx.sqlite.db.SimpleSQLiteQuery;
+import androidx.test.ext.junit.runners.AndroidJUnit4;
+import androidx.test.platform.app.InstrumentationRegistry;
+
+import com.example.eventwave.model.Event;
+import com.example.eventwave.utils.GeoCells;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Random;
+
+import static org.junit.Assert.*;
+
+/**
+ * Compare la latence d'une requête par zone avant (parcours complet de la table)
+ * et après (index geoCell) sur 100 000 événements répartis sur la France.
+ */
+@RunWith(AndroidJUnit4.class)
+public class SpatialIndexBenchmarkTest {
+    private static final String TAG = "SpatialIndexBenchmark";
+    private static final int EVENT_COUNT = 100_000;
+    private static final int RUNS = 15;
+
+    private EventDatabase db;
+
+    @Before
+    public void setUp() {
+        Context context = InstrumentationRegistry.getInstrumentation().getTargetContext();
+        db = Room.inMemoryDatabaseBuilder(context, EventDatabase.class).build();
+
+        Random random = new Random(42);
+        List<Event> batch = new ArrayList<>();
+        db.runInTransaction(() -> {
+            for (int i = 0; i < EVENT_COUNT; i++) {
+                batch.add(new Event("bench" + i, "Événement " + i, "", "", "Musique", "Lieu " + i,
+                        42.0 + random.nextDouble() * 9.0, -4.5 + random.nextDouble() * 12.5,
+                        1_900_000_000_000L + i, false));
+                if (batch.size() == 1000) {
+                    db.eventDao().insertEvents(batch);
+                    batch.clear();
+                }
+            }
+        });
+    }
+
+    @After
+    public void tearDown() {
+        db.close();
+    }
+
+    @Test
+    public void cellIndexBeatsFullScan() {
+        // Paris, rayon de 10 km
+        double lat = 48.8566;
+        double lon = 2.3522;
+        double radiusInDegrees = 10.0 / 111.0;
+        double minLat = lat - radiusInDegrees;
+        double maxLat = lat + radiusInDegrees;
+        double minLon = lon - radiusInDegrees / Math.cos(Math.toRadians(lat));
+        double maxLon = lon + radiusInDegrees / Math.cos(Math.toRadians(lat));
+        List<Integer> cells = GeoCells.cellsCovering(minLat, maxLat, minLon, maxLon);
+        assertNotNull(cells);
+
+        String bbox = "latitude BETWEEN ? AND ? AND longitude BETWEEN ? AND ?";
+        Object[] bboxArgs = {minLat, maxLat, minLon, maxLon};
+
+        StringBuilder placeholders = new StringBuilder();
+        List<Object> cellArgs = new ArrayList<>();
+        for (Integer cell : cells) {
+            placeholders.append(placeholders.length() == 0 ? "?" : ",?");
+            cellArgs.add(cell);
+        }
+        cellArgs.addAll(Arrays.asList(bboxArgs));
+
+        SimpleSQLiteQuery before = new SimpleSQLiteQuery(
+                "SELECT * FROM events NOT INDEXED WHERE " + bbox, bboxArgs);
+        SimpleSQLiteQuery after = new SimpleSQLiteQuery(
+                "SELECT * FROM events WHERE geoCell IN (" + placeholders + ") AND " + bbox, cellArgs.toArray());
+
+        int expected = count(before);
+        assertTrue(expected > 0);
+        assertEquals(expected, count(after));
+
+        long beforeNanos = medianNanos(before);
+        long afterNanos = medianNanos(after);
+        Log.i(TAG, "Zone de 10 km sur " + EVENT_COUNT + " événements (" + expected + " résultats) : "
+                + "parcours complet " + beforeNanos / 1000 + " µs, index geoCell " + afterNanos / 1000 + " µs");
+
+        assertTrue("L'index spatial devrait être plus rapide", afterNanos < beforeNanos);
+    }
+
+    private int count(SimpleSQLiteQuery query) {
+        try (Cursor cursor = db.query(query)) {
+            int rows = 0;
+            while (cursor.moveToNext()) {
+                rows++;
+            }
+            return rows;
+        }
+    }
+
+    private long medianNanos(SimpleSQLiteQuery query) {
+        long[] samples = new long[RUNS];
+        for (int i = 0; i < RUNS; i++) {
+            long start = System.nanoTime();
+            count(query);
+            samples[i] = System.nanoTime() - start;
+        }
+        Arrays.sort(samples);
+        return samples[RUNS / 2];
+    }
+}
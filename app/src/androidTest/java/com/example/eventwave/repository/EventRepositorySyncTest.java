@@ -0,0 +1,114 @@
+package com.example.eventwave.repository;
+
+import android.app.Application;
+
+import androidx.room.Room;
+import androidx.test.ext.junit.runners.AndroidJUnit4;
+import androidx.test.platform.app.InstrumentationRegistry;
+
+import com.example.eventwave.api.EventProvider;
+import com.example.eventwave.api.EventService;
+import com.example.eventwave.api.TicketmasterProvider;
+import com.example.eventwave.api.TicketmasterService;
+import com.example.eventwave.database.EventDatabase;
+import com.example.eventwave.model.Event;
+import com.example.eventwave.model.EventSyncState;
+import com.example.eventwave.utils.Constants;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
+import static org.junit.Assert.*;
+
+/**
+ * Synchronisation d'une zone contre une base en mémoire : une source en échec ne vide
+ * jamais ses événements stockés, une source complète si.
+ */
+@RunWith(AndroidJUnit4.class)
+public class EventRepositorySyncTest {
+    private static final double LAT = 48.8566;
+    private static final double LON = 2.3522;
+    // Aucun serveur n'écoute : connexion refusée, comme hors ligne sans cache
+    private static final String UNREACHABLE = "http://127.0.0.1:9/";
+
+    private EventDatabase db;
+    private EventRepository repository;
+
+    @Before
+    public void setUp() {
+        Application application = (Application) InstrumentationRegistry.getInstrumentation()
+                .getTargetContext().getApplicationContext();
+        db = Room.inMemoryDatabaseBuilder(application, EventDatabase.class)
+                .addCallback(EventDatabase.FTS_SYNC_CALLBACK)
+                .build();
+        db.eventDao().insertEvents(List.of(
+                event("vvG1stored"),
+                event(EventProvider.qualify("openagenda", "stale"))));
+        EventService service = new EventService(
+                TaskScheduler.getInstance().executor(TaskScheduler.Lane.PROVIDERS, TaskScheduler.Priority.NORMAL),
+                new TicketmasterProvider(new TicketmasterService(UNREACHABLE)),
+                new EmptyProvider("openagenda"));
+        repository = new EventRepository(application, db, service);
+    }
+
+    @After
+    public void tearDown() {
+        repository.close();
+        db.close();
+    }
+
+    @Test
+    public void failedTicketmasterKeepsItsStoredEvents() {
+        repository.syncEvents(new RefreshCoordinator.Request(LAT, LON, 5.0, true,
+                Constants.REFRESH_GRID_DEGREES, Constants.REFRESH_RADIUS_STEP_KM));
+
+        Set<String> ids = new HashSet<>();
+        for (EventSyncState state : db.eventDao().getSyncStates()) {
+            ids.add(state.id);
+        }
+        // Ticketmaster en échec : ni suppression, ni données fictives ; OpenAgenda complet et vide
+        assertEquals(Set.of("vvG1stored"), ids);
+        assertTrue(db.eventDao().getFetchedTiles().isEmpty());
+    }
+
+    private static Event event(String id) {
+        return new Event(id, "Titre " + id, "", "", "Musique", "Lieu", LAT, LON, 1_900_000_000_000L, false);
+    }
+
+    /**
+     * Source qui répond en entier, sans aucun événement dans la zone
+     */
+    private static class EmptyProvider implements EventProvider {
+        private final String name;
+
+        EmptyProvider(String name) {
+            this.name = name;
+        }
+
+        @Override
+        public String getName() {
+            return name;
+        }
+
+        @Override
+        public boolean isEnabled() {
+            return true;
+        }
+
+        @Override
+        public long getDeadlineMillis() {
+            return 5_000;
+        }
+
+        @Override
+        public List<Event> fetch(double latitude, double longitude, double radiusKm, PageListener listener) {
+            return List.of();
+        }
+    }
+}
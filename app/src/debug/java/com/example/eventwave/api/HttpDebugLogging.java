@@ -0,0 +1,25 @@
+package com.example.eventwave.api;
+
+import okhttp3.OkHttpClient;
+import okhttp3.logging.HttpLoggingInterceptor;
+
+/**
+ * Journalisation HTTP des builds debug : installée sur le client partagé mais muette
+ * tant que le corps des réponses n'est pas demandé explicitement.
+ * La variante release ne dépend pas de logging-interceptor.
+ */
+final class HttpDebugLogging {
+    private static final HttpLoggingInterceptor LOGGING =
+            new HttpLoggingInterceptor().setLevel(HttpLoggingInterceptor.Level.NONE);
+
+    private HttpDebugLogging() {
+    }
+
+    static void install(OkHttpClient.Builder builder) {
+        builder.addInterceptor(LOGGING);
+    }
+
+    static void setBodyLoggingEnabled(boolean enabled) {
+        LOGGING.setLevel(enabled ? HttpLoggingInterceptor.Level.BODY : HttpLoggingInterceptor.Level.NONE);
+    }
+}
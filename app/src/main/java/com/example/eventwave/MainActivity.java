@@ -145,9 +145,9 @@ public class MainActivity extends AppCompatActivity {
             // 📡 Demande de la dernière localisation connue
             fusedLocationClient.getLastLocation().addOnSuccessListener(this, location -> {
                 if (location != null) {
-                    // ✅ Localisation obtenue : mise à jour du ViewModel
-                    viewModel.setUserLocation(location);
-                    refreshEvents(); // 🔄 Chargement des événements pour cette localisation
+                    // ✅ Localisation obtenue : mise à jour du ViewModel, qui ne synchronise
+                    // que les tuiles absentes ou périmées de la zone (fetched_tiles persistées)
+                    viewModel.setCurrentLocation(location);
                 } else {
                     // ❌ Localisation indisponible : message à l'utilisateur
                     Snackbar.make(binding.getRoot(), R.string.location_not_found, 
@@ -189,6 +189,16 @@ public class MainActivity extends AppCompatActivity {
         }
     }
 
+    /**
+     * ⏸️ ARRÊT DE L'ACTIVITÉ
+     * Les consultations de l'historique en attente sont écrites avant une éventuelle fin du processus
+     */
+    @Override
+    protected void onStop() {
+        super.onStop();
+        viewModel.flushHistory();
+    }
+
     /**
      * 🔙 GESTION DU BOUTON RETOUR
      * Support pour la navigation avec le bouton "Up" dans la Toolbar
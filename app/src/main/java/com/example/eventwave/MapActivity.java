@@ -11,6 +11,7 @@ import androidx.appcompat.app.AppCompatActivity;
 import androidx.lifecycle.ViewModelProvider;
 
 import com.example.eventwave.model.Event;
+import com.example.eventwave.utils.EventColumns;
 import com.example.eventwave.viewmodel.EventViewModel;
 import com.google.android.gms.maps.CameraUpdateFactory;
 import com.google.android.gms.maps.GoogleMap;
@@ -23,7 +24,6 @@ import com.google.android.material.bottomsheet.BottomSheetBehavior;
 import com.google.android.material.button.MaterialButton;
 
 import java.util.HashMap;
-import java.util.List;
 import java.util.Locale;
 import java.util.Map;
 
@@ -31,9 +31,11 @@ public class MapActivity extends AppCompatActivity implements OnMapReadyCallback
     private GoogleMap mMap;
     private EventViewModel viewModel;
     private BottomSheetBehavior<View> bottomSheetBehavior;
-    private Map<Marker, Event> markerEventMap = new HashMap<>();
+    // Marqueur -> ligne des colonnes affichées : l'Event n'est créé qu'au clic
+    private Map<Marker, Integer> markerRows = new HashMap<>();
+    private EventColumns markerColumns = EventColumns.EMPTY;
     private boolean isMapCentered = false; // Flag pour éviter le double centrage
-    private List<Event> pendingEvents = null; // Événements en attente si la carte n'est pas prête
+    private EventColumns pendingEvents = null; // Événements en attente si la carte n'est pas prête
     
     // Vues de la bottom sheet
     private TextView eventTitle;
@@ -60,7 +62,7 @@ public class MapActivity extends AppCompatActivity implements OnMapReadyCallback
         viewModel = new ViewModelProvider(this).get(EventViewModel.class);
 
         // Observation des événements
-        viewModel.getEvents().observe(this, this::updateMapMarkers);
+        viewModel.getEventColumns().observe(this, this::updateMapMarkers);
     }
     
     private void initViews() {
@@ -91,7 +93,7 @@ public class MapActivity extends AppCompatActivity implements OnMapReadyCallback
         // Sinon, ne pas centrer la carte maintenant, attendre les événements
     }
 
-    private void updateMapMarkers(List<Event> events) {
+    private void updateMapMarkers(EventColumns events) {
         // Si la carte n'est pas encore prête, sauvegarder les événements pour plus tard
         if (mMap == null) {
             pendingEvents = events;
@@ -99,9 +101,10 @@ public class MapActivity extends AppCompatActivity implements OnMapReadyCallback
         }
 
         mMap.clear();
-        markerEventMap.clear();
+        markerRows.clear();
+        markerColumns = events != null ? events : EventColumns.EMPTY;
         
-        if (events == null || events.isEmpty()) {
+        if (events == null || events.size() == 0) {
             // Si pas d'événements, centrer sur la localisation de l'utilisateur ou par défaut
             if (!isMapCentered) {
                 if (viewModel.getUserLocation() != null) {
@@ -125,30 +128,30 @@ public class MapActivity extends AppCompatActivity implements OnMapReadyCallback
         double minLng = Double.MAX_VALUE;
         double maxLng = Double.MIN_VALUE;
         
-        for (Event event : events) {
-            LatLng position = new LatLng(event.getLatitude(), event.getLongitude());
+        for (int row = 0; row < events.size(); row++) {
+            double latitude = events.getLatitude(row);
+            double longitude = events.getLongitude(row);
             Marker marker = mMap.addMarker(new MarkerOptions()
-                    .position(position)
-                    .title(event.getTitle())
-                    .snippet(event.getVenueName()));
+                    .position(new LatLng(latitude, longitude))
+                    .title(events.getTitle(row))
+                    .snippet(events.getVenueName(row)));
             
             if (marker != null) {
-                markerEventMap.put(marker, event);
+                markerRows.put(marker, row);
             }
             
             // Mettre à jour les limites
-            minLat = Math.min(minLat, event.getLatitude());
-            maxLat = Math.max(maxLat, event.getLatitude());
-            minLng = Math.min(minLng, event.getLongitude());
-            maxLng = Math.max(maxLng, event.getLongitude());
+            minLat = Math.min(minLat, latitude);
+            maxLat = Math.max(maxLat, latitude);
+            minLng = Math.min(minLng, longitude);
+            maxLng = Math.max(maxLng, longitude);
         }
         
         // Centrer la carte sur tous les événements (seulement la première fois)
         if (!isMapCentered) {
             if (events.size() == 1) {
                 // Si un seul événement, centrer dessus avec un zoom approprié
-                Event event = events.get(0);
-                LatLng position = new LatLng(event.getLatitude(), event.getLongitude());
+                LatLng position = new LatLng(events.getLatitude(0), events.getLongitude(0));
                 mMap.animateCamera(CameraUpdateFactory.newLatLngZoom(position, 14));
             } else {
                 // Si plusieurs événements, ajuster la vue pour tous les voir
@@ -166,9 +169,9 @@ public class MapActivity extends AppCompatActivity implements OnMapReadyCallback
 
         // Ajouter un listener pour les marqueurs
         mMap.setOnMarkerClickListener(marker -> {
-            Event event = markerEventMap.get(marker);
-            if (event != null) {
-                showEventDetails(event);
+            Integer row = markerRows.get(marker);
+            if (row != null) {
+                showEventDetails(markerColumns.materialize(row));
             }
             return true;
         });
@@ -221,7 +224,7 @@ public class MapActivity extends AppCompatActivity implements OnMapReadyCallback
      */
     public void recenterMap() {
         isMapCentered = false;
-        List<Event> currentEvents = viewModel.getEvents().getValue();
+        EventColumns currentEvents = viewModel.getEventColumns().getValue();
         if (currentEvents != null) {
             updateMapMarkers(currentEvents);
         }
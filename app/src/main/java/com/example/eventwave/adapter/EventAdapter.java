@@ -1,23 +1,47 @@
 package com.example.eventwave.adapter;
 
+import android.graphics.Typeface;
+import android.text.SpannableString;
+import android.text.Spanned;
+import android.text.style.StyleSpan;
 import android.view.LayoutInflater;
 import android.view.View;
 import android.view.ViewGroup;
 import androidx.annotation.NonNull;
+import androidx.recyclerview.widget.AsyncListDiffer;
+import androidx.recyclerview.widget.DiffUtil;
 import androidx.recyclerview.widget.RecyclerView;
 import com.bumptech.glide.Glide;
 import com.example.eventwave.R;
 import com.example.eventwave.databinding.ItemEventBinding;
 import com.example.eventwave.model.Event;
+import com.example.eventwave.model.EventCategory;
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.List;
 
 public class EventAdapter extends RecyclerView.Adapter<EventAdapter.EventViewHolder> {
-    private List<Event> events = new ArrayList<>();
-    private List<Event> filteredEvents = new ArrayList<>();
+    /**
+     * Identité par id, contenu par empreinte, statut favori et surlignage de recherche
+     */
+    static final DiffUtil.ItemCallback<Event> DIFF_CALLBACK = new DiffUtil.ItemCallback<Event>() {
+        @Override
+        public boolean areItemsTheSame(@NonNull Event oldItem, @NonNull Event newItem) {
+            return oldItem.getId().equals(newItem.getId());
+        }
+
+        @Override
+        public boolean areContentsTheSame(@NonNull Event oldItem, @NonNull Event newItem) {
+            return oldItem.getContentHash() == newItem.getContentHash()
+                    && oldItem.isFavorite() == newItem.isFavorite()
+                    && Arrays.equals(oldItem.getTitleHighlights(), newItem.getTitleHighlights())
+                    && Arrays.equals(oldItem.getDescriptionHighlights(), newItem.getDescriptionHighlights());
+        }
+    };
+
+    // Diff calculé hors du thread UI : seules les lignes modifiées sont re-liées
+    private final AsyncListDiffer<Event> differ = new AsyncListDiffer<>(this, DIFF_CALLBACK);
     private final OnEventClickListener listener;
-    private String currentSearchQuery = "";
-    private String currentCategoryFilter = null;
 
     public interface OnEventClickListener {
         void onEventClick(Event event);
@@ -26,61 +50,24 @@ public class EventAdapter extends RecyclerView.Adapter<EventAdapter.EventViewHol
 
     public EventAdapter(OnEventClickListener listener) {
         this.listener = listener;
-        this.filteredEvents = new ArrayList<>();
     }
 
     public void setEvents(List<Event> events) {
-        this.events = events;
-        applyFilters();
-    }
-
-    public void filter(String query) {
-        this.currentSearchQuery = query;
-        applyFilters();
-    }
-    
-    public void filterByCategory(String category) {
-        this.currentCategoryFilter = category;
-        applyFilters();
-    }
-    
-    private void applyFilters() {
-        filteredEvents.clear();
-        
-        for (Event event : events) {
-            boolean matchesSearch = true;
-            boolean matchesCategory = true;
-            
-            // Filtrage par recherche textuelle
-            if (!currentSearchQuery.isEmpty()) {
-                matchesSearch = event.getTitle().toLowerCase().contains(currentSearchQuery.toLowerCase());
-            }
-            
-            // Filtrage par catégorie
-            if (currentCategoryFilter != null && !currentCategoryFilter.equals("Tous")) {
-                matchesCategory = event.getCategory().equals(currentCategoryFilter);
-            }
-            
-            if (matchesSearch && matchesCategory) {
-                filteredEvents.add(event);
-            }
-        }
-        
-        notifyDataSetChanged();
+        differ.submitList(events != null ? new ArrayList<>(events) : new ArrayList<>());
     }
 
     public void updateEvent(Event event) {
-        for (int i = 0; i < events.size(); i++) {
-            if (events.get(i).getId().equals(event.getId())) {
-                events.set(i, event);
-                break;
-            }
-        }
-        
-        for (int i = 0; i < filteredEvents.size(); i++) {
-            if (filteredEvents.get(i).getId().equals(event.getId())) {
-                filteredEvents.set(i, event);
-                notifyItemChanged(i);
+        List<Event> current = differ.getCurrentList();
+        for (int i = 0; i < current.size(); i++) {
+            if (current.get(i).getId().equals(event.getId())) {
+                if (current.get(i) != event) {
+                    List<Event> updated = new ArrayList<>(current);
+                    updated.set(i, event);
+                    differ.submitList(updated);
+                } else {
+                    // Même instance modifiée sur place : le diff ne verrait pas le changement
+                    notifyItemChanged(i);
+                }
                 break;
             }
         }
@@ -89,50 +76,90 @@ public class EventAdapter extends RecyclerView.Adapter<EventAdapter.EventViewHol
     @NonNull
     @Override
     public EventViewHolder onCreateViewHolder(@NonNull ViewGroup parent, int viewType) {
-        ItemEventBinding binding = ItemEventBinding.inflate(
-            LayoutInflater.from(parent.getContext()), parent, false);
-        return new EventViewHolder(binding);
+        return EventViewHolder.create(parent, listener);
     }
 
     @Override
     public void onBindViewHolder(@NonNull EventViewHolder holder, int position) {
-        Event event = filteredEvents.get(position);
-        holder.bind(event);
+        holder.bind(differ.getCurrentList().get(position));
     }
 
     @Override
     public int getItemCount() {
-        return filteredEvents.size();
+        return differ.getCurrentList().size();
     }
 
-    class EventViewHolder extends RecyclerView.ViewHolder {
+    /**
+     * Vue d'un événement, partagée avec PagedEventAdapter
+     */
+    static class EventViewHolder extends RecyclerView.ViewHolder {
         private final ItemEventBinding binding;
+        private Event event;
+
+        static EventViewHolder create(ViewGroup parent, OnEventClickListener listener) {
+            ItemEventBinding binding = ItemEventBinding.inflate(
+                LayoutInflater.from(parent.getContext()), parent, false);
+            return new EventViewHolder(binding, listener);
+        }
 
-        EventViewHolder(ItemEventBinding binding) {
+        EventViewHolder(ItemEventBinding binding, OnEventClickListener listener) {
             super(binding.getRoot());
             this.binding = binding;
             
             // Rendre toute la carte cliquable
             binding.getRoot().setOnClickListener(v -> {
-                int position = getAdapterPosition();
-                if (position != RecyclerView.NO_POSITION) {
-                    listener.onEventClick(filteredEvents.get(position));
+                if (event != null) {
+                    listener.onEventClick(event);
                 }
             });
             
             // Configurer le bouton favoris
             binding.favoriteButton.setOnClickListener(v -> {
-                int position = getAdapterPosition();
-                if (position != RecyclerView.NO_POSITION) {
-                    Event event = filteredEvents.get(position);
+                if (event != null) {
                     listener.onFavoriteClick(event);
                 }
             });
         }
 
+        /**
+         * Met en gras les mots trouvés par la recherche plein texte (positions déjà calculées)
+         */
+        private static CharSequence highlight(String text, int[] ranges) {
+            if (text == null || ranges == null || ranges.length == 0) {
+                return text;
+            }
+            SpannableString spannable = new SpannableString(text);
+            for (int i = 0; i + 1 < ranges.length; i += 2) {
+                int start = Math.min(ranges[i], text.length());
+                int end = Math.min(ranges[i + 1], text.length());
+                if (start < end) {
+                    spannable.setSpan(new StyleSpan(Typeface.BOLD), start, end, Spanned.SPAN_EXCLUSIVE_EXCLUSIVE);
+                }
+            }
+            return spannable;
+        }
+
+        private static int imageFor(EventCategory category) {
+            switch (category) {
+                case MUSIC:
+                    return R.drawable.music_event;
+                case THEATRE:
+                    return R.drawable.theatre_event;
+                case GAMING:
+                    return R.drawable.gaming_event;
+                case CONFERENCE:
+                    return R.drawable.conference_event;
+                case SPORTS:
+                    return R.drawable.sports_event;
+                default:
+                    return R.drawable.event_placeholder;
+            }
+        }
+
         void bind(Event event) {
-            binding.eventTitle.setText(event.getTitle());
-            binding.eventDescription.setText(event.getDescription());
+            this.event = event;
+            binding.eventTitle.setText(highlight(event.getTitle(), event.getTitleHighlights()));
+            binding.eventDescription.setText(highlight(event.getDescription(), event.getDescriptionHighlights()));
             binding.eventDate.setText(event.getFormattedStartDate());
             binding.eventLocation.setText(event.getVenueName());
             binding.categoryChip.setText(event.getCategory());
@@ -142,21 +169,8 @@ public class EventAdapter extends RecyclerView.Adapter<EventAdapter.EventViewHol
                 event.isFavorite() ? R.drawable.ic_favorite_filled : R.drawable.ic_favorite_border
             );
 
-            // Sélectionner l'image en fonction de la catégorie
-            int imageResource = R.drawable.event_placeholder;
-            String category = event.getCategory().toLowerCase();
-            
-            if (category.contains("musique") || category.contains("music") || category.contains("concert")) {
-                imageResource = R.drawable.music_event;
-            } else if (category.contains("théâtre") || category.contains("theatre") || category.contains("theater")) {
-                imageResource = R.drawable.theatre_event;
-            } else if (category.contains("gaming") || category.contains("jeu") || category.contains("game")) {
-                imageResource = R.drawable.gaming_event;
-            } else if (category.contains("conférence") || category.contains("conference") || category.contains("talk")) {
-                imageResource = R.drawable.conference_event;
-            } else if (category.contains("sport") || category.contains("sportif")) {
-                imageResource = R.drawable.sports_event;
-            }
+            // Sélectionner l'image en fonction du code de catégorie
+            int imageResource = imageFor(event.getEventCategory());
 
             // Charger l'image avec Glide
             Glide.with(binding.getRoot().getContext())
@@ -0,0 +1,51 @@
+package com.example.eventwave.adapter;
+
+import android.view.ViewGroup;
+
+import androidx.annotation.NonNull;
+import androidx.paging.PagingDataAdapter;
+
+import com.example.eventwave.model.Event;
+
+import java.util.List;
+
+/**
+ * Version paginée de EventAdapter : seules les pages chargées par Paging sont
+ * matérialisées, quelle que soit la taille du cache local
+ */
+public class PagedEventAdapter extends PagingDataAdapter<Event, EventAdapter.EventViewHolder> {
+
+    private final EventAdapter.OnEventClickListener listener;
+
+    public PagedEventAdapter(EventAdapter.OnEventClickListener listener) {
+        super(EventAdapter.DIFF_CALLBACK);
+        this.listener = listener;
+    }
+
+    /**
+     * Re-lie la ligne d'un événement modifié sur place (favori), que le diff ne détecte pas
+     */
+    public void updateEvent(Event event) {
+        List<Event> items = snapshot().getItems();
+        for (int i = 0; i < items.size(); i++) {
+            if (items.get(i).getId().equals(event.getId())) {
+                notifyItemChanged(snapshot().getPlaceholdersBefore() + i);
+                break;
+            }
+        }
+    }
+
+    @NonNull
+    @Override
+    public EventAdapter.EventViewHolder onCreateViewHolder(@NonNull ViewGroup parent, int viewType) {
+        return EventAdapter.EventViewHolder.create(parent, listener);
+    }
+
+    @Override
+    public void onBindViewHolder(@NonNull EventAdapter.EventViewHolder holder, int position) {
+        Event event = getItem(position);
+        if (event != null) {
+            holder.bind(event);
+        }
+    }
+}
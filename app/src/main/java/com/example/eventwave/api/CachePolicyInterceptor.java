@@ -0,0 +1,202 @@
+package com.example.eventwave.api;
+
+import android.util.Log;
+
+import java.io.IOException;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+
+import okhttp3.Cache;
+import okhttp3.CacheControl;
+import okhttp3.Call;
+import okhttp3.Callback;
+import okhttp3.Interceptor;
+import okhttp3.Request;
+import okhttp3.Response;
+import okhttp3.ResponseBody;
+import okio.Okio;
+
+/**
+ * Politique de cache HTTP décidée par l'application, quels que soient les en-têtes de l'API :
+ * - pendant freshSeconds, une réponse est servie depuis le disque sans aucun accès réseau ;
+ * - ensuite, et pendant staleWhileRevalidateSeconds, elle est servie immédiatement puis
+ *   revalidée en arrière-plan (requête conditionnelle si le serveur fournit ETag ou Last-Modified) ;
+ * - si le réseau est injoignable, une réponse vieille d'au plus maxStaleOfflineSeconds est acceptée.
+ *
+ * S'installe en intercepteur d'application, avec networkInterceptor() côté réseau,
+ * sur un client muni d'un {@link Cache}. Une requête qui porte déjà son propre
+ * Cache-Control est laissée telle quelle.
+ */
+public class CachePolicyInterceptor implements Interceptor {
+    private static final String TAG = "CachePolicyInterceptor";
+    // Limite de lecture pour mesurer une réponse en cache dont la taille n'est pas annoncée
+    private static final long MAX_MEASURED_BYTES = 4 * 1024 * 1024;
+
+    private final int freshSeconds;
+    private final int staleWhileRevalidateSeconds;
+    private final int maxStaleOfflineSeconds;
+    private final HttpCacheMetrics metrics;
+    private final Set<String> revalidating = ConcurrentHashMap.newKeySet();
+    private volatile Call.Factory callFactory;
+
+    public CachePolicyInterceptor(int freshSeconds, int staleWhileRevalidateSeconds, int maxStaleOfflineSeconds,
+                                  HttpCacheMetrics metrics) {
+        this.freshSeconds = freshSeconds;
+        this.staleWhileRevalidateSeconds = staleWhileRevalidateSeconds;
+        this.maxStaleOfflineSeconds = maxStaleOfflineSeconds;
+        this.metrics = metrics;
+    }
+
+    /**
+     * Client utilisé pour les revalidations en arrière-plan, connu une fois construit
+     */
+    public void setCallFactory(Call.Factory callFactory) {
+        this.callFactory = callFactory;
+    }
+
+    /**
+     * Intercepteur réseau : impose la durée de fraîcheur aux réponses avant leur mise en cache
+     */
+    public Interceptor networkInterceptor() {
+        return chain -> {
+            Response response = chain.proceed(chain.request());
+            boolean cacheable = response.isSuccessful() || response.code() == 304;
+            if (!"GET".equals(chain.request().method()) || !cacheable) {
+                return response;
+            }
+            return response.newBuilder()
+                    .header("Cache-Control", "public, max-age=" + freshSeconds)
+                    .removeHeader("Pragma")
+                    .removeHeader("Expires")
+                    .build();
+        };
+    }
+
+    @Override
+    public Response intercept(Chain chain) throws IOException {
+        Request request = chain.request();
+        if (!"GET".equals(request.method())) {
+            return chain.proceed(request);
+        }
+        if (request.header("Cache-Control") != null) {
+            // Politique imposée par l'appelant (dont nos propres revalidations)
+            Response response = chain.proceed(request);
+            recordOutcome(response);
+            return response;
+        }
+
+        Request allowingStale = request.newBuilder()
+                .cacheControl(new CacheControl.Builder()
+                        .maxStale(staleWhileRevalidateSeconds, TimeUnit.SECONDS)
+                        .build())
+                .build();
+        Response response;
+        try {
+            response = chain.proceed(allowingStale);
+        } catch (IOException e) {
+            Response offline = chain.call().isCanceled() ? null : fromCacheOffline(chain, request);
+            if (offline == null) {
+                throw e;
+            }
+            return offline;
+        }
+
+        recordOutcome(response);
+        if (isStale(response)) {
+            metrics.recordStaleHit();
+            revalidate(request);
+        }
+        return response;
+    }
+
+    /**
+     * Réseau injoignable : dernière réponse en cache, même périmée, dans la limite hors ligne
+     */
+    private Response fromCacheOffline(Chain chain, Request request) throws IOException {
+        Response cached = chain.proceed(request.newBuilder()
+                .cacheControl(new CacheControl.Builder()
+                        .onlyIfCached()
+                        .maxStale(maxStaleOfflineSeconds, TimeUnit.SECONDS)
+                        .build())
+                .build());
+        if (cached.code() == 504) {
+            // Réponse synthétique d'OkHttp : rien d'utilisable en cache
+            cached.close();
+            return null;
+        }
+        Log.d(TAG, "Hors ligne, réponse servie depuis le cache : " + request.url().encodedPath());
+        metrics.recordHit(bodySize(cached));
+        metrics.recordOfflineHit();
+        return cached;
+    }
+
+    private void recordOutcome(Response response) throws IOException {
+        Response cacheResponse = response.cacheResponse();
+        Response networkResponse = response.networkResponse();
+        if (networkResponse == null && cacheResponse != null) {
+            metrics.recordHit(bodySize(response));
+        } else if (networkResponse != null && cacheResponse != null && networkResponse.code() == 304) {
+            metrics.recordConditionalHit(bodySize(response));
+        } else if (networkResponse != null) {
+            metrics.recordMiss();
+        }
+    }
+
+    private static boolean isStale(Response response) {
+        if (response.networkResponse() != null || response.cacheResponse() == null) {
+            return false;
+        }
+        // OkHttp signale une réponse périmée servie grâce à max-stale par "Warning: 110"
+        for (String warning : response.headers("Warning")) {
+            if (warning.startsWith("110")) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Relance la requête en arrière-plan ; max-age=0 force un aller-retour conditionnel
+     * dont la réponse remplace l'entrée en cache. Une seule revalidation par URL à la fois.
+     */
+    private void revalidate(Request request) {
+        Call.Factory factory = callFactory;
+        String key = request.url().toString();
+        if (factory == null || !revalidating.add(key)) {
+            return;
+        }
+        metrics.recordRevalidation();
+        Request revalidation = request.newBuilder()
+                .cacheControl(new CacheControl.Builder().maxAge(0, TimeUnit.SECONDS).build())
+                .build();
+        factory.newCall(revalidation).enqueue(new Callback() {
+            @Override
+            public void onFailure(Call call, IOException e) {
+                revalidating.remove(key);
+                Log.w(TAG, "Échec de la revalidation en arrière-plan: " + e.getMessage());
+            }
+
+            @Override
+            public void onResponse(Call call, Response response) throws IOException {
+                // Le corps doit être lu entièrement pour que le cache soit mis à jour
+                try (ResponseBody body = response.body()) {
+                    if (body != null) {
+                        body.source().readAll(Okio.blackhole());
+                    }
+                } finally {
+                    revalidating.remove(key);
+                }
+            }
+        });
+    }
+
+    private static long bodySize(Response response) throws IOException {
+        ResponseBody body = response.body();
+        if (body == null) {
+            return 0;
+        }
+        long length = body.contentLength();
+        return length >= 0 ? length : response.peekBody(MAX_MEASURED_BYTES).contentLength();
+    }
+}
@@ -0,0 +1,122 @@
+package com.example.eventwave.api;
+
+import java.io.IOException;
+import java.net.InetSocketAddress;
+import java.net.Proxy;
+import java.util.Locale;
+import java.util.concurrent.atomic.AtomicLong;
+
+import okhttp3.Call;
+import okhttp3.Connection;
+import okhttp3.EventListener;
+import okhttp3.Handshake;
+import okhttp3.Protocol;
+
+/**
+ * Réutilisation des connexions de la pile HTTP partagée : chaque appel qui obtient une
+ * connexion sans en ouvrir une nouvelle (keep-alive ou flux HTTP/2) évite TCP et TLS.
+ * Sans état par appel, une seule instance sert tous les clients.
+ */
+public class ConnectionMetrics extends EventListener {
+    private final AtomicLong calls = new AtomicLong();
+    private final AtomicLong failedCalls = new AtomicLong();
+    private final AtomicLong acquisitions = new AtomicLong();
+    private final AtomicLong connectionsOpened = new AtomicLong();
+    private final AtomicLong http2Connections = new AtomicLong();
+    private final AtomicLong failedConnections = new AtomicLong();
+    private final AtomicLong tlsHandshakes = new AtomicLong();
+
+    @Override
+    public void callStart(Call call) {
+        calls.incrementAndGet();
+    }
+
+    @Override
+    public void callFailed(Call call, IOException ioe) {
+        failedCalls.incrementAndGet();
+    }
+
+    @Override
+    public void connectEnd(Call call, InetSocketAddress inetSocketAddress, Proxy proxy, Protocol protocol) {
+        connectionsOpened.incrementAndGet();
+        if (protocol == Protocol.HTTP_2) {
+            http2Connections.incrementAndGet();
+        }
+    }
+
+    @Override
+    public void connectFailed(Call call, InetSocketAddress inetSocketAddress, Proxy proxy, Protocol protocol,
+                              IOException ioe) {
+        failedConnections.incrementAndGet();
+    }
+
+    @Override
+    public void secureConnectEnd(Call call, Handshake handshake) {
+        tlsHandshakes.incrementAndGet();
+    }
+
+    @Override
+    public void connectionAcquired(Call call, Connection connection) {
+        acquisitions.incrementAndGet();
+    }
+
+    public long getCallCount() {
+        return calls.get();
+    }
+
+    public long getFailedCallCount() {
+        return failedCalls.get();
+    }
+
+    /**
+     * Connexions obtenues par les appels, nouvelles ou réutilisées
+     */
+    public long getAcquisitionCount() {
+        return acquisitions.get();
+    }
+
+    public long getConnectionsOpened() {
+        return connectionsOpened.get();
+    }
+
+    public long getHttp2ConnectionCount() {
+        return http2Connections.get();
+    }
+
+    public long getFailedConnectionCount() {
+        return failedConnections.get();
+    }
+
+    public long getTlsHandshakeCount() {
+        return tlsHandshakes.get();
+    }
+
+    /**
+     * Part des connexions obtenues sans ouvrir de socket
+     */
+    public double getReuseRatio() {
+        long acquired = acquisitions.get();
+        if (acquired == 0) {
+            return 0;
+        }
+        return Math.max(0, acquired - connectionsOpened.get()) / (double) acquired;
+    }
+
+    public void reset() {
+        calls.set(0);
+        failedCalls.set(0);
+        acquisitions.set(0);
+        connectionsOpened.set(0);
+        http2Connections.set(0);
+        failedConnections.set(0);
+        tlsHandshakes.set(0);
+    }
+
+    @Override
+    public String toString() {
+        return String.format(Locale.ROOT,
+                "ConnectionMetrics{ appels=%d (échecs=%d) connexions=%d (h2=%d, échecs=%d) tls=%d réutilisation=%.0f%% }",
+                calls.get(), failedCalls.get(), connectionsOpened.get(), http2Connections.get(),
+                failedConnections.get(), tlsHandshakes.get(), getReuseRatio() * 100);
+    }
+}
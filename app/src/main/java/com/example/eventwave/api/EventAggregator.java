@@ -0,0 +1,225 @@
+package com.example.eventwave.api;
+
+import android.util.Log;
+
+import com.example.eventwave.model.Event;
+
+import java.io.InterruptedIOException;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Future;
+import java.util.concurrent.FutureTask;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+
+/**
+ * Interroge toutes les sources actives en parallèle, chacune avec son propre délai.
+ * Les pages sont transmises au listener dès leur arrivée, une à la fois : une source lente
+ * ou en erreur ne retarde ni ne bloque les autres. Une source hors délai est annulée et ses
+ * pages tardives ignorées.
+ */
+public class EventAggregator {
+    private static final String TAG = "EventAggregator";
+
+    /**
+     * Reçoit les pages de toutes les sources, jamais deux à la fois
+     */
+    public interface Listener {
+        void onEvents(String provider, List<Event> events);
+    }
+
+    /**
+     * Bilan d'une agrégation
+     */
+    public static class Result {
+        private final List<Event> events;
+        private final Set<String> completed;
+        private final Set<String> truncated;
+        private final Set<String> failed;
+
+        Result(List<Event> events, Set<String> completed, Set<String> truncated, Set<String> failed) {
+            this.events = events;
+            this.completed = completed;
+            this.truncated = truncated;
+            this.failed = failed;
+        }
+
+        /**
+         * Événements reçus avant les délais, toutes sources confondues
+         */
+        public List<Event> getEvents() {
+            return events;
+        }
+
+        /**
+         * Sources ayant répondu en entier : seules leurs lignes absentes peuvent être supprimées
+         */
+        public Set<String> getCompleted() {
+            return completed;
+        }
+
+        /**
+         * Sources ayant répondu sans atteindre leur dernière page : rien n'est supprimé d'après elles
+         */
+        public Set<String> getTruncated() {
+            return truncated;
+        }
+
+        /**
+         * Sources en erreur ou hors délai
+         */
+        public Set<String> getFailed() {
+            return failed;
+        }
+    }
+
+    /**
+     * Exécution d'une source
+     */
+    private static class Run {
+        final EventProvider provider;
+        Future<?> future;
+        // Faux une fois le délai dépassé : les pages suivantes sont ignorées
+        boolean open = true;
+        int items;
+        volatile boolean truncated;
+        volatile long elapsedMillis;
+
+        Run(EventProvider provider) {
+            this.provider = provider;
+        }
+    }
+
+    private final List<EventProvider> providers;
+    private final ExecutorService executor;
+    private final ProviderMetrics metrics;
+    private final Object deliveryLock = new Object();
+
+    public EventAggregator(List<EventProvider> providers, ExecutorService executor, ProviderMetrics metrics) {
+        this.providers = providers;
+        this.executor = executor;
+        this.metrics = metrics;
+    }
+
+    public Result aggregate(double latitude, double longitude, double radiusKm, Listener listener)
+            throws InterruptedIOException {
+        long start = System.nanoTime();
+        List<Event> events = new ArrayList<>();
+        List<Run> runs = new ArrayList<>();
+        for (EventProvider provider : providers) {
+            if (!provider.isEnabled()) {
+                continue;
+            }
+            Run run = new Run(provider);
+            runs.add(run);
+            Callable<List<Event>> fetch = () -> {
+                try {
+                    return provider.fetch(latitude, longitude, radiusKm, new EventProvider.PageListener() {
+                        @Override
+                        public void onPage(List<Event> page, int pageNumber) {
+                            deliver(run, page, events, listener);
+                        }
+
+                        @Override
+                        public void onTruncated() {
+                            run.truncated = true;
+                        }
+                    });
+                } finally {
+                    run.elapsedMillis = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start);
+                }
+            };
+            try {
+                run.future = executor.submit(fetch);
+            } catch (RejectedExecutionException e) {
+                // Threads des sources saturés : la source compte comme en erreur pour ce rafraîchissement
+                FutureTask<List<Event>> rejected = new FutureTask<>(() -> {
+                    throw e;
+                });
+                rejected.run();
+                run.future = rejected;
+            }
+        }
+
+        // Attente par délai croissant : chaque source dispose de tout son délai, quel que soit l'ordre
+        List<Run> byDeadline = new ArrayList<>(runs);
+        byDeadline.sort(Comparator.comparingLong(run -> run.provider.getDeadlineMillis()));
+        Set<String> completed = new LinkedHashSet<>();
+        Set<String> truncated = new LinkedHashSet<>();
+        Set<String> failed = new LinkedHashSet<>();
+        try {
+            for (Run run : byDeadline) {
+                String name = run.provider.getName();
+                long deadline = run.provider.getDeadlineMillis();
+                long remaining = deadline - TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start);
+                try {
+                    run.future.get(Math.max(0, remaining), TimeUnit.MILLISECONDS);
+                    if (run.truncated) {
+                        truncated.add(name);
+                        Log.w(TAG, "Source " + name + " incomplète : pages restantes non récupérées");
+                    } else {
+                        completed.add(name);
+                    }
+                    metrics.record(name, ProviderMetrics.Outcome.SUCCESS, run.elapsedMillis, items(run));
+                } catch (ExecutionException e) {
+                    failed.add(name);
+                    metrics.record(name, ProviderMetrics.Outcome.ERROR, run.elapsedMillis, items(run));
+                    Log.w(TAG, "Source " + name + " en erreur : " + e.getCause());
+                } catch (TimeoutException e) {
+                    close(run);
+                    failed.add(name);
+                    metrics.record(name, ProviderMetrics.Outcome.TIMEOUT, deadline, items(run));
+                    Log.w(TAG, "Source " + name + " hors délai après " + deadline + " ms");
+                }
+            }
+        } catch (InterruptedException e) {
+            for (Run run : runs) {
+                close(run);
+            }
+            Thread.currentThread().interrupt();
+            throw new InterruptedIOException("Agrégation interrompue");
+        }
+        Log.d(TAG, metrics.toString());
+        synchronized (deliveryLock) {
+            return new Result(new ArrayList<>(events), Collections.unmodifiableSet(completed),
+                    Collections.unmodifiableSet(truncated), Collections.unmodifiableSet(failed));
+        }
+    }
+
+    private void deliver(Run run, List<Event> page, List<Event> events, Listener listener) {
+        synchronized (deliveryLock) {
+            if (!run.open) {
+                return;
+            }
+            run.items += page.size();
+            events.addAll(page);
+            if (listener != null) {
+                listener.onEvents(run.provider.getName(), page);
+            }
+        }
+    }
+
+    /**
+     * Arrête une source : plus aucune page transmise, appel en cours interrompu
+     */
+    private void close(Run run) {
+        synchronized (deliveryLock) {
+            run.open = false;
+        }
+        run.future.cancel(true);
+    }
+
+    private int items(Run run) {
+        synchronized (deliveryLock) {
+            return run.items;
+        }
+    }
+}
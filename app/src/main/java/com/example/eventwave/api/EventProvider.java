@@ -0,0 +1,61 @@
+package com.example.eventwave.api;
+
+import com.example.eventwave.model.Event;
+
+import java.io.IOException;
+import java.util.List;
+
+/**
+ * Source d'événements interrogée par EventAggregator. Les identifiants produits sont préfixés
+ * par le nom de la source ("openagenda:…"), sauf ceux de Ticketmaster, conservés tels quels
+ * pour les lignes déjà stockées.
+ */
+public interface EventProvider {
+    String TICKETMASTER = "ticketmaster";
+    char ID_SEPARATOR = ':';
+
+    /**
+     * Reçoit chaque page d'événements dès sa conversion
+     */
+    interface PageListener {
+        void onPage(List<Event> events, int pageNumber);
+
+        /**
+         * La source s'est arrêtée avant sa dernière page : la zone n'est pas couverte en entier
+         */
+        default void onTruncated() {
+        }
+    }
+
+    /**
+     * Nom stable de la source, préfixe de ses identifiants et clé de ses métriques
+     */
+    String getName();
+
+    boolean isEnabled();
+
+    /**
+     * Délai maximal de la source, mesuré depuis le lancement de l'agrégation
+     */
+    long getDeadlineMillis();
+
+    /**
+     * Récupère les événements autour d'une position. Chaque page est transmise au listener
+     * dès sa conversion, et onTruncated signalé s'il reste des pages non récupérées ;
+     * l'appel doit s'interrompre si le thread est interrompu.
+     */
+    List<Event> fetch(double latitude, double longitude, double radiusKm,
+                      PageListener listener) throws IOException;
+
+    /**
+     * Source d'un identifiant d'événement stocké
+     */
+    static String ownerOf(String eventId) {
+        int separator = eventId.indexOf(ID_SEPARATOR);
+        return separator > 0 ? eventId.substring(0, separator) : TICKETMASTER;
+    }
+
+    static String qualify(String provider, String id) {
+        return provider + ID_SEPARATOR + id;
+    }
+}
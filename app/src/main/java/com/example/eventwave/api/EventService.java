@@ -4,31 +4,78 @@ import android.location.Location;
 import android.util.Log;
 
 import com.example.eventwave.model.Event;
+import com.example.eventwave.utils.Constants;
 
+import java.io.File;
 import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.List;
+import java.util.concurrent.ExecutorService;
 
+/**
+ * Point d'entrée des sources d'événements : Ticketmaster, OpenAgenda et Eventbrite,
+ * interrogées en parallèle par EventAggregator
+ */
 public class EventService {
     private static final String TAG = "EventService";
-    private final TicketmasterService ticketmasterService;
-    
-    public EventService() {
-        this.ticketmasterService = new TicketmasterService();
+
+    // Métriques partagées entre toutes les instances
+    private static final ProviderMetrics METRICS = new ProviderMetrics();
+
+    private final TicketmasterProvider ticketmasterProvider;
+    private final EventAggregator aggregator;
+
+    /**
+     * @param cacheDir         répertoire du cache HTTP Ticketmaster, ou null pour toujours interroger le réseau
+     * @param providerExecutor threads des appels aux sources, bornés (voie PROVIDERS de TaskScheduler)
+     */
+    public EventService(File cacheDir, ExecutorService providerExecutor) {
+        this(providerExecutor, new TicketmasterProvider(cacheDir), new OpenAgendaProvider(), new EventbriteProvider());
     }
-    
+
+    /**
+     * Sources explicites, Ticketmaster en tête (tests)
+     */
+    public EventService(ExecutorService providerExecutor, TicketmasterProvider ticketmasterProvider,
+                        EventProvider... others) {
+        this.ticketmasterProvider = ticketmasterProvider;
+        List<EventProvider> providers = new ArrayList<>();
+        providers.add(ticketmasterProvider);
+        providers.addAll(Arrays.asList(others));
+        this.aggregator = new EventAggregator(providers, providerExecutor, METRICS);
+    }
+
     /**
-     * Récupère les événements depuis l'API Ticketmaster
+     * Latence, taux d'erreur et volume par source
+     */
+    public static ProviderMetrics getMetrics() {
+        return METRICS;
+    }
+
+    /**
+     * Récupère les événements de toutes les sources actives
      */
     public List<Event> getEvents(Location location) throws IOException {
-        Log.d(TAG, "Récupération des événements via Ticketmaster API");
-        return ticketmasterService.getEvents(location);
+        Log.d(TAG, "Récupération des événements de toutes les sources");
+        return getEvents(location.getLatitude(), location.getLongitude(),
+                Constants.DEFAULT_VISIBLE_RADIUS_KM, null).getEvents();
     }
-    
+
+    /**
+     * Interroge toutes les sources actives en parallèle ; chaque page est transmise
+     * au listener dès son arrivée
+     */
+    public EventAggregator.Result getEvents(double latitude, double longitude, double radiusKm,
+                                            EventAggregator.Listener listener) throws IOException {
+        return aggregator.aggregate(latitude, longitude, radiusKm, listener);
+    }
+
     /**
      * Test de connexion à l'API Ticketmaster
      */
     public void testApiConnection() {
         Log.d(TAG, "Test de connexion à l'API Ticketmaster");
-        ticketmasterService.testApiConnection();
+        ticketmasterProvider.testApiConnection();
     }
-} 
\ No newline at end of file
+}
@@ -0,0 +1,95 @@
+package com.example.eventwave.api;
+
+import com.example.eventwave.model.Event;
+import com.example.eventwave.model.EventCategory;
+import com.example.eventwave.model.EventbriteEvent;
+import com.example.eventwave.model.EventbriteResponse;
+import com.example.eventwave.utils.Constants;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.concurrent.TimeUnit;
+
+import retrofit2.Call;
+import retrofit2.Response;
+
+/**
+ * Eventbrite : active seulement si un jeton d'accès est configuré (Constants.EVENTBRITE_TOKEN)
+ */
+public class EventbriteProvider implements EventProvider {
+    public static final String NAME = "eventbrite";
+
+    private final EventbriteApi api;
+    private final String token;
+
+    public EventbriteProvider() {
+        this(RetrofitClient.getEventbriteApi(), Constants.EVENTBRITE_TOKEN);
+    }
+
+    public EventbriteProvider(EventbriteApi api, String token) {
+        this.api = api;
+        this.token = token;
+    }
+
+    @Override
+    public String getName() {
+        return NAME;
+    }
+
+    @Override
+    public boolean isEnabled() {
+        return token != null && !token.isEmpty();
+    }
+
+    @Override
+    public long getDeadlineMillis() {
+        return Constants.EVENTBRITE_DEADLINE_MS;
+    }
+
+    @Override
+    public List<Event> fetch(double latitude, double longitude, double radiusKm,
+                             PageListener listener) throws IOException {
+        Call<EventbriteResponse> call = api.searchEvents(latitude, longitude,
+                String.format(Locale.ROOT, "%dkm", (int) Math.ceil(radiusKm)), null, "date",
+                "Bearer " + token);
+        call.timeout().timeout(getDeadlineMillis(), TimeUnit.MILLISECONDS);
+        Response<EventbriteResponse> response = call.execute();
+        if (!response.isSuccessful() || response.body() == null) {
+            throw new IOException("Erreur API Eventbrite : " + response.code() + " - " + response.message());
+        }
+
+        List<Event> events = new ArrayList<>();
+        if (response.body().events != null) {
+            for (EventbriteEvent item : response.body().events) {
+                if (item != null && item.getId() != null) {
+                    events.add(toEvent(item));
+                }
+            }
+        }
+        if (listener != null && !events.isEmpty()) {
+            listener.onPage(events, 0);
+        }
+        // Une seule page demandée : les événements au-delà ne sont pas récupérés
+        EventbriteResponse.Pagination pagination = response.body().pagination;
+        if (listener != null && pagination != null && pagination.hasMoreItems) {
+            listener.onTruncated();
+        }
+        return events;
+    }
+
+    static Event toEvent(EventbriteEvent item) {
+        return new Event(
+                EventProvider.qualify(NAME, item.getId()),
+                item.getTitle(),
+                item.getDescription(),
+                item.getImageUrl(),
+                EventCategory.fromName(item.getCategory()).getLabel(),
+                item.getVenueName(),
+                item.getLatitude(),
+                item.getLongitude(),
+                item.getStartDate(),
+                false);
+    }
+}
@@ -0,0 +1,67 @@
+package com.example.eventwave.api;
+
+import java.util.EnumMap;
+import java.util.Locale;
+import java.util.Map;
+
+/**
+ * Latences de la chaîne de repli Ticketmaster, agrégées par stratégie de récupération
+ */
+public class FetchMetrics {
+    private final Map<TicketmasterService.FetchPolicy, Stats> stats =
+            new EnumMap<>(TicketmasterService.FetchPolicy.class);
+
+    private static class Stats {
+        long count;
+        long totalMillis;
+        long maxMillis;
+        long lastMillis;
+    }
+
+    public synchronized void record(TicketmasterService.FetchPolicy policy, long millis) {
+        Stats s = stats.get(policy);
+        if (s == null) {
+            s = new Stats();
+            stats.put(policy, s);
+        }
+        s.count++;
+        s.totalMillis += millis;
+        s.maxMillis = Math.max(s.maxMillis, millis);
+        s.lastMillis = millis;
+    }
+
+    public synchronized long getCount(TicketmasterService.FetchPolicy policy) {
+        Stats s = stats.get(policy);
+        return s != null ? s.count : 0;
+    }
+
+    public synchronized long getAverageMillis(TicketmasterService.FetchPolicy policy) {
+        Stats s = stats.get(policy);
+        return s != null && s.count > 0 ? s.totalMillis / s.count : 0;
+    }
+
+    public synchronized long getMaxMillis(TicketmasterService.FetchPolicy policy) {
+        Stats s = stats.get(policy);
+        return s != null ? s.maxMillis : 0;
+    }
+
+    public synchronized long getLastMillis(TicketmasterService.FetchPolicy policy) {
+        Stats s = stats.get(policy);
+        return s != null ? s.lastMillis : 0;
+    }
+
+    public synchronized void reset() {
+        stats.clear();
+    }
+
+    @Override
+    public synchronized String toString() {
+        StringBuilder builder = new StringBuilder("FetchMetrics{");
+        for (Map.Entry<TicketmasterService.FetchPolicy, Stats> entry : stats.entrySet()) {
+            Stats s = entry.getValue();
+            builder.append(String.format(Locale.ROOT, " %s: n=%d moy=%dms max=%dms",
+                    entry.getKey(), s.count, s.count > 0 ? s.totalMillis / s.count : 0, s.maxMillis));
+        }
+        return builder.append(" }").toString();
+    }
+}
@@ -0,0 +1,107 @@
+package com.example.eventwave.api;
+
+import java.util.Locale;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Compteurs du cache HTTP : réponses servies sans réseau, revalidations et octets épargnés
+ */
+public class HttpCacheMetrics {
+    private final AtomicLong hits = new AtomicLong();
+    private final AtomicLong conditionalHits = new AtomicLong();
+    private final AtomicLong misses = new AtomicLong();
+    private final AtomicLong staleHits = new AtomicLong();
+    private final AtomicLong offlineHits = new AtomicLong();
+    private final AtomicLong revalidations = new AtomicLong();
+    private final AtomicLong bytesSaved = new AtomicLong();
+
+    void recordHit(long bytes) {
+        hits.incrementAndGet();
+        addBytes(bytes);
+    }
+
+    void recordConditionalHit(long bytes) {
+        conditionalHits.incrementAndGet();
+        addBytes(bytes);
+    }
+
+    void recordMiss() {
+        misses.incrementAndGet();
+    }
+
+    void recordStaleHit() {
+        staleHits.incrementAndGet();
+    }
+
+    void recordOfflineHit() {
+        offlineHits.incrementAndGet();
+    }
+
+    void recordRevalidation() {
+        revalidations.incrementAndGet();
+    }
+
+    private void addBytes(long bytes) {
+        if (bytes > 0) {
+            bytesSaved.addAndGet(bytes);
+        }
+    }
+
+    /**
+     * Réponses servies depuis le disque sans aucun échange réseau (y compris périmées et hors ligne)
+     */
+    public long getHitCount() {
+        return hits.get();
+    }
+
+    /**
+     * Réponses revalidées par le serveur (304) : seuls les en-têtes ont transité
+     */
+    public long getConditionalHitCount() {
+        return conditionalHits.get();
+    }
+
+    public long getMissCount() {
+        return misses.get();
+    }
+
+    public long getStaleHitCount() {
+        return staleHits.get();
+    }
+
+    public long getOfflineHitCount() {
+        return offlineHits.get();
+    }
+
+    public long getRevalidationCount() {
+        return revalidations.get();
+    }
+
+    public long getBytesSaved() {
+        return bytesSaved.get();
+    }
+
+    public double getHitRatio() {
+        long served = hits.get() + conditionalHits.get();
+        long total = served + misses.get();
+        return total > 0 ? (double) served / total : 0;
+    }
+
+    public void reset() {
+        hits.set(0);
+        conditionalHits.set(0);
+        misses.set(0);
+        staleHits.set(0);
+        offlineHits.set(0);
+        revalidations.set(0);
+        bytesSaved.set(0);
+    }
+
+    @Override
+    public String toString() {
+        return String.format(Locale.ROOT,
+                "HttpCacheMetrics{ hits=%d (périmés=%d, hors ligne=%d) 304=%d miss=%d revalidations=%d économisés=%d o }",
+                hits.get(), staleHits.get(), offlineHits.get(), conditionalHits.get(), misses.get(),
+                revalidations.get(), bytesSaved.get());
+    }
+}
@@ -0,0 +1,146 @@
+package com.example.eventwave.api;
+
+import com.example.eventwave.utils.Constants;
+
+import java.io.File;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+import okhttp3.Cache;
+import okhttp3.ConnectionPool;
+import okhttp3.Dispatcher;
+import okhttp3.OkHttpClient;
+import okhttp3.Protocol;
+import retrofit2.Retrofit;
+import retrofit2.converter.gson.GsonConverterFactory;
+
+/**
+ * Pile HTTP unique du processus. Tous les clients dérivent de la même instance via
+ * newBuilder() : ils partagent le pool de connexions, le dispatcher et ses threads,
+ * si bien qu'un TicketmasterService ou un appel OpenAgenda de plus ne coûte ni
+ * socket, ni poignée de main TLS, ni thread supplémentaire.
+ */
+public final class HttpClientProvider {
+    // Connexions inactives conservées : une par hôte suffit en HTTP/2, davantage en HTTP/1.1
+    private static final int MAX_IDLE_CONNECTIONS = 8;
+    private static final long KEEP_ALIVE_MINUTES = 5;
+    private static final int MAX_REQUESTS = 32;
+    // Appels simultanés vers l'API Ticketmaster : la récupération « hedged » n'ajoute un repli
+    // (US, puis sans pays) qu'après TICKETMASTER_HEDGE_DELAY_MS sans réponse exploitable, soit au
+    // pire trois appels par rafraîchissement, et deux rafraîchissements tournent à la fois (voie
+    // NETWORK) : six, plus deux de marge. Avec la limite par défaut d'OkHttp (5), un repli
+    // attendrait dans la file du dispatcher et perdrait l'avance que le délai lui donne
+    private static final int MAX_REQUESTS_PER_HOST = 8;
+
+    private static final ConnectionMetrics CONNECTION_METRICS = new ConnectionMetrics();
+    private static final HttpCacheMetrics CACHE_METRICS = new HttpCacheMetrics();
+    private static final NetworkTracer TRACER = new NetworkTracer(CONNECTION_METRICS,
+            Constants.NETWORK_TRACE_CAPACITY, Constants.NETWORK_TRACE_SAMPLE_RATE);
+
+    private static OkHttpClient client;
+    // OkHttp interdit deux Cache sur le même répertoire : un client par répertoire
+    private static final Map<String, OkHttpClient> CACHING_CLIENTS = new HashMap<>();
+    private static final Map<String, Retrofit> TICKETMASTER_RETROFITS = new HashMap<>();
+
+    private HttpClientProvider() {
+    }
+
+    /**
+     * Client de base partagé, sans cache disque
+     */
+    public static synchronized OkHttpClient getClient() {
+        if (client == null) {
+            Dispatcher dispatcher = new Dispatcher();
+            dispatcher.setMaxRequests(MAX_REQUESTS);
+            dispatcher.setMaxRequestsPerHost(MAX_REQUESTS_PER_HOST);
+
+            OkHttpClient.Builder builder = new OkHttpClient.Builder()
+                    .connectionPool(new ConnectionPool(MAX_IDLE_CONNECTIONS, KEEP_ALIVE_MINUTES, TimeUnit.MINUTES))
+                    .dispatcher(dispatcher)
+                    // HTTP/2 négocié par ALPN : les requêtes parallèles se multiplexent sur une connexion
+                    .protocols(Arrays.asList(Protocol.HTTP_2, Protocol.HTTP_1_1))
+                    .eventListenerFactory(TRACER)
+                    .connectTimeout(30, TimeUnit.SECONDS)
+                    .readTimeout(30, TimeUnit.SECONDS)
+                    .writeTimeout(30, TimeUnit.SECONDS);
+            HttpDebugLogging.install(builder);
+            client = builder.build();
+        }
+        return client;
+    }
+
+    /**
+     * Client partagé dont les réponses sont mises en cache dans cacheDir/http
+     * selon la politique de {@link CachePolicyInterceptor}
+     */
+    public static synchronized OkHttpClient getCachingClient(File cacheDir) {
+        File directory = new File(cacheDir, "http");
+        OkHttpClient caching = CACHING_CLIENTS.get(directory.getAbsolutePath());
+        if (caching == null) {
+            CachePolicyInterceptor cachePolicy = new CachePolicyInterceptor(
+                    Constants.HTTP_CACHE_FRESH_SECONDS,
+                    Constants.HTTP_CACHE_STALE_WHILE_REVALIDATE_SECONDS,
+                    Constants.HTTP_CACHE_MAX_STALE_OFFLINE_SECONDS,
+                    CACHE_METRICS);
+            caching = getClient().newBuilder()
+                    .cache(new Cache(directory, Constants.HTTP_CACHE_SIZE_BYTES))
+                    .addInterceptor(cachePolicy)
+                    .addNetworkInterceptor(cachePolicy.networkInterceptor())
+                    .build();
+            cachePolicy.setCallFactory(caching);
+            CACHING_CLIENTS.put(directory.getAbsolutePath(), caching);
+        }
+        return caching;
+    }
+
+    /**
+     * Retrofit Ticketmaster partagé pour une URL de base et un répertoire de cache (null : sans cache)
+     */
+    public static synchronized Retrofit getTicketmasterRetrofit(String baseUrl, File cacheDir) {
+        String key = cacheDir != null ? baseUrl + '|' + cacheDir.getAbsolutePath() : baseUrl;
+        Retrofit retrofit = TICKETMASTER_RETROFITS.get(key);
+        if (retrofit == null) {
+            // Les callbacks asynchrones s'exécutent sur les threads OkHttp plutôt que sur le thread principal
+            retrofit = new Retrofit.Builder()
+                    .baseUrl(baseUrl)
+                    .client(cacheDir != null ? getCachingClient(cacheDir) : getClient())
+                    .callbackExecutor(Runnable::run)
+                    // Pages d'événements décodées en flux, Gson pour tout le reste
+                    .addConverterFactory(TicketmasterConverterFactory.create())
+                    .addConverterFactory(GsonConverterFactory.create())
+                    .build();
+            TICKETMASTER_RETROFITS.put(key, retrofit);
+        }
+        return retrofit;
+    }
+
+    /**
+     * Réutilisation des connexions et poignées de main TLS de tous les clients
+     */
+    public static ConnectionMetrics getConnectionMetrics() {
+        return CONNECTION_METRICS;
+    }
+
+    /**
+     * Dernières traces réseau échantillonnées ; le taux d'échantillonnage se règle à chaud
+     */
+    public static NetworkTracer getTracer() {
+        return TRACER;
+    }
+
+    /**
+     * Journalise le corps complet des requêtes et réponses. Sans effet dans un build release.
+     */
+    public static void setBodyLoggingEnabled(boolean enabled) {
+        HttpDebugLogging.setBodyLoggingEnabled(enabled);
+    }
+
+    /**
+     * Succès et échecs du cache HTTP de tous les clients avec cache
+     */
+    public static HttpCacheMetrics getCacheMetrics() {
+        return CACHE_METRICS;
+    }
+}
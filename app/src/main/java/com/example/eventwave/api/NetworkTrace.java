@@ -0,0 +1,70 @@
+package com.example.eventwave.api;
+
+import java.util.Locale;
+
+/**
+ * Trace d'un appel HTTP échantillonné : durée de chaque phase et taille des échanges.
+ * Les durées sont en microsecondes, -1 quand la phase n'a pas eu lieu (connexion
+ * réutilisée, réponse servie par le cache...). Le chemin est conservé sans la query,
+ * qui porte la clé d'API.
+ */
+public final class NetworkTrace {
+    public final long startedAtMillis;
+    public final String method;
+    public final String host;
+    public final String path;
+    // Code HTTP de la réponse réseau, 0 si rien n'a été reçu du réseau (échec, cache)
+    public final int code;
+    public final String protocol;
+    public final boolean connectionReused;
+    public final long dnsMicros;
+    public final long connectMicros;
+    public final long tlsMicros;
+    // Du début de l'appel au premier octet des en-têtes de réponse
+    public final long ttfbMicros;
+    public final long bodyMicros;
+    public final long totalMicros;
+    public final long requestBytes;
+    public final long responseBytes;
+    // Message de l'exception si l'appel a échoué
+    public final String failure;
+
+    NetworkTrace(long startedAtMillis, String method, String host, String path, int code, String protocol,
+                 boolean connectionReused, long dnsMicros, long connectMicros, long tlsMicros, long ttfbMicros,
+                 long bodyMicros, long totalMicros, long requestBytes, long responseBytes, String failure) {
+        this.startedAtMillis = startedAtMillis;
+        this.method = method;
+        this.host = host;
+        this.path = path;
+        this.code = code;
+        this.protocol = protocol;
+        this.connectionReused = connectionReused;
+        this.dnsMicros = dnsMicros;
+        this.connectMicros = connectMicros;
+        this.tlsMicros = tlsMicros;
+        this.ttfbMicros = ttfbMicros;
+        this.bodyMicros = bodyMicros;
+        this.totalMicros = totalMicros;
+        this.requestBytes = requestBytes;
+        this.responseBytes = responseBytes;
+        this.failure = failure;
+    }
+
+    public boolean isFailed() {
+        return failure != null;
+    }
+
+    @Override
+    public String toString() {
+        return String.format(Locale.ROOT,
+                "%s %s%s -> %d %s%s dns=%s connect=%s tls=%s ttfb=%s body=%s total=%s req=%d o resp=%d o%s",
+                method, host, path, code, protocol != null ? protocol : "-", connectionReused ? " (réutilisée)" : "",
+                millis(dnsMicros), millis(connectMicros), millis(tlsMicros), millis(ttfbMicros),
+                millis(bodyMicros), millis(totalMicros), requestBytes, responseBytes,
+                failure != null ? " échec=" + failure : "");
+    }
+
+    private static String millis(long micros) {
+        return micros < 0 ? "-" : String.format(Locale.ROOT, "%.1fms", micros / 1000.0);
+    }
+}
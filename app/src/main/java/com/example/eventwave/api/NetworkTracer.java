@@ -0,0 +1,230 @@
+package com.example.eventwave.api;
+
+import java.io.IOException;
+import java.net.InetAddress;
+import java.net.InetSocketAddress;
+import java.net.Proxy;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.ThreadLocalRandom;
+
+import okhttp3.Call;
+import okhttp3.Connection;
+import okhttp3.EventListener;
+import okhttp3.Handshake;
+import okhttp3.Protocol;
+import okhttp3.Request;
+import okhttp3.Response;
+
+/**
+ * Traçage réseau échantillonné : une fraction des appels reçoit un listener qui mesure
+ * DNS, connexion, TLS, premier octet et corps, puis range la trace dans un tampon
+ * circulaire en mémoire. Les autres appels ne reçoivent que les compteurs partagés
+ * de {@link ConnectionMetrics}, sans aucune allocation.
+ *
+ * Passe par EventListener plutôt que par un intercepteur : seul le listener voit
+ * les phases DNS, TCP et TLS, et il ne touche jamais au corps des réponses.
+ */
+public class NetworkTracer implements EventListener.Factory {
+    private final ConnectionMetrics metrics;
+    private final NetworkTrace[] buffer;
+    private int next;
+    private int size;
+    private volatile double sampleRate;
+
+    /**
+     * @param capacity   nombre de traces conservées, les plus anciennes sont écrasées
+     * @param sampleRate fraction des appels tracés, entre 0 et 1
+     */
+    public NetworkTracer(ConnectionMetrics metrics, int capacity, double sampleRate) {
+        this.metrics = metrics;
+        this.buffer = new NetworkTrace[capacity];
+        setSampleRate(sampleRate);
+    }
+
+    public void setSampleRate(double sampleRate) {
+        this.sampleRate = Math.max(0, Math.min(1, sampleRate));
+    }
+
+    public double getSampleRate() {
+        return sampleRate;
+    }
+
+    @Override
+    public EventListener create(Call call) {
+        double rate = sampleRate;
+        if (rate <= 0 || (rate < 1 && ThreadLocalRandom.current().nextDouble() >= rate)) {
+            return metrics;
+        }
+        return new CallTrace();
+    }
+
+    /**
+     * Traces conservées, de la plus ancienne à la plus récente
+     */
+    public synchronized List<NetworkTrace> getTraces() {
+        List<NetworkTrace> traces = new ArrayList<>(size);
+        int first = (next - size + buffer.length) % buffer.length;
+        for (int i = 0; i < size; i++) {
+            traces.add(buffer[(first + i) % buffer.length]);
+        }
+        return traces;
+    }
+
+    public synchronized void clear() {
+        Arrays.fill(buffer, null);
+        next = 0;
+        size = 0;
+    }
+
+    private synchronized void record(NetworkTrace trace) {
+        buffer[next] = trace;
+        next = (next + 1) % buffer.length;
+        size = Math.min(size + 1, buffer.length);
+    }
+
+    private static long micros(long nanos) {
+        return nanos / 1000;
+    }
+
+    /**
+     * Mesures d'un appel. Les événements d'un même appel se suivent sans se chevaucher ;
+     * les phases répétées (nouvelle tentative, redirection) sont cumulées.
+     */
+    private final class CallTrace extends EventListener {
+        private Request request;
+        private long startedAtMillis;
+        private long callStart;
+        private long phaseStart;
+        private long dns = -1;
+        private long connect = -1;
+        private long tls = -1;
+        private long ttfb = -1;
+        private long body = -1;
+        private long requestBytes;
+        private long responseBytes;
+        private int code;
+        private Protocol protocol;
+        private boolean reused = true;
+        private boolean acquired;
+        private boolean secureConnecting;
+
+        @Override
+        public void callStart(Call call) {
+            request = call.request();
+            startedAtMillis = System.currentTimeMillis();
+            callStart = System.nanoTime();
+            metrics.callStart(call);
+        }
+
+        @Override
+        public void dnsStart(Call call, String domainName) {
+            phaseStart = System.nanoTime();
+        }
+
+        @Override
+        public void dnsEnd(Call call, String domainName, List<InetAddress> inetAddressList) {
+            dns = accumulate(dns);
+        }
+
+        @Override
+        public void connectStart(Call call, InetSocketAddress inetSocketAddress, Proxy proxy) {
+            reused = false;
+            secureConnecting = false;
+            phaseStart = System.nanoTime();
+        }
+
+        @Override
+        public void secureConnectStart(Call call) {
+            // La durée de connexion s'arrête à TCP ; TLS est mesuré à part
+            connect = accumulate(connect);
+            secureConnecting = true;
+            phaseStart = System.nanoTime();
+        }
+
+        @Override
+        public void secureConnectEnd(Call call, Handshake handshake) {
+            tls = accumulate(tls);
+            metrics.secureConnectEnd(call, handshake);
+        }
+
+        @Override
+        public void connectEnd(Call call, InetSocketAddress inetSocketAddress, Proxy proxy, Protocol protocol) {
+            if (!secureConnecting) {
+                connect = accumulate(connect);
+            }
+            this.protocol = protocol;
+            metrics.connectEnd(call, inetSocketAddress, proxy, protocol);
+        }
+
+        @Override
+        public void connectFailed(Call call, InetSocketAddress inetSocketAddress, Proxy proxy, Protocol protocol,
+                                  IOException ioe) {
+            if (secureConnecting) {
+                tls = accumulate(tls);
+            } else {
+                connect = accumulate(connect);
+            }
+            metrics.connectFailed(call, inetSocketAddress, proxy, protocol, ioe);
+        }
+
+        @Override
+        public void connectionAcquired(Call call, Connection connection) {
+            acquired = true;
+            protocol = connection.protocol();
+            metrics.connectionAcquired(call, connection);
+        }
+
+        @Override
+        public void requestBodyEnd(Call call, long byteCount) {
+            requestBytes += byteCount;
+        }
+
+        @Override
+        public void responseHeadersStart(Call call) {
+            if (ttfb < 0) {
+                ttfb = System.nanoTime() - callStart;
+            }
+        }
+
+        @Override
+        public void responseHeadersEnd(Call call, Response response) {
+            code = response.code();
+        }
+
+        @Override
+        public void responseBodyStart(Call call) {
+            phaseStart = System.nanoTime();
+        }
+
+        @Override
+        public void responseBodyEnd(Call call, long byteCount) {
+            body = accumulate(body);
+            responseBytes += byteCount;
+        }
+
+        @Override
+        public void callEnd(Call call) {
+            finish(null);
+        }
+
+        @Override
+        public void callFailed(Call call, IOException ioe) {
+            metrics.callFailed(call, ioe);
+            finish(ioe.getMessage() != null ? ioe.getMessage() : ioe.getClass().getSimpleName());
+        }
+
+        private long accumulate(long total) {
+            return Math.max(0, total) + System.nanoTime() - phaseStart;
+        }
+
+        private void finish(String failure) {
+            record(new NetworkTrace(startedAtMillis, request.method(), request.url().host(),
+                    request.url().encodedPath(), code, protocol != null ? protocol.toString() : null,
+                    acquired && reused, dns < 0 ? -1 : micros(dns), connect < 0 ? -1 : micros(connect),
+                    tls < 0 ? -1 : micros(tls), ttfb < 0 ? -1 : micros(ttfb), body < 0 ? -1 : micros(body),
+                    micros(System.nanoTime() - callStart), requestBytes, responseBytes, failure));
+        }
+    }
+}
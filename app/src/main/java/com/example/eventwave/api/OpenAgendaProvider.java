@@ -0,0 +1,106 @@
+package com.example.eventwave.api;
+
+import com.example.eventwave.model.Event;
+import com.example.eventwave.model.EventCategory;
+import com.example.eventwave.model.OpenAgendaResponse;
+import com.example.eventwave.utils.Constants;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import retrofit2.Call;
+import retrofit2.Response;
+
+/**
+ * OpenAgenda : agendas culturels publics, recherche par position et rayon en une page
+ */
+public class OpenAgendaProvider implements EventProvider {
+    public static final String NAME = "openagenda";
+
+    private final OpenAgendaApi api;
+
+    public OpenAgendaProvider() {
+        this(RetrofitClient.getOpenAgendaApi());
+    }
+
+    public OpenAgendaProvider(OpenAgendaApi api) {
+        this.api = api;
+    }
+
+    @Override
+    public String getName() {
+        return NAME;
+    }
+
+    @Override
+    public boolean isEnabled() {
+        return true;
+    }
+
+    @Override
+    public long getDeadlineMillis() {
+        return Constants.OPENAGENDA_DEADLINE_MS;
+    }
+
+    @Override
+    public List<Event> fetch(double latitude, double longitude, double radiusKm,
+                             PageListener listener) throws IOException {
+        Call<OpenAgendaResponse> call = api.searchEventsByLocation(null, latitude, longitude,
+                (int) Math.ceil(radiusKm));
+        // L'appel HTTP complet ne dépasse pas le délai de la source
+        call.timeout().timeout(getDeadlineMillis(), TimeUnit.MILLISECONDS);
+        Response<OpenAgendaResponse> response = call.execute();
+        if (!response.isSuccessful() || response.body() == null) {
+            throw new IOException("Erreur API OpenAgenda : " + response.code() + " - " + response.message());
+        }
+
+        List<Event> events = new ArrayList<>();
+        if (response.body().events != null) {
+            for (OpenAgendaResponse.OpenAgendaEvent item : response.body().events) {
+                if (item != null && item.getId() != null) {
+                    events.add(toEvent(item));
+                }
+            }
+        }
+        if (listener != null && !events.isEmpty()) {
+            listener.onPage(events, 0);
+        }
+        // Une seule page demandée : les événements au-delà ne sont pas récupérés
+        int received = response.body().events != null ? response.body().events.size() : 0;
+        if (listener != null && response.body().offset + received < response.body().total) {
+            listener.onTruncated();
+        }
+        return events;
+    }
+
+    static Event toEvent(OpenAgendaResponse.OpenAgendaEvent item) {
+        return new Event(
+                EventProvider.qualify(NAME, item.getId()),
+                item.getTitle() != null ? item.getTitle() : "",
+                item.getDescription(),
+                item.getImageUrl(),
+                category(item.keywords).getLabel(),
+                item.getVenueName(),
+                item.getLatitude(),
+                item.getLongitude(),
+                item.getStartDate(),
+                false);
+    }
+
+    /**
+     * Premier mot-clé rattaché à une catégorie connue
+     */
+    static EventCategory category(List<String> keywords) {
+        if (keywords != null) {
+            for (String keyword : keywords) {
+                EventCategory category = EventCategory.fromName(keyword);
+                if (category != EventCategory.OTHER) {
+                    return category;
+                }
+            }
+        }
+        return EventCategory.OTHER;
+    }
+}
@@ -0,0 +1,113 @@
+package com.example.eventwave.api;
+
+import java.util.Locale;
+import java.util.Map;
+import java.util.TreeMap;
+
+/**
+ * Latence, taux d'erreur et nombre d'événements reçus, par source d'événements
+ */
+public class ProviderMetrics {
+    public enum Outcome {
+        SUCCESS,
+        ERROR,
+        // Délai de la source dépassé : les pages déjà reçues sont conservées
+        TIMEOUT
+    }
+
+    private final Map<String, Stats> stats = new TreeMap<>();
+
+    private static class Stats {
+        long count;
+        long errors;
+        long timeouts;
+        long totalMillis;
+        long maxMillis;
+        long lastMillis;
+        long totalItems;
+        int lastItems;
+    }
+
+    public synchronized void record(String provider, Outcome outcome, long millis, int items) {
+        Stats s = stats.get(provider);
+        if (s == null) {
+            s = new Stats();
+            stats.put(provider, s);
+        }
+        s.count++;
+        if (outcome == Outcome.ERROR) {
+            s.errors++;
+        } else if (outcome == Outcome.TIMEOUT) {
+            s.timeouts++;
+        }
+        s.totalMillis += millis;
+        s.maxMillis = Math.max(s.maxMillis, millis);
+        s.lastMillis = millis;
+        s.totalItems += items;
+        s.lastItems = items;
+    }
+
+    public synchronized long getCount(String provider) {
+        Stats s = stats.get(provider);
+        return s != null ? s.count : 0;
+    }
+
+    public synchronized long getErrorCount(String provider) {
+        Stats s = stats.get(provider);
+        return s != null ? s.errors : 0;
+    }
+
+    public synchronized long getTimeoutCount(String provider) {
+        Stats s = stats.get(provider);
+        return s != null ? s.timeouts : 0;
+    }
+
+    /**
+     * Part des appels en erreur ou hors délai, entre 0 et 1
+     */
+    public synchronized double getErrorRate(String provider) {
+        Stats s = stats.get(provider);
+        return s != null && s.count > 0 ? (double) (s.errors + s.timeouts) / s.count : 0;
+    }
+
+    public synchronized long getAverageMillis(String provider) {
+        Stats s = stats.get(provider);
+        return s != null && s.count > 0 ? s.totalMillis / s.count : 0;
+    }
+
+    public synchronized long getMaxMillis(String provider) {
+        Stats s = stats.get(provider);
+        return s != null ? s.maxMillis : 0;
+    }
+
+    public synchronized long getLastMillis(String provider) {
+        Stats s = stats.get(provider);
+        return s != null ? s.lastMillis : 0;
+    }
+
+    public synchronized long getItemCount(String provider) {
+        Stats s = stats.get(provider);
+        return s != null ? s.totalItems : 0;
+    }
+
+    public synchronized int getLastItemCount(String provider) {
+        Stats s = stats.get(provider);
+        return s != null ? s.lastItems : 0;
+    }
+
+    public synchronized void reset() {
+        stats.clear();
+    }
+
+    @Override
+    public synchronized String toString() {
+        StringBuilder builder = new StringBuilder("ProviderMetrics{");
+        for (Map.Entry<String, Stats> entry : stats.entrySet()) {
+            Stats s = entry.getValue();
+            builder.append(String.format(Locale.ROOT, " %s: n=%d erreurs=%.0f%% moy=%dms max=%dms événements=%d",
+                    entry.getKey(), s.count, s.count > 0 ? 100.0 * (s.errors + s.timeouts) / s.count : 0,
+                    s.count > 0 ? s.totalMillis / s.count : 0, s.maxMillis, s.totalItems));
+        }
+        return builder.append(" }").toString();
+    }
+}
@@ -1,32 +1,21 @@
 package com.example.eventwave.api;
 
-import okhttp3.OkHttpClient;
-import okhttp3.logging.HttpLoggingInterceptor;
 import retrofit2.Retrofit;
 import retrofit2.converter.gson.GsonConverterFactory;
-import java.util.concurrent.TimeUnit;
 
 public class RetrofitClient {
     private static final String OPENAGENDA_BASE_URL = "https://openagenda.com/";
+    private static final String EVENTBRITE_BASE_URL = "https://www.eventbriteapi.com/";
     private static Retrofit openAgendaRetrofit = null;
+    private static Retrofit eventbriteRetrofit = null;
 
-    public static Retrofit getOpenAgendaClient() {
+    public static synchronized Retrofit getOpenAgendaClient() {
         if (openAgendaRetrofit == null) {
-            // Ajouter un intercepteur de logging pour déboguer les requêtes API
-            HttpLoggingInterceptor loggingInterceptor = new HttpLoggingInterceptor();
-            loggingInterceptor.setLevel(HttpLoggingInterceptor.Level.BODY);
-            
-            OkHttpClient client = new OkHttpClient.Builder()
-                    .addInterceptor(loggingInterceptor)
-                    .connectTimeout(30, TimeUnit.SECONDS)
-                    .readTimeout(30, TimeUnit.SECONDS)
-                    .writeTimeout(30, TimeUnit.SECONDS)
-                    .build();
-            
+            // Même pile HTTP que Ticketmaster : pool de connexions et dispatcher partagés
             openAgendaRetrofit = new Retrofit.Builder()
                     .baseUrl(OPENAGENDA_BASE_URL)
                     .addConverterFactory(GsonConverterFactory.create())
-                    .client(client)
+                    .client(HttpClientProvider.getClient())
                     .build();
         }
         return openAgendaRetrofit;
@@ -35,4 +24,19 @@ public class RetrofitClient {
     public static OpenAgendaApi getOpenAgendaApi() {
         return getOpenAgendaClient().create(OpenAgendaApi.class);
     }
+
+    public static synchronized Retrofit getEventbriteClient() {
+        if (eventbriteRetrofit == null) {
+            eventbriteRetrofit = new Retrofit.Builder()
+                    .baseUrl(EVENTBRITE_BASE_URL)
+                    .addConverterFactory(GsonConverterFactory.create())
+                    .client(HttpClientProvider.getClient())
+                    .build();
+        }
+        return eventbriteRetrofit;
+    }
+
+    public static EventbriteApi getEventbriteApi() {
+        return getEventbriteClient().create(EventbriteApi.class);
+    }
 }
\ No newline at end of file
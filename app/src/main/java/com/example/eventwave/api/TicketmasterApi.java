@@ -1,6 +1,6 @@
 package com.example.eventwave.api;
 
-import com.example.eventwave.model.TicketmasterResponse;
+import com.example.eventwave.model.TicketmasterPage;
 import retrofit2.Call;
 import retrofit2.http.GET;
 import retrofit2.http.Query;
@@ -12,7 +12,7 @@ public interface TicketmasterApi {
      * Documentation: https://developer.ticketmaster.com/products-and-docs/apis/discovery-api/v2/
      */
     @GET("discovery/v2/events.json")
-    Call<TicketmasterResponse> searchEvents(
+    Call<TicketmasterPage> searchEvents(
         @Query("apikey") String apiKey,
         @Query("latlong") String latlong,
         @Query("radius") String radius,
@@ -29,7 +29,7 @@ public interface TicketmasterApi {
      * Recherche des événements par géolocalisation sans restriction de pays
      */
     @GET("discovery/v2/events.json")
-    Call<TicketmasterResponse> searchEventsWithoutCountry(
+    Call<TicketmasterPage> searchEventsWithoutCountry(
         @Query("apikey") String apiKey,
         @Query("latlong") String latlong,
         @Query("radius") String radius,
@@ -45,7 +45,7 @@ public interface TicketmasterApi {
      * Recherche des événements par ville
      */
     @GET("discovery/v2/events.json")
-    Call<TicketmasterResponse> searchEventsByCity(
+    Call<TicketmasterPage> searchEventsByCity(
         @Query("apikey") String apiKey,
         @Query("city") String city,
         @Query("countryCode") String countryCode,
@@ -59,7 +59,7 @@ public interface TicketmasterApi {
      * Recherche des événements par mots-clés
      */
     @GET("discovery/v2/events.json")
-    Call<TicketmasterResponse> searchEventsByKeyword(
+    Call<TicketmasterPage> searchEventsByKeyword(
         @Query("apikey") String apiKey,
         @Query("keyword") String keyword,
         @Query("latlong") String latlong,
@@ -0,0 +1,37 @@
+package com.example.eventwave.api;
+
+import com.example.eventwave.model.TicketmasterPage;
+
+import java.lang.annotation.Annotation;
+import java.lang.reflect.Type;
+
+import okhttp3.ResponseBody;
+import retrofit2.Converter;
+import retrofit2.Retrofit;
+
+/**
+ * Convertisseur Retrofit des réponses TicketmasterPage par {@link TicketmasterPageParser}.
+ * À déclarer avant GsonConverterFactory, qui reste utilisé pour les autres types.
+ */
+public final class TicketmasterConverterFactory extends Converter.Factory {
+
+    public static TicketmasterConverterFactory create() {
+        return new TicketmasterConverterFactory();
+    }
+
+    private TicketmasterConverterFactory() {
+    }
+
+    @Override
+    public Converter<ResponseBody, ?> responseBodyConverter(Type type, Annotation[] annotations,
+                                                            Retrofit retrofit) {
+        if (type != TicketmasterPage.class) {
+            return null;
+        }
+        return (Converter<ResponseBody, TicketmasterPage>) body -> {
+            try (ResponseBody ignored = body) {
+                return TicketmasterPageParser.parse(body.charStream());
+            }
+        };
+    }
+}
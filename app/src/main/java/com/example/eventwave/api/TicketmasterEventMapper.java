@@ -0,0 +1,174 @@
+package com.example.eventwave.api;
+
+import com.example.eventwave.model.Event;
+import com.example.eventwave.model.EventCategory;
+import com.example.eventwave.model.TicketmasterEvent;
+
+import java.time.Instant;
+import java.time.format.DateTimeParseException;
+import java.util.Map;
+
+/**
+ * Passage d'un événement Ticketmaster à un Event, partagé entre le décodage en flux
+ * ({@link TicketmasterPageParser}) et le modèle Gson complet ({@link TicketmasterEvent}),
+ * pour que les deux chemins produisent exactement les mêmes objets.
+ */
+public final class TicketmasterEventMapper {
+    // Valeurs par défaut reprises de TicketmasterEvent
+    static final String DEFAULT_NAME = "Événement sans nom";
+    static final String DEFAULT_SEGMENT = "Événement";
+    static final String DEFAULT_VENUE = "Lieu non spécifié";
+    static final String DEFAULT_CITY = "Ville non spécifiée";
+
+    // Identifiants stables des segments de la Discovery API ; le nom ne sert que pour un segment inconnu
+    private static final Map<String, EventCategory> SEGMENT_IDS = Map.of(
+            "KZFzniwnSyZfZ7v7nJ", EventCategory.MUSIC,
+            "KZFzniwnSyZfZ7v7nE", EventCategory.SPORTS,
+            "KZFzniwnSyZfZ7v7na", EventCategory.THEATRE,
+            "KZFzniwnSyZfZ7v7n1", EventCategory.FAMILY,    // Miscellaneous
+            "KZFzniwnSyZfZ7v7nn", EventCategory.OTHER,     // Film
+            "KZFzniwnSyZfZ7v7nl", EventCategory.OTHER);    // Undefined
+
+    private TicketmasterEventMapper() {
+    }
+
+    /**
+     * Conversion depuis le modèle Gson complet
+     */
+    public static Event toEvent(TicketmasterEvent tmEvent) {
+        return toEvent(tmEvent.id, tmEvent.getEventName(), tmEvent.getSegmentId(), tmEvent.getCategory(),
+                tmEvent.getImageUrl(),
+                tmEvent.getVenueName(), tmEvent.getCityName(), tmEvent.getLatitude(), tmEvent.getLongitude(),
+                tmEvent.getStartDateMillis());
+    }
+
+    /**
+     * @param segmentId identifiant du segment Ticketmaster, null s'il est absent
+     * @param segment   nom du segment brut (Music, Sports...)
+     */
+    static Event toEvent(String id, String name, String segmentId, String segment, String imageUrl,
+                         String venueName, String cityName, double latitude, double longitude,
+                         long startDateMillis) {
+        return new Event(
+                id,
+                name,
+                "Événement " + segment + " à " + cityName,
+                imageUrl,
+                category(segmentId, segment).getLabel(),
+                venueName + ", " + cityName,
+                latitude,
+                longitude,
+                startDateMillis,
+                false
+        );
+    }
+
+    /**
+     * Catégorie d'un segment : par identifiant, sinon par nom
+     */
+    public static EventCategory category(String segmentId, String segmentName) {
+        EventCategory category = segmentId != null ? SEGMENT_IDS.get(segmentId) : null;
+        return category != null ? category : EventCategory.fromName(segmentName);
+    }
+
+    /**
+     * Mappe les catégories Ticketmaster vers nos catégories (libellé affiché)
+     */
+    public static String mapCategory(String ticketmasterCategory) {
+        return EventCategory.fromName(ticketmasterCategory).getLabel();
+    }
+
+    /**
+     * Coordonnée transmise en texte par l'API ; 0 si absente ou invalide
+     */
+    static double parseCoordinate(String value) {
+        if (value == null) {
+            return 0.0;
+        }
+        try {
+            return Double.parseDouble(value);
+        } catch (NumberFormatException e) {
+            return 0.0;
+        }
+    }
+
+    /**
+     * Date de début ISO-8601 ; maintenant si absente ou invalide, comme TicketmasterEvent
+     */
+    static long parseStartDate(String dateTime) {
+        if (dateTime == null) {
+            return System.currentTimeMillis();
+        }
+        long millis = parseUtcSeconds(dateTime);
+        if (millis != Long.MIN_VALUE) {
+            return millis;
+        }
+        try {
+            return Instant.parse(dateTime).toEpochMilli();
+        } catch (DateTimeParseException e) {
+            return System.currentTimeMillis();
+        }
+    }
+
+    /**
+     * Forme renvoyée par l'API, "2030-06-21T18:00:00Z", lue sans passer par DateTimeFormatter ;
+     * Long.MIN_VALUE pour toute autre forme, laissée à Instant.parse
+     */
+    private static long parseUtcSeconds(String s) {
+        if (s.length() != 20 || s.charAt(4) != '-' || s.charAt(7) != '-' || s.charAt(10) != 'T'
+                || s.charAt(13) != ':' || s.charAt(16) != ':' || s.charAt(19) != 'Z') {
+            return Long.MIN_VALUE;
+        }
+        int year = digits(s, 0, 4);
+        int month = digits(s, 5, 7);
+        int day = digits(s, 8, 10);
+        int hour = digits(s, 11, 13);
+        int minute = digits(s, 14, 16);
+        int second = digits(s, 17, 19);
+        if (year < 0 || month < 1 || month > 12 || day < 1 || day > 31
+                || hour < 0 || hour > 23 || minute < 0 || minute > 59 || second < 0 || second > 59) {
+            return Long.MIN_VALUE;
+        }
+        // Jours depuis 1970 (algorithme de LocalDate.toEpochDay, sans allocation)
+        long y = year;
+        long days = 365 * y + (y + 3) / 4 - (y + 99) / 100 + (y + 399) / 400 + (367 * month - 362) / 12 + day - 1;
+        if (month > 2) {
+            boolean leap = (year % 4 == 0 && year % 100 != 0) || year % 400 == 0;
+            days -= leap ? 1 : 2;
+        }
+        if (day > 28 && day > lengthOfMonth(year, month)) {
+            return Long.MIN_VALUE;
+        }
+        days -= 719528; // 0000-01-01 → 1970-01-01
+        return ((days * 24 + hour) * 60 + minute) * 60_000L + second * 1000L;
+    }
+
+    private static int lengthOfMonth(int year, int month) {
+        switch (month) {
+            case 2:
+                return (year % 4 == 0 && year % 100 != 0) || year % 400 == 0 ? 29 : 28;
+            case 4:
+            case 6:
+            case 9:
+            case 11:
+                return 30;
+            default:
+                return 31;
+        }
+    }
+
+    /**
+     * Entier décimal de s[start, end[, -1 si un caractère n'est pas un chiffre
+     */
+    private static int digits(String s, int start, int end) {
+        int value = 0;
+        for (int i = start; i < end; i++) {
+            int digit = s.charAt(i) - '0';
+            if (digit < 0 || digit > 9) {
+                return -1;
+            }
+            value = value * 10 + digit;
+        }
+        return value;
+    }
+}
@@ -0,0 +1,443 @@
+package com.example.eventwave.api;
+
+import com.example.eventwave.model.Event;
+import com.example.eventwave.model.TicketmasterPage;
+import com.example.eventwave.model.TicketmasterResponse;
+import com.google.gson.stream.JsonReader;
+import com.google.gson.stream.JsonToken;
+
+import java.io.IOException;
+import java.io.Reader;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Décodage en flux d'une page de la Discovery API : chaque événement est lu champ par
+ * champ et converti directement en Event, sans construire l'arbre TicketmasterEvent.
+ * Seuls les champs utilisés sont lus ; images, classifications secondaires, genres,
+ * priceRanges, _links des événements et tout champ inconnu sont sautés sans allocation.
+ *
+ * Le résultat est identique à TicketmasterEventMapper.toEvent() appliqué au modèle Gson.
+ */
+public final class TicketmasterPageParser {
+
+    private TicketmasterPageParser() {
+    }
+
+    public static TicketmasterPage parse(Reader reader) throws IOException {
+        JsonReader json = new JsonReader(reader);
+        if (skipNull(json)) {
+            return TicketmasterPage.EMPTY;
+        }
+        List<Event> events = new ArrayList<>();
+        TicketmasterResponse.Page page = null;
+        String nextHref = null;
+        EventFields fields = new EventFields();
+
+        json.beginObject();
+        while (json.hasNext()) {
+            switch (json.nextName()) {
+                case "_embedded":
+                    readEmbedded(json, events, fields);
+                    break;
+                case "page":
+                    page = readPage(json);
+                    break;
+                case "_links":
+                    nextHref = readNextHref(json);
+                    break;
+                default:
+                    json.skipValue();
+            }
+        }
+        json.endObject();
+        return new TicketmasterPage(events, page, nextHref);
+    }
+
+    private static void readEmbedded(JsonReader json, List<Event> events, EventFields fields) throws IOException {
+        if (skipNull(json)) {
+            return;
+        }
+        json.beginObject();
+        while (json.hasNext()) {
+            if (json.nextName().equals("events") && !skipNull(json)) {
+                json.beginArray();
+                while (json.hasNext()) {
+                    Event event = readEvent(json, fields);
+                    if (event != null) {
+                        events.add(event);
+                    }
+                }
+                json.endArray();
+            } else {
+                json.skipValue();
+            }
+        }
+        json.endObject();
+    }
+
+    /**
+     * Un événement, ou null s'il est vide ou sans identifiant (clé primaire de la table)
+     */
+    private static Event readEvent(JsonReader json, EventFields f) throws IOException {
+        if (skipNull(json)) {
+            return null;
+        }
+        f.reset();
+        json.beginObject();
+        while (json.hasNext()) {
+            switch (json.nextName()) {
+                case "id":
+                    f.id = nextStringOrNull(json);
+                    break;
+                case "name":
+                    f.name = nextStringOrNull(json);
+                    break;
+                case "images":
+                    readImages(json, f);
+                    break;
+                case "dates":
+                    readDates(json, f);
+                    break;
+                case "classifications":
+                    readClassifications(json, f);
+                    break;
+                case "_embedded":
+                    readVenues(json, f);
+                    break;
+                default:
+                    json.skipValue();
+            }
+        }
+        json.endObject();
+        if (f.id == null) {
+            return null;
+        }
+
+        String segment = f.hasSegment ? f.segment : TicketmasterEventMapper.DEFAULT_SEGMENT;
+        String imageUrl = !f.hasImages ? "" : f.hasLargeImage ? f.largeImageUrl : f.firstImageUrl;
+        String venueName = f.hasVenue ? f.venueName : TicketmasterEventMapper.DEFAULT_VENUE;
+        String cityName = f.hasCity ? f.cityName : TicketmasterEventMapper.DEFAULT_CITY;
+        return TicketmasterEventMapper.toEvent(
+                f.id,
+                f.name != null ? f.name : TicketmasterEventMapper.DEFAULT_NAME,
+                f.segmentId,
+                segment,
+                imageUrl,
+                venueName,
+                cityName,
+                TicketmasterEventMapper.parseCoordinate(f.latitude),
+                TicketmasterEventMapper.parseCoordinate(f.longitude),
+                TicketmasterEventMapper.parseStartDate(f.dateTime));
+    }
+
+    /**
+     * Première image d'au moins 640x360, sinon la première de la liste
+     */
+    private static void readImages(JsonReader json, EventFields f) throws IOException {
+        if (skipNull(json)) {
+            return;
+        }
+        json.beginArray();
+        while (json.hasNext()) {
+            if (f.hasLargeImage || skipNull(json)) {
+                json.skipValue();
+                continue;
+            }
+            String url = null;
+            int width = 0;
+            int height = 0;
+            json.beginObject();
+            while (json.hasNext()) {
+                switch (json.nextName()) {
+                    case "url":
+                        url = nextStringOrNull(json);
+                        break;
+                    case "width":
+                        width = nextIntOrZero(json);
+                        break;
+                    case "height":
+                        height = nextIntOrZero(json);
+                        break;
+                    default:
+                        json.skipValue();
+                }
+            }
+            json.endObject();
+            if (!f.hasImages) {
+                f.hasImages = true;
+                f.firstImageUrl = url;
+            }
+            if (width >= 640 && height >= 360) {
+                f.hasLargeImage = true;
+                f.largeImageUrl = url;
+            }
+        }
+        json.endArray();
+    }
+
+    private static void readDates(JsonReader json, EventFields f) throws IOException {
+        if (skipNull(json)) {
+            return;
+        }
+        json.beginObject();
+        while (json.hasNext()) {
+            if (json.nextName().equals("start") && !skipNull(json)) {
+                json.beginObject();
+                while (json.hasNext()) {
+                    if (json.nextName().equals("dateTime")) {
+                        f.dateTime = nextStringOrNull(json);
+                    } else {
+                        json.skipValue();
+                    }
+                }
+                json.endObject();
+            } else {
+                json.skipValue();
+            }
+        }
+        json.endObject();
+    }
+
+    /**
+     * Seul le segment de la première classification compte
+     */
+    private static void readClassifications(JsonReader json, EventFields f) throws IOException {
+        if (skipNull(json)) {
+            return;
+        }
+        json.beginArray();
+        boolean first = true;
+        while (json.hasNext()) {
+            if (!first || skipNull(json)) {
+                json.skipValue();
+                first = false;
+                continue;
+            }
+            first = false;
+            json.beginObject();
+            while (json.hasNext()) {
+                if (json.nextName().equals("segment") && !skipNull(json)) {
+                    f.hasSegment = true;
+                    readSegment(json, f);
+                } else {
+                    json.skipValue();
+                }
+            }
+            json.endObject();
+        }
+        json.endArray();
+    }
+
+    /**
+     * _embedded d'un événement : seul le premier lieu compte
+     */
+    private static void readVenues(JsonReader json, EventFields f) throws IOException {
+        if (skipNull(json)) {
+            return;
+        }
+        json.beginObject();
+        while (json.hasNext()) {
+            if (!json.nextName().equals("venues") || skipNull(json)) {
+                json.skipValue();
+                continue;
+            }
+            json.beginArray();
+            while (json.hasNext()) {
+                if (f.hasVenue || skipNull(json)) {
+                    json.skipValue();
+                    continue;
+                }
+                f.hasVenue = true;
+                readVenue(json, f);
+            }
+            json.endArray();
+        }
+        json.endObject();
+    }
+
+    private static void readVenue(JsonReader json, EventFields f) throws IOException {
+        json.beginObject();
+        while (json.hasNext()) {
+            switch (json.nextName()) {
+                case "name":
+                    f.venueName = nextStringOrNull(json);
+                    break;
+                case "city":
+                    if (!skipNull(json)) {
+                        f.hasCity = true;
+                        f.cityName = readName(json);
+                    }
+                    break;
+                case "location":
+                    if (!skipNull(json)) {
+                        json.beginObject();
+                        while (json.hasNext()) {
+                            switch (json.nextName()) {
+                                case "latitude":
+                                    f.latitude = nextStringOrNull(json);
+                                    break;
+                                case "longitude":
+                                    f.longitude = nextStringOrNull(json);
+                                    break;
+                                default:
+                                    json.skipValue();
+                            }
+                        }
+                        json.endObject();
+                    }
+                    break;
+                default:
+                    json.skipValue();
+            }
+        }
+        json.endObject();
+    }
+
+    private static TicketmasterResponse.Page readPage(JsonReader json) throws IOException {
+        if (skipNull(json)) {
+            return null;
+        }
+        TicketmasterResponse.Page page = new TicketmasterResponse.Page();
+        json.beginObject();
+        while (json.hasNext()) {
+            switch (json.nextName()) {
+                case "size":
+                    page.size = nextIntOrZero(json);
+                    break;
+                case "totalElements":
+                    page.totalElements = nextIntOrZero(json);
+                    break;
+                case "totalPages":
+                    page.totalPages = nextIntOrZero(json);
+                    break;
+                case "number":
+                    page.number = nextIntOrZero(json);
+                    break;
+                default:
+                    json.skipValue();
+            }
+        }
+        json.endObject();
+        return page;
+    }
+
+    private static String readNextHref(JsonReader json) throws IOException {
+        if (skipNull(json)) {
+            return null;
+        }
+        String href = null;
+        json.beginObject();
+        while (json.hasNext()) {
+            if (json.nextName().equals("next") && !skipNull(json)) {
+                json.beginObject();
+                while (json.hasNext()) {
+                    if (json.nextName().equals("href")) {
+                        href = nextStringOrNull(json);
+                    } else {
+                        json.skipValue();
+                    }
+                }
+                json.endObject();
+            } else {
+                json.skipValue();
+            }
+        }
+        json.endObject();
+        return href;
+    }
+
+    private static void readSegment(JsonReader json, EventFields f) throws IOException {
+        json.beginObject();
+        while (json.hasNext()) {
+            switch (json.nextName()) {
+                case "id":
+                    f.segmentId = nextStringOrNull(json);
+                    break;
+                case "name":
+                    f.segment = nextStringOrNull(json);
+                    break;
+                default:
+                    json.skipValue();
+            }
+        }
+        json.endObject();
+    }
+
+    /**
+     * Champ "name" d'un objet (ville), null s'il est absent
+     */
+    private static String readName(JsonReader json) throws IOException {
+        String name = null;
+        json.beginObject();
+        while (json.hasNext()) {
+            if (json.nextName().equals("name")) {
+                name = nextStringOrNull(json);
+            } else {
+                json.skipValue();
+            }
+        }
+        json.endObject();
+        return name;
+    }
+
+    private static boolean skipNull(JsonReader json) throws IOException {
+        if (json.peek() == JsonToken.NULL) {
+            json.nextNull();
+            return true;
+        }
+        return false;
+    }
+
+    /**
+     * Comme Gson pour un champ String : les nombres sont acceptés tels quels
+     */
+    private static String nextStringOrNull(JsonReader json) throws IOException {
+        return skipNull(json) ? null : json.nextString();
+    }
+
+    private static int nextIntOrZero(JsonReader json) throws IOException {
+        return skipNull(json) ? 0 : json.nextInt();
+    }
+
+    /**
+     * Champs d'un événement en cours de lecture, réutilisé d'un événement à l'autre
+     */
+    private static final class EventFields {
+        String id;
+        String name;
+        boolean hasSegment;
+        String segmentId;
+        String segment;
+        boolean hasImages;
+        String firstImageUrl;
+        boolean hasLargeImage;
+        String largeImageUrl;
+        boolean hasVenue;
+        String venueName;
+        boolean hasCity;
+        String cityName;
+        String latitude;
+        String longitude;
+        String dateTime;
+
+        void reset() {
+            id = null;
+            name = null;
+            hasSegment = false;
+            segmentId = null;
+            segment = null;
+            hasImages = false;
+            firstImageUrl = null;
+            hasLargeImage = false;
+            largeImageUrl = null;
+            hasVenue = false;
+            venueName = null;
+            hasCity = false;
+            cityName = null;
+            latitude = null;
+            longitude = null;
+            dateTime = null;
+        }
+    }
+}
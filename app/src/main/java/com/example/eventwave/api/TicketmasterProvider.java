@@ -0,0 +1,60 @@
+package com.example.eventwave.api;
+
+import com.example.eventwave.model.Event;
+import com.example.eventwave.utils.Constants;
+
+import java.io.File;
+import java.io.IOException;
+import java.util.List;
+
+/**
+ * Ticketmaster Discovery : pagination, chaîne de repli et cache HTTP de TicketmasterService
+ */
+public class TicketmasterProvider implements EventProvider {
+    private final TicketmasterService service;
+
+    public TicketmasterProvider(File cacheDir) {
+        this.service = new TicketmasterService(cacheDir);
+    }
+
+    public TicketmasterProvider(TicketmasterService service) {
+        this.service = service;
+    }
+
+    @Override
+    public String getName() {
+        return TICKETMASTER;
+    }
+
+    @Override
+    public boolean isEnabled() {
+        return true;
+    }
+
+    @Override
+    public long getDeadlineMillis() {
+        return Constants.TICKETMASTER_DEADLINE_MS;
+    }
+
+    @Override
+    public List<Event> fetch(double latitude, double longitude, double radiusKm,
+                             PageListener listener) throws IOException {
+        // Toute la zone est demandée : pas d'arrêt anticipé sur le nombre d'événements visibles
+        return service.getEvents(latitude, longitude, radiusKm, 0,
+                listener == null ? null : new TicketmasterService.PageListener() {
+                    @Override
+                    public void onPage(List<Event> events, int pageNumber) {
+                        listener.onPage(events, pageNumber);
+                    }
+
+                    @Override
+                    public void onTruncated() {
+                        listener.onTruncated();
+                    }
+                });
+    }
+
+    public void testApiConnection() {
+        service.testApiConnection();
+    }
+}
@@ -4,59 +4,159 @@ import android.location.Location;
 import android.util.Log;
 
 import com.example.eventwave.model.Event;
-import com.example.eventwave.model.TicketmasterEvent;
-import com.example.eventwave.model.TicketmasterResponse;
+import com.example.eventwave.model.TicketmasterPage;
 import com.example.eventwave.utils.Constants;
+import com.example.eventwave.utils.GeoKernel;
 
+import java.io.File;
 import java.io.IOException;
+import java.io.InterruptedIOException;
 import java.time.LocalDateTime;
 import java.time.format.DateTimeFormatter;
+import java.time.temporal.ChronoUnit;
 import java.util.ArrayList;
 import java.util.List;
+import java.util.Locale;
 import java.util.concurrent.TimeUnit;
 
-import okhttp3.OkHttpClient;
-import okhttp3.logging.HttpLoggingInterceptor;
 import retrofit2.Call;
+import retrofit2.Callback;
 import retrofit2.Response;
 import retrofit2.Retrofit;
-import retrofit2.converter.gson.GsonConverterFactory;
 
 public class TicketmasterService {
     private static final String TAG = "TicketmasterService";
     private static final boolean USE_MOCK_DATA = false; // Mettre à true pour utiliser les données fictives
     
+    // Latences de la chaîne de repli, partagées entre toutes les instances
+    private static final FetchMetrics METRICS = new FetchMetrics();
+    
     private final TicketmasterApi api;
     private final Retrofit retrofit;
+    private volatile FetchPolicy fetchPolicy = FetchPolicy.HEDGED;
+    private volatile long hedgeDelayMs = Constants.TICKETMASTER_HEDGE_DELAY_MS;
     
-    public TicketmasterService() {
-        // Configuration du logging pour debug
-        HttpLoggingInterceptor logging = new HttpLoggingInterceptor();
-        logging.setLevel(HttpLoggingInterceptor.Level.BODY);
-        
-        // Configuration du client HTTP
-        OkHttpClient client = new OkHttpClient.Builder()
-                .addInterceptor(logging)
-                .connectTimeout(30, TimeUnit.SECONDS)
-                .readTimeout(30, TimeUnit.SECONDS)
-                .writeTimeout(30, TimeUnit.SECONDS)
-                .build();
+    /**
+     * Stratégie d'exécution de la chaîne de repli pays détecté → US → sans pays
+     */
+    public enum FetchPolicy {
+        // Les requêtes sont lancées l'une après l'autre
+        SEQUENTIAL,
+        // Le repli suivant est lancé dès que le précédent revient vide ou en erreur, ou s'il n'a pas
+        // répondu après le délai de relance ; la première réponse non vide par ordre de priorité l'emporte
+        HEDGED
+    }
+    
+    /**
+     * Reçoit chaque page d'événements dès qu'elle est convertie
+     */
+    public interface PageListener {
+        void onPage(List<Event> events, int pageNumber);
         
-        // Configuration de Retrofit
-        retrofit = new Retrofit.Builder()
-                .baseUrl(Constants.TICKETMASTER_BASE_URL)
-                .client(client)
-                .addConverterFactory(GsonConverterFactory.create())
-                .build();
+        /**
+         * Pagination arrêtée avant la dernière page : budget de pages, page suivante en erreur
+         * ou zone visible déjà couverte
+         */
+        default void onTruncated() {
+        }
+    }
+    
+    /**
+     * Construit l'appel Retrofit correspondant à une page donnée
+     */
+    private interface PageQuery {
+        Call<TicketmasterPage> create(int page, int size);
+    }
+    
+    /**
+     * Requête candidate de la chaîne de repli
+     */
+    private static class Candidate {
+        final String label;
+        final PageQuery query;
         
+        Candidate(String label, PageQuery query) {
+            this.label = label;
+            this.query = query;
+        }
+    }
+    
+    /**
+     * Première page retenue dans la chaîne de repli
+     */
+    private static class FirstPage {
+        Candidate candidate;
+        TicketmasterPage response;
+        boolean apiError;
+    }
+    
+    /**
+     * Résultat d'un parcours paginé
+     */
+    private static class PageFetchResult {
+        final List<Event> events = new ArrayList<>();
+        boolean apiError;
+    }
+    
+    public TicketmasterService() {
+        this(Constants.TICKETMASTER_BASE_URL, null);
+    }
+    
+    public TicketmasterService(String baseUrl) {
+        this(baseUrl, null);
+    }
+    
+    /**
+     * Service dont les réponses sont mises en cache sur disque dans cacheDir
+     */
+    public TicketmasterService(File cacheDir) {
+        this(Constants.TICKETMASTER_BASE_URL, cacheDir);
+    }
+    
+    /**
+     * @param cacheDir répertoire du cache HTTP, ou null pour toujours interroger le réseau
+     */
+    public TicketmasterService(String baseUrl, File cacheDir) {
+        // Client HTTP, pool de connexions et Retrofit partagés par toutes les instances
+        retrofit = HttpClientProvider.getTicketmasterRetrofit(baseUrl, cacheDir);
         api = retrofit.create(TicketmasterApi.class);
     }
     
+    public void setFetchPolicy(FetchPolicy fetchPolicy) {
+        this.fetchPolicy = fetchPolicy;
+    }
+    
+    public FetchPolicy getFetchPolicy() {
+        return fetchPolicy;
+    }
+    
+    /**
+     * Délai au-delà duquel la stratégie HEDGED lance le repli suivant sans attendre
+     */
+    public void setHedgeDelayMillis(long hedgeDelayMs) {
+        this.hedgeDelayMs = hedgeDelayMs;
+    }
+    
+    /**
+     * Latences mesurées par stratégie de récupération
+     */
+    public static FetchMetrics getMetrics() {
+        return METRICS;
+    }
+    
+    /**
+     * Succès et échecs du cache HTTP, toutes instances confondues
+     */
+    public static HttpCacheMetrics getCacheMetrics() {
+        return HttpClientProvider.getCacheMetrics();
+    }
+    
     /**
-     * Obtient la date d'aujourd'hui au format ISO pour l'API Ticketmaster
+     * Obtient la date d'aujourd'hui au format ISO pour l'API Ticketmaster.
+     * Tronquée à l'heure : l'URL, clé du cache HTTP, reste stable d'un rafraîchissement à l'autre.
      */
     private String getTodayDateISO() {
-        LocalDateTime now = LocalDateTime.now();
+        LocalDateTime now = LocalDateTime.now().truncatedTo(ChronoUnit.HOURS);
         DateTimeFormatter formatter = DateTimeFormatter.ofPattern("yyyy-MM-dd'T'HH:mm:ss'Z'");
         return now.format(formatter);
     }
@@ -65,82 +165,362 @@ public class TicketmasterService {
      * Récupère les événements basés sur la localisation
      */
     public List<Event> getEvents(Location location) throws IOException {
+        return getEvents(location.getLatitude(), location.getLongitude(),
+                Constants.DEFAULT_VISIBLE_RADIUS_KM, null);
+    }
+    
+    /**
+     * Récupère les événements page par page autour d'une position.
+     * Chaque page est transmise au listener dès sa réception ; le parcours s'arrête
+     * à la dernière page, au budget de pages, ou dès que le rayon visible contient
+     * assez d'événements. Une erreur de la requête principale est levée : les données
+     * fictives ne sont servies qu'avec USE_MOCK_DATA.
+     */
+    public List<Event> getEvents(double latitude, double longitude, double visibleRadiusKm,
+                                 PageListener listener) throws IOException {
+        return getEvents(latitude, longitude, visibleRadiusKm, Constants.TARGET_VISIBLE_EVENTS, listener);
+    }
+    
+    /**
+     * Comme getEvents, avec le nombre d'événements visibles qui arrête la pagination ;
+     * 0 parcourt toutes les pages dans la limite du budget
+     */
+    public List<Event> getEvents(double latitude, double longitude, double visibleRadiusKm,
+                                 int targetVisibleEvents, PageListener listener) throws IOException {
         if (USE_MOCK_DATA) {
-            return getMockEvents(location);
+            return deliverMockEvents(latitude, longitude, listener);
         }
         
         try {
             // Format de la géolocalisation pour Ticketmaster: "latitude,longitude"
-            String latlong = location.getLatitude() + "," + location.getLongitude();
+            // Arrondi à ~100 m pour que les positions voisines partagent la même entrée du cache HTTP
+            String latlong = String.format(Locale.ROOT, "%.3f,%.3f", latitude, longitude);
             
             // Détection automatique du code pays basé sur la localisation
-            String countryCode = getCountryCodeFromLocation(location);
+            String countryCode = getCountryCodeFromLocation(latitude, longitude);
             
             Log.d(TAG, "Recherche d'événements pour: " + latlong + " dans le pays: " + countryCode);
             
-            // Appel à l'API Ticketmaster
-            Call<TicketmasterResponse> call = api.searchEvents(
-                Constants.TICKETMASTER_API_KEY,
-                latlong,
-                String.valueOf(Constants.DEFAULT_SEARCH_RADIUS),
-                "miles",
-                Constants.DEFAULT_EVENT_COUNT,
-                0,
-                Constants.DEFAULT_SORT,
-                null,
-                countryCode,
-                getTodayDateISO()
-            );
+            FetchPolicy policy = fetchPolicy;
+            // Rayon de la zone demandée (tuiles à compléter), et non plus un rayon fixe de 50 miles
+            String radius = String.valueOf((int) Math.ceil(visibleRadiusKm));
+            List<Candidate> candidates = buildCandidates(latlong, radius, countryCode);
+            long start = System.nanoTime();
+            FirstPage firstPage = policy == FetchPolicy.HEDGED
+                    ? selectFirstPageHedged(candidates)
+                    : selectFirstPageSequential(candidates);
+            METRICS.record(policy, TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start));
             
-            Response<TicketmasterResponse> response = call.execute();
+            if (firstPage.apiError) {
+                throw new IOException("Erreur API Ticketmaster sur la requête principale");
+            }
             
-            if (response.isSuccessful() && response.body() != null) {
-                TicketmasterResponse ticketmasterResponse = response.body();
-                List<TicketmasterEvent> ticketmasterEvents = ticketmasterResponse.getEvents();
-                
-                if (ticketmasterEvents != null && !ticketmasterEvents.isEmpty()) {
-                    Log.d(TAG, "Événements trouvés: " + ticketmasterEvents.size());
-                    return convertToEvents(ticketmasterEvents);
-                } else {
-                    Log.w(TAG, "Aucun événement trouvé pour " + countryCode + ", essai avec US");
-                    // Si aucun événement trouvé, essayer avec US comme fallback
-                    if (!countryCode.equals("US")) {
-                        List<Event> usEvents = getEventsWithCountryCode(location, "US");
-                        if (!usEvents.isEmpty()) {
-                            return usEvents;
+            if (firstPage.response == null) {
+                // Réponse complète et vide : la zone ne contient aucun événement Ticketmaster
+                Log.w(TAG, "Aucun événement trouvé même sans restriction de pays");
+                return new ArrayList<>();
+            }
+            
+            // Appel paginé à partir de la première page retenue
+            PageFetchResult result = fetchPages(firstPage.candidate.query, firstPage.response,
+                    latitude, longitude, visibleRadiusKm, targetVisibleEvents, listener);
+            Log.d(TAG, "Événements trouvés (" + firstPage.candidate.label + "): " + result.events.size());
+            return result.events;
+        } catch (IOException e) {
+            // La source est en échec : ses événements stockés ne doivent pas être remplacés
+            Log.e(TAG, "Exception lors de l'appel API: " + e.getMessage(), e);
+            throw e;
+        } catch (RuntimeException e) {
+            Log.e(TAG, "Exception lors de l'appel API: " + e.getMessage(), e);
+            throw new IOException("Réponse Ticketmaster inexploitable", e);
+        }
+    }
+    
+    /**
+     * Chaîne de repli par ordre de priorité : pays détecté, puis US, puis sans restriction de pays
+     */
+    private List<Candidate> buildCandidates(String latlong, String radiusKm, String countryCode) {
+        List<Candidate> candidates = new ArrayList<>();
+        candidates.add(new Candidate(countryCode, countryQuery(latlong, radiusKm, countryCode)));
+        if (!countryCode.equals("US")) {
+            candidates.add(new Candidate("US", countryQuery(latlong, radiusKm, "US")));
+        }
+        candidates.add(new Candidate("sans restriction de pays", (page, size) -> api.searchEventsWithoutCountry(
+            Constants.TICKETMASTER_API_KEY,
+            latlong,
+            radiusKm,
+            "km",
+            size,
+            page,
+            Constants.DEFAULT_SORT,
+            null,
+            getTodayDateISO()
+        )));
+        return candidates;
+    }
+    
+    private PageQuery countryQuery(String latlong, String radiusKm, String countryCode) {
+        return (page, size) -> api.searchEvents(
+            Constants.TICKETMASTER_API_KEY,
+            latlong,
+            radiusKm,
+            "km",
+            size,
+            page,
+            Constants.DEFAULT_SORT,
+            null,
+            countryCode,
+            getTodayDateISO()
+        );
+    }
+    
+    /**
+     * Exécute les candidats l'un après l'autre jusqu'à la première page non vide.
+     * Une erreur sur le candidat principal bascule sur les données fictives,
+     * une erreur sur un repli passe au candidat suivant.
+     */
+    private FirstPage selectFirstPageSequential(List<Candidate> candidates) throws IOException {
+        FirstPage firstPage = new FirstPage();
+        for (int i = 0; i < candidates.size(); i++) {
+            Candidate candidate = candidates.get(i);
+            Response<TicketmasterPage> response;
+            try {
+                response = candidate.query.create(0, Constants.TICKETMASTER_PAGE_SIZE).execute();
+            } catch (IOException e) {
+                if (i == 0) {
+                    throw e;
+                }
+                Log.e(TAG, "Erreur lors de la recherche " + candidate.label + ": " + e.getMessage());
+                continue;
+            }
+            if (acceptFirstPage(firstPage, candidate, response, i == 0)) {
+                return firstPage;
+            }
+        }
+        return firstPage;
+    }
+    
+    /**
+     * Relance par délai : le candidat principal est lancé seul, le suivant dès que le précédent
+     * revient vide ou en erreur, ou sans l'attendre après hedgeDelayMs. Dans le cas courant d'une
+     * première page non vide reçue à temps, une seule requête est envoyée. La première page
+     * non vide par ordre de priorité l'emporte, les requêtes restantes sont annulées.
+     */
+    private FirstPage selectFirstPageHedged(List<Candidate> candidates) throws IOException {
+        int count = candidates.size();
+        Object[] outcomes = new Object[count]; // Response<TicketmasterPage> ou Throwable
+        List<Call<TicketmasterPage>> calls = new ArrayList<>();
+        long delayNanos = TimeUnit.MILLISECONDS.toNanos(hedgeDelayMs);
+        long nextLaunch = 0;
+        
+        FirstPage firstPage = new FirstPage();
+        try {
+            for (int i = 0; i < count; i++) {
+                Object outcome;
+                while (true) {
+                    // Le candidat attendu est toujours lancé, le suivant à l'expiration du délai
+                    if (calls.size() <= i || (calls.size() < count && System.nanoTime() - nextLaunch >= 0)) {
+                        launch(candidates.get(calls.size()), calls.size(), outcomes, calls);
+                        nextLaunch = System.nanoTime() + delayNanos;
+                    }
+                    synchronized (outcomes) {
+                        outcome = outcomes[i];
+                        if (outcome != null) {
+                            break;
+                        }
+                        if (calls.size() < count) {
+                            outcomes.wait(Math.max(1, TimeUnit.NANOSECONDS.toMillis(nextLaunch - System.nanoTime())));
+                        } else {
+                            outcomes.wait();
                         }
                     }
-                    
-                    // Si toujours aucun événement, essayer sans restriction de pays
-                    Log.w(TAG, "Aucun événement trouvé avec US, essai sans restriction de pays");
-                    List<Event> globalEvents = getEventsWithoutCountryRestriction(location);
-                    if (!globalEvents.isEmpty()) {
-                        return globalEvents;
+                }
+                
+                Candidate candidate = candidates.get(i);
+                if (outcome instanceof Throwable) {
+                    Throwable t = (Throwable) outcome;
+                    if (i == 0) {
+                        throw t instanceof IOException ? (IOException) t : new IOException(t);
                     }
-                    
-                    Log.w(TAG, "Aucun événement trouvé même sans restriction, utilisation des données fictives");
-                    return getMockEvents(location);
+                    Log.e(TAG, "Erreur lors de la recherche " + candidate.label + ": " + t.getMessage());
+                    continue;
+                }
+                
+                @SuppressWarnings("unchecked")
+                Response<TicketmasterPage> response = (Response<TicketmasterPage>) outcome;
+                if (acceptFirstPage(firstPage, candidate, response, i == 0)) {
+                    return firstPage;
+                }
+            }
+            return firstPage;
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new InterruptedIOException("Recherche interrompue");
+        } finally {
+            // Les requêtes moins prioritaires (ou devenues inutiles) sont annulées
+            for (Call<TicketmasterPage> call : calls) {
+                call.cancel();
+            }
+        }
+    }
+    
+    /**
+     * Lance un candidat via enqueue ; sa réponse ou son erreur est rangée dans outcomes[index]
+     */
+    private void launch(Candidate candidate, int index, Object[] outcomes, List<Call<TicketmasterPage>> calls) {
+        Call<TicketmasterPage> call = candidate.query.create(0, Constants.TICKETMASTER_PAGE_SIZE);
+        calls.add(call);
+        call.enqueue(new Callback<TicketmasterPage>() {
+            @Override
+            public void onResponse(Call<TicketmasterPage> call, Response<TicketmasterPage> response) {
+                synchronized (outcomes) {
+                    outcomes[index] = response;
+                    outcomes.notifyAll();
+                }
+            }
+            
+            @Override
+            public void onFailure(Call<TicketmasterPage> call, Throwable t) {
+                synchronized (outcomes) {
+                    outcomes[index] = t;
+                    outcomes.notifyAll();
                 }
+            }
+        });
+    }
+    
+    /**
+     * Évalue la première page d'un candidat ; renvoie true si la chaîne s'arrête sur lui
+     */
+    private boolean acceptFirstPage(FirstPage firstPage, Candidate candidate,
+                                    Response<TicketmasterPage> response, boolean primary) throws IOException {
+        if (!response.isSuccessful() || response.body() == null) {
+            Log.e(TAG, "Erreur API (" + candidate.label + "): " + response.code() + " - " + response.message());
+            if (response.errorBody() != null) {
+                Log.e(TAG, "Détails erreur: " + response.errorBody().string());
+            }
+            // Une erreur sur la requête principale met la source en échec
+            firstPage.apiError = primary;
+            return primary;
+        }
+        
+        if (!response.body().events.isEmpty()) {
+            firstPage.candidate = candidate;
+            firstPage.response = response.body();
+            return true;
+        }
+        
+        Log.w(TAG, "Aucun événement trouvé pour " + candidate.label + ", essai du repli suivant");
+        return false;
+    }
+    
+    /**
+     * Parcourt les pages d'une recherche en suivant page.totalPages / _links.next,
+     * en réutilisant la première page déjà reçue lorsqu'elle est fournie.
+     * Une erreur sur une page suivante conserve les pages déjà reçues ; tout arrêt
+     * avant la dernière page est signalé au listener.
+     */
+    private PageFetchResult fetchPages(PageQuery query, TicketmasterPage firstPage, double latitude,
+                                       double longitude, double visibleRadiusKm, int targetVisibleEvents,
+                                       PageListener listener) throws IOException {
+        PageFetchResult result = new PageFetchResult();
+        int visibleCount = 0;
+        boolean lastPageReached = false;
+        
+        for (int page = 0; page < Constants.TICKETMASTER_MAX_PAGES; page++) {
+            TicketmasterPage ticketmasterPage;
+            if (page == 0 && firstPage != null) {
+                ticketmasterPage = firstPage;
             } else {
-                Log.e(TAG, "Erreur API: " + response.code() + " - " + response.message());
-                if (response.errorBody() != null) {
-                    Log.e(TAG, "Détails erreur: " + response.errorBody().string());
+                Response<TicketmasterPage> response;
+                try {
+                    response = query.create(page, Constants.TICKETMASTER_PAGE_SIZE).execute();
+                } catch (IOException e) {
+                    if (page == 0) {
+                        throw e;
+                    }
+                    Log.w(TAG, "Pagination interrompue à la page " + page + ": " + e.getMessage());
+                    break;
+                }
+                
+                if (!response.isSuccessful() || response.body() == null) {
+                    Log.e(TAG, "Erreur API (page " + page + "): " + response.code() + " - " + response.message());
+                    if (response.errorBody() != null) {
+                        Log.e(TAG, "Détails erreur: " + response.errorBody().string());
+                    }
+                    result.apiError = page == 0;
+                    break;
                 }
-                return getMockEvents(location);
+                ticketmasterPage = response.body();
+            }
+            
+            // Événements déjà convertis pendant le décodage de la réponse
+            List<Event> events = ticketmasterPage.events;
+            if (events.isEmpty()) {
+                lastPageReached = true;
+                break;
+            }
+            
+            result.events.addAll(events);
+            if (listener != null) {
+                listener.onPage(events, page);
+            }
+            
+            if (!hasNextPage(ticketmasterPage)) {
+                lastPageReached = true;
+                break;
+            }
+            
+            if (targetVisibleEvents > 0) {
+                visibleCount += countWithinRadius(events, latitude, longitude, visibleRadiusKm);
+                if (visibleRadiusKm > 0 && visibleCount >= targetVisibleEvents) {
+                    Log.d(TAG, "Zone visible couverte après " + (page + 1) + " page(s), arrêt de la pagination");
+                    break;
+                }
+            }
+        }
+        
+        if (!lastPageReached) {
+            Log.w(TAG, "Pagination incomplète : " + result.events.size() + " événement(s) reçus");
+            if (listener != null) {
+                listener.onTruncated();
             }
-        } catch (Exception e) {
-            Log.e(TAG, "Exception lors de l'appel API: " + e.getMessage(), e);
-            return getMockEvents(location);
         }
+        return result;
+    }
+    
+    /**
+     * Indique s'il reste une page à récupérer : les informations de page font foi,
+     * le lien _links.next sert de repli quand elles sont absentes
+     */
+    private static boolean hasNextPage(TicketmasterPage response) {
+        if (response.page != null) {
+            return response.page.number + 1 < response.page.totalPages;
+        }
+        return response.nextHref != null;
+    }
+    
+    /**
+     * Compte les événements situés dans le rayon visible
+     */
+    private static int countWithinRadius(List<Event> events, double latitude, double longitude, double radiusKm) {
+        if (radiusKm <= 0) {
+            return 0;
+        }
+        double[] latitudes = new double[events.size()];
+        double[] longitudes = new double[events.size()];
+        for (int i = 0; i < latitudes.length; i++) {
+            latitudes[i] = events.get(i).getLatitude();
+            longitudes[i] = events.get(i).getLongitude();
+        }
+        return GeoKernel.countWithinRadius(latitudes, longitudes, null, latitudes.length,
+                latitude, longitude, radiusKm);
     }
     
     /**
      * Détermine le code pays basé sur la localisation
      */
-    private String getCountryCodeFromLocation(Location location) {
-        double latitude = location.getLatitude();
-        double longitude = location.getLongitude();
-        
+    private String getCountryCodeFromLocation(double latitude, double longitude) {
         // Détection basique basée sur les coordonnées géographiques
         // États-Unis (approximatif)
         if (latitude >= 24.0 && latitude <= 71.0 && longitude >= -180.0 && longitude <= -66.0) {
@@ -169,134 +549,20 @@ public class TicketmasterService {
     }
     
     /**
-     * Récupère les événements avec un code pays spécifique
-     */
-    private List<Event> getEventsWithCountryCode(Location location, String countryCode) throws IOException {
-        try {
-            String latlong = location.getLatitude() + "," + location.getLongitude();
-            
-            Call<TicketmasterResponse> call = api.searchEvents(
-                Constants.TICKETMASTER_API_KEY,
-                latlong,
-                String.valueOf(Constants.DEFAULT_SEARCH_RADIUS),
-                "miles",
-                Constants.DEFAULT_EVENT_COUNT,
-                0,
-                Constants.DEFAULT_SORT,
-                null,
-                countryCode,
-                getTodayDateISO()
-            );
-            
-            Response<TicketmasterResponse> response = call.execute();
-            
-            if (response.isSuccessful() && response.body() != null) {
-                TicketmasterResponse ticketmasterResponse = response.body();
-                List<TicketmasterEvent> ticketmasterEvents = ticketmasterResponse.getEvents();
-                
-                if (ticketmasterEvents != null && !ticketmasterEvents.isEmpty()) {
-                    Log.d(TAG, "Événements trouvés avec " + countryCode + ": " + ticketmasterEvents.size());
-                    return convertToEvents(ticketmasterEvents);
-                }
-            }
-        } catch (Exception e) {
-            Log.e(TAG, "Erreur lors de la recherche avec " + countryCode + ": " + e.getMessage());
-        }
-        
-        return new ArrayList<>();
-    }
-    
-    /**
-     * Récupère les événements sans restriction de code pays
+     * Transmet les données fictives au listener comme une page unique
      */
-    private List<Event> getEventsWithoutCountryRestriction(Location location) throws IOException {
-        try {
-            String latlong = location.getLatitude() + "," + location.getLongitude();
-            
-            Call<TicketmasterResponse> call = api.searchEventsWithoutCountry(
-                Constants.TICKETMASTER_API_KEY,
-                latlong,
-                String.valueOf(Constants.DEFAULT_SEARCH_RADIUS),
-                "miles",
-                Constants.DEFAULT_EVENT_COUNT,
-                0,
-                Constants.DEFAULT_SORT,
-                null,
-                getTodayDateISO()
-            );
-            
-            Response<TicketmasterResponse> response = call.execute();
-            
-            if (response.isSuccessful() && response.body() != null) {
-                TicketmasterResponse ticketmasterResponse = response.body();
-                List<TicketmasterEvent> ticketmasterEvents = ticketmasterResponse.getEvents();
-                
-                if (ticketmasterEvents != null && !ticketmasterEvents.isEmpty()) {
-                    Log.d(TAG, "Événements trouvés sans restriction de pays: " + ticketmasterEvents.size());
-                    return convertToEvents(ticketmasterEvents);
-                }
-            }
-        } catch (Exception e) {
-            Log.e(TAG, "Erreur lors de la recherche sans restriction de pays: " + e.getMessage());
+    private List<Event> deliverMockEvents(double latitude, double longitude, PageListener listener) {
+        List<Event> events = getMockEvents(latitude, longitude);
+        if (listener != null) {
+            listener.onPage(events, 0);
         }
-        
-        return new ArrayList<>();
-    }
-    
-    /**
-     * Convertit les événements Ticketmaster en objets Event
-     */
-    private List<Event> convertToEvents(List<TicketmasterEvent> ticketmasterEvents) {
-        List<Event> events = new ArrayList<>();
-        
-        for (TicketmasterEvent tmEvent : ticketmasterEvents) {
-            try {
-                Event event = new Event(
-                    tmEvent.id,
-                    tmEvent.getEventName(),
-                    "Événement " + tmEvent.getCategory() + " à " + tmEvent.getCityName(),
-                    tmEvent.getImageUrl(),
-                    mapCategory(tmEvent.getCategory()),
-                    tmEvent.getVenueName() + ", " + tmEvent.getCityName(),
-                    tmEvent.getLatitude(),
-                    tmEvent.getLongitude(),
-                    tmEvent.getStartDateMillis(),
-                    false
-                );
-                events.add(event);
-            } catch (Exception e) {
-                Log.e(TAG, "Erreur lors de la conversion de l'événement: " + e.getMessage());
-            }
-        }
-        
         return events;
     }
     
-    /**
-     * Mappe les catégories Ticketmaster vers nos catégories
-     */
-    private String mapCategory(String ticketmasterCategory) {
-        if (ticketmasterCategory == null) return "Événement";
-        
-        String category = ticketmasterCategory.toLowerCase();
-        
-        if (category.contains("music") || category.contains("concert")) {
-            return "Musique";
-        } else if (category.contains("sports") || category.contains("sport")) {
-            return "Sport";
-        } else if (category.contains("arts") || category.contains("theatre") || category.contains("theater")) {
-            return "Théâtre";
-        } else if (category.contains("family") || category.contains("miscellaneous")) {
-            return "Famille";
-        } else {
-            return "Événement";
-        }
-    }
-    
     /**
      * Données fictives pour les tests
      */
-    private List<Event> getMockEvents(Location location) {
+    private List<Event> getMockEvents(double latitude, double longitude) {
         List<Event> events = new ArrayList<>();
         
         // Événements de musique
@@ -307,8 +573,8 @@ public class TicketmasterService {
             "",
             "Musique",
             "Olympia",
-            location.getLatitude() + 0.005,
-            location.getLongitude() + 0.005,
+            latitude + 0.005,
+            longitude + 0.005,
             System.currentTimeMillis() + 86400000, // dans 1 jour
             false
         ));
@@ -320,8 +586,8 @@ public class TicketmasterService {
             "",
             "Musique",
             "Stade de France",
-            location.getLatitude() - 0.01,
-            location.getLongitude() + 0.01,
+            latitude - 0.01,
+            longitude + 0.01,
             System.currentTimeMillis() + 172800000, // dans 2 jours
             false
         ));
@@ -334,8 +600,8 @@ public class TicketmasterService {
             "",
             "Sport",
             "Parc des Princes",
-            location.getLatitude() + 0.02,
-            location.getLongitude() + 0.02,
+            latitude + 0.02,
+            longitude + 0.02,
             System.currentTimeMillis() + 259200000, // dans 3 jours
             false
         ));
@@ -347,8 +613,8 @@ public class TicketmasterService {
             "",
             "Sport",
             "AccorHotels Arena",
-            location.getLatitude() - 0.02,
-            location.getLongitude() - 0.02,
+            latitude - 0.02,
+            longitude - 0.02,
             System.currentTimeMillis() + 345600000, // dans 4 jours
             false
         ));
@@ -361,8 +627,8 @@ public class TicketmasterService {
             "",
             "Théâtre",
             "Comédie-Française",
-            location.getLatitude() + 0.015,
-            location.getLongitude() - 0.015,
+            latitude + 0.015,
+            longitude - 0.015,
             System.currentTimeMillis() + 432000000, // dans 5 jours
             false
         ));
@@ -380,7 +646,7 @@ public class TicketmasterService {
             // Test avec New York comme localisation (plus d'événements disponibles)
             String latlong = "40.7128,-74.0060"; // New York City
             
-            Call<TicketmasterResponse> call = api.searchEvents(
+            Call<TicketmasterPage> call = api.searchEvents(
                 Constants.TICKETMASTER_API_KEY,
                 latlong,
                 "25",
@@ -395,17 +661,16 @@ public class TicketmasterService {
             
             Log.d(TAG, "URL de test: " + call.request().url());
             
-            call.enqueue(new retrofit2.Callback<TicketmasterResponse>() {
+            call.enqueue(new retrofit2.Callback<TicketmasterPage>() {
                 @Override
-                public void onResponse(Call<TicketmasterResponse> call, Response<TicketmasterResponse> response) {
+                public void onResponse(Call<TicketmasterPage> call, Response<TicketmasterPage> response) {
                     if (response.isSuccessful() && response.body() != null) {
-                        TicketmasterResponse ticketmasterResponse = response.body();
-                        List<TicketmasterEvent> events = ticketmasterResponse.getEvents();
-                        if (events != null) {
+                        List<Event> events = response.body().events;
+                        if (!events.isEmpty()) {
                             Log.d(TAG, " Test API réussi - " + events.size() + " événements trouvés");
                             for (int i = 0; i < Math.min(3, events.size()); i++) {
-                                TicketmasterEvent event = events.get(i);
-                                Log.d(TAG, "Événement " + (i+1) + ": " + event.getEventName() + " à " + event.getCityName());
+                                Event event = events.get(i);
+                                Log.d(TAG, "Événement " + (i+1) + ": " + event.getTitle() + " à " + event.getVenueName());
                             }
                         } else {
                             Log.w(TAG, " Test API - Aucun événement trouvé");
@@ -423,7 +688,7 @@ public class TicketmasterService {
                 }
                 
                 @Override
-                public void onFailure(Call<TicketmasterResponse> call, Throwable t) {
+                public void onFailure(Call<TicketmasterPage> call, Throwable t) {
                     Log.e(TAG, " Test API échoué - Exception: " + t.getMessage(), t);
                 }
             });
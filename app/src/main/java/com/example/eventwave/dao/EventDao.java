@@ -6,22 +6,34 @@ import androidx.room.Delete;
 import androidx.room.Insert;
 import androidx.room.OnConflictStrategy;
 import androidx.room.Query;
+import androidx.room.Transaction;
 import androidx.room.Update;
 
 import com.example.eventwave.model.Event;
+import com.example.eventwave.model.EventAlias;
+import com.example.eventwave.model.EventContent;
+import com.example.eventwave.model.EventDedupRow;
+import com.example.eventwave.model.EventSearchRow;
+import com.example.eventwave.model.EventSyncState;
+import com.example.eventwave.model.FetchedTile;
+import com.example.eventwave.model.FtsMatch;
 
+import java.util.ArrayList;
+import java.util.Collections;
 import java.util.List;
 
 @Dao
 public interface EventDao {
+    int MAX_BIND_PARAMETERS = 500;
+
     @Query("SELECT * FROM events")
     LiveData<List<Event>> getAllEvents();
 
     @Query("SELECT * FROM events WHERE favorite = 1")
     LiveData<List<Event>> getFavoriteEvents();
 
-    @Query("SELECT * FROM events WHERE category = :category")
-    LiveData<List<Event>> getEventsByCategory(String category);
+    @Query("SELECT * FROM events WHERE categoryCode = :categoryCode")
+    LiveData<List<Event>> getEventsByCategory(int categoryCode);
 
     @Query("SELECT * FROM events WHERE latitude BETWEEN :minLat AND :maxLat AND longitude BETWEEN :minLon AND :maxLon")
     LiveData<List<Event>> getEventsInArea(double minLat, double maxLat, double minLon, double maxLon);
@@ -29,15 +41,157 @@ public interface EventDao {
     @Query("SELECT * FROM events WHERE favorite = 1 AND latitude BETWEEN :minLat AND :maxLat AND longitude BETWEEN :minLon AND :maxLon")
     LiveData<List<Event>> getFavoriteEventsInArea(double minLat, double maxLat, double minLon, double maxLon);
 
-    @Query("SELECT * FROM events WHERE category = :category AND latitude BETWEEN :minLat AND :maxLat AND longitude BETWEEN :minLon AND :maxLon")
-    LiveData<List<Event>> getEventsByCategoryInArea(String category, double minLat, double maxLat, double minLon, double maxLon);
+    @Query("SELECT * FROM events WHERE categoryCode = :categoryCode AND latitude BETWEEN :minLat AND :maxLat AND longitude BETWEEN :minLon AND :maxLon")
+    LiveData<List<Event>> getEventsByCategoryInArea(int categoryCode, double minLat, double maxLat, double minLon, double maxLon);
+
+    // Variantes indexées : les cellules couvrant la zone sont résolues par l'index geoCell
+    @Query("SELECT * FROM events WHERE geoCell IN (:cells) AND latitude BETWEEN :minLat AND :maxLat AND longitude BETWEEN :minLon AND :maxLon")
+    LiveData<List<Event>> getEventsInCells(List<Integer> cells, double minLat, double maxLat, double minLon, double maxLon);
+
+    @Query("SELECT * FROM events WHERE favorite = 1 AND geoCell IN (:cells) AND latitude BETWEEN :minLat AND :maxLat AND longitude BETWEEN :minLon AND :maxLon")
+    LiveData<List<Event>> getFavoriteEventsInCells(List<Integer> cells, double minLat, double maxLat, double minLon, double maxLon);
+
+    @Query("SELECT * FROM events WHERE categoryCode = :categoryCode AND geoCell IN (:cells) AND latitude BETWEEN :minLat AND :maxLat AND longitude BETWEEN :minLon AND :maxLon")
+    LiveData<List<Event>> getEventsByCategoryInCells(int categoryCode, List<Integer> cells, double minLat, double maxLat, double minLon, double maxLon);
+
+    // Pagination par clé (startDate, id) : chaque page est une recherche d'index, sans OFFSET
+    @Query("SELECT * FROM events WHERE startDate >= :startDate AND (startDate > :startDate OR id >= :id) ORDER BY startDate, id LIMIT :limit")
+    List<Event> getEventsFrom(long startDate, String id, int limit);
+
+    @Query("SELECT * FROM events WHERE startDate >= :startDate AND (startDate > :startDate OR id > :id) ORDER BY startDate, id LIMIT :limit")
+    List<Event> getEventsAfter(long startDate, String id, int limit);
+
+    @Query("SELECT * FROM events WHERE startDate <= :startDate AND (startDate < :startDate OR id < :id) ORDER BY startDate DESC, id DESC LIMIT :limit")
+    List<Event> getEventsBefore(long startDate, String id, int limit);
+
+    @Query("SELECT * FROM events WHERE categoryCode = :categoryCode AND startDate >= :startDate AND (startDate > :startDate OR id >= :id) ORDER BY startDate, id LIMIT :limit")
+    List<Event> getEventsByCategoryFrom(int categoryCode, long startDate, String id, int limit);
+
+    @Query("SELECT * FROM events WHERE categoryCode = :categoryCode AND startDate >= :startDate AND (startDate > :startDate OR id > :id) ORDER BY startDate, id LIMIT :limit")
+    List<Event> getEventsByCategoryAfter(int categoryCode, long startDate, String id, int limit);
+
+    @Query("SELECT * FROM events WHERE categoryCode = :categoryCode AND startDate <= :startDate AND (startDate < :startDate OR id < :id) ORDER BY startDate DESC, id DESC LIMIT :limit")
+    List<Event> getEventsByCategoryBefore(int categoryCode, long startDate, String id, int limit);
+
+    // Recherche plein texte en deux temps : toutes les correspondances avec leurs statistiques
+    // pour le classement (sans charger les lignes), puis les lignes d'une page avec leurs positions
+    @Query("SELECT docid, matchinfo(events_fts, 'pcnalx') AS matchInfo FROM events_fts WHERE events_fts MATCH :match")
+    List<FtsMatch> searchMatches(String match);
+
+    @Query("SELECT events_fts.docid AS docid, matchinfo(events_fts, 'pcnalx') AS matchInfo FROM events_fts JOIN events ON events.rowid = events_fts.docid WHERE events_fts MATCH :match AND events.categoryCode = :categoryCode")
+    List<FtsMatch> searchMatchesByCategory(String match, int categoryCode);
+
+    @Query("SELECT events.*, events_fts.docid AS docid, offsets(events_fts) AS matchOffsets FROM events JOIN events_fts ON events.rowid = events_fts.docid WHERE events_fts MATCH :match AND events_fts.docid IN (:docids)")
+    List<EventSearchRow> getSearchRows(String match, List<Long> docids);
+
+    @Query("SELECT id, contentHash, favorite, EXISTS (SELECT 1 FROM history WHERE history.eventId = events.id) AS viewed,"
+            + " latitude, longitude FROM events")
+    List<EventSyncState> getSyncStates();
+
+    @Query("SELECT id, title, venueName, latitude, longitude, startDate FROM events")
+    List<EventDedupRow> getDedupRows();
+
+    @Query("SELECT * FROM event_aliases")
+    List<EventAlias> getAliases();
+
+    @Insert(onConflict = OnConflictStrategy.REPLACE)
+    void insertAliases(List<EventAlias> aliases);
+
+    // Seulement les alias des lignes réellement supprimées
+    @Query("DELETE FROM event_aliases WHERE canonicalId IN (:canonicalIds) AND NOT EXISTS (SELECT 1 FROM events WHERE events.id = event_aliases.canonicalId)")
+    void deleteAliasesOf(List<String> canonicalIds);
+
+    @Query("DELETE FROM event_aliases")
+    void deleteAllAliases();
+
+    @Query("SELECT * FROM fetched_tiles")
+    List<FetchedTile> getFetchedTiles();
+
+    @Insert(onConflict = OnConflictStrategy.REPLACE)
+    void insertFetchedTiles(List<FetchedTile> tiles);
+
+    // Sans index sur fetchedAt : la table ne garde que les tuiles de moins d'une heure (quelques
+    // centaines au plus) et n'est purgée qu'au premier chargement, un parcours complet suffit
+    @Query("DELETE FROM fetched_tiles WHERE fetchedAt < :cutoff")
+    int deleteFetchedTilesBefore(long cutoff);
+
+    @Query("DELETE FROM fetched_tiles")
+    void deleteAllFetchedTiles();
 
     @Insert(onConflict = OnConflictStrategy.REPLACE)
     void insertEvents(List<Event> events);
 
+    // Réimport de l'ancien historique : une ligne déjà synchronisée est plus à jour.
+    // Renvoie -1 pour chaque ligne déjà présente
+    @Insert(onConflict = OnConflictStrategy.IGNORE)
+    List<Long> insertEventsIfAbsent(List<Event> events);
+
     @Update
     void update(Event event);
 
+    @Update
+    void updateEvents(List<Event> events);
+
+    // Contenu fourni par les sources, sans toucher au statut favori
+    @Update(entity = Event.class)
+    void updateContents(List<EventContent> contents);
+
+    @Query("DELETE FROM events WHERE id IN (:ids)")
+    void deleteEventsByIds(List<String> ids);
+
+    // Favoris et événements consultés revérifiés au moment de la suppression
+    @Query("DELETE FROM events WHERE id IN (:ids) AND favorite = 0 AND NOT EXISTS (SELECT 1 FROM history WHERE history.eventId = events.id)")
+    void deleteUnkeptEvents(List<String> ids);
+
+    /**
+     * Applique une synchronisation incrémentale dans une seule transaction :
+     * une seule invalidation pour les requêtes observées, aucune écriture pour
+     * les lignes inchangées. Le diff est calculé sur un état lu avant la synchronisation :
+     * le statut favori n'est jamais écrit, et une ligne devenue favorite ou consultée
+     * entre-temps n'est pas supprimée
+     */
+    default void applyDiff(List<Event> inserted, List<Event> changed, List<String> removed) {
+        applyDiff(inserted, changed, removed, Collections.emptyList());
+    }
+
+    /**
+     * Comme {@link #applyDiff(List, List, List)}, en enregistrant aussi les doublons reçus
+     * d'autres sources ; les alias des lignes supprimées disparaissent avec elles
+     */
+    @Transaction
+    default void applyDiff(List<Event> inserted, List<Event> changed, List<String> removed,
+                           List<EventAlias> aliases) {
+        if (!inserted.isEmpty()) {
+            // Ligne apparue depuis la lecture de l'état stocké : contenu repris, favori conservé
+            List<Long> rowIds = insertEventsIfAbsent(inserted);
+            List<EventContent> present = new ArrayList<>();
+            for (int i = 0; i < inserted.size(); i++) {
+                if (rowIds.get(i) == -1L) {
+                    present.add(new EventContent(inserted.get(i)));
+                }
+            }
+            if (!present.isEmpty()) {
+                updateContents(present);
+            }
+        }
+        if (!changed.isEmpty()) {
+            List<EventContent> contents = new ArrayList<>(changed.size());
+            for (Event event : changed) {
+                contents.add(new EventContent(event));
+            }
+            updateContents(contents);
+        }
+        if (!aliases.isEmpty()) {
+            insertAliases(aliases);
+        }
+        // SQLite limite le nombre de paramètres liés par requête
+        for (int from = 0; from < removed.size(); from += MAX_BIND_PARAMETERS) {
+            List<String> ids = removed.subList(from, Math.min(removed.size(), from + MAX_BIND_PARAMETERS));
+            deleteUnkeptEvents(ids);
+            deleteAliasesOf(ids);
+        }
+    }
+
     @Delete
     void delete(Event event);
 
@@ -0,0 +1,48 @@
+package com.example.eventwave.dao;
+
+import androidx.lifecycle.LiveData;
+import androidx.room.Dao;
+import androidx.room.Insert;
+import androidx.room.OnConflictStrategy;
+import androidx.room.Query;
+import androidx.room.Transaction;
+
+import com.example.eventwave.model.Event;
+import com.example.eventwave.model.HistoryEntry;
+
+import java.util.List;
+
+@Dao
+public interface HistoryDao {
+
+    // Une consultation remplace la précédente du même événement : une seule ligne écrite
+    @Insert(onConflict = OnConflictStrategy.REPLACE)
+    void insert(HistoryEntry entry);
+
+    @Insert(onConflict = OnConflictStrategy.REPLACE)
+    void insertAll(List<HistoryEntry> entries);
+
+    // Événements consultés, du plus récent au plus ancien ; réémis quand l'historique ou l'un de ses événements change
+    @Query("SELECT events.* FROM history JOIN events ON events.id = history.eventId ORDER BY history.viewedAt DESC, history.eventId LIMIT :limit")
+    LiveData<List<Event>> getHistoryEvents(int limit);
+
+    @Query("DELETE FROM history WHERE viewedAt < :viewedAt")
+    int deleteOlderThan(long viewedAt);
+
+    // Au-delà de maxEntries, les consultations les plus anciennes sont supprimées (parcours de l'index viewedAt)
+    @Query("DELETE FROM history WHERE eventId IN"
+            + " (SELECT eventId FROM history ORDER BY viewedAt DESC, eventId LIMIT -1 OFFSET :maxEntries)")
+    int deleteBeyond(int maxEntries);
+
+    /**
+     * Purge de l'historique : par ancienneté puis par nombre d'entrées, dans une seule transaction
+     */
+    @Transaction
+    default void prune(long viewedBefore, int maxEntries) {
+        deleteOlderThan(viewedBefore);
+        deleteBeyond(maxEntries);
+    }
+
+    @Query("DELETE FROM history")
+    void clear();
+}
@@ -2,20 +2,182 @@ package com.example.eventwave.database;
 
 import android.content.Context;
 
+import androidx.annotation.NonNull;
 import androidx.room.Database;
 import androidx.room.Room;
 import androidx.room.RoomDatabase;
+import androidx.room.migration.Migration;
+import androidx.sqlite.db.SupportSQLiteDatabase;
 
 import com.example.eventwave.dao.EventDao;
+import com.example.eventwave.dao.HistoryDao;
 import com.example.eventwave.model.Event;
+import com.example.eventwave.model.EventAlias;
+import com.example.eventwave.model.EventFts;
+import com.example.eventwave.model.FetchedTile;
+import com.example.eventwave.model.HistoryEntry;
 
-@Database(entities = {Event.class}, version = 2, exportSchema = false)
+@Database(entities = {Event.class, EventFts.class, HistoryEntry.class, EventAlias.class, FetchedTile.class}, version = 11, exportSchema = true)
 public abstract class EventDatabase extends RoomDatabase {
     private static volatile EventDatabase INSTANCE;
     private static final String DATABASE_NAME = "event_database";
 
+    /**
+     * Ajout de l'empreinte de contenu. Les lignes existantes reçoivent 0 et seront
+     * réécrites une seule fois lors de la prochaine synchronisation.
+     */
+    static final Migration MIGRATION_2_3 = new Migration(2, 3) {
+        @Override
+        public void migrate(@NonNull SupportSQLiteDatabase database) {
+            database.execSQL("ALTER TABLE events ADD COLUMN contentHash INTEGER NOT NULL DEFAULT 0");
+        }
+    };
+
+    /**
+     * Ajout de la cellule spatiale, calculée comme GeoCells.cellOf, et de son index
+     */
+    static final Migration MIGRATION_3_4 = new Migration(3, 4) {
+        @Override
+        public void migrate(@NonNull SupportSQLiteDatabase database) {
+            database.execSQL("ALTER TABLE events ADD COLUMN geoCell INTEGER NOT NULL DEFAULT 0");
+            database.execSQL("UPDATE events SET geoCell ="
+                    + " MAX(0, MIN(CAST((latitude + 90) * 10 AS INTEGER), 1799)) * 3600"
+                    + " + MAX(0, MIN(CAST((longitude + 180) * 10 AS INTEGER), 3599))");
+            database.execSQL("CREATE INDEX IF NOT EXISTS index_events_geoCell_latitude_longitude"
+                    + " ON events (geoCell, latitude, longitude)");
+        }
+    };
+
+    /**
+     * Index sur la catégorie, les favoris et la date de début
+     */
+    static final Migration MIGRATION_4_5 = new Migration(4, 5) {
+        @Override
+        public void migrate(@NonNull SupportSQLiteDatabase database) {
+            database.execSQL("CREATE INDEX IF NOT EXISTS index_events_category_startDate ON events (category, startDate)");
+            database.execSQL("CREATE INDEX IF NOT EXISTS index_events_favorite ON events (favorite)");
+            database.execSQL("CREATE INDEX IF NOT EXISTS index_events_startDate ON events (startDate)");
+        }
+    };
+
+    /**
+     * Les index de date incluent l'identifiant pour servir la pagination par clé (startDate, id)
+     */
+    static final Migration MIGRATION_5_6 = new Migration(5, 6) {
+        @Override
+        public void migrate(@NonNull SupportSQLiteDatabase database) {
+            database.execSQL("DROP INDEX IF EXISTS index_events_category_startDate");
+            database.execSQL("DROP INDEX IF EXISTS index_events_startDate");
+            database.execSQL("CREATE INDEX IF NOT EXISTS index_events_category_startDate_id ON events (category, startDate, id)");
+            database.execSQL("CREATE INDEX IF NOT EXISTS index_events_startDate_id ON events (startDate, id)");
+        }
+    };
+
+    /**
+     * Table plein texte events_fts et triggers de synchronisation, tels que Room les génère
+     * pour EventFts, puis indexation des lignes existantes
+     */
+    static final Migration MIGRATION_6_7 = new Migration(6, 7) {
+        @Override
+        public void migrate(@NonNull SupportSQLiteDatabase database) {
+            database.execSQL("CREATE VIRTUAL TABLE IF NOT EXISTS `events_fts` USING FTS4("
+                    + "`title` TEXT, `description` TEXT, `venueName` TEXT, `category` TEXT,"
+                    + " tokenize=unicode61, content=`events`)");
+            database.execSQL("CREATE TRIGGER IF NOT EXISTS room_fts_content_sync_events_fts_BEFORE_UPDATE"
+                    + " BEFORE UPDATE ON `events` BEGIN DELETE FROM `events_fts` WHERE `docid`=OLD.`rowid`; END");
+            database.execSQL("CREATE TRIGGER IF NOT EXISTS room_fts_content_sync_events_fts_BEFORE_DELETE"
+                    + " BEFORE DELETE ON `events` BEGIN DELETE FROM `events_fts` WHERE `docid`=OLD.`rowid`; END");
+            database.execSQL("CREATE TRIGGER IF NOT EXISTS room_fts_content_sync_events_fts_AFTER_UPDATE"
+                    + " AFTER UPDATE ON `events` BEGIN INSERT INTO `events_fts`"
+                    + "(`docid`, `title`, `description`, `venueName`, `category`) VALUES"
+                    + " (NEW.`rowid`, NEW.`title`, NEW.`description`, NEW.`venueName`, NEW.`category`); END");
+            database.execSQL("CREATE TRIGGER IF NOT EXISTS room_fts_content_sync_events_fts_AFTER_INSERT"
+                    + " AFTER INSERT ON `events` BEGIN INSERT INTO `events_fts`"
+                    + "(`docid`, `title`, `description`, `venueName`, `category`) VALUES"
+                    + " (NEW.`rowid`, NEW.`title`, NEW.`description`, NEW.`venueName`, NEW.`category`); END");
+            database.execSQL("INSERT INTO events_fts(events_fts) VALUES('rebuild')");
+        }
+    };
+
+    /**
+     * Code de catégorie (EventCategory) indexé à la place du libellé. Les lignes existantes
+     * ne contiennent que les libellés produits par mapCategory
+     */
+    static final Migration MIGRATION_7_8 = new Migration(7, 8) {
+        @Override
+        public void migrate(@NonNull SupportSQLiteDatabase database) {
+            database.execSQL("ALTER TABLE events ADD COLUMN categoryCode INTEGER NOT NULL DEFAULT 0");
+            database.execSQL("UPDATE events SET categoryCode = CASE category"
+                    + " WHEN 'Musique' THEN 1 WHEN 'Sport' THEN 2 WHEN 'Théâtre' THEN 3 WHEN 'Famille' THEN 4"
+                    + " WHEN 'Conférence' THEN 5 WHEN 'Jeux' THEN 6 ELSE 0 END");
+            database.execSQL("DROP INDEX IF EXISTS index_events_category_startDate_id");
+            database.execSQL("CREATE INDEX IF NOT EXISTS index_events_categoryCode_startDate_id"
+                    + " ON events (categoryCode, startDate, id)");
+        }
+    };
+
+    /**
+     * Table de l'historique de consultation, jusque-là sérialisé en JSON dans les préférences ;
+     * le contenu des préférences est repris par EventRepository au premier lancement
+     */
+    static final Migration MIGRATION_8_9 = new Migration(8, 9) {
+        @Override
+        public void migrate(@NonNull SupportSQLiteDatabase database) {
+            database.execSQL("CREATE TABLE IF NOT EXISTS `history`"
+                    + " (`eventId` TEXT NOT NULL, `viewedAt` INTEGER NOT NULL, PRIMARY KEY(`eventId`))");
+            database.execSQL("CREATE INDEX IF NOT EXISTS `index_history_viewedAt` ON `history` (`viewedAt`)");
+        }
+    };
+
+    /**
+     * Table des identifiants en double reçus d'autres sources, rattachés à l'événement canonique
+     */
+    static final Migration MIGRATION_9_10 = new Migration(9, 10) {
+        @Override
+        public void migrate(@NonNull SupportSQLiteDatabase database) {
+            database.execSQL("CREATE TABLE IF NOT EXISTS `event_aliases`"
+                    + " (`aliasId` TEXT NOT NULL, `canonicalId` TEXT NOT NULL, PRIMARY KEY(`aliasId`))");
+            database.execSQL("CREATE INDEX IF NOT EXISTS `index_event_aliases_canonicalId`"
+                    + " ON `event_aliases` (`canonicalId`)");
+        }
+    };
+
+    /**
+     * Table des tuiles geohash synchronisées ; vide après migration, la première
+     * synchronisation récupère toute la zone
+     */
+    static final Migration MIGRATION_10_11 = new Migration(10, 11) {
+        @Override
+        public void migrate(@NonNull SupportSQLiteDatabase database) {
+            database.execSQL("CREATE TABLE IF NOT EXISTS `fetched_tiles`"
+                    + " (`geohash` TEXT NOT NULL, `fetchedAt` INTEGER NOT NULL, PRIMARY KEY(`geohash`))");
+        }
+    };
+
+    /**
+     * Migrations manuelles depuis la version 2, dans l'ordre ; vérifiées par EventDatabaseMigrationTest
+     */
+    static final Migration[] MIGRATIONS = {
+            MIGRATION_2_3, MIGRATION_3_4, MIGRATION_4_5, MIGRATION_5_6, MIGRATION_6_7,
+            MIGRATION_7_8, MIGRATION_8_9, MIGRATION_9_10, MIGRATION_10_11
+    };
+
+    /**
+     * Un INSERT OR REPLACE supprime l'ancienne ligne sans déclencher les triggers DELETE,
+     * sauf si les triggers récursifs sont actifs : sans cela l'index plein texte garderait
+     * les mots des lignes remplacées
+     */
+    static final RoomDatabase.Callback FTS_SYNC_CALLBACK = new RoomDatabase.Callback() {
+        @Override
+        public void onOpen(@NonNull SupportSQLiteDatabase database) {
+            database.execSQL("PRAGMA recursive_triggers = ON");
+        }
+    };
+
     public abstract EventDao eventDao();
 
+    public abstract HistoryDao historyDao();
+
     public static EventDatabase getInstance(Context context) {
         if (INSTANCE == null) {
             synchronized (EventDatabase.class) {
@@ -24,11 +186,15 @@ public abstract class EventDatabase extends RoomDatabase {
                             context.getApplicationContext(),
                             EventDatabase.class,
                             DATABASE_NAME)
-                            .fallbackToDestructiveMigration()
+                            .addMigrations(MIGRATIONS)
+                            .addCallback(FTS_SYNC_CALLBACK)
+                            // Le schéma de la version 1 n'a jamais été exporté
+                            .fallbackToDestructiveMigrationFrom(1)
+                            .fallbackToDestructiveMigrationOnDowngrade()
                             .build();
                 }
             }
         }
         return INSTANCE;
     }
-} 
\ No newline at end of file
+}
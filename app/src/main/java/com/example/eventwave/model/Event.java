@@ -2,8 +2,12 @@ package com.example.eventwave.model;
 
 import androidx.annotation.NonNull;
 import androidx.room.Entity;
+import androidx.room.Index;
 import androidx.room.PrimaryKey;
 import androidx.room.Ignore;
+
+import com.example.eventwave.utils.GeoCells;
+
 import java.text.SimpleDateFormat;
 import java.util.Date;
 import java.util.Locale;
@@ -17,7 +21,17 @@ import java.util.Locale;
  * - @PrimaryKey : Définit l'identifiant unique de l'entité
  * - @Ignore : Exclut certains champs de la base de données
  */
-@Entity(tableName = "events") // 📊 Nom de la table dans la base de données SQLite
+@Entity(tableName = "events", // 📊 Nom de la table dans la base de données SQLite
+        indices = {
+            // 🗺️ Index spatial : cellule puis coordonnées, le filtre exact se fait dans l'index
+            @Index(value = {"geoCell", "latitude", "longitude"}),
+            // 🏷️ Filtre par code de catégorie, trié par date (clé de pagination incluse)
+            @Index(value = {"categoryCode", "startDate", "id"}),
+            // ⭐ Liste des favoris
+            @Index(value = {"favorite"}),
+            // ⏰ Tri chronologique et pagination par clé (startDate, id)
+            @Index(value = {"startDate", "id"})
+        })
 public class Event {
     
     // 🔑 IDENTIFIANT UNIQUE - Obligatoire et non null
@@ -30,11 +44,13 @@ public class Event {
     private String description;  // Description détaillée
     private String imageUrl;     // URL de l'image de couverture
     private String category;     // Catégorie (Musique, Sport, etc.)
+    private int categoryCode;    // Code stable de la catégorie (voir EventCategory), indexé
     
     // 📍 INFORMATIONS DE LIEU
     private String venueName;    // Nom du lieu/salle
     private double latitude;     // Coordonnée géographique Nord-Sud
     private double longitude;    // Coordonnée géographique Est-Ouest
+    private int geoCell;         // Cellule spatiale indexée (voir GeoCells)
     
     // ⏰ INFORMATIONS TEMPORELLES
     private long startDate;      // Date de début en timestamp (millisecondes depuis 1970)
@@ -42,14 +58,48 @@ public class Event {
     // 🏷️ MÉTADONNÉES UTILISATEUR
     private boolean favorite;    // Statut favori défini par l'utilisateur
     
+    // 🔄 MÉTADONNÉES DE SYNCHRONISATION
+    private long contentHash;    // Empreinte du contenu fourni par l'API (hors favori)
+    
     // 📏 CHAMP CALCULÉ DYNAMIQUEMENT
     @Ignore // 🚫 Ce champ n'est PAS stocké en base de données
     private transient double distance; // Distance depuis la position utilisateur (en km)
 
+    // 🔎 SURLIGNAGE DE RECHERCHE - Paires [début, fin[ en caractères, renseignées par la recherche plein texte
+    @Ignore
+    private transient int[] titleHighlights;
+    @Ignore
+    private transient int[] descriptionHighlights;
+
+    /**
+     * 🗄️ CONSTRUCTEUR DE ROOM
+     * Recopie les colonnes lues en base, sans rien recalculer : code de catégorie,
+     * cellule spatiale et empreinte ont été dérivés avant l'écriture
+     */
+    public Event(@NonNull String id, String title, String description, String imageUrl,
+                 String category, int categoryCode, String venueName, double latitude, double longitude,
+                 int geoCell, long startDate, boolean favorite, long contentHash) {
+        this.id = id;
+        this.title = title;
+        this.description = description;
+        this.imageUrl = imageUrl;
+        this.category = category;
+        this.categoryCode = categoryCode;
+        this.venueName = venueName;
+        this.latitude = latitude;
+        this.longitude = longitude;
+        this.geoCell = geoCell;
+        this.startDate = startDate;
+        this.favorite = favorite;
+        this.contentHash = contentHash;
+    }
+
     /**
      * 🏗️ CONSTRUCTEUR PRINCIPAL
-     * Utilisé par Room pour créer des objets Event depuis la base de données
+     * Utilisé par les sources et les parseurs : dérive le code de catégorie, la cellule
+     * spatiale et l'empreinte de contenu à partir des champs fournis
      */
+    @Ignore
     public Event(@NonNull String id, String title, String description, String imageUrl, 
                 String category, String venueName, double latitude, double longitude, 
                 long startDate, boolean favorite) {
@@ -58,12 +108,15 @@ public class Event {
         this.description = description;
         this.imageUrl = imageUrl;
         this.category = category;
+        this.categoryCode = EventCategory.fromName(category).getCode();
         this.venueName = venueName;
         this.latitude = latitude;
         this.longitude = longitude;
         this.startDate = startDate;
         this.favorite = favorite;
         this.distance = 0.0; // 📏 Valeur par défaut pour la distance
+        this.contentHash = computeContentHash();
+        this.geoCell = GeoCells.cellOf(latitude, longitude);
     }
 
     // 🔍 === GETTERS - Accès en lecture aux propriétés ===
@@ -79,17 +132,29 @@ public class Event {
     
     public String getCategory() { return category; }
     
+    public int getCategoryCode() { return categoryCode; }
+    
+    public EventCategory getEventCategory() { return EventCategory.fromCode(categoryCode); }
+    
     public String getVenueName() { return venueName; }
     
     public double getLatitude() { return latitude; }
     
     public double getLongitude() { return longitude; }
     
+    public int getGeoCell() { return geoCell; }
+    
     public long getStartDate() { return startDate; }
     
     public boolean isFavorite() { return favorite; }
     
     public double getDistance() { return distance; }
+    
+    public long getContentHash() { return contentHash; }
+    
+    public int[] getTitleHighlights() { return titleHighlights; }
+    
+    public int[] getDescriptionHighlights() { return descriptionHighlights; }
 
     /**
      * 📅 FORMATAGE DE DATE - Méthode utilitaire pour l'affichage
@@ -111,19 +176,77 @@ public class Event {
     
     public void setImageUrl(String imageUrl) { this.imageUrl = imageUrl; }
     
-    public void setCategory(String category) { this.category = category; }
+    public void setCategory(String category) {
+        this.category = category;
+        this.categoryCode = EventCategory.fromName(category).getCode();
+    }
+    
+    public void setCategoryCode(int categoryCode) { this.categoryCode = categoryCode; }
     
     public void setVenueName(String venueName) { this.venueName = venueName; }
     
-    public void setLatitude(double latitude) { this.latitude = latitude; }
+    public void setLatitude(double latitude) {
+        this.latitude = latitude;
+        this.geoCell = GeoCells.cellOf(latitude, longitude);
+    }
     
-    public void setLongitude(double longitude) { this.longitude = longitude; }
+    public void setLongitude(double longitude) {
+        this.longitude = longitude;
+        this.geoCell = GeoCells.cellOf(latitude, longitude);
+    }
+    
+    public void setGeoCell(int geoCell) { this.geoCell = geoCell; }
     
     public void setStartDate(long startDate) { this.startDate = startDate; }
     
     public void setFavorite(boolean favorite) { this.favorite = favorite; }
     
     public void setDistance(double distance) { this.distance = distance; }
+    
+    public void setContentHash(long contentHash) { this.contentHash = contentHash; }
+    
+    public void setHighlights(int[] titleHighlights, int[] descriptionHighlights) {
+        this.titleHighlights = titleHighlights;
+        this.descriptionHighlights = descriptionHighlights;
+    }
+
+    /**
+     * 🔄 EMPREINTE DE CONTENU - Hachage FNV-1a 64 bits des champs fournis par l'API
+     * Le statut favori et la distance sont exclus : seules les modifications
+     * venant du serveur doivent provoquer une réécriture de la ligne
+     */
+    public long computeContentHash() {
+        long hash = 0xcbf29ce484222325L; // 🎯 Base FNV-1a
+        hash = hashString(hash, id);
+        hash = hashString(hash, title);
+        hash = hashString(hash, description);
+        hash = hashString(hash, imageUrl);
+        hash = hashString(hash, category);
+        hash = hashString(hash, venueName);
+        hash = hashLong(hash, Double.doubleToLongBits(latitude));
+        hash = hashLong(hash, Double.doubleToLongBits(longitude));
+        hash = hashLong(hash, startDate);
+        return hash;
+    }
+
+    private static long hashString(long hash, String value) {
+        if (value == null) {
+            return hashLong(hash, -1L); // 🚫 Distingue null de la chaîne vide
+        }
+        for (int i = 0; i < value.length(); i++) {
+            hash ^= value.charAt(i);
+            hash *= 0x100000001b3L;
+        }
+        return hashLong(hash, value.length()); // 📏 Séparateur entre champs
+    }
+
+    private static long hashLong(long hash, long value) {
+        for (int i = 0; i < 8; i++) {
+            hash ^= (value >>> (i * 8)) & 0xff;
+            hash *= 0x100000001b3L;
+        }
+        return hash;
+    }
 
     /**
      * ⚖️ COMPARAISON D'OBJETS - Méthode equals()
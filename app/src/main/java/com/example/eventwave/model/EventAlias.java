@@ -0,0 +1,29 @@
+package com.example.eventwave.model;
+
+import androidx.annotation.NonNull;
+import androidx.room.Entity;
+import androidx.room.Index;
+import androidx.room.PrimaryKey;
+
+/**
+ * Identifiant d'un doublon reçu d'une autre source, rattaché à l'événement canonique
+ * stocké dans la table events. Le doublon n'est jamais stocké : favoris et historique
+ * restent sur l'identifiant canonique.
+ */
+@Entity(tableName = "event_aliases",
+        indices = {
+            // Suppression des alias avec leur événement canonique
+            @Index(value = {"canonicalId"})
+        })
+public class EventAlias {
+    @PrimaryKey
+    @NonNull
+    public String aliasId;
+    @NonNull
+    public String canonicalId;
+
+    public EventAlias(@NonNull String aliasId, @NonNull String canonicalId) {
+        this.aliasId = aliasId;
+        this.canonicalId = canonicalId;
+    }
+}
@@ -0,0 +1,95 @@
+package com.example.eventwave.model;
+
+import java.util.HashMap;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Catégories d'événements. Le code est stocké dans la colonne indexée events.categoryCode :
+ * il ne doit jamais changer, et une nouvelle catégorie prend le code suivant.
+ * Le libellé est le texte affiché et la valeur historique de la colonne category.
+ */
+public enum EventCategory {
+    OTHER(0, "Événement"),
+    MUSIC(1, "Musique"),
+    SPORTS(2, "Sport"),
+    THEATRE(3, "Théâtre"),
+    FAMILY(4, "Famille"),
+    CONFERENCE(5, "Conférence"),
+    GAMING(6, "Jeux");
+
+    private static final EventCategory[] BY_CODE;
+    private static final Map<String, EventCategory> BY_LABEL = new HashMap<>();
+    // Textes libres déjà classés (segments, catégories des autres sources) : peu de valeurs distinctes
+    private static final Map<String, EventCategory> BY_NAME = new ConcurrentHashMap<>();
+
+    static {
+        int maxCode = 0;
+        for (EventCategory category : values()) {
+            maxCode = Math.max(maxCode, category.code);
+            BY_LABEL.put(category.label, category);
+        }
+        BY_CODE = new EventCategory[maxCode + 1];
+        for (EventCategory category : values()) {
+            BY_CODE[category.code] = category;
+        }
+    }
+
+    private final int code;
+    private final String label;
+
+    EventCategory(int code, String label) {
+        this.code = code;
+        this.label = label;
+    }
+
+    public int getCode() {
+        return code;
+    }
+
+    public String getLabel() {
+        return label;
+    }
+
+    /**
+     * Catégorie d'un code stocké ; OTHER pour un code inconnu (version plus récente de l'application)
+     */
+    public static EventCategory fromCode(int code) {
+        return code >= 0 && code < BY_CODE.length && BY_CODE[code] != null ? BY_CODE[code] : OTHER;
+    }
+
+    /**
+     * Catégorie d'un libellé ou d'un texte libre (segment Ticketmaster, catégorie d'une autre source).
+     * Un texte libre n'est analysé qu'une fois, le résultat étant mémorisé.
+     */
+    public static EventCategory fromName(String name) {
+        if (name == null) {
+            return OTHER;
+        }
+        EventCategory category = BY_LABEL.get(name);
+        if (category != null) {
+            return category;
+        }
+        return BY_NAME.computeIfAbsent(name, EventCategory::classify);
+    }
+
+    private static EventCategory classify(String name) {
+        String text = name.toLowerCase(Locale.ROOT);
+        if (text.contains("music") || text.contains("musique") || text.contains("concert")) {
+            return MUSIC;
+        } else if (text.contains("sport")) {
+            return SPORTS;
+        } else if (text.contains("arts") || text.contains("theatre") || text.contains("theater")
+                || text.contains("théâtre")) {
+            return THEATRE;
+        } else if (text.contains("family") || text.contains("famille") || text.contains("miscellaneous")) {
+            return FAMILY;
+        } else if (text.contains("conference") || text.contains("conférence") || text.contains("talk")) {
+            return CONFERENCE;
+        } else if (text.contains("gaming") || text.contains("game") || text.contains("jeu")) {
+            return GAMING;
+        }
+        return OTHER;
+    }
+}
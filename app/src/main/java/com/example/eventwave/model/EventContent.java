@@ -0,0 +1,39 @@
+package com.example.eventwave.model;
+
+import androidx.annotation.NonNull;
+
+/**
+ * Colonnes de la table events fournies par les sources, sans le statut favori : mise à
+ * jour partielle utilisée par la synchronisation, qui ne réécrit jamais un favori
+ * modifié par l'utilisateur depuis la lecture de l'état stocké.
+ */
+public class EventContent {
+    @NonNull
+    public String id;
+    public String title;
+    public String description;
+    public String imageUrl;
+    public String category;
+    public int categoryCode;
+    public String venueName;
+    public double latitude;
+    public double longitude;
+    public int geoCell;
+    public long startDate;
+    public long contentHash;
+
+    public EventContent(@NonNull Event event) {
+        this.id = event.getId();
+        this.title = event.getTitle();
+        this.description = event.getDescription();
+        this.imageUrl = event.getImageUrl();
+        this.category = event.getCategory();
+        this.categoryCode = event.getCategoryCode();
+        this.venueName = event.getVenueName();
+        this.latitude = event.getLatitude();
+        this.longitude = event.getLongitude();
+        this.geoCell = event.getGeoCell();
+        this.startDate = event.getStartDate();
+        this.contentHash = event.getContentHash();
+    }
+}
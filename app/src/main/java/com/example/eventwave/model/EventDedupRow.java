@@ -0,0 +1,27 @@
+package com.example.eventwave.model;
+
+import androidx.annotation.NonNull;
+
+/**
+ * Projection d'une ligne de la table events utilisée par la déduplication entre sources :
+ * titre, lieu, position et date suffisent à reconnaître le même événement sous un autre identifiant.
+ */
+public class EventDedupRow {
+    @NonNull
+    public String id;
+    public String title;
+    public String venueName;
+    public double latitude;
+    public double longitude;
+    public long startDate;
+
+    public EventDedupRow(@NonNull String id, String title, String venueName,
+                         double latitude, double longitude, long startDate) {
+        this.id = id;
+        this.title = title;
+        this.venueName = venueName;
+        this.latitude = latitude;
+        this.longitude = longitude;
+        this.startDate = startDate;
+    }
+}
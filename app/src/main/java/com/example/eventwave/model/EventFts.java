@@ -0,0 +1,19 @@
+package com.example.eventwave.model;
+
+import androidx.room.Entity;
+import androidx.room.Fts4;
+import androidx.room.FtsOptions;
+
+/**
+ * Table plein texte liée à events (contenu externe) : seul l'index des mots est stocké,
+ * Room le maintient à jour par triggers. Le tokenizer unicode61 ignore casse et accents.
+ * L'ordre des colonnes est celui attendu par FtsRanking (matchinfo et offsets).
+ */
+@Fts4(contentEntity = Event.class, tokenizer = FtsOptions.TOKENIZER_UNICODE61)
+@Entity(tableName = "events_fts")
+public class EventFts {
+    public String title;
+    public String description;
+    public String venueName;
+    public String category;
+}
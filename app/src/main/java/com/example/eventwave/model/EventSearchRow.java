@@ -0,0 +1,14 @@
+package com.example.eventwave.model;
+
+import androidx.room.Embedded;
+
+/**
+ * Ligne de résultat de recherche : l'événement et les positions des mots trouvés
+ * telles que renvoyées par offsets() (octets UTF-8, voir FtsRanking.highlights).
+ */
+public class EventSearchRow {
+    @Embedded
+    public Event event;
+    public long docid;
+    public String matchOffsets;
+}
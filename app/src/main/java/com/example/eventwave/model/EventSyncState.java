@@ -0,0 +1,26 @@
+package com.example.eventwave.model;
+
+import androidx.annotation.NonNull;
+
+/**
+ * Projection légère d'une ligne de la table events utilisée par la synchronisation
+ * incrémentale : l'identifiant, l'empreinte du contenu, le statut favori et la présence
+ * dans l'historique suffisent pour décider si une ligne doit être insérée, mise à jour,
+ * supprimée ou laissée intacte. La position limite les suppressions aux tuiles synchronisées.
+ */
+public class EventSyncState {
+    @NonNull
+    public String id;
+    public long contentHash;
+    public boolean favorite;
+    public boolean viewed;
+    public double latitude;
+    public double longitude;
+
+    public EventSyncState(@NonNull String id, long contentHash, boolean favorite, boolean viewed) {
+        this.id = id;
+        this.contentHash = contentHash;
+        this.favorite = favorite;
+        this.viewed = viewed;
+    }
+}
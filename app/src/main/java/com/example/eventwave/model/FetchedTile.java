@@ -0,0 +1,22 @@
+package com.example.eventwave.model;
+
+import androidx.annotation.NonNull;
+import androidx.room.Entity;
+import androidx.room.PrimaryKey;
+
+/**
+ * Tuile geohash dont toutes les sources ont répondu, avec la date de la synchronisation :
+ * la couverture survit au redémarrage de l'application
+ */
+@Entity(tableName = "fetched_tiles")
+public class FetchedTile {
+    @PrimaryKey
+    @NonNull
+    public String geohash;
+    public long fetchedAt;
+
+    public FetchedTile(@NonNull String geohash, long fetchedAt) {
+        this.geohash = geohash;
+        this.fetchedAt = fetchedAt;
+    }
+}
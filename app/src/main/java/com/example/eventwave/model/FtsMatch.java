@@ -0,0 +1,15 @@
+package com.example.eventwave.model;
+
+/**
+ * Correspondance plein texte avant chargement de la ligne : identifiant interne
+ * (rowid de events) et statistiques matchinfo servant au classement.
+ */
+public class FtsMatch {
+    public long docid;
+    public byte[] matchInfo;
+
+    public FtsMatch(long docid, byte[] matchInfo) {
+        this.docid = docid;
+        this.matchInfo = matchInfo;
+    }
+}
@@ -0,0 +1,28 @@
+package com.example.eventwave.model;
+
+import androidx.annotation.NonNull;
+import androidx.room.Entity;
+import androidx.room.Index;
+import androidx.room.PrimaryKey;
+
+/**
+ * Consultation d'un événement : une ligne par événement, la date de dernière consultation
+ * remplacée à chaque nouvelle visite. Le contenu reste dans la table events, conservé
+ * par la synchronisation tant qu'il figure dans l'historique.
+ */
+@Entity(tableName = "history",
+        indices = {
+            // Ordre d'affichage et purge par ancienneté
+            @Index(value = {"viewedAt"})
+        })
+public class HistoryEntry {
+    @PrimaryKey
+    @NonNull
+    public String eventId;
+    public long viewedAt;
+
+    public HistoryEntry(@NonNull String eventId, long viewedAt) {
+        this.eventId = eventId;
+        this.viewedAt = viewedAt;
+    }
+}
@@ -290,6 +290,16 @@ public class TicketmasterEvent {
         return "Événement";
     }
     
+    public String getSegmentId() {
+        if (classifications != null && !classifications.isEmpty()) {
+            Classification classification = classifications.get(0);
+            if (classification.segment != null) {
+                return classification.segment.id;
+            }
+        }
+        return null;
+    }
+    
     public long getStartDateMillis() {
         if (dates != null && dates.start != null && dates.start.dateTime != null) {
             try {
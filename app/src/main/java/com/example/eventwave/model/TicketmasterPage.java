@@ -0,0 +1,24 @@
+package com.example.eventwave.model;
+
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * Page de résultats Ticketmaster décodée en flux : seuls les événements déjà convertis
+ * et les informations de pagination sont conservés.
+ */
+public class TicketmasterPage {
+    public static final TicketmasterPage EMPTY = new TicketmasterPage(Collections.emptyList(), null, null);
+
+    public final List<Event> events;
+    // null si la réponse ne contient pas de bloc "page"
+    public final TicketmasterResponse.Page page;
+    // Lien _links.next.href, null s'il n'y a pas de page suivante annoncée
+    public final String nextHref;
+
+    public TicketmasterPage(List<Event> events, TicketmasterResponse.Page page, String nextHref) {
+        this.events = events;
+        this.page = page;
+        this.nextHref = nextHref;
+    }
+}
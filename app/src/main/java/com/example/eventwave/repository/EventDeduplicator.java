@@ -0,0 +1,273 @@
+package com.example.eventwave.repository;
+
+import com.example.eventwave.api.EventProvider;
+import com.example.eventwave.model.Event;
+import com.example.eventwave.model.EventAlias;
+import com.example.eventwave.utils.GeoUtils;
+import com.example.eventwave.utils.TextNormalizer;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Déduplication entre sources à l'ingestion : le même concert reçu de Ticketmaster et
+ * d'OpenAgenda ne donne qu'une ligne, sous l'identifiant vu en premier (canonique), et
+ * l'autre identifiant devient un alias.
+ *
+ * Au lieu de comparer chaque événement à tous les autres (O(n²)), les candidats sont
+ * regroupés par bloc : cellule de 0,01° (environ 1 km) et tranche de deux heures de la date
+ * de début. Un événement n'est comparé qu'aux blocs à portée des tolérances de distance et
+ * d'horaire (en général 2 x 2 cellules et 2 tranches), soit un coût quasi linéaire. Dans un bloc, titres et lieux normalisés sont comparés par
+ * coefficient de Dice sur les bigrammes de caractères, insensible aux accents, à la casse,
+ * à la ponctuation et à une légère différence de libellé.
+ *
+ * Non thread-safe : les pages sont reçues une à une (EventAggregator.Listener).
+ */
+public class EventDeduplicator {
+    static final int CELLS_PER_DEGREE = 100;
+    static final long TIME_BUCKET_MS = 2 * 3_600_000L;
+    // Deux sources placent rarement le même lieu au mètre près, ni l'horaire (ouverture des portes)
+    static final double MAX_DISTANCE_KM = 0.5;
+    static final long MAX_START_DELTA_MS = 3_600_000L;
+    private static final double MAX_DISTANCE_DEGREES = Math.toDegrees(MAX_DISTANCE_KM / GeoUtils.EARTH_RADIUS_KM);
+    // Titre quasi identique, ou titre proche au même lieu
+    static final double SAME_TITLE = 0.8;
+    static final double SIMILAR_TITLE = 0.5;
+    static final double SAME_VENUE = 0.5;
+
+    private static final int LON_CELLS = 360 * CELLS_PER_DEGREE;
+    private static final int[] NO_GRAMS = new int[0];
+
+    /**
+     * Événement indexé, stocké ou conservé pendant la synchronisation. Les bigrammes ne sont
+     * calculés qu'à la première comparaison : la plupart des événements n'ont aucun candidat.
+     */
+    private static final class Entry {
+        final String id;
+        final String provider;
+        final String title;
+        final String venueName;
+        final double latitude;
+        final double longitude;
+        final long startDate;
+        int[] titleGrams;
+        int[] venueGrams;
+
+        Entry(String id, String title, String venueName, double latitude, double longitude, long startDate) {
+            this.id = id;
+            this.provider = EventProvider.ownerOf(id);
+            this.title = title;
+            this.venueName = venueName;
+            this.latitude = latitude;
+            this.longitude = longitude;
+            this.startDate = startDate;
+        }
+    }
+
+    private final Map<Long, List<Entry>> blocks = new HashMap<>();
+    private final Set<String> indexedIds = new HashSet<>();
+    // Alias connus : résolus directement, sans comparaison
+    private final Map<String, String> aliases;
+    private final List<EventAlias> newAliases = new ArrayList<>();
+    private final Set<String> confirmedIds = new HashSet<>();
+    // Quelques dizaines de salles pour des milliers d'événements : bigrammes calculés une fois
+    private final Map<String, int[]> venueGrams = new HashMap<>();
+
+    /**
+     * @param aliases alias déjà enregistrés, vers leur identifiant canonique
+     */
+    public EventDeduplicator(Map<String, String> aliases) {
+        this.aliases = new HashMap<>(aliases);
+    }
+
+    /**
+     * Ajoute un événement stocké aux candidats
+     */
+    public void index(String id, String title, String venueName, double latitude, double longitude, long startDate) {
+        if (!indexedIds.add(id)) {
+            return;
+        }
+        Entry entry = new Entry(id, title, venueName, latitude, longitude, startDate);
+        blocks.computeIfAbsent(blockKey(latIndex(latitude), lonIndex(longitude), bucket(startDate)),
+                key -> new ArrayList<>(2)).add(entry);
+    }
+
+    /**
+     * Événements de la page à stocker : les doublons d'un événement d'une autre source sont
+     * retirés et leur identifiant enregistré comme alias ; les autres deviennent candidats
+     */
+    public List<Event> filter(List<Event> page) {
+        List<Event> kept = new ArrayList<>(page.size());
+        for (Event event : page) {
+            String id = event.getId();
+            String canonical = aliases.get(id);
+            if (canonical != null && indexedIds.contains(canonical)) {
+                confirmedIds.add(canonical);
+                continue;
+            }
+            if (indexedIds.contains(id)) {
+                kept.add(event);
+                continue;
+            }
+            Entry match = findMatch(event);
+            if (match != null) {
+                aliases.put(id, match.id);
+                newAliases.add(new EventAlias(id, match.id));
+                confirmedIds.add(match.id);
+                continue;
+            }
+            index(id, event.getTitle(), event.getVenueName(), event.getLatitude(), event.getLongitude(),
+                    event.getStartDate());
+            kept.add(event);
+        }
+        return kept;
+    }
+
+    /**
+     * Alias découverts depuis le dernier appel, à enregistrer avec la page
+     */
+    public List<EventAlias> drainAliases() {
+        if (newAliases.isEmpty()) {
+            return Collections.emptyList();
+        }
+        List<EventAlias> drained = new ArrayList<>(newAliases);
+        newAliases.clear();
+        return drained;
+    }
+
+    /**
+     * Événements canoniques reçus au moins une fois sous un alias : toujours proposés par une source
+     */
+    public Set<String> getConfirmedIds() {
+        return confirmedIds;
+    }
+
+    /**
+     * Meilleur candidat d'une autre source dans les blocs voisins, ou null
+     */
+    private Entry findMatch(Event event) {
+        String provider = EventProvider.ownerOf(event.getId());
+        double latitude = event.getLatitude();
+        double longitude = event.getLongitude();
+        long startDate = event.getStartDate();
+        double lonDegrees = MAX_DISTANCE_DEGREES / Math.max(0.01, Math.cos(Math.toRadians(latitude)));
+        int[] titleGrams = null;
+        int[] venueGrams = null;
+        Entry best = null;
+        double bestScore = 0;
+        for (int row = latIndex(latitude - MAX_DISTANCE_DEGREES); row <= latIndex(latitude + MAX_DISTANCE_DEGREES); row++) {
+            for (int col = lonIndex(longitude - lonDegrees); col <= lonIndex(longitude + lonDegrees); col++) {
+                for (long bucket = bucket(startDate - MAX_START_DELTA_MS);
+                     bucket <= bucket(startDate + MAX_START_DELTA_MS); bucket++) {
+                    List<Entry> block = blocks.get(blockKey(row, col, bucket));
+                    if (block == null) {
+                        continue;
+                    }
+                    for (Entry entry : block) {
+                        if (entry.provider.equals(provider)
+                                || Math.abs(entry.startDate - startDate) > MAX_START_DELTA_MS
+                                || GeoUtils.distanceKm(entry.latitude, entry.longitude, latitude, longitude)
+                                        > MAX_DISTANCE_KM) {
+                            continue;
+                        }
+                        // Bigrammes calculés seulement s'il existe un candidat
+                        if (titleGrams == null) {
+                            titleGrams = bigrams(event.getTitle());
+                            venueGrams = venue(event.getVenueName());
+                        }
+                        if (entry.titleGrams == null) {
+                            entry.titleGrams = bigrams(entry.title);
+                            entry.venueGrams = venue(entry.venueName);
+                        }
+                        double title = dice(titleGrams, entry.titleGrams);
+                        boolean same = title >= SAME_TITLE
+                                || (title >= SIMILAR_TITLE && dice(venueGrams, entry.venueGrams) >= SAME_VENUE);
+                        if (same && title > bestScore) {
+                            best = entry;
+                            bestScore = title;
+                        }
+                    }
+                }
+            }
+        }
+        return best;
+    }
+
+    /**
+     * Similarité de deux libellés normalisés, de 0 (rien en commun) à 1 (identiques)
+     */
+    public static double similarity(String a, String b) {
+        return dice(bigrams(a), bigrams(b));
+    }
+
+    private int[] venue(String venueName) {
+        if (venueName == null || venueName.isEmpty()) {
+            return NO_GRAMS;
+        }
+        return venueGrams.computeIfAbsent(venueName, EventDeduplicator::bigrams);
+    }
+
+    /**
+     * Bigrammes triés des mots repliés séparés par une espace, bornes incluses :
+     * "Jazz à Vienne" et "JAZZ A VIENNE !" donnent les mêmes
+     */
+    static int[] bigrams(String text) {
+        List<String> tokens = TextNormalizer.tokens(text);
+        if (tokens.isEmpty()) {
+            return NO_GRAMS;
+        }
+        String normalized = ' ' + String.join(" ", tokens) + ' ';
+        int[] grams = new int[normalized.length() - 1];
+        for (int i = 0; i < grams.length; i++) {
+            grams[i] = (normalized.charAt(i) << 16) | normalized.charAt(i + 1);
+        }
+        Arrays.sort(grams);
+        return grams;
+    }
+
+    /**
+     * Coefficient de Dice de deux multiensembles triés, par fusion
+     */
+    static double dice(int[] a, int[] b) {
+        if (a.length == 0 || b.length == 0) {
+            return 0;
+        }
+        int common = 0;
+        int i = 0;
+        int j = 0;
+        while (i < a.length && j < b.length) {
+            if (a[i] == b[j]) {
+                common++;
+                i++;
+                j++;
+            } else if (a[i] < b[j]) {
+                i++;
+            } else {
+                j++;
+            }
+        }
+        return 2.0 * common / (a.length + b.length);
+    }
+
+    private static int latIndex(double latitude) {
+        return (int) Math.floor((latitude + 90.0) * CELLS_PER_DEGREE);
+    }
+
+    private static int lonIndex(double longitude) {
+        return (int) Math.floor((longitude + 180.0) * CELLS_PER_DEGREE);
+    }
+
+    private static long bucket(long startDate) {
+        return Math.floorDiv(startDate, TIME_BUCKET_MS);
+    }
+
+    private static long blockKey(int row, int col, long bucket) {
+        return ((long) (row * LON_CELLS + col) << 32) | (bucket & 0xFFFFFFFFL);
+    }
+}
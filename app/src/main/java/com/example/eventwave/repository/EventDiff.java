@@ -0,0 +1,119 @@
+package com.example.eventwave.repository;
+
+import com.example.eventwave.api.EventProvider;
+import com.example.eventwave.model.Event;
+import com.example.eventwave.model.EventSyncState;
+import com.example.eventwave.utils.GeoHash;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Différence entre les événements reçus de l'API et ceux déjà stockés.
+ * Seules les lignes nouvelles, modifiées ou disparues sont écrites : les lignes
+ * inchangées ne génèrent ni écriture ni invalidation des requêtes observées.
+ */
+public class EventDiff {
+    private final List<Event> inserted;
+    private final List<Event> changed;
+    private final List<String> removed;
+
+    public EventDiff(List<Event> inserted, List<Event> changed, List<String> removed) {
+        this.inserted = inserted;
+        this.changed = changed;
+        this.removed = removed;
+    }
+
+    /**
+     * Compare une page reçue à l'état stocké. Les identifiants déjà vus dans une
+     * page précédente sont ignorés ; ceux de la page sont ajoutés à {@code seenIds}.
+     * Les objets reçus reflètent le statut favori stocké ; l'écriture en base ne
+     * touche jamais cette colonne (EventDao.applyDiff).
+     */
+    public static EventDiff forPage(Map<String, EventSyncState> stored, List<Event> page, Set<String> seenIds) {
+        List<Event> inserted = new ArrayList<>();
+        List<Event> changed = new ArrayList<>();
+
+        for (Event event : page) {
+            if (!seenIds.add(event.getId())) {
+                continue;
+            }
+            event.setContentHash(event.computeContentHash());
+
+            EventSyncState state = stored.get(event.getId());
+            if (state == null) {
+                inserted.add(event);
+            } else if (state.contentHash != event.getContentHash()) {
+                event.setFavorite(state.favorite);
+                changed.add(event);
+            } else {
+                // Ligne inchangée : l'objet reflète tout de même le favori stocké
+                event.setFavorite(state.favorite);
+            }
+        }
+
+        return new EventDiff(inserted, changed, Collections.emptyList());
+    }
+
+    /**
+     * Lignes stockées absentes de la synchronisation terminée. Les favoris et les
+     * événements de l'historique sont conservés même lorsqu'ils ne sont plus renvoyés par l'API.
+     */
+    public static EventDiff removals(Map<String, EventSyncState> stored, Set<String> seenIds) {
+        return removals(stored, seenIds, null);
+    }
+
+    /**
+     * Comme {@link #removals(Map, Set)}, limité aux lignes des sources ayant répondu en entier :
+     * une source en erreur, hors délai ou incomplète ne vide pas ses événements stockés
+     *
+     * @param completedProviders noms des sources (EventProvider.getName), null pour toutes
+     */
+    public static EventDiff removals(Map<String, EventSyncState> stored, Set<String> seenIds,
+                                     Set<String> completedProviders) {
+        return removals(stored, seenIds, completedProviders, null, 0);
+    }
+
+    /**
+     * Comme {@link #removals(Map, Set, Set)}, limité aux lignes situées dans les tuiles
+     * synchronisées : les événements des autres zones restent servis par la base locale
+     *
+     * @param tiles     geohash des tuiles récupérées, null pour toutes les lignes
+     * @param precision précision de ces geohash
+     */
+    public static EventDiff removals(Map<String, EventSyncState> stored, Set<String> seenIds,
+                                     Set<String> completedProviders, Set<String> tiles, int precision) {
+        List<String> removed = new ArrayList<>();
+        for (EventSyncState state : stored.values()) {
+            if (!state.favorite && !state.viewed && !seenIds.contains(state.id)
+                    && (completedProviders == null || completedProviders.contains(EventProvider.ownerOf(state.id)))
+                    && (tiles == null || tiles.contains(GeoHash.encode(state.latitude, state.longitude, precision)))) {
+                removed.add(state.id);
+            }
+        }
+        return new EventDiff(Collections.emptyList(), Collections.emptyList(), removed);
+    }
+
+    public List<Event> getInserted() {
+        return inserted;
+    }
+
+    public List<Event> getChanged() {
+        return changed;
+    }
+
+    public List<String> getRemoved() {
+        return removed;
+    }
+
+    public boolean isEmpty() {
+        return inserted.isEmpty() && changed.isEmpty() && removed.isEmpty();
+    }
+
+    public int size() {
+        return inserted.size() + changed.size() + removed.size();
+    }
+}
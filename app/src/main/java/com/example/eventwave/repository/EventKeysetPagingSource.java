@@ -0,0 +1,117 @@
+package com.example.eventwave.repository;
+
+import androidx.annotation.NonNull;
+import androidx.annotation.Nullable;
+import androidx.paging.ListenableFuturePagingSource;
+import androidx.paging.PagingState;
+
+import com.example.eventwave.dao.EventDao;
+import com.example.eventwave.database.EventDatabase;
+import com.example.eventwave.model.Event;
+import com.example.eventwave.model.EventCategory;
+import com.google.common.util.concurrent.ListenableFuture;
+import com.google.common.util.concurrent.ListeningExecutorService;
+
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * Source de pagination des événements triés par (startDate, id).
+ * Chaque page est lue à partir de la clé du dernier (ou premier) élément chargé :
+ * le coût d'une page ne dépend pas de sa position dans la liste, contrairement à OFFSET.
+ * La source s'invalide d'elle-même dès que la table events est modifiée.
+ */
+public class EventKeysetPagingSource extends ListenableFuturePagingSource<EventKeysetPagingSource.Key, Event> {
+
+    /**
+     * Position dans l'ordre (startDate, id)
+     */
+    public static final class Key {
+        final long startDate;
+        final String id;
+
+        Key(long startDate, String id) {
+            this.startDate = startDate;
+            this.id = id;
+        }
+
+        static Key of(Event event) {
+            return new Key(event.getStartDate(), event.getId());
+        }
+    }
+
+    private static final Key FIRST = new Key(Long.MIN_VALUE, "");
+
+    private final EventDao eventDao;
+    // null pour toutes les catégories
+    private final EventCategory category;
+    private final ListeningExecutorService executor;
+
+    public EventKeysetPagingSource(EventDatabase database, EventCategory category, ListeningExecutorService executor) {
+        this.eventDao = database.eventDao();
+        this.category = category;
+        this.executor = executor;
+        PagingInvalidation.invalidateOnEventsChange(this, database);
+    }
+
+    @NonNull
+    @Override
+    public ListenableFuture<LoadResult<Key, Event>> loadFuture(@NonNull LoadParams<Key> params) {
+        return executor.submit(() -> load(params));
+    }
+
+    private LoadResult<Key, Event> load(LoadParams<Key> params) {
+        int limit = params.getLoadSize();
+        Key key = params.getKey();
+
+        if (params instanceof LoadParams.Prepend) {
+            List<Event> before = category == null
+                    ? eventDao.getEventsBefore(key.startDate, key.id, limit)
+                    : eventDao.getEventsByCategoryBefore(category.getCode(), key.startDate, key.id, limit);
+            Collections.reverse(before);
+            if (before.isEmpty()) {
+                return new LoadResult.Page<>(before, null, key);
+            }
+            Key prevKey = before.size() < limit ? null : Key.of(before.get(0));
+            return new LoadResult.Page<>(before, prevKey, Key.of(before.get(before.size() - 1)));
+        }
+
+        List<Event> page;
+        if (params instanceof LoadParams.Append) {
+            page = category == null
+                    ? eventDao.getEventsAfter(key.startDate, key.id, limit)
+                    : eventDao.getEventsByCategoryAfter(category.getCode(), key.startDate, key.id, limit);
+        } else {
+            // Rafraîchissement : à partir de la clé d'ancrage incluse, ou du début de la liste
+            Key from = key != null ? key : FIRST;
+            page = category == null
+                    ? eventDao.getEventsFrom(from.startDate, from.id, limit)
+                    : eventDao.getEventsByCategoryFrom(category.getCode(), from.startDate, from.id, limit);
+        }
+
+        if (page.isEmpty()) {
+            return new LoadResult.Page<>(page, null, null);
+        }
+        // Les clés voisines sont le premier et le dernier élément de la page : une page
+        // abandonnée (maxSize) peut ainsi être rechargée dans les deux sens
+        Key prevKey = params instanceof LoadParams.Refresh && key == null ? null : Key.of(page.get(0));
+        Key nextKey = page.size() < limit ? null : Key.of(page.get(page.size() - 1));
+        return new LoadResult.Page<>(page, prevKey, nextKey);
+    }
+
+    /**
+     * Recharge autour de la position visible après une invalidation, pour ne pas
+     * ramener la liste en haut à chaque modification de la table
+     */
+    @Nullable
+    @Override
+    public Key getRefreshKey(@NonNull PagingState<Key, Event> state) {
+        Integer anchorPosition = state.getAnchorPosition();
+        if (anchorPosition == null) {
+            return null;
+        }
+        int start = Math.max(0, anchorPosition - state.getConfig().initialLoadSize / 2);
+        Event event = state.closestItemToPosition(start);
+        return event != null ? Key.of(event) : null;
+    }
+}
@@ -4,96 +4,223 @@ import android.app.Application;
 import android.content.Context;
 import android.content.SharedPreferences;
 import android.location.Location;
+import android.util.Log;
 
 import androidx.lifecycle.LiveData;
 import androidx.lifecycle.MutableLiveData;
 import androidx.preference.PreferenceManager;
 
-import com.example.eventwave.api.TicketmasterService;
+import com.example.eventwave.api.EventAggregator;
+import com.example.eventwave.api.EventService;
 import com.example.eventwave.dao.EventDao;
+import com.example.eventwave.dao.HistoryDao;
 import com.example.eventwave.database.EventDatabase;
 import com.example.eventwave.model.Event;
+import com.example.eventwave.model.EventAlias;
+import com.example.eventwave.model.EventCategory;
+import com.example.eventwave.model.EventDedupRow;
+import com.example.eventwave.model.EventSyncState;
+import com.example.eventwave.model.FetchedTile;
+import com.example.eventwave.model.HistoryEntry;
+import com.example.eventwave.utils.Constants;
+import com.example.eventwave.utils.GeoCells;
+import com.google.common.util.concurrent.ListeningExecutorService;
+import com.google.common.util.concurrent.MoreExecutors;
 import com.google.gson.Gson;
 import com.google.gson.reflect.TypeToken;
 
 import java.io.IOException;
+import java.io.InterruptedIOException;
 import java.lang.reflect.Type;
 import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
 import java.util.List;
-import java.util.concurrent.Executor;
+import java.util.Map;
+import java.util.Set;
 import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
 
 public class EventRepository {
+    private static final String TAG = "EventRepository";
+    // Ancien historique sérialisé en JSON, repris une fois dans la table history
+    private static final String LEGACY_HISTORY_KEY = "history_events";
+    // Délais de regroupement des demandes de rafraîchissement
+    private static final ScheduledExecutorService REFRESH_TIMER = Executors.newSingleThreadScheduledExecutor();
+    // Tuiles synchronisées, partagées entre le ViewModel et le service de surveillance
+    private static final TileCoverage TILE_COVERAGE = new TileCoverage(Constants.COVERAGE_GEOHASH_PRECISION,
+            Constants.COVERAGE_TILE_TTL_MS, Constants.COVERAGE_MAX_REGION_KM);
+    private static boolean tileCoverageRestored;
+
+    private final EventDatabase database;
     private final EventDao eventDao;
-    private final TicketmasterService ticketmasterService;
-    private final Executor executor;
+    private final HistoryDao historyDao;
+    private final EventService eventService;
+    private final TaskScheduler scheduler;
+    private final ListeningExecutorService pagingExecutor;
+    // Une seule synchronisation à la fois par instance, la plus récente zone demandée
+    private final RefreshCoordinator refreshCoordinator;
     private final MutableLiveData<Boolean> isLoading = new MutableLiveData<>(false);
     private final MutableLiveData<String> error = new MutableLiveData<>();
     private final SharedPreferences preferences;
     private final Gson gson;
 
     public EventRepository(Application application) {
-        EventDatabase db = EventDatabase.getInstance(application);
-        this.eventDao = db.eventDao();
-        this.ticketmasterService = new TicketmasterService();
-        this.executor = Executors.newFixedThreadPool(4);
+        this(application, EventDatabase.getInstance(application), new EventService(application.getCacheDir(),
+                TaskScheduler.getInstance().executor(TaskScheduler.Lane.PROVIDERS, TaskScheduler.Priority.NORMAL)));
+    }
+
+    /**
+     * Base et sources explicites (tests)
+     */
+    EventRepository(Application application, EventDatabase database, EventService eventService) {
+        this.database = database;
+        this.eventDao = database.eventDao();
+        this.historyDao = database.historyDao();
+        this.eventService = eventService;
+        this.scheduler = TaskScheduler.getInstance();
+        // Pages affichées : devant toute autre tâche de la voie interactive
+        this.pagingExecutor = MoreExecutors.listeningDecorator(
+                scheduler.executor(TaskScheduler.Lane.INTERACTIVE, TaskScheduler.Priority.HIGH));
         this.preferences = PreferenceManager.getDefaultSharedPreferences(application);
         this.gson = new Gson();
+        this.refreshCoordinator = new RefreshCoordinator(
+                (task, delayMs) -> REFRESH_TIMER.schedule(task, delayMs, TimeUnit.MILLISECONDS),
+                this::launchSync, this::syncEvents, Constants.REFRESH_DEBOUNCE_MS,
+                Constants.REFRESH_GRID_DEGREES, Constants.REFRESH_RADIUS_STEP_KM);
+        submit(TaskScheduler.Lane.MAINTENANCE, TaskScheduler.Priority.LOW, () -> {
+            importLegacyHistory();
+            pruneHistory();
+        });
+    }
+
+    /**
+     * Annule le rafraîchissement en attente ou en cours de cette instance ; les écritures
+     * déjà soumises (favoris, historique) sont menées à terme
+     */
+    public void close() {
+        refreshCoordinator.cancel();
+    }
+
+    /**
+     * Soumet une tâche à l'ordonnanceur partagé ; si la voie est saturée, la tâche est
+     * abandonnée et l'utilisateur prévenu, sauf pour la maintenance
+     */
+    private boolean submit(TaskScheduler.Lane lane, TaskScheduler.Priority priority, Runnable task) {
+        try {
+            scheduler.submit(lane, priority, task);
+            return true;
+        } catch (RejectedExecutionException e) {
+            Log.w(TAG, e.getMessage() + " : " + scheduler.getMetrics());
+            if (lane != TaskScheduler.Lane.MAINTENANCE) {
+                error.postValue("Application occupée : opération abandonnée, réessayez");
+            }
+            return false;
+        }
     }
 
     public LiveData<List<Event>> getAllEvents() {
         return eventDao.getAllEvents();
     }
 
+    /**
+     * Source paginée par clé (startDate, id), éventuellement restreinte à une catégorie
+     */
+    public EventKeysetPagingSource createEventPagingSource(EventCategory category) {
+        return new EventKeysetPagingSource(database, category, pagingExecutor);
+    }
+
+    /**
+     * Source paginée des résultats de recherche plein texte, classés par pertinence
+     *
+     * @param match expression construite par FtsQuery.build
+     */
+    public EventSearchPagingSource createSearchPagingSource(String match, EventCategory category) {
+        return new EventSearchPagingSource(database, match, category, pagingExecutor);
+    }
+
     public LiveData<List<Event>> getFavoriteEvents() {
         return eventDao.getFavoriteEvents();
     }
 
-    public LiveData<List<Event>> getEventsByCategory(String category) {
-        return eventDao.getEventsByCategory(category);
+    public LiveData<List<Event>> getEventsByCategory(EventCategory category) {
+        return eventDao.getEventsByCategory(category.getCode());
+    }
+
+    /**
+     * Zone rectangulaire approchant un cercle de rayon donné (en km)
+     */
+    private static class BoundingBox {
+        final double minLat;
+        final double maxLat;
+        final double minLon;
+        final double maxLon;
+        final List<Integer> cells;
+
+        BoundingBox(Location location, double radius) {
+            // Convertir le rayon en degrés (approximatif)
+            double radiusInDegrees = radius / 111.0;
+            double lat = location.getLatitude();
+            double lon = location.getLongitude();
+
+            minLat = lat - radiusInDegrees;
+            maxLat = lat + radiusInDegrees;
+            minLon = lon - radiusInDegrees / Math.cos(Math.toRadians(lat));
+            maxLon = lon + radiusInDegrees / Math.cos(Math.toRadians(lat));
+            // Cellules de l'index spatial, null si la zone est trop large pour en profiter
+            cells = GeoCells.cellsCovering(minLat, maxLat, minLon, maxLon);
+        }
     }
 
     public LiveData<List<Event>> getEventsNearby(Location location, double radius) {
-        // Convertir le rayon en degrés (approximatif)
-        double radiusInDegrees = radius / 111.0;
-        double lat = location.getLatitude();
-        double lon = location.getLongitude();
-        
-        double minLat = lat - radiusInDegrees;
-        double maxLat = lat + radiusInDegrees;
-        double minLon = lon - radiusInDegrees / Math.cos(Math.toRadians(lat));
-        double maxLon = lon + radiusInDegrees / Math.cos(Math.toRadians(lat));
-        
-        return eventDao.getEventsInArea(minLat, maxLat, minLon, maxLon);
+        BoundingBox box = new BoundingBox(location, radius);
+        if (box.cells != null) {
+            return eventDao.getEventsInCells(box.cells, box.minLat, box.maxLat, box.minLon, box.maxLon);
+        }
+        return eventDao.getEventsInArea(box.minLat, box.maxLat, box.minLon, box.maxLon);
     }
 
     public LiveData<List<Event>> getFavoriteEventsNearby(Location location, double radius) {
-        double radiusInDegrees = radius / 111.0;
-        double lat = location.getLatitude();
-        double lon = location.getLongitude();
-        
-        double minLat = lat - radiusInDegrees;
-        double maxLat = lat + radiusInDegrees;
-        double minLon = lon - radiusInDegrees / Math.cos(Math.toRadians(lat));
-        double maxLon = lon + radiusInDegrees / Math.cos(Math.toRadians(lat));
-        
-        return eventDao.getFavoriteEventsInArea(minLat, maxLat, minLon, maxLon);
+        BoundingBox box = new BoundingBox(location, radius);
+        if (box.cells != null) {
+            return eventDao.getFavoriteEventsInCells(box.cells, box.minLat, box.maxLat, box.minLon, box.maxLon);
+        }
+        return eventDao.getFavoriteEventsInArea(box.minLat, box.maxLat, box.minLon, box.maxLon);
     }
 
-    public LiveData<List<Event>> getEventsByCategoryNearby(String category, Location location, double radius) {
-        double radiusInDegrees = radius / 111.0;
-        double lat = location.getLatitude();
-        double lon = location.getLongitude();
-        
-        double minLat = lat - radiusInDegrees;
-        double maxLat = lat + radiusInDegrees;
-        double minLon = lon - radiusInDegrees / Math.cos(Math.toRadians(lat));
-        double maxLon = lon + radiusInDegrees / Math.cos(Math.toRadians(lat));
-        
-        return eventDao.getEventsByCategoryInArea(category, minLat, maxLat, minLon, maxLon);
+    public LiveData<List<Event>> getEventsByCategoryNearby(EventCategory category, Location location, double radius) {
+        BoundingBox box = new BoundingBox(location, radius);
+        if (box.cells != null) {
+            return eventDao.getEventsByCategoryInCells(category.getCode(), box.cells, box.minLat, box.maxLat, box.minLon, box.maxLon);
+        }
+        return eventDao.getEventsByCategoryInArea(category.getCode(), box.minLat, box.maxLat, box.minLon, box.maxLon);
     }
 
     public void refreshEvents(Location location) {
+        refreshEvents(location, Constants.DEFAULT_VISIBLE_RADIUS_KM);
+    }
+
+    /**
+     * Rafraîchissement immédiat et forcé, même si les tuiles de la zone sont fraîches ;
+     * rejoint celui déjà forcé en cours pour la même zone
+     */
+    public void refreshEvents(Location location, double visibleRadiusKm) {
+        requestRefresh(location, visibleRadiusKm, true);
+    }
+
+    /**
+     * Rafraîchissement après un court délai, regroupé avec les demandes qui suivent
+     * (crans du curseur de rayon, positions successives)
+     */
+    public void scheduleRefresh(Location location, double visibleRadiusKm) {
+        requestRefresh(location, visibleRadiusKm, false);
+    }
+
+    private void requestRefresh(Location location, double visibleRadiusKm, boolean immediate) {
         isLoading.postValue(true);
         
         if (location == null) {
@@ -102,70 +229,242 @@ public class EventRepository {
             return;
         }
 
-        executor.execute(() -> {
-            try {
-                List<Event> events = ticketmasterService.getEvents(location);
-                eventDao.deleteAllEvents();
-                eventDao.insertEvents(events);
-                error.postValue(null);
-                
+        if (immediate) {
+            refreshCoordinator.requestNow(location.getLatitude(), location.getLongitude(), visibleRadiusKm);
+        } else {
+            refreshCoordinator.request(location.getLatitude(), location.getLongitude(), visibleRadiusKm);
+        }
+    }
+
+    private Future<?> launchSync(Runnable sync) {
+        try {
+            return scheduler.submit(TaskScheduler.Lane.NETWORK, TaskScheduler.Priority.NORMAL, sync);
+        } catch (RejectedExecutionException e) {
+            Log.w(TAG, e.getMessage() + " : " + scheduler.getMetrics());
+            error.postValue("Application occupée : rafraîchissement abandonné, réessayez");
+            isLoading.postValue(false);
+            throw e;
+        }
+    }
+
+    /**
+     * Synchronisation sur la voie réseau ; interrompue si une demande pour une autre zone la remplace
+     */
+    void syncEvents(RefreshCoordinator.Request request) {
+        try {
+            // Seules les tuiles jamais synchronisées ou périmées sont demandées aux sources,
+            // sauf rafraîchissement demandé par l'utilisateur : toute la zone est récupérée
+            TileCoverage coverage = restoredTileCoverage();
+            TileCoverage.Plan plan = coverage.plan(request.latitude, request.longitude, request.radiusKm,
+                    System.currentTimeMillis(), request.force);
+            if (plan.isCovered()) {
+                Log.d(TAG, "Zone déjà couverte " + request + " : " + coverage);
+                return;
+            }
+
+            // Synchronisation incrémentale : chaque page est comparée à l'état stocké et
+            // seules les lignes nouvelles ou modifiées sont écrites dès sa réception
+            Map<String, EventSyncState> stored = new HashMap<>();
+            for (EventSyncState state : eventDao.getSyncStates()) {
+                stored.put(state.id, state);
+            }
+            EventDeduplicator deduplicator = createDeduplicator();
+            // Toutes les sources en parallèle, pages reçues une à une quelle que soit leur source ;
+            // un événement déjà reçu d'une autre source n'est enregistré que comme alias
+            Set<String> seenIds = new HashSet<>();
+            boolean usingMockData = false;
+            boolean anyAnswered = false;
+            boolean anyFailed = false;
+            for (TileCoverage.Region region : plan.getRegions()) {
+                EventAggregator.Result result = eventService.getEvents(
+                    region.latitude, region.longitude, region.radiusKm,
+                    (provider, page) -> applyDiff(EventDiff.forPage(stored, deduplicator.filter(page), seenIds),
+                            deduplicator.drainAliases()));
+                if (Thread.currentThread().isInterrupted()) {
+                    // Zone abandonnée : pas de suppressions d'après un résultat obsolète
+                    throw new InterruptedIOException();
+                }
+                // Un événement reçu sous un alias est toujours proposé, même si sa source ne le renvoie plus
+                seenIds.addAll(deduplicator.getConfirmedIds());
                 // Vérifier si ce sont des données fictives (id commence par "tm")
-                if (events.size() > 0) {
-                    boolean usingMockData = false;
-                    for (Event event : events) {
-                        if (event.getId().startsWith("tm")) {
-                            usingMockData = true;
-                            break;
-                        }
-                    }
-                    
-                    if (usingMockData) {
-                        error.postValue("Mode démo : données fictives utilisées car aucun événement Ticketmaster trouvé dans votre région");
+                boolean mockRegion = false;
+                for (Event event : result.getEvents()) {
+                    if (event.getId().startsWith("tm")) {
+                        mockRegion = true;
+                        break;
                     }
                 }
-            } catch (IOException e) {
-                error.postValue("Erreur lors de la récupération des événements : " + e.getMessage());
-            } finally {
+                // Des données fictives ne remplacent jamais les événements stockés de la zone
+                if (!mockRegion) {
+                    Set<String> tiles = new HashSet<>(region.getTiles());
+                    applyDiff(EventDiff.removals(stored, seenIds, result.getCompleted(), tiles,
+                            coverage.getPrecision()));
+                }
+                // Source en erreur, incomplète ou données fictives : la région sera redemandée
+                // à la prochaine synchronisation
+                if (result.getFailed().isEmpty() && result.getTruncated().isEmpty() && !mockRegion) {
+                    markFetched(coverage, region.getTiles());
+                }
+                usingMockData |= mockRegion;
+                anyAnswered |= !result.getCompleted().isEmpty() || !result.getTruncated().isEmpty();
+                anyFailed |= !result.getFailed().isEmpty();
+            }
+            Log.d(TAG, plan.getRegions().size() + " zone(s) récupérée(s) pour " + request + " : " + coverage);
+            error.postValue(!anyAnswered && anyFailed
+                    ? "Erreur lors de la récupération des événements : aucune source n'a répondu"
+                    : null);
+            
+            if (usingMockData) {
+                error.postValue("Mode démo : données fictives utilisées car aucun événement Ticketmaster trouvé dans votre région");
+            }
+        } catch (InterruptedIOException e) {
+            // Remplacé par une demande pour une autre zone, ou instance fermée
+            Log.d(TAG, "Rafraîchissement annulé");
+        } catch (IOException e) {
+            error.postValue("Erreur lors de la récupération des événements : " + e.getMessage());
+        } finally {
+            // Seule la dernière demande arrête l'indicateur de chargement
+            if (!refreshCoordinator.hasNewerRequest()) {
                 isLoading.postValue(false);
             }
-        });
+        }
+    }
+
+    private void applyDiff(EventDiff diff) {
+        applyDiff(diff, Collections.emptyList());
+    }
+
+    /**
+     * Couverture partagée par toutes les instances, rechargée une fois depuis la base ;
+     * les tuiles périmées n'y sont pas reprises
+     */
+    private TileCoverage restoredTileCoverage() {
+        synchronized (TILE_COVERAGE) {
+            if (!tileCoverageRestored) {
+                long now = System.currentTimeMillis();
+                eventDao.deleteFetchedTilesBefore(now - Constants.COVERAGE_TILE_TTL_MS);
+                for (FetchedTile tile : eventDao.getFetchedTiles()) {
+                    TILE_COVERAGE.markFetched(Collections.singletonList(tile.geohash), tile.fetchedAt);
+                }
+                tileCoverageRestored = true;
+            }
+        }
+        return TILE_COVERAGE;
+    }
+
+    private void markFetched(TileCoverage coverage, List<String> tiles) {
+        long now = System.currentTimeMillis();
+        List<FetchedTile> rows = new ArrayList<>(tiles.size());
+        for (String tile : tiles) {
+            rows.add(new FetchedTile(tile, now));
+        }
+        eventDao.insertFetchedTiles(rows);
+        coverage.markFetched(tiles, now);
+    }
+
+    private void applyDiff(EventDiff diff, List<EventAlias> aliases) {
+        if (!diff.isEmpty() || !aliases.isEmpty()) {
+            eventDao.applyDiff(diff.getInserted(), diff.getChanged(), diff.getRemoved(), aliases);
+        }
+    }
+
+    /**
+     * Déduplication initialisée avec les lignes stockées et les alias déjà connus
+     */
+    private EventDeduplicator createDeduplicator() {
+        Map<String, String> aliases = new HashMap<>();
+        for (EventAlias alias : eventDao.getAliases()) {
+            aliases.put(alias.aliasId, alias.canonicalId);
+        }
+        EventDeduplicator deduplicator = new EventDeduplicator(aliases);
+        for (EventDedupRow row : eventDao.getDedupRows()) {
+            deduplicator.index(row.id, row.title, row.venueName, row.latitude, row.longitude, row.startDate);
+        }
+        return deduplicator;
     }
 
     public void toggleFavorite(Event event) {
-        executor.execute(() -> {
+        submit(TaskScheduler.Lane.INTERACTIVE, TaskScheduler.Priority.HIGH, () -> {
             event.setFavorite(!event.isFavorite());
             eventDao.update(event);
         });
     }
 
-    public void saveHistory(List<Event> events) {
-        String json = gson.toJson(events);
-        preferences.edit().putString("history_events", json).apply();
+    /**
+     * Enregistre un lot de consultations dans une seule transaction, puis appelle onSaved :
+     * une ligne par événement, quelle que soit la taille de l'historique
+     */
+    public void saveHistory(List<HistoryEntry> entries, Runnable onSaved) {
+        submit(TaskScheduler.Lane.INTERACTIVE, TaskScheduler.Priority.NORMAL, () -> {
+            historyDao.insertAll(entries);
+            onSaved.run();
+        });
     }
 
-    public List<Event> getHistory() {
-        String json = preferences.getString("history_events", null);
-        if (json != null) {
-            Type type = new TypeToken<List<Event>>(){}.getType();
-            return gson.fromJson(json, type);
-        }
-        return new ArrayList<>();
+    public void clearHistory() {
+        submit(TaskScheduler.Lane.INTERACTIVE, TaskScheduler.Priority.NORMAL, historyDao::clear);
     }
 
-    public void clearHistory() {
-        preferences.edit().remove("history_events").apply();
+    /**
+     * Supprime les consultations trop anciennes ou au-delà du nombre maximal d'entrées
+     */
+    private void pruneHistory() {
+        historyDao.prune(System.currentTimeMillis() - Constants.HISTORY_RETENTION_MS, Constants.HISTORY_MAX_ENTRIES);
+    }
+
+    /**
+     * Reprend l'historique JSON des versions précédentes, du plus récent au plus ancien,
+     * puis le retire des préférences
+     */
+    private void importLegacyHistory() {
+        String json = preferences.getString(LEGACY_HISTORY_KEY, null);
+        if (json == null) {
+            return;
+        }
+        try {
+            Type type = new TypeToken<List<Event>>(){}.getType();
+            List<Event> events = gson.fromJson(json, type);
+            if (events != null && !events.isEmpty()) {
+                // Ordre conservé : une milliseconde d'écart entre deux entrées successives
+                long now = System.currentTimeMillis();
+                List<HistoryEntry> entries = new ArrayList<>(events.size());
+                for (int i = 0; i < events.size(); i++) {
+                    entries.add(new HistoryEntry(events.get(i).getId(), now - i));
+                }
+                database.runInTransaction(() -> {
+                    eventDao.insertEventsIfAbsent(events);
+                    historyDao.insertAll(entries);
+                });
+            }
+        } catch (RuntimeException e) {
+            // Historique illisible : abandonné plutôt que de bloquer chaque démarrage
+            Log.w(TAG, "Historique JSON ignoré : " + e.getMessage());
+        }
+        preferences.edit().remove(LEGACY_HISTORY_KEY).apply();
     }
 
     public void clearCache() {
-        executor.execute(() -> {
-            eventDao.deleteAllEvents();
+        submit(TaskScheduler.Lane.INTERACTIVE, TaskScheduler.Priority.NORMAL, () -> {
+            database.runInTransaction(() -> {
+                historyDao.clear();
+                eventDao.deleteAllAliases();
+                eventDao.deleteAllEvents();
+                eventDao.deleteAllFetchedTiles();
+            });
+            TILE_COVERAGE.clear();
             preferences.edit()
-                .remove("history_events")
                 .remove("last_refresh")
                 .apply();
         });
     }
 
+    /**
+     * Tuiles synchronisées et taux de succès du cache de couverture
+     */
+    public static TileCoverage getTileCoverage() {
+        return TILE_COVERAGE;
+    }
+
     public LiveData<Boolean> getIsLoading() {
         return isLoading;
     }
@@ -175,27 +474,28 @@ public class EventRepository {
     }
 
     public void refreshHistoryEvents() {
-        // Récupère les événements de l'historique depuis SharedPreferences
+        // La liste observée suit la table history : il ne reste qu'à appliquer la rétention
         isLoading.postValue(true);
-        executor.execute(() -> {
+        boolean submitted = submit(TaskScheduler.Lane.MAINTENANCE, TaskScheduler.Priority.NORMAL, () -> {
             try {
-                // Les données d'historique sont déjà dans SharedPreferences
-                // Pas besoin de logique supplémentaire, juste signaler que c'est terminé
-                isLoading.postValue(false);
+                pruneHistory();
             } catch (Exception e) {
                 error.postValue("Erreur lors de la récupération de l'historique : " + e.getMessage());
+            } finally {
                 isLoading.postValue(false);
             }
         });
+        if (!submitted) {
+            isLoading.postValue(false);
+        }
     }
 
+    /**
+     * Événements consultés, du plus récent au plus ancien, mis à jour à chaque consultation
+     * ou modification d'un événement (favori)
+     */
     public LiveData<List<Event>> getHistoryEvents() {
-        MutableLiveData<List<Event>> historyLiveData = new MutableLiveData<>();
-        executor.execute(() -> {
-            List<Event> historyEvents = getHistory();
-            historyLiveData.postValue(historyEvents);
-        });
-        return historyLiveData;
+        return historyDao.getHistoryEvents(Constants.HISTORY_MAX_ENTRIES);
     }
 
     public LiveData<List<Event>> getEvents() {
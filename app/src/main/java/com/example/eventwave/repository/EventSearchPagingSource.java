@@ -0,0 +1,122 @@
+package com.example.eventwave.repository;
+
+import androidx.annotation.NonNull;
+import androidx.annotation.Nullable;
+import androidx.paging.ListenableFuturePagingSource;
+import androidx.paging.PagingState;
+
+import com.example.eventwave.dao.EventDao;
+import com.example.eventwave.database.EventDatabase;
+import com.example.eventwave.model.Event;
+import com.example.eventwave.model.EventCategory;
+import com.example.eventwave.model.EventSearchRow;
+import com.example.eventwave.utils.FtsRanking;
+import com.google.common.util.concurrent.ListenableFuture;
+import com.google.common.util.concurrent.ListeningExecutorService;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Résultats de recherche plein texte paginés par rang BM25.
+ * Le classement est calculé une fois par génération de la source, à partir des seules
+ * statistiques matchinfo ; chaque page ne charge ensuite que ses lignes, avec les
+ * positions des mots trouvés pour le surlignage.
+ */
+public class EventSearchPagingSource extends ListenableFuturePagingSource<Integer, Event> {
+
+    private final EventDao eventDao;
+    private final String match;
+    private final EventCategory category;
+    private final ListeningExecutorService executor;
+    private long[] ranked;
+
+    /**
+     * @param match expression MATCH construite par FtsQuery
+     */
+    public EventSearchPagingSource(EventDatabase database, String match, EventCategory category,
+                                   ListeningExecutorService executor) {
+        this.eventDao = database.eventDao();
+        this.match = match;
+        this.category = category;
+        this.executor = executor;
+        PagingInvalidation.invalidateOnEventsChange(this, database);
+    }
+
+    @NonNull
+    @Override
+    public ListenableFuture<LoadResult<Integer, Event>> loadFuture(@NonNull LoadParams<Integer> params) {
+        return executor.submit(() -> load(params));
+    }
+
+    private LoadResult<Integer, Event> load(LoadParams<Integer> params) {
+        long[] ranking = ranking();
+        Integer key = params.getKey();
+        int start;
+        int end;
+        if (params instanceof LoadParams.Prepend) {
+            // La clé de préchargement arrière est la position du premier élément déjà chargé
+            end = key;
+            start = Math.max(0, end - params.getLoadSize());
+        } else {
+            start = key != null ? Math.max(0, Math.min(key, ranking.length)) : 0;
+            end = Math.min(ranking.length, start + params.getLoadSize());
+        }
+
+        List<Long> docids = new ArrayList<>(end - start);
+        for (int i = start; i < end; i++) {
+            docids.add(ranking[i]);
+        }
+        List<Event> page = new ArrayList<>(docids.size());
+        if (!docids.isEmpty()) {
+            Map<Long, EventSearchRow> rows = new HashMap<>();
+            for (EventSearchRow row : eventDao.getSearchRows(match, docids)) {
+                rows.put(row.docid, row);
+            }
+            // Les lignes reviennent dans l'ordre de la table : on rétablit l'ordre du classement
+            for (Long docid : docids) {
+                EventSearchRow row = rows.get(docid);
+                if (row != null) {
+                    Event event = row.event;
+                    event.setHighlights(
+                            FtsRanking.highlights(row.matchOffsets, FtsRanking.COLUMN_TITLE, event.getTitle()),
+                            FtsRanking.highlights(row.matchOffsets, FtsRanking.COLUMN_DESCRIPTION,
+                                    event.getDescription()));
+                    page.add(event);
+                }
+            }
+        }
+
+        Integer prevKey = start > 0 ? start : null;
+        Integer nextKey = end < ranking.length ? end : null;
+        return new LoadResult.Page<>(page, prevKey, nextKey, start, ranking.length - end);
+    }
+
+    private synchronized long[] ranking() {
+        if (ranked == null) {
+            ranked = FtsRanking.rank(category == null
+                    ? eventDao.searchMatches(match)
+                    : eventDao.searchMatchesByCategory(match, category.getCode()));
+        }
+        return ranked;
+    }
+
+    /**
+     * Recharge à partir de la page visible ; la clé précédente d'une page est sa position de départ
+     */
+    @Nullable
+    @Override
+    public Integer getRefreshKey(@NonNull PagingState<Integer, Event> state) {
+        Integer anchorPosition = state.getAnchorPosition();
+        if (anchorPosition == null) {
+            return null;
+        }
+        LoadResult.Page<Integer, Event> page = state.closestPageToPosition(anchorPosition);
+        if (page == null) {
+            return null;
+        }
+        return page.getPrevKey() != null ? page.getPrevKey() : 0;
+    }
+}
@@ -0,0 +1,33 @@
+package com.example.eventwave.repository;
+
+import androidx.annotation.NonNull;
+import androidx.paging.PagingSource;
+import androidx.room.InvalidationTracker;
+
+import com.example.eventwave.database.EventDatabase;
+
+import java.util.Set;
+
+/**
+ * Invalide une source de pagination dès que la table events est modifiée,
+ * et retire l'observateur une fois la source invalidée
+ */
+final class PagingInvalidation {
+
+    private PagingInvalidation() {
+    }
+
+    static void invalidateOnEventsChange(PagingSource<?, ?> source, EventDatabase database) {
+        InvalidationTracker.Observer observer = new InvalidationTracker.Observer("events") {
+            @Override
+            public void onInvalidated(@NonNull Set<String> tables) {
+                source.invalidate();
+            }
+        };
+        database.getInvalidationTracker().addObserver(observer);
+        source.registerInvalidatedCallback(() -> {
+            database.getInvalidationTracker().removeObserver(observer);
+            return kotlin.Unit.INSTANCE;
+        });
+    }
+}
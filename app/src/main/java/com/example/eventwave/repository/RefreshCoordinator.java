@@ -0,0 +1,280 @@
+package com.example.eventwave.repository;
+
+import java.util.Locale;
+import java.util.Objects;
+import java.util.concurrent.Future;
+import java.util.concurrent.RejectedExecutionException;
+
+/**
+ * Regroupe les demandes de rafraîchissement d'un EventRepository : position GPS, curseur de
+ * rayon, bouton de rafraîchissement. Une seule synchronisation s'exécute à la fois.
+ *
+ * - Une demande est identifiée par sa zone quantifiée (grille de {@code gridDegrees}, rayon
+ *   arrondi au pas supérieur) : une demande pour la zone déjà en cours la rejoint.
+ * - Les demandes différées attendent {@code debounceMs} après la dernière : une rafale de
+ *   crans du curseur ne donne qu'une synchronisation, avec les dernières valeurs.
+ * - Une demande pour une autre zone interrompt la synchronisation en cours, devenue obsolète ;
+ *   la suivante ne démarre qu'une fois la précédente terminée, sans jamais s'y entrelacer.
+ * - Une demande immédiate est forcée : toute la zone est récupérée à nouveau, tuiles fraîches
+ *   comprises. Elle ne rejoint donc qu'une synchronisation forcée de la même zone.
+ *
+ * Le temps et l'exécution sont injectés : un test peut dérouler chaque étape sur un seul thread.
+ */
+public class RefreshCoordinator {
+
+    /**
+     * Exécution différée ; le Future permet d'annuler une demande remplacée
+     */
+    public interface Timer {
+        Future<?> schedule(Runnable task, long delayMs);
+    }
+
+    /**
+     * Soumission d'une synchronisation, susceptible d'être refusée (RejectedExecutionException)
+     */
+    public interface Launcher {
+        Future<?> submit(Runnable task);
+    }
+
+    /**
+     * Synchronisation d'une zone ; doit s'arrêter au plus tôt si son thread est interrompu
+     */
+    public interface Sync {
+        void run(Request request);
+    }
+
+    /**
+     * Demande de rafraîchissement : valeurs exactes, et zone quantifiée qui l'identifie
+     */
+    public static final class Request {
+        public final double latitude;
+        public final double longitude;
+        public final double radiusKm;
+        // Vrai pour une action de l'utilisateur : la couverture par tuiles est ignorée
+        public final boolean force;
+        final long latCell;
+        final long lonCell;
+        final long radiusSteps;
+
+        Request(double latitude, double longitude, double radiusKm, boolean force,
+                double gridDegrees, double radiusStepKm) {
+            this.latitude = latitude;
+            this.longitude = longitude;
+            this.radiusKm = radiusKm;
+            this.force = force;
+            this.latCell = Math.round(latitude / gridDegrees);
+            this.lonCell = Math.round(longitude / gridDegrees);
+            this.radiusSteps = (long) Math.ceil(radiusKm / radiusStepKm - 1e-9);
+        }
+
+        boolean sameArea(Request other) {
+            return other != null && latCell == other.latCell && lonCell == other.lonCell
+                    && radiusSteps == other.radiusSteps;
+        }
+
+        /**
+         * Vrai si la synchronisation de other suffit : même zone, et forcée si celle-ci l'est
+         */
+        boolean joins(Request other) {
+            return sameArea(other) && (!force || other.force);
+        }
+
+        @Override
+        public String toString() {
+            return String.format(Locale.ROOT, "(%.4f, %.4f, %.1f km%s)", latitude, longitude, radiusKm,
+                    force ? ", forcée" : "");
+        }
+    }
+
+    /**
+     * Synchronisation soumise : démarrée au plus une fois, jamais après son annulation
+     */
+    private static final class Flight {
+        final Request request;
+        Future<?> future;
+        boolean started;
+        boolean cancelled;
+
+        Flight(Request request) {
+            this.request = request;
+        }
+    }
+
+    private final Timer timer;
+    private final Launcher launcher;
+    private final Sync sync;
+    private final long debounceMs;
+    private final double gridDegrees;
+    private final double radiusStepKm;
+
+    // Demande différée en attente de la fin du délai
+    private Request pending;
+    private Future<?> pendingTimer;
+    // Synchronisation courante (soumise ou en cours), et celle interrompue qui se termine
+    private Flight current;
+    private Flight draining;
+    // Demande prête, lancée dès que draining se termine
+    private Request next;
+
+    public RefreshCoordinator(Timer timer, Launcher launcher, Sync sync,
+                              long debounceMs, double gridDegrees, double radiusStepKm) {
+        this.timer = Objects.requireNonNull(timer);
+        this.launcher = Objects.requireNonNull(launcher);
+        this.sync = Objects.requireNonNull(sync);
+        this.debounceMs = debounceMs;
+        this.gridDegrees = gridDegrees;
+        this.radiusStepKm = radiusStepKm;
+    }
+
+    /**
+     * Demande un rafraîchissement après le délai de regroupement (suivi de position, curseur)
+     */
+    public void request(double latitude, double longitude, double radiusKm) {
+        submit(new Request(latitude, longitude, radiusKm, false, gridDegrees, radiusStepKm), false);
+    }
+
+    /**
+     * Demande un rafraîchissement immédiat et forcé (action explicite de l'utilisateur)
+     */
+    public void requestNow(double latitude, double longitude, double radiusKm) {
+        submit(new Request(latitude, longitude, radiusKm, true, gridDegrees, radiusStepKm), true);
+    }
+
+    /**
+     * Abandonne les demandes en attente et interrompt la synchronisation en cours
+     */
+    public synchronized void cancel() {
+        cancelPending();
+        next = null;
+        if (current != null) {
+            interrupt(current);
+            if (current.started) {
+                draining = current;
+            }
+            current = null;
+        }
+    }
+
+    /**
+     * Vrai si une demande attend encore : la synchronisation qui se termine n'est pas la dernière
+     */
+    public synchronized boolean hasNewerRequest() {
+        return pending != null || next != null;
+    }
+
+    private synchronized void submit(Request request, boolean immediate) {
+        if (request.joins(inFlightRequest())) {
+            // Zone déjà en cours : la demande la rejoint, une demande différée pour une autre zone est abandonnée
+            cancelPending();
+            next = null;
+            return;
+        }
+        if (!immediate) {
+            // Délai glissant : seule la dernière demande de la rafale est conservée
+            cancelPending();
+            pending = request;
+            pendingTimer = timer.schedule(() -> fire(request), debounceMs);
+            return;
+        }
+        cancelPending();
+        launch(request);
+    }
+
+    /**
+     * Fin du délai d'une demande différée, si elle n'a pas été remplacée entre-temps
+     */
+    private synchronized void fire(Request request) {
+        if (pending != request) {
+            return;
+        }
+        pending = null;
+        pendingTimer = null;
+        if (!request.joins(inFlightRequest())) {
+            launch(request);
+        }
+    }
+
+    private void launch(Request request) {
+        if (current != null) {
+            interrupt(current);
+            if (current.started) {
+                // Pas d'entrelacement : la nouvelle synchronisation attend la fin de l'ancienne
+                draining = current;
+                current = null;
+                next = request;
+                return;
+            }
+            current = null;
+        }
+        if (draining != null) {
+            next = request;
+            return;
+        }
+        start(request);
+    }
+
+    private void start(Request request) {
+        Flight flight = new Flight(request);
+        current = flight;
+        try {
+            flight.future = launcher.submit(() -> run(flight));
+        } catch (RejectedExecutionException e) {
+            if (current == flight) {
+                current = null;
+            }
+        }
+    }
+
+    private void run(Flight flight) {
+        synchronized (this) {
+            if (flight.cancelled) {
+                return;
+            }
+            flight.started = true;
+        }
+        try {
+            sync.run(flight.request);
+        } finally {
+            finish(flight);
+        }
+    }
+
+    private synchronized void finish(Flight flight) {
+        if (current == flight) {
+            current = null;
+        }
+        if (draining == flight) {
+            draining = null;
+            if (next != null) {
+                Request request = next;
+                next = null;
+                start(request);
+            }
+        }
+    }
+
+    private void interrupt(Flight flight) {
+        flight.cancelled = true;
+        if (flight.future != null) {
+            flight.future.cancel(true);
+        }
+    }
+
+    private void cancelPending() {
+        if (pendingTimer != null) {
+            pendingTimer.cancel(false);
+        }
+        pending = null;
+        pendingTimer = null;
+    }
+
+    /**
+     * Zone de la synchronisation soumise ou en cours, ou de celle qui attend la fin de la précédente
+     */
+    private Request inFlightRequest() {
+        if (next != null) {
+            return next;
+        }
+        return current != null ? current.request : null;
+    }
+}
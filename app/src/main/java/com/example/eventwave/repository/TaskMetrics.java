@@ -0,0 +1,120 @@
+package com.example.eventwave.repository;
+
+import java.util.EnumMap;
+import java.util.Locale;
+import java.util.Map;
+
+/**
+ * Profondeur de file, attente avant exécution, rejets et annulations, par voie de TaskScheduler
+ */
+public class TaskMetrics {
+    private final Map<TaskScheduler.Lane, Stats> stats = new EnumMap<>(TaskScheduler.Lane.class);
+
+    private static class Stats {
+        long submitted;
+        long started;
+        long rejected;
+        long cancelled;
+        int queueDepth;
+        int maxQueueDepth;
+        long totalWaitMillis;
+        long maxWaitMillis;
+    }
+
+    synchronized void recordQueued(TaskScheduler.Lane lane) {
+        Stats s = stats(lane);
+        s.submitted++;
+        s.queueDepth++;
+        s.maxQueueDepth = Math.max(s.maxQueueDepth, s.queueDepth);
+    }
+
+    synchronized void recordStarted(TaskScheduler.Lane lane, long waitMillis) {
+        Stats s = stats(lane);
+        s.started++;
+        s.queueDepth--;
+        s.totalWaitMillis += waitMillis;
+        s.maxWaitMillis = Math.max(s.maxWaitMillis, waitMillis);
+    }
+
+    synchronized void recordCancelled(TaskScheduler.Lane lane, boolean queued) {
+        Stats s = stats(lane);
+        s.cancelled++;
+        if (queued) {
+            s.queueDepth--;
+        }
+    }
+
+    synchronized void recordRejected(TaskScheduler.Lane lane) {
+        stats(lane).rejected++;
+    }
+
+    /**
+     * Tâches en attente d'un thread
+     */
+    public synchronized int getQueueDepth(TaskScheduler.Lane lane) {
+        Stats s = stats.get(lane);
+        return s != null ? s.queueDepth : 0;
+    }
+
+    public synchronized int getMaxQueueDepth(TaskScheduler.Lane lane) {
+        Stats s = stats.get(lane);
+        return s != null ? s.maxQueueDepth : 0;
+    }
+
+    public synchronized long getSubmittedCount(TaskScheduler.Lane lane) {
+        Stats s = stats.get(lane);
+        return s != null ? s.submitted : 0;
+    }
+
+    public synchronized long getRejectedCount(TaskScheduler.Lane lane) {
+        Stats s = stats.get(lane);
+        return s != null ? s.rejected : 0;
+    }
+
+    /**
+     * Tâches annulées, en attente ou en cours (rafraîchissement remplacé par un plus récent)
+     */
+    public synchronized long getCancelledCount(TaskScheduler.Lane lane) {
+        Stats s = stats.get(lane);
+        return s != null ? s.cancelled : 0;
+    }
+
+    /**
+     * Attente moyenne entre la soumission et le début de l'exécution
+     */
+    public synchronized long getAverageWaitMillis(TaskScheduler.Lane lane) {
+        Stats s = stats.get(lane);
+        return s != null && s.started > 0 ? s.totalWaitMillis / s.started : 0;
+    }
+
+    public synchronized long getMaxWaitMillis(TaskScheduler.Lane lane) {
+        Stats s = stats.get(lane);
+        return s != null ? s.maxWaitMillis : 0;
+    }
+
+    public synchronized void reset() {
+        stats.clear();
+    }
+
+    private Stats stats(TaskScheduler.Lane lane) {
+        Stats s = stats.get(lane);
+        if (s == null) {
+            s = new Stats();
+            stats.put(lane, s);
+        }
+        return s;
+    }
+
+    @Override
+    public synchronized String toString() {
+        StringBuilder builder = new StringBuilder("TaskMetrics{");
+        for (Map.Entry<TaskScheduler.Lane, Stats> entry : stats.entrySet()) {
+            Stats s = entry.getValue();
+            builder.append(String.format(Locale.ROOT,
+                    " %s: file=%d max=%d attente moy=%dms max=%dms rejets=%d annulations=%d",
+                    entry.getKey(), s.queueDepth, s.maxQueueDepth,
+                    s.started > 0 ? s.totalWaitMillis / s.started : 0, s.maxWaitMillis, s.rejected, s.cancelled));
+        }
+        return builder.append(" }").toString();
+    }
+}
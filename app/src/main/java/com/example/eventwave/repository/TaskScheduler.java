@@ -0,0 +1,263 @@
+package com.example.eventwave.repository;
+
+import android.util.Log;
+
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.AbstractExecutorService;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Future;
+import java.util.concurrent.FutureTask;
+import java.util.concurrent.PriorityBlockingQueue;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Ordonnanceur partagé par toutes les instances d'EventRepository (ViewModel, service de
+ * surveillance), avec une voie par nature de travail : un favori ou une page de liste
+ * n'attend jamais derrière un rafraîchissement réseau.
+ *
+ * Dans une voie, les tâches passent par priorité puis par ordre d'arrivée. Les files sont
+ * bornées : une voie pleine refuse la tâche (RejectedExecutionException) au lieu d'accumuler
+ * du retard. Une tâche soumise avec une clé remplace la précédente de même clé, retirée de
+ * la file si elle attend encore, interrompue si elle a commencé. Les threads inactifs
+ * s'arrêtent d'eux-mêmes : l'ordonnanceur n'a jamais à être arrêté.
+ */
+public final class TaskScheduler {
+    private static final String TAG = "TaskScheduler";
+    private static final long KEEP_ALIVE_SECONDS = 30;
+
+    public enum Lane {
+        // Lectures de pages et écritures déclenchées par l'utilisateur
+        INTERACTIVE(2, 64, Thread.NORM_PRIORITY),
+        // Rafraîchissements depuis les sources, chacun bloqué jusqu'au délai de la plus lente
+        NETWORK(2, 8, Thread.NORM_PRIORITY - 1),
+        // Appels aux sources d'un rafraîchissement de NETWORK, en parallèle : une par source
+        // (Ticketmaster, OpenAgenda, Eventbrite) pour chacun des deux threads de NETWORK.
+        // Voie distincte : un rafraîchissement qui attend ses sources n'en occupe jamais les threads
+        PROVIDERS(6, 12, Thread.NORM_PRIORITY - 1),
+        // Purge de l'historique, reprise de l'ancien stockage
+        MAINTENANCE(1, 16, Thread.MIN_PRIORITY);
+
+        final int threads;
+        final int capacity;
+        final int threadPriority;
+
+        Lane(int threads, int capacity, int threadPriority) {
+            this.threads = threads;
+            this.capacity = capacity;
+            this.threadPriority = threadPriority;
+        }
+    }
+
+    public enum Priority {
+        HIGH,
+        NORMAL,
+        LOW
+    }
+
+    private static volatile TaskScheduler INSTANCE;
+
+    private final Map<Lane, ThreadPoolExecutor> pools = new EnumMap<>(Lane.class);
+    private final Map<Lane, Integer> capacities = new EnumMap<>(Lane.class);
+    // Tâches en file par voie, bornées par la capacité
+    private final Map<Lane, AtomicInteger> queued = new EnumMap<>(Lane.class);
+    private final Map<Object, Task> keyed = new ConcurrentHashMap<>();
+    private final AtomicLong sequence = new AtomicLong();
+    private final TaskMetrics metrics = new TaskMetrics();
+
+    public static TaskScheduler getInstance() {
+        if (INSTANCE == null) {
+            synchronized (TaskScheduler.class) {
+                if (INSTANCE == null) {
+                    INSTANCE = new TaskScheduler(0, 0);
+                }
+            }
+        }
+        return INSTANCE;
+    }
+
+    /**
+     * @param threads  threads par voie, 0 pour la valeur de chaque voie
+     * @param capacity tâches en file par voie, 0 pour la valeur de chaque voie
+     */
+    TaskScheduler(int threads, int capacity) {
+        for (Lane lane : Lane.values()) {
+            int laneThreads = threads > 0 ? threads : lane.threads;
+            ThreadPoolExecutor pool = new ThreadPoolExecutor(laneThreads, laneThreads,
+                    KEEP_ALIVE_SECONDS, TimeUnit.SECONDS, new PriorityBlockingQueue<>(),
+                    threadFactory(lane));
+            pool.allowCoreThreadTimeOut(true);
+            pools.put(lane, pool);
+            capacities.put(lane, capacity > 0 ? capacity : lane.capacity);
+            queued.put(lane, new AtomicInteger());
+        }
+    }
+
+    public TaskMetrics getMetrics() {
+        return metrics;
+    }
+
+    public Future<?> submit(Lane lane, Priority priority, Runnable runnable) {
+        return submit(lane, priority, null, runnable);
+    }
+
+    /**
+     * Soumet une tâche ; avec une clé, la tâche précédente de même clé est annulée
+     *
+     * @throws RejectedExecutionException si la file de la voie est pleine
+     */
+    public Future<?> submit(Lane lane, Priority priority, Object key, Runnable runnable) {
+        AtomicInteger depth = queued.get(lane);
+        if (depth.incrementAndGet() > capacities.get(lane)) {
+            depth.decrementAndGet();
+            metrics.recordRejected(lane);
+            throw new RejectedExecutionException("File " + lane + " pleine");
+        }
+        metrics.recordQueued(lane);
+        Task task = new Task(lane, priority, key, runnable);
+        if (key != null) {
+            Task previous = keyed.put(key, task);
+            if (previous != null) {
+                previous.cancel(true);
+            }
+        }
+        pools.get(lane).execute(task);
+        return task;
+    }
+
+    /**
+     * Annule la tâche en attente ou en cours associée à la clé, s'il y en a une
+     */
+    public void cancel(Object key) {
+        Task task = keyed.get(key);
+        if (task != null) {
+            task.cancel(true);
+        }
+    }
+
+    /**
+     * Vue d'une voie sous forme d'ExecutorService, pour les API qui en attendent un (Paging).
+     * Elle ne peut pas être arrêtée : l'ordonnanceur est partagé.
+     */
+    public ExecutorService executor(Lane lane, Priority priority) {
+        return new AbstractExecutorService() {
+            @Override
+            public void execute(Runnable command) {
+                TaskScheduler.this.submit(lane, priority, command);
+            }
+
+            @Override
+            public void shutdown() {
+                throw new UnsupportedOperationException("Ordonnanceur partagé");
+            }
+
+            @Override
+            public List<Runnable> shutdownNow() {
+                throw new UnsupportedOperationException("Ordonnanceur partagé");
+            }
+
+            @Override
+            public boolean isShutdown() {
+                return false;
+            }
+
+            @Override
+            public boolean isTerminated() {
+                return false;
+            }
+
+            @Override
+            public boolean awaitTermination(long timeout, TimeUnit unit) {
+                return false;
+            }
+        };
+    }
+
+    private static ThreadFactory threadFactory(Lane lane) {
+        AtomicInteger count = new AtomicInteger();
+        String prefix = "eventwave-" + lane.name().toLowerCase(Locale.ROOT) + "-";
+        return runnable -> {
+            Thread thread = new Thread(runnable, prefix + count.incrementAndGet());
+            thread.setPriority(lane.threadPriority);
+            thread.setDaemon(true);
+            return thread;
+        };
+    }
+
+    /**
+     * Tâche d'une voie, ordonnée par priorité puis par ordre de soumission
+     */
+    private final class Task extends FutureTask<Void> implements Comparable<Task> {
+        final Lane lane;
+        final Priority priority;
+        final Object key;
+        final long sequence;
+        final long queuedAt = System.nanoTime();
+        // Vrai dès que la tâche a quitté la file, exécutée ou annulée
+        private final AtomicBoolean dequeued = new AtomicBoolean();
+
+        Task(Lane lane, Priority priority, Object key, Runnable runnable) {
+            super(runnable, null);
+            this.lane = lane;
+            this.priority = priority;
+            this.key = key;
+            this.sequence = TaskScheduler.this.sequence.getAndIncrement();
+        }
+
+        @Override
+        public void run() {
+            if (dequeued.compareAndSet(false, true)) {
+                queued.get(lane).decrementAndGet();
+                metrics.recordStarted(lane, TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - queuedAt));
+            }
+            super.run();
+        }
+
+        @Override
+        public boolean cancel(boolean mayInterruptIfRunning) {
+            boolean cancelled = super.cancel(mayInterruptIfRunning);
+            if (cancelled) {
+                boolean wasQueued = dequeued.compareAndSet(false, true);
+                if (wasQueued) {
+                    queued.get(lane).decrementAndGet();
+                    pools.get(lane).remove(this);
+                }
+                metrics.recordCancelled(lane, wasQueued);
+            }
+            return cancelled;
+        }
+
+        @Override
+        protected void done() {
+            if (key != null) {
+                keyed.remove(key, this);
+            }
+            if (isCancelled()) {
+                return;
+            }
+            try {
+                get();
+            } catch (ExecutionException e) {
+                Log.e(TAG, "Échec d'une tâche " + lane, e.getCause());
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        }
+
+        @Override
+        public int compareTo(Task other) {
+            int byPriority = priority.compareTo(other.priority);
+            return byPriority != 0 ? byPriority : Long.compare(sequence, other.sequence);
+        }
+    }
+}
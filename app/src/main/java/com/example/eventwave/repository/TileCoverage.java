@@ -0,0 +1,349 @@
+package com.example.eventwave.repository;
+
+import com.example.eventwave.utils.GeoHash;
+import com.example.eventwave.utils.GeoUtils;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.TreeMap;
+
+/**
+ * Couverture des sources par tuiles geohash : pour chaque tuile, date de la dernière
+ * synchronisation complète. Une zone demandée se réduit aux tuiles qui la recouvrent ;
+ * seules les tuiles jamais synchronisées ou plus anciennes que le TTL sont à récupérer,
+ * regroupées en rectangles de tuiles, chacun interrogé comme un disque (centre du
+ * rectangle, rayon jusqu'au coin le plus éloigné).
+ *
+ * Un petit déplacement ou un rayon réduit retombent sur des tuiles fraîches : aucun appel
+ * réseau. Un déplacement plus long ne récupère que la bande de tuiles nouvellement atteinte.
+ */
+public class TileCoverage {
+    private static final double KM_PER_DEGREE = Math.PI * GeoUtils.EARTH_RADIUS_KM / 180.0;
+
+    /**
+     * Rectangle de tuiles à récupérer en un seul appel aux sources
+     */
+    public static final class Region {
+        public final double latitude;
+        public final double longitude;
+        public final double radiusKm;
+        private final List<String> tiles;
+
+        Region(double latitude, double longitude, double radiusKm, List<String> tiles) {
+            this.latitude = latitude;
+            this.longitude = longitude;
+            this.radiusKm = radiusKm;
+            this.tiles = Collections.unmodifiableList(tiles);
+        }
+
+        public List<String> getTiles() {
+            return tiles;
+        }
+    }
+
+    /**
+     * Tuiles d'une zone demandée, et régions à récupérer pour les compléter
+     */
+    public static final class Plan {
+        private final int tileCount;
+        private final int freshCount;
+        private final List<Region> regions;
+
+        Plan(int tileCount, int freshCount, List<Region> regions) {
+            this.tileCount = tileCount;
+            this.freshCount = freshCount;
+            this.regions = Collections.unmodifiableList(regions);
+        }
+
+        public int getTileCount() {
+            return tileCount;
+        }
+
+        public int getFreshCount() {
+            return freshCount;
+        }
+
+        public List<Region> getRegions() {
+            return regions;
+        }
+
+        public boolean isCovered() {
+            return regions.isEmpty();
+        }
+    }
+
+    private final int precision;
+    private final long ttlMillis;
+    private final double maxRegionKm;
+    private final Map<String, Long> fetchedAt = new HashMap<>();
+
+    private long planCount;
+    private long coveredPlanCount;
+    private long tilesRequested;
+    private long tilesHit;
+    private long regionCount;
+
+    /**
+     * @param precision   précision des geohash, donc taille des tuiles
+     * @param ttlMillis   durée pendant laquelle une tuile synchronisée reste fraîche
+     * @param maxRegionKm côté maximal d'un rectangle de tuiles récupéré en un appel
+     */
+    public TileCoverage(int precision, long ttlMillis, double maxRegionKm) {
+        this.precision = precision;
+        this.ttlMillis = ttlMillis;
+        this.maxRegionKm = maxRegionKm;
+    }
+
+    public int getPrecision() {
+        return precision;
+    }
+
+    /**
+     * Tuiles recouvrant le disque demandé, et rectangles à récupérer si certaines ne sont
+     * pas fraîches ; compté dans les statistiques
+     */
+    public synchronized Plan plan(double latitude, double longitude, double radiusKm, long now) {
+        return plan(latitude, longitude, radiusKm, now, false);
+    }
+
+    /**
+     * Comme {@link #plan(double, double, double, long)} ; si force, tout le carré englobant le
+     * disque est à récupérer, tuiles fraîches comprises, sans compter dans le taux de succès
+     */
+    public synchronized Plan plan(double latitude, double longitude, double radiusKm, long now, boolean force) {
+        if (force) {
+            int tileCount = tilesCovering(latitude, longitude, radiusKm, true).size();
+            List<Region> regions = merge(tilesCovering(latitude, longitude, radiusKm, false), latitude);
+            planCount++;
+            regionCount += regions.size();
+            return new Plan(tileCount, 0, regions);
+        }
+        List<long[]> missing = new ArrayList<>();
+        int tileCount = 0;
+        int freshCount = 0;
+        for (long[] tile : tilesCovering(latitude, longitude, radiusKm, true)) {
+            tileCount++;
+            if (isFresh(GeoHash.tile(tile[0], tile[1], precision), now)) {
+                freshCount++;
+            } else {
+                missing.add(tile);
+            }
+        }
+        if (!missing.isEmpty()) {
+            // Le disque déborde : tout le carré qui l'englobe est complété d'un coup, plutôt
+            // qu'une tuile de coin à chaque position suivante d'un déplacement
+            missing.clear();
+            for (long[] tile : tilesCovering(latitude, longitude, radiusKm, false)) {
+                if (!isFresh(GeoHash.tile(tile[0], tile[1], precision), now)) {
+                    missing.add(tile);
+                }
+            }
+        }
+        List<Region> regions = merge(missing, latitude);
+
+        planCount++;
+        tilesRequested += tileCount;
+        tilesHit += freshCount;
+        regionCount += regions.size();
+        if (regions.isEmpty()) {
+            coveredPlanCount++;
+        }
+        return new Plan(tileCount, freshCount, regions);
+    }
+
+    /**
+     * Enregistre des tuiles dont toutes les sources ont répondu ; les tuiles périmées sont oubliées
+     */
+    public synchronized void markFetched(Collection<String> tiles, long fetchedAtMillis) {
+        for (String tile : tiles) {
+            Long previous = fetchedAt.get(tile);
+            if (previous == null || previous < fetchedAtMillis) {
+                fetchedAt.put(tile, fetchedAtMillis);
+            }
+        }
+        Iterator<Long> iterator = fetchedAt.values().iterator();
+        while (iterator.hasNext()) {
+            if (iterator.next() + ttlMillis <= fetchedAtMillis) {
+                iterator.remove();
+            }
+        }
+    }
+
+    public synchronized boolean isFresh(String tile, long now) {
+        Long at = fetchedAt.get(tile);
+        return at != null && now - at < ttlMillis;
+    }
+
+    /**
+     * Part des tuiles du disque encore fraîches, sans effet sur les statistiques
+     */
+    public synchronized double coverage(double latitude, double longitude, double radiusKm, long now) {
+        List<long[]> tiles = tilesCovering(latitude, longitude, radiusKm, true);
+        if (tiles.isEmpty()) {
+            return 0;
+        }
+        int fresh = 0;
+        for (long[] tile : tiles) {
+            if (isFresh(GeoHash.tile(tile[0], tile[1], precision), now)) {
+                fresh++;
+            }
+        }
+        return (double) fresh / tiles.size();
+    }
+
+    /**
+     * Oublie toutes les tuiles (cache vidé) ; les statistiques sont conservées
+     */
+    public synchronized void clear() {
+        fetchedAt.clear();
+    }
+
+    public synchronized int getTileCount() {
+        return fetchedAt.size();
+    }
+
+    public synchronized long getPlanCount() {
+        return planCount;
+    }
+
+    /**
+     * Demandes servies entièrement par la base locale
+     */
+    public synchronized long getCoveredPlanCount() {
+        return coveredPlanCount;
+    }
+
+    public synchronized long getTilesRequested() {
+        return tilesRequested;
+    }
+
+    public synchronized long getTilesHit() {
+        return tilesHit;
+    }
+
+    /**
+     * Appels aux sources, un par rectangle de tuiles
+     */
+    public synchronized long getRegionCount() {
+        return regionCount;
+    }
+
+    /**
+     * Part des tuiles demandées déjà fraîches
+     */
+    public synchronized double getHitRatio() {
+        return tilesRequested > 0 ? (double) tilesHit / tilesRequested : 0;
+    }
+
+    public synchronized void resetStats() {
+        planCount = 0;
+        coveredPlanCount = 0;
+        tilesRequested = 0;
+        tilesHit = 0;
+        regionCount = 0;
+    }
+
+    @Override
+    public synchronized String toString() {
+        return String.format(Locale.ROOT,
+                "TileCoverage{tuiles=%d demandes=%d couvertes=%d tuiles demandées=%d succès=%.1f%% régions=%d}",
+                fetchedAt.size(), planCount, coveredPlanCount, tilesRequested, getHitRatio() * 100, regionCount);
+    }
+
+    /**
+     * Indices (ligne, colonne) des tuiles qui touchent le disque, ou de toutes celles de son
+     * carré englobant ; une zone qui traverse l'antiméridien ou un pôle est tronquée au bord
+     * de la grille
+     */
+    private List<long[]> tilesCovering(double latitude, double longitude, double radiusKm, boolean discOnly) {
+        double dLat = radiusKm / KM_PER_DEGREE;
+        double dLon = dLat / Math.max(Math.cos(Math.toRadians(latitude)), 0.01);
+        long minRow = GeoHash.row(latitude - dLat, precision);
+        long maxRow = GeoHash.row(latitude + dLat, precision);
+        long minCol = GeoHash.col(longitude - dLon, precision);
+        long maxCol = GeoHash.col(longitude + dLon, precision);
+        double height = GeoHash.tileHeightDegrees(precision);
+        double width = GeoHash.tileWidthDegrees(precision);
+
+        List<long[]> tiles = new ArrayList<>();
+        for (long row = minRow; row <= maxRow; row++) {
+            double south = GeoHash.minLatitude(row, precision);
+            double nearestLat = Math.max(south, Math.min(south + height, latitude));
+            for (long col = minCol; col <= maxCol; col++) {
+                double west = GeoHash.minLongitude(col, precision);
+                double nearestLon = Math.max(west, Math.min(west + width, longitude));
+                if (!discOnly || GeoUtils.distanceKm(latitude, longitude, nearestLat, nearestLon) <= radiusKm) {
+                    tiles.add(new long[]{row, col});
+                }
+            }
+        }
+        return tiles;
+    }
+
+    /**
+     * Regroupe les tuiles manquantes par blocs d'au plus maxRegionKm de côté, comptés depuis
+     * la tuile manquante la plus au sud-ouest : chaque bloc donne un rectangle, le plus petit
+     * contenant ses tuiles manquantes. Un disque entier n'est ainsi découpé qu'en quelques appels ;
+     * les tuiles fraîches incluses dans un rectangle sont récupérées à nouveau sans être comptées.
+     */
+    private List<Region> merge(List<long[]> missing, double latitude) {
+        if (missing.isEmpty()) {
+            return new ArrayList<>();
+        }
+        double height = GeoHash.tileHeightDegrees(precision);
+        double width = GeoHash.tileWidthDegrees(precision);
+        int maxRows = Math.max(1, (int) (maxRegionKm / (height * KM_PER_DEGREE)));
+        int maxCols = Math.max(1, (int) (maxRegionKm
+                / (width * KM_PER_DEGREE * Math.max(Math.cos(Math.toRadians(latitude)), 0.01))));
+        long originRow = Long.MAX_VALUE;
+        long originCol = Long.MAX_VALUE;
+        for (long[] tile : missing) {
+            originRow = Math.min(originRow, tile[0]);
+            originCol = Math.min(originCol, tile[1]);
+        }
+
+        // Par bloc : {ligne min, ligne max, colonne min, colonne max} des tuiles manquantes
+        TreeMap<Long, long[]> rects = new TreeMap<>();
+        TreeMap<Long, List<String>> tiles = new TreeMap<>();
+        for (long[] tile : missing) {
+            long block = (tile[0] - originRow) / maxRows * (1L << 32) + (tile[1] - originCol) / maxCols;
+            long[] rect = rects.get(block);
+            if (rect == null) {
+                rects.put(block, new long[]{tile[0], tile[0], tile[1], tile[1]});
+                tiles.put(block, new ArrayList<>());
+            } else {
+                rect[0] = Math.min(rect[0], tile[0]);
+                rect[1] = Math.max(rect[1], tile[0]);
+                rect[2] = Math.min(rect[2], tile[1]);
+                rect[3] = Math.max(rect[3], tile[1]);
+            }
+            tiles.get(block).add(GeoHash.tile(tile[0], tile[1], precision));
+        }
+
+        List<Region> regions = new ArrayList<>(rects.size());
+        for (Map.Entry<Long, long[]> entry : rects.entrySet()) {
+            regions.add(region(entry.getValue(), tiles.get(entry.getKey())));
+        }
+        return regions;
+    }
+
+    private Region region(long[] rect, List<String> tiles) {
+        double south = GeoHash.minLatitude(rect[0], precision);
+        double north = GeoHash.minLatitude(rect[1] + 1, precision);
+        double west = GeoHash.minLongitude(rect[2], precision);
+        double east = GeoHash.minLongitude(rect[3] + 1, precision);
+        double centerLat = (south + north) / 2;
+        double centerLon = (west + east) / 2;
+        // Coin le plus éloigné : côté de l'équateur, où les degrés de longitude sont les plus longs
+        double radius = Math.max(GeoUtils.distanceKm(centerLat, centerLon, south, west),
+                GeoUtils.distanceKm(centerLat, centerLon, north, west));
+
+        return new Region(centerLat, centerLon, radius, tiles);
+    }
+}
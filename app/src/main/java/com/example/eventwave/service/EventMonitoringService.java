@@ -15,6 +15,7 @@ import androidx.preference.PreferenceManager;
 
 import com.example.eventwave.model.Event;
 import com.example.eventwave.repository.EventRepository;
+import com.example.eventwave.utils.GeoKernel;
 
 import java.util.List;
 import java.util.concurrent.Executors;
@@ -63,15 +64,10 @@ public class EventMonitoringService extends Service {
     private void checkNearbyEvents(Location location, double radius) {
         List<Event> events = repository.getEventsNearby(location, radius).getValue();
         if (events != null) {
-            for (Event event : events) {
-                Location eventLocation = new Location("");
-                eventLocation.setLatitude(event.getLatitude());
-                eventLocation.setLongitude(event.getLongitude());
-                
-                float distance = location.distanceTo(eventLocation) / 1000; // en km
-                if (distance <= radius) {
-                    notificationService.showNearbyEventNotification(event, distance);
-                }
+            // Distance renseignée par le calcul en lot, du plus proche au plus lointain
+            for (Event event : GeoKernel.nearestEvents(events, location.getLatitude(), location.getLongitude(),
+                    radius, events.size())) {
+                notificationService.showNearbyEventNotification(event, event.getDistance());
             }
         }
     }
@@ -101,6 +97,7 @@ public class EventMonitoringService extends Service {
     public void onDestroy() {
         super.onDestroy();
         scheduler.shutdown();
+        repository.close();
     }
 
     @Nullable
@@ -88,6 +88,10 @@ public class HistoryFragment extends Fragment implements EventAdapter.OnEventCli
 
         eventViewModel.getIsLoading().observe(getViewLifecycleOwner(), isLoading -> {
             binding.progressBar.setVisibility(isLoading ? View.VISIBLE : View.GONE);
+            // La liste n'est réémise que si la purge a supprimé des entrées
+            if (!isLoading) {
+                binding.swipeRefresh.setRefreshing(false);
+            }
         });
     }
 
@@ -17,8 +17,11 @@ import androidx.recyclerview.widget.RecyclerView;
 import com.example.eventwave.MapActivity;
 import com.example.eventwave.R;
 import com.example.eventwave.adapter.EventAdapter;
+import com.example.eventwave.adapter.PagedEventAdapter;
 import com.example.eventwave.databinding.FragmentHomeBinding;
 import com.example.eventwave.model.Event;
+import com.example.eventwave.model.EventCategory;
+import com.example.eventwave.utils.Constants;
 import com.example.eventwave.viewmodel.EventViewModel;
 import com.google.android.material.chip.Chip;
 import com.google.android.material.snackbar.Snackbar;
@@ -27,7 +30,11 @@ public class HomeFragment extends Fragment implements EventAdapter.OnEventClickL
 
     private FragmentHomeBinding binding;
     private EventViewModel eventViewModel;
-    private EventAdapter eventAdapter;
+    private PagedEventAdapter pagedEventAdapter;
+    private PagedEventAdapter searchAdapter;
+    private boolean searching;
+    private String pendingQuery = "";
+    private final Runnable searchTask = () -> eventViewModel.setSearchQuery(pendingQuery);
 
     @Override
     public View onCreateView(@NonNull LayoutInflater inflater, ViewGroup container, Bundle savedInstanceState) {
@@ -51,43 +58,48 @@ public class HomeFragment extends Fragment implements EventAdapter.OnEventClickL
     }
 
     private void setupRecyclerView() {
-        eventAdapter = new EventAdapter(this);
+        pagedEventAdapter = new PagedEventAdapter(this);
+        searchAdapter = new PagedEventAdapter(this);
         binding.eventsRecyclerView.setLayoutManager(new LinearLayoutManager(requireContext()));
-        binding.eventsRecyclerView.setAdapter(eventAdapter);
+        binding.eventsRecyclerView.setAdapter(pagedEventAdapter);
     }
 
     private void setupChipGroup() {
         binding.chipAll.setOnCheckedChangeListener((buttonView, isChecked) -> {
             if (isChecked) {
-                eventAdapter.filterByCategory(null);
+                selectCategory(null);
             }
         });
 
         binding.chipMusic.setOnCheckedChangeListener((buttonView, isChecked) -> {
             if (isChecked) {
-                eventAdapter.filterByCategory("Musique");
+                selectCategory(EventCategory.MUSIC);
             }
         });
 
         binding.chipSports.setOnCheckedChangeListener((buttonView, isChecked) -> {
             if (isChecked) {
-                eventAdapter.filterByCategory("Sport");
+                selectCategory(EventCategory.SPORTS);
             }
         });
 
         binding.chipTheater.setOnCheckedChangeListener((buttonView, isChecked) -> {
             if (isChecked) {
-                eventAdapter.filterByCategory("Théâtre");
+                selectCategory(EventCategory.THEATRE);
             }
         });
 
         binding.chipFamily.setOnCheckedChangeListener((buttonView, isChecked) -> {
             if (isChecked) {
-                eventAdapter.filterByCategory("Famille");
+                selectCategory(EventCategory.FAMILY);
             }
         });
     }
 
+    private void selectCategory(EventCategory category) {
+        eventViewModel.setPagedCategory(category);
+    }
+
     private void setupSearch() {
         binding.searchEditText.addTextChangedListener(new TextWatcher() {
             @Override
@@ -95,7 +107,11 @@ public class HomeFragment extends Fragment implements EventAdapter.OnEventClickL
 
             @Override
             public void onTextChanged(CharSequence s, int start, int before, int count) {
-                eventAdapter.filter(s.toString());
+                // Recherche plein texte lancée une fois la saisie stabilisée
+                pendingQuery = s.toString();
+                binding.searchEditText.removeCallbacks(searchTask);
+                binding.searchEditText.postDelayed(searchTask, Constants.SEARCH_DEBOUNCE_MS);
+                showSearchResults(!pendingQuery.trim().isEmpty());
             }
 
             @Override
@@ -103,14 +119,26 @@ public class HomeFragment extends Fragment implements EventAdapter.OnEventClickL
         });
     }
 
+    /**
+     * Bascule entre la liste paginée et les résultats de recherche
+     */
+    private void showSearchResults(boolean active) {
+        if (active == searching) {
+            return;
+        }
+        searching = active;
+        binding.eventsRecyclerView.setAdapter(active ? searchAdapter : pagedEventAdapter);
+    }
+
     private void observeViewModel() {
-        eventViewModel.getEvents().observe(getViewLifecycleOwner(), events -> {
-            if (events != null) {
-                eventAdapter.setEvents(events);
-                binding.progressBar.setVisibility(View.GONE);
-            }
+        eventViewModel.getPagedEvents().observe(getViewLifecycleOwner(), pagingData -> {
+            pagedEventAdapter.submitData(getViewLifecycleOwner().getLifecycle(), pagingData);
+            binding.progressBar.setVisibility(View.GONE);
         });
 
+        eventViewModel.getSearchResults().observe(getViewLifecycleOwner(), pagingData ->
+                searchAdapter.submitData(getViewLifecycleOwner().getLifecycle(), pagingData));
+
         eventViewModel.getIsLoading().observe(getViewLifecycleOwner(), isLoading -> {
             binding.progressBar.setVisibility(isLoading ? View.VISIBLE : View.GONE);
         });
@@ -125,6 +153,8 @@ public class HomeFragment extends Fragment implements EventAdapter.OnEventClickL
     @Override
     public void onDestroyView() {
         super.onDestroyView();
+        binding.searchEditText.removeCallbacks(searchTask);
+        searching = false;
         binding = null;
     }
 
@@ -143,7 +173,7 @@ public class HomeFragment extends Fragment implements EventAdapter.OnEventClickL
         eventViewModel.toggleFavorite(event);
         
         // Mettre à jour l'adaptateur avec l'événement modifié
-        eventAdapter.updateEvent(event);
+        (searching ? searchAdapter : pagedEventAdapter).updateEvent(event);
         
         // Afficher un message de confirmation
         String message = event.isFavorite() ? 
@@ -10,6 +10,55 @@ public class Constants {
     public static final int DEFAULT_EVENT_COUNT = 20;
     public static final String DEFAULT_SORT = "date,asc";
     
+    // Pagination Ticketmaster - UTILISÉES dans TicketmasterService
+    // L'API refuse les requêtes dont size * page dépasse 1000 événements
+    public static final int TICKETMASTER_PAGE_SIZE = 100;
+    public static final int TICKETMASTER_MAX_PAGES = 5;
+    // Arrêt anticipé de la pagination dès que la zone visible est couverte ; pas pour les
+    // tuiles synchronisées, lues jusqu'à la dernière page
+    public static final int TARGET_VISIBLE_EVENTS = 100;
+    public static final double DEFAULT_VISIBLE_RADIUS_KM = 5.0;
+    // Repli suivant lancé sans attendre la réponse du précédent au-delà de ce délai
+    public static final long TICKETMASTER_HEDGE_DELAY_MS = 500;
+    
+    // Agrégation des sources - UTILISÉES dans les EventProvider
+    public static final long TICKETMASTER_DEADLINE_MS = 15_000; // plusieurs pages
+    public static final long OPENAGENDA_DEADLINE_MS = 8_000;
+    public static final long EVENTBRITE_DEADLINE_MS = 8_000;
+    public static final String EVENTBRITE_TOKEN = ""; // source désactivée sans jeton
+    
+    // Cache HTTP des réponses Ticketmaster - UTILISÉES dans TicketmasterService
+    public static final long HTTP_CACHE_SIZE_BYTES = 10L * 1024 * 1024;
+    public static final int HTTP_CACHE_FRESH_SECONDS = 5 * 60; // servi sans réseau
+    public static final int HTTP_CACHE_STALE_WHILE_REVALIDATE_SECONDS = 60 * 60; // servi puis revalidé
+    public static final int HTTP_CACHE_MAX_STALE_OFFLINE_SECONDS = 7 * 24 * 60 * 60; // hors ligne
+    
+    // Traçage réseau - UTILISÉES dans HttpClientProvider
+    public static final int NETWORK_TRACE_CAPACITY = 100; // traces conservées en mémoire
+    public static final double NETWORK_TRACE_SAMPLE_RATE = 0.1; // un appel sur dix
+    
+    // Pagination de la liste d'accueil - UTILISÉES dans EventViewModel
+    public static final int EVENTS_PAGE_SIZE = 30;
+    public static final int EVENTS_MAX_IN_MEMORY = 300; // pages les plus éloignées abandonnées au-delà
+    
+    // Historique de consultation - UTILISÉES dans EventRepository
+    public static final int HISTORY_MAX_ENTRIES = 50;
+    public static final long HISTORY_RETENTION_MS = 90L * 24 * 60 * 60 * 1000; // 90 jours
+    public static final long HISTORY_WRITE_DELAY_MS = 2_000; // consultations groupées en une écriture
+    
+    // Rafraîchissement - UTILISÉES dans EventRepository
+    public static final long REFRESH_DEBOUNCE_MS = 500; // délai après le dernier cran du curseur
+    public static final double REFRESH_GRID_DEGREES = 0.005; // positions confondues à ~500 m près
+    public static final double REFRESH_RADIUS_STEP_KM = 1.0; // rayon arrondi au kilomètre supérieur
+    
+    // Couverture par tuiles geohash - UTILISÉES dans EventRepository
+    public static final int COVERAGE_GEOHASH_PRECISION = 5; // tuiles de 0,044° (4,9 km x 3,3 km à Paris)
+    public static final long COVERAGE_TILE_TTL_MS = 60 * 60 * 1000; // tuile resynchronisée au-delà
+    public static final double COVERAGE_MAX_REGION_KM = 40.0; // côté maximal d'une zone récupérée en un appel
+    
+    // Recherche - UTILISÉE dans HomeFragment
+    public static final long SEARCH_DEBOUNCE_MS = 150; // délai après la dernière frappe
+    
     // Permissions - UTILISÉE dans MainActivity
     public static final int LOCATION_PERMISSION_REQUEST_CODE = 1001;
 } 
\ No newline at end of file
@@ -0,0 +1,198 @@
+package com.example.eventwave.utils;
+
+import com.example.eventwave.model.Event;
+import com.example.eventwave.model.EventCategory;
+
+import java.util.ArrayList;
+import java.util.BitSet;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Instantané en colonnes des événements chargés par Room, pour la couche ViewModel :
+ * coordonnées et dates en tableaux primitifs, catégories encodées par dictionnaire
+ * (chaque entrée portant son code EventCategory),
+ * favoris dans un BitSet. Les filtres et calculs de distance parcourent les colonnes ;
+ * seules les lignes affichées sont matérialisées en Event.
+ *
+ * Lignes triées par (startDate, id) : un ensemble de lignes parcouru dans l'ordre
+ * est déjà chronologique. Immuable, donc partageable entre threads.
+ */
+public final class EventColumns {
+    public static final EventColumns EMPTY = of(Collections.emptyList());
+
+    private static final Comparator<Event> CHRONOLOGICAL =
+            Comparator.comparingLong(Event::getStartDate).thenComparing(Event::getId);
+
+    private final int size;
+    private final String[] ids;
+    private final String[] titles;
+    private final String[] descriptions;
+    private final String[] imageUrls;
+    private final String[] venueNames;
+    private final double[] latitudes;
+    private final double[] longitudes;
+    private final double[] cosLatitudes;
+    private final long[] startDates;
+    private final int[] categoryIds;
+    // Dictionnaire des catégories : identifiant = position, avec le code EventCategory de chaque entrée
+    private final String[] categories;
+    private final int[] categoryCodes;
+    private final BitSet favorites;
+
+    private EventColumns(List<Event> sorted, List<String> categories, Map<String, Integer> categoryIndex) {
+        size = sorted.size();
+        ids = new String[size];
+        titles = new String[size];
+        descriptions = new String[size];
+        imageUrls = new String[size];
+        venueNames = new String[size];
+        latitudes = new double[size];
+        longitudes = new double[size];
+        startDates = new long[size];
+        categoryIds = new int[size];
+        favorites = new BitSet(size);
+        for (int row = 0; row < size; row++) {
+            Event event = sorted.get(row);
+            ids[row] = event.getId();
+            titles[row] = event.getTitle();
+            descriptions[row] = event.getDescription();
+            imageUrls[row] = event.getImageUrl();
+            venueNames[row] = event.getVenueName();
+            latitudes[row] = event.getLatitude();
+            longitudes[row] = event.getLongitude();
+            startDates[row] = event.getStartDate();
+            categoryIds[row] = categoryIndex.get(event.getCategory());
+            if (event.isFavorite()) {
+                favorites.set(row);
+            }
+        }
+        cosLatitudes = GeoKernel.cosLatitudes(latitudes, size);
+        this.categories = categories.toArray(new String[0]);
+        this.categoryCodes = new int[this.categories.length];
+        for (int id = 0; id < this.categories.length; id++) {
+            categoryCodes[id] = EventCategory.fromName(this.categories[id]).getCode();
+        }
+    }
+
+    public static EventColumns of(List<Event> events) {
+        List<Event> sorted = new ArrayList<>(events);
+        sorted.sort(CHRONOLOGICAL);
+        List<String> categories = new ArrayList<>();
+        Map<String, Integer> categoryIndex = new HashMap<>();
+        for (Event event : sorted) {
+            if (!categoryIndex.containsKey(event.getCategory())) {
+                categoryIndex.put(event.getCategory(), categories.size());
+                categories.add(event.getCategory());
+            }
+        }
+        return new EventColumns(sorted, categories, categoryIndex);
+    }
+
+    public int size() {
+        return size;
+    }
+
+    public String getId(int row) {
+        return ids[row];
+    }
+
+    public String getTitle(int row) {
+        return titles[row];
+    }
+
+    public String getVenueName(int row) {
+        return venueNames[row];
+    }
+
+    public double getLatitude(int row) {
+        return latitudes[row];
+    }
+
+    public double getLongitude(int row) {
+        return longitudes[row];
+    }
+
+    public long getStartDate(int row) {
+        return startDates[row];
+    }
+
+    public String getCategory(int row) {
+        return categories[categoryIds[row]];
+    }
+
+    public EventCategory getEventCategory(int row) {
+        return EventCategory.fromCode(categoryCodes[categoryIds[row]]);
+    }
+
+    public boolean isFavorite(int row) {
+        return favorites.get(row);
+    }
+
+    /**
+     * Lignes d'une catégorie (null pour toutes), éventuellement restreintes aux favoris
+     */
+    public BitSet select(EventCategory category, boolean favoritesOnly) {
+        BitSet rows = new BitSet(size);
+        if (category == null) {
+            rows.set(0, size);
+        } else {
+            // Entrées du dictionnaire de cette catégorie, puis un accès tableau par ligne
+            boolean[] matches = new boolean[categories.length];
+            for (int id = 0; id < categories.length; id++) {
+                matches[id] = categoryCodes[id] == category.getCode();
+            }
+            for (int row = 0; row < size; row++) {
+                if (matches[categoryIds[row]]) {
+                    rows.set(row);
+                }
+            }
+        }
+        if (favoritesOnly) {
+            rows.and(favorites);
+        }
+        return rows;
+    }
+
+    /**
+     * Au plus limit lignes sélectionnées, dans l'ordre chronologique
+     */
+    public List<Event> materialize(BitSet rows, int limit) {
+        List<Event> events = new ArrayList<>(Math.min(limit, rows.cardinality()));
+        for (int row = rows.nextSetBit(0); row >= 0 && events.size() < limit; row = rows.nextSetBit(row + 1)) {
+            events.add(materialize(row));
+        }
+        return events;
+    }
+
+    /**
+     * Les limit lignes sélectionnées (null pour toutes) les plus proches dans le rayon,
+     * de la plus proche à la plus lointaine, distance renseignée
+     */
+    public List<Event> nearest(BitSet rows, double latitude, double longitude, double radiusKm, int limit) {
+        int capacity = Math.max(0, Math.min(limit, size));
+        int[] found = new int[capacity];
+        double[] distancesKm = new double[capacity];
+        int count = GeoKernel.nearest(latitudes, longitudes, cosLatitudes, size, rows, latitude, longitude,
+                radiusKm, limit, found, distancesKm);
+
+        List<Event> events = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            Event event = materialize(found[i]);
+            event.setDistance(distancesKm[i]);
+            events.add(event);
+        }
+        return events;
+    }
+
+    /**
+     * Event d'une ligne, créé à la demande : une instance neuve à chaque appel
+     */
+    public Event materialize(int row) {
+        return new Event(ids[row], titles[row], descriptions[row], imageUrls[row], getCategory(row),
+                venueNames[row], latitudes[row], longitudes[row], startDates[row], favorites.get(row));
+    }
+}
@@ -0,0 +1,82 @@
+package com.example.eventwave.utils;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.regex.Pattern;
+
+/**
+ * Traduit la saisie de l'utilisateur en expression MATCH pour events_fts.
+ *
+ * - chaque mot est cherché en préfixe : "conc" trouve "concert" ;
+ * - un texte entre guillemets est une phrase exacte : "fete de la musique" ;
+ * - OR et NEAR (ou NEAR/n) sont conservés comme opérateurs entre deux termes ;
+ * - tout le reste est replié puis découpé comme le fait le tokenizer, ce qui
+ *   neutralise les caractères spéciaux de la syntaxe FTS.
+ */
+public final class FtsQuery {
+    private static final Pattern NEAR = Pattern.compile("NEAR(/\\d+)?");
+
+    private FtsQuery() {
+    }
+
+    /**
+     * Expression MATCH, ou null si la saisie ne contient aucun mot
+     */
+    public static String build(String input) {
+        if (input == null) {
+            return null;
+        }
+        List<String> parts = new ArrayList<>();
+        String pendingOperator = null;
+        int i = 0;
+        while (i < input.length()) {
+            char c = input.charAt(i);
+            if (Character.isWhitespace(c)) {
+                i++;
+                continue;
+            }
+
+            String term;
+            if (c == '"') {
+                int end = input.indexOf('"', i + 1);
+                if (end < 0) {
+                    end = input.length();
+                }
+                List<String> words = TextNormalizer.tokens(input.substring(i + 1, end));
+                term = words.isEmpty() ? null : '"' + String.join(" ", words) + '"';
+                i = end + 1;
+            } else {
+                int end = i;
+                while (end < input.length() && !Character.isWhitespace(input.charAt(end))
+                        && input.charAt(end) != '"') {
+                    end++;
+                }
+                String word = input.substring(i, end);
+                i = end;
+                if (word.equals("OR") || NEAR.matcher(word).matches()) {
+                    // Un opérateur n'a de sens qu'entre deux termes
+                    pendingOperator = parts.isEmpty() ? null : word;
+                    continue;
+                }
+                List<String> words = TextNormalizer.tokens(word);
+                StringBuilder prefixes = new StringBuilder();
+                for (String w : words) {
+                    if (prefixes.length() > 0) {
+                        prefixes.append(' ');
+                    }
+                    prefixes.append(w).append('*');
+                }
+                term = words.isEmpty() ? null : prefixes.toString();
+            }
+
+            if (term != null) {
+                if (pendingOperator != null) {
+                    parts.add(pendingOperator);
+                    pendingOperator = null;
+                }
+                parts.add(term);
+            }
+        }
+        return parts.isEmpty() ? null : String.join(" ", parts);
+    }
+}
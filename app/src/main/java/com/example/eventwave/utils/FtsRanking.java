@@ -0,0 +1,170 @@
+package com.example.eventwave.utils;
+
+import com.example.eventwave.model.FtsMatch;
+
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * Classement BM25 et surlignage des résultats de events_fts.
+ *
+ * FTS4 ne fournit pas bm25() (réservé à FTS5, absent de Room) : le score est calculé ici
+ * à partir de matchinfo(events_fts, 'pcnalx'), qui expose par colonne la longueur de la
+ * ligne, la longueur moyenne et, pour chaque phrase de la requête, le nombre d'occurrences
+ * dans la ligne et le nombre de lignes qui la contiennent.
+ */
+public final class FtsRanking {
+    // Ordre des colonnes de EventFts
+    public static final int COLUMN_TITLE = 0;
+    public static final int COLUMN_DESCRIPTION = 1;
+    public static final int COLUMN_VENUE = 2;
+    public static final int COLUMN_CATEGORY = 3;
+
+    // Même hiérarchie que la recherche en mémoire : titre > lieu > description
+    static final double[] COLUMN_WEIGHTS = {3.0, 1.0, 2.0, 1.0};
+    static final double K1 = 1.2;
+    static final double B = 0.75;
+
+    private static final int[] NO_HIGHLIGHTS = new int[0];
+
+    private FtsRanking() {
+    }
+
+    /**
+     * Identifiants triés du plus pertinent au moins pertinent (docid croissant en cas d'égalité)
+     */
+    public static long[] rank(List<FtsMatch> matches) {
+        int n = matches.size();
+        long[] docids = new long[n];
+        double[] scores = new double[n];
+        Integer[] order = new Integer[n];
+        for (int i = 0; i < n; i++) {
+            FtsMatch match = matches.get(i);
+            docids[i] = match.docid;
+            scores[i] = bm25(parseMatchInfo(match.matchInfo), COLUMN_WEIGHTS);
+            order[i] = i;
+        }
+        Arrays.sort(order, (a, b) -> {
+            int byScore = Double.compare(scores[b], scores[a]);
+            return byScore != 0 ? byScore : Long.compare(docids[a], docids[b]);
+        });
+        long[] ranked = new long[n];
+        for (int i = 0; i < n; i++) {
+            ranked[i] = docids[order[i]];
+        }
+        return ranked;
+    }
+
+    /**
+     * matchinfo renvoie des entiers 32 bits non signés dans l'ordre d'octets de la machine
+     */
+    public static int[] parseMatchInfo(byte[] blob) {
+        ByteBuffer buffer = ByteBuffer.wrap(blob).order(ByteOrder.nativeOrder());
+        int[] values = new int[blob.length / 4];
+        for (int i = 0; i < values.length; i++) {
+            values[i] = buffer.getInt();
+        }
+        return values;
+    }
+
+    /**
+     * Score BM25 d'une ligne à partir de matchinfo 'pcnalx', pondéré par colonne
+     */
+    public static double bm25(int[] matchInfo, double[] weights) {
+        int phrases = matchInfo[0];
+        int columns = matchInfo[1];
+        int rows = matchInfo[2];
+        int averageOffset = 3;
+        int lengthOffset = averageOffset + columns;
+        int hitsOffset = lengthOffset + columns;
+
+        double score = 0;
+        for (int p = 0; p < phrases; p++) {
+            for (int c = 0; c < columns; c++) {
+                int x = hitsOffset + 3 * (p * columns + c);
+                int hitsInRow = matchInfo[x];
+                if (hitsInRow == 0) {
+                    continue;
+                }
+                int rowsWithHit = matchInfo[x + 2];
+                // IDF toujours positif, même pour un mot présent dans la majorité des lignes
+                double idf = Math.log(1 + (rows - rowsWithHit + 0.5) / (rowsWithHit + 0.5));
+                double average = Math.max(1, matchInfo[averageOffset + c]);
+                double length = matchInfo[lengthOffset + c];
+                double tf = hitsInRow * (K1 + 1) / (hitsInRow + K1 * (1 - B + B * length / average));
+                double weight = c < weights.length ? weights[c] : 1.0;
+                score += weight * idf * tf;
+            }
+        }
+        return score;
+    }
+
+    /**
+     * Positions des mots trouvés dans une colonne, en paires [début, fin[ de caractères.
+     * offsets() donne des positions en octets UTF-8 : elles sont converties sur le texte lui-même.
+     */
+    public static int[] highlights(String offsets, int column, String text) {
+        if (offsets == null || offsets.isEmpty() || text == null || text.isEmpty()) {
+            return NO_HIGHLIGHTS;
+        }
+        // Quadruplets : colonne, terme de la requête, position en octets, taille en octets
+        String[] values = offsets.trim().split("\\s+");
+        List<int[]> ranges = new ArrayList<>();
+        for (int i = 0; i + 3 < values.length; i += 4) {
+            if (Integer.parseInt(values[i]) == column) {
+                int start = Integer.parseInt(values[i + 2]);
+                ranges.add(new int[]{start, start + Integer.parseInt(values[i + 3])});
+            }
+        }
+        if (ranges.isEmpty()) {
+            return NO_HIGHLIGHTS;
+        }
+        ranges.sort((a, b) -> Integer.compare(a[0], b[0]));
+
+        int[] byteOffsets = utf8Offsets(text);
+        int[] highlights = new int[ranges.size() * 2];
+        for (int i = 0; i < ranges.size(); i++) {
+            highlights[2 * i] = charIndex(byteOffsets, ranges.get(i)[0]);
+            highlights[2 * i + 1] = charIndex(byteOffsets, ranges.get(i)[1]);
+        }
+        return highlights;
+    }
+
+    /**
+     * Position en octets UTF-8 du début de chaque caractère, plus la longueur totale en dernier
+     */
+    private static int[] utf8Offsets(String text) {
+        int[] offsets = new int[text.length() + 1];
+        int bytes = 0;
+        for (int i = 0; i < text.length(); i++) {
+            offsets[i] = bytes;
+            char c = text.charAt(i);
+            if (c < 0x80) {
+                bytes += 1;
+            } else if (c < 0x800) {
+                bytes += 2;
+            } else if (Character.isHighSurrogate(c) && i + 1 < text.length()
+                    && Character.isLowSurrogate(text.charAt(i + 1))) {
+                // Paire de substitution : 4 octets pour les deux caractères, jamais coupée
+                offsets[++i] = bytes + 2;
+                bytes += 4;
+            } else {
+                bytes += 3;
+            }
+        }
+        offsets[text.length()] = bytes;
+        return offsets;
+    }
+
+    private static int charIndex(int[] byteOffsets, int byteOffset) {
+        int index = Arrays.binarySearch(byteOffsets, byteOffset);
+        if (index < 0) {
+            // Au milieu d'un caractère : on l'inclut entièrement
+            index = -index - 2;
+        }
+        return Math.max(0, Math.min(index, byteOffsets.length - 1));
+    }
+}
@@ -0,0 +1,65 @@
+package com.example.eventwave.utils;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Découpage du globe en cellules de 0,1° x 0,1° (environ 11 km en latitude).
+ * L'identifiant de cellule est stocké dans la colonne indexée events.geoCell :
+ * une requête par zone se ramène à quelques recherches d'index sur les cellules
+ * couvrant la zone, puis à un filtre exact sur latitude/longitude.
+ *
+ * La formule doit rester identique à celle utilisée en SQL dans les migrations :
+ * MAX(0, MIN(CAST((latitude + 90) * 10 AS INTEGER), 1799)) * 3600
+ *     + MAX(0, MIN(CAST((longitude + 180) * 10 AS INTEGER), 3599))
+ */
+public final class GeoCells {
+    public static final int CELLS_PER_DEGREE = 10;
+    public static final int LAT_CELLS = 180 * CELLS_PER_DEGREE;
+    public static final int LON_CELLS = 360 * CELLS_PER_DEGREE;
+    // Au-delà, la liste de cellules coûte plus cher qu'un simple parcours
+    public static final int MAX_QUERY_CELLS = 400;
+
+    private GeoCells() {
+    }
+
+    public static int cellOf(double latitude, double longitude) {
+        return latIndex(latitude) * LON_CELLS + lonIndex(longitude);
+    }
+
+    /**
+     * Cellules couvrant la zone, ou null si la zone traverse l'antiméridien ou
+     * nécessite trop de cellules (la requête sans index de cellule est alors utilisée)
+     */
+    public static List<Integer> cellsCovering(double minLat, double maxLat, double minLon, double maxLon) {
+        if (minLon < -180.0 || maxLon > 180.0 || minLat > maxLat || minLon > maxLon) {
+            return null;
+        }
+        int minRow = latIndex(minLat);
+        int maxRow = latIndex(maxLat);
+        int minCol = lonIndex(minLon);
+        int maxCol = lonIndex(maxLon);
+        long count = (long) (maxRow - minRow + 1) * (maxCol - minCol + 1);
+        if (count > MAX_QUERY_CELLS) {
+            return null;
+        }
+
+        List<Integer> cells = new ArrayList<>((int) count);
+        for (int row = minRow; row <= maxRow; row++) {
+            for (int col = minCol; col <= maxCol; col++) {
+                cells.add(row * LON_CELLS + col);
+            }
+        }
+        return cells;
+    }
+
+    private static int latIndex(double latitude) {
+        int index = (int) ((latitude + 90.0) * CELLS_PER_DEGREE);
+        return Math.max(0, Math.min(LAT_CELLS - 1, index));
+    }
+
+    private static int lonIndex(double longitude) {
+        int index = (int) ((longitude + 180.0) * CELLS_PER_DEGREE);
+        return Math.max(0, Math.min(LON_CELLS - 1, index));
+    }
+}
@@ -0,0 +1,116 @@
+package com.example.eventwave.utils;
+
+/**
+ * Geohash standard (base 32, bits de longitude et de latitude entrelacés, longitude d'abord).
+ * Une précision donnée découpe le globe en une grille régulière de tuiles : la tuile
+ * (ligne, colonne) est manipulée par ses indices, le geohash sert d'identifiant stable.
+ * Précision 5 : tuiles de 0,044° x 0,044°, soit 4,9 km x 3,3 km à Paris.
+ */
+public final class GeoHash {
+    public static final int MAX_PRECISION = 12;
+    private static final String BASE32 = "0123456789bcdefghjkmnpqrstuvwxyz";
+
+    private GeoHash() {
+    }
+
+    public static String encode(double latitude, double longitude, int precision) {
+        return tile(row(latitude, precision), col(longitude, precision), precision);
+    }
+
+    /**
+     * Geohash de la tuile d'indices (ligne, colonne), comptés depuis le coin sud-ouest
+     */
+    public static String tile(long row, long col, int precision) {
+        checkPrecision(precision);
+        int latBits = latBits(precision);
+        int lonBits = lonBits(precision);
+        char[] hash = new char[precision];
+        int lat = latBits;
+        int lon = lonBits;
+        for (int i = 0; i < precision; i++) {
+            int value = 0;
+            for (int bit = 0; bit < 5; bit++) {
+                // Bits pairs : longitude, bits impairs : latitude
+                boolean even = (i * 5 + bit) % 2 == 0;
+                long source = even ? col >>> --lon : row >>> --lat;
+                value = (value << 1) | (int) (source & 1);
+            }
+            hash[i] = BASE32.charAt(value);
+        }
+        return new String(hash);
+    }
+
+    /**
+     * Bornes de la tuile : {latitude sud, longitude ouest, latitude nord, longitude est}
+     */
+    public static double[] bounds(String geohash) {
+        int precision = geohash.length();
+        checkPrecision(precision);
+        long row = 0;
+        long col = 0;
+        for (int i = 0; i < precision; i++) {
+            int value = BASE32.indexOf(geohash.charAt(i));
+            if (value < 0) {
+                throw new IllegalArgumentException("Geohash invalide : " + geohash);
+            }
+            for (int bit = 4; bit >= 0; bit--) {
+                long b = (value >> bit) & 1;
+                if ((i * 5 + 4 - bit) % 2 == 0) {
+                    col = (col << 1) | b;
+                } else {
+                    row = (row << 1) | b;
+                }
+            }
+        }
+        return new double[]{minLatitude(row, precision), minLongitude(col, precision),
+                minLatitude(row + 1, precision), minLongitude(col + 1, precision)};
+    }
+
+    public static long row(double latitude, int precision) {
+        long rows = 1L << latBits(precision);
+        long index = (long) ((latitude + 90.0) / 180.0 * rows);
+        return Math.max(0, Math.min(rows - 1, index));
+    }
+
+    public static long col(double longitude, int precision) {
+        long cols = 1L << lonBits(precision);
+        long index = (long) ((longitude + 180.0) / 360.0 * cols);
+        return Math.max(0, Math.min(cols - 1, index));
+    }
+
+    public static double tileHeightDegrees(int precision) {
+        return 180.0 / (1L << latBits(precision));
+    }
+
+    public static double tileWidthDegrees(int precision) {
+        return 360.0 / (1L << lonBits(precision));
+    }
+
+    /**
+     * Latitude du bord sud de la ligne
+     */
+    public static double minLatitude(long row, int precision) {
+        return -90.0 + row * tileHeightDegrees(precision);
+    }
+
+    /**
+     * Longitude du bord ouest de la colonne
+     */
+    public static double minLongitude(long col, int precision) {
+        return -180.0 + col * tileWidthDegrees(precision);
+    }
+
+    private static int latBits(int precision) {
+        return precision * 5 / 2;
+    }
+
+    private static int lonBits(int precision) {
+        return (precision * 5 + 1) / 2;
+    }
+
+    private static void checkPrecision(int precision) {
+        if (precision < 1 || precision > MAX_PRECISION) {
+            throw new IllegalArgumentException("Précision de geohash invalide : " + precision);
+        }
+    }
+}
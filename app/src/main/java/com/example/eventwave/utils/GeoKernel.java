@@ -0,0 +1,307 @@
+package com.example.eventwave.utils;
+
+import com.example.eventwave.model.Event;
+
+import java.util.ArrayList;
+import java.util.BitSet;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * Calculs de distance par lot sur des colonnes de coordonnées (double[] latitudes / longitudes),
+ * sans allocation par point : rejet préalable par la boîte englobante exacte du disque de
+ * recherche, puis haversine avec cos(latitude) précalculé, comparée au seuil sans asin ni sqrt.
+ * La distance n'est calculée en entier que pour les points retenus.
+ *
+ * Les résultats sont ceux de {@link GeoUtils#distanceKm} ; à distance égale, l'ordre
+ * d'origine est conservé, comme avec un tri stable.
+ */
+public final class GeoKernel {
+
+    private GeoKernel() {
+    }
+
+    /**
+     * cos(latitude) de chaque point, à calculer une fois par jeu de coordonnées
+     */
+    public static double[] cosLatitudes(double[] latitudes, int count) {
+        double[] cosLatitudes = new double[count];
+        for (int i = 0; i < count; i++) {
+            cosLatitudes[i] = Math.cos(Math.toRadians(latitudes[i]));
+        }
+        return cosLatitudes;
+    }
+
+    /**
+     * Nombre de points à au plus radiusKm de l'origine
+     *
+     * @param cosLatitudes colonne de {@link #cosLatitudes}, ou null pour la calculer à la volée
+     */
+    public static int countWithinRadius(double[] latitudes, double[] longitudes, double[] cosLatitudes, int count,
+                                        double originLat, double originLon, double radiusKm) {
+        if (radiusKm < 0) {
+            return 0;
+        }
+        Disc disc = new Disc(originLat, originLon, radiusKm);
+        int within = 0;
+        for (int i = 0; i < count; i++) {
+            if (disc.haversine(latitudes[i], longitudes[i], cosLatitudes, i) >= 0) {
+                within++;
+            }
+        }
+        return within;
+    }
+
+    /**
+     * Les limit points les plus proches dans le rayon, du plus proche au plus lointain.
+     * Sous la taille du jeu, sélection par un tas borné (O(n log limit)) plutôt que tri complet.
+     *
+     * @param indices     reçoit les indices retenus ; longueur au moins min(limit, count)
+     * @param distancesKm reçoit leurs distances ; même longueur
+     * @return nombre de points retenus
+     */
+    public static int nearest(double[] latitudes, double[] longitudes, double[] cosLatitudes, int count,
+                              double originLat, double originLon, double radiusKm, int limit,
+                              int[] indices, double[] distancesKm) {
+        return nearest(latitudes, longitudes, cosLatitudes, count, null, originLat, originLon, radiusKm, limit,
+                indices, distancesKm);
+    }
+
+    /**
+     * Comme {@link #nearest(double[], double[], double[], int, double, double, double, int, int[], double[])},
+     * restreint aux points candidats (filtre déjà appliqué sur d'autres colonnes)
+     *
+     * @param candidates points à considérer, null pour tous
+     */
+    public static int nearest(double[] latitudes, double[] longitudes, double[] cosLatitudes, int count,
+                              BitSet candidates, double originLat, double originLon, double radiusKm, int limit,
+                              int[] indices, double[] distancesKm) {
+        if (radiusKm < 0 || limit <= 0) {
+            return 0;
+        }
+        Disc disc = new Disc(originLat, originLon, radiusKm);
+        // Le terme a de la haversine croît avec la distance : sélection et tri se font sur a,
+        // asin et sqrt ne sont calculés que pour les points finalement retenus
+        int size = 0;
+        if (limit >= count) {
+            for (int i = next(candidates, 0, count); i >= 0; i = next(candidates, i + 1, count)) {
+                double a = disc.haversine(latitudes[i], longitudes[i], cosLatitudes, i);
+                if (a >= 0) {
+                    indices[size] = i;
+                    distancesKm[size] = a;
+                    size++;
+                }
+            }
+            quickSort(indices, distancesKm, 0, size - 1);
+        } else {
+            // Tas max sur (a, indice) : la racine est le pire des points retenus
+            for (int i = next(candidates, 0, count); i >= 0; i = next(candidates, i + 1, count)) {
+                double a = disc.haversine(latitudes[i], longitudes[i], cosLatitudes, i);
+                if (a < 0) {
+                    continue;
+                }
+                if (size < limit) {
+                    indices[size] = i;
+                    distancesKm[size] = a;
+                    siftUp(indices, distancesKm, size);
+                    size++;
+                } else if (a < distancesKm[0]) {
+                    // À égalité, le point déjà retenu (indice plus petit) l'emporte
+                    indices[0] = i;
+                    distancesKm[0] = a;
+                    siftDown(indices, distancesKm, 0, size);
+                }
+            }
+            // Tri par tas en place : la racine va en fin de zone à chaque tour, d'où l'ordre croissant
+            for (int end = size - 1; end > 0; end--) {
+                swap(indices, distancesKm, 0, end);
+                siftDown(indices, distancesKm, 0, end);
+            }
+        }
+        for (int i = 0; i < size; i++) {
+            distancesKm[i] = Disc.distanceKm(distancesKm[i]);
+        }
+        return size;
+    }
+
+    /**
+     * Événements dans le rayon, du plus proche au plus lointain, au plus limit ;
+     * leur distance (en km) est renseignée pour l'affichage
+     */
+    public static List<Event> nearestEvents(List<Event> events, double originLat, double originLon,
+                                            double radiusKm, int limit) {
+        int count = events.size();
+        if (count == 0) {
+            return Collections.emptyList();
+        }
+        double[] latitudes = new double[count];
+        double[] longitudes = new double[count];
+        for (int i = 0; i < count; i++) {
+            Event event = events.get(i);
+            latitudes[i] = event.getLatitude();
+            longitudes[i] = event.getLongitude();
+        }
+        int capacity = Math.min(limit, count);
+        int[] indices = new int[Math.max(0, capacity)];
+        double[] distancesKm = new double[indices.length];
+        int found = nearest(latitudes, longitudes, null, count, originLat, originLon, radiusKm, limit,
+                indices, distancesKm);
+
+        List<Event> result = new ArrayList<>(found);
+        for (int i = 0; i < found; i++) {
+            Event event = events.get(indices[i]);
+            event.setDistance(distancesKm[i]);
+            result.add(event);
+        }
+        return result;
+    }
+
+    /**
+     * Prochain point candidat à partir de from, -1 s'il n'y en a plus
+     */
+    private static int next(BitSet candidates, int from, int count) {
+        if (candidates == null) {
+            return from < count ? from : -1;
+        }
+        int next = candidates.nextSetBit(from);
+        return next >= 0 && next < count ? next : -1;
+    }
+
+    /**
+     * Ordre (clé, indice) : les indices étant distincts, aucune égalité n'est possible
+     */
+    private static boolean worse(int[] indices, double[] keys, int a, int b) {
+        return keys[a] > keys[b] || (keys[a] == keys[b] && indices[a] > indices[b]);
+    }
+
+    /**
+     * Tri rapide en place sur (a, indice), insertion pour les petites zones
+     */
+    private static void quickSort(int[] indices, double[] keys, int low, int high) {
+        while (high - low > 16) {
+            int middle = (low + high) >>> 1;
+            // Médiane de trois placée en high comme pivot
+            if (worse(indices, keys, low, middle)) swap(indices, keys, low, middle);
+            if (worse(indices, keys, middle, high)) swap(indices, keys, middle, high);
+            if (worse(indices, keys, low, middle)) swap(indices, keys, low, middle);
+            swap(indices, keys, middle, high);
+            int store = low;
+            for (int i = low; i < high; i++) {
+                if (worse(indices, keys, high, i)) {
+                    swap(indices, keys, i, store++);
+                }
+            }
+            swap(indices, keys, store, high);
+            // Récursion sur la plus petite moitié : profondeur de pile en O(log n)
+            if (store - low < high - store) {
+                quickSort(indices, keys, low, store - 1);
+                low = store + 1;
+            } else {
+                quickSort(indices, keys, store + 1, high);
+                high = store - 1;
+            }
+        }
+        for (int i = low + 1; i <= high; i++) {
+            for (int j = i; j > low && worse(indices, keys, j - 1, j); j--) {
+                swap(indices, keys, j - 1, j);
+            }
+        }
+    }
+
+    private static void siftUp(int[] indices, double[] distances, int child) {
+        while (child > 0) {
+            int parent = (child - 1) >>> 1;
+            if (!worse(indices, distances, child, parent)) {
+                return;
+            }
+            swap(indices, distances, child, parent);
+            child = parent;
+        }
+    }
+
+    private static void siftDown(int[] indices, double[] distances, int parent, int size) {
+        while (true) {
+            int worst = parent;
+            int left = 2 * parent + 1;
+            int right = left + 1;
+            if (left < size && worse(indices, distances, left, worst)) {
+                worst = left;
+            }
+            if (right < size && worse(indices, distances, right, worst)) {
+                worst = right;
+            }
+            if (worst == parent) {
+                return;
+            }
+            swap(indices, distances, parent, worst);
+            parent = worst;
+        }
+    }
+
+    private static void swap(int[] indices, double[] distances, int a, int b) {
+        int index = indices[a];
+        indices[a] = indices[b];
+        indices[b] = index;
+        double distance = distances[a];
+        distances[a] = distances[b];
+        distances[b] = distance;
+    }
+
+    /**
+     * Disque de recherche : boîte englobante et seuil haversine, calculés une fois par requête
+     */
+    private static final class Disc {
+        // Marge contre les arrondis : la boîte ne doit jamais rejeter un point du disque
+        private static final double MARGIN_DEGREES = 1e-9;
+
+        final double originLat;
+        final double originLon;
+        final double cosOrigin;
+        final double maxLatDelta;
+        // Infini quand le disque contient un pôle : toutes les longitudes sont alors possibles
+        final double maxLonDelta;
+        final double maxA;
+
+        Disc(double originLat, double originLon, double radiusKm) {
+            this.originLat = originLat;
+            this.originLon = originLon;
+            double originRad = Math.toRadians(originLat);
+            this.cosOrigin = Math.cos(originRad);
+            double angular = Math.min(radiusKm / GeoUtils.EARTH_RADIUS_KM, Math.PI);
+            this.maxLatDelta = Math.toDegrees(angular) + MARGIN_DEGREES;
+            if (angular < Math.PI / 2 - Math.abs(originRad)) {
+                this.maxLonDelta = Math.toDegrees(Math.asin(Math.sin(angular) / cosOrigin)) + MARGIN_DEGREES;
+            } else {
+                this.maxLonDelta = Double.POSITIVE_INFINITY;
+            }
+            double halfSin = Math.sin(angular / 2);
+            this.maxA = halfSin * halfSin;
+        }
+
+        /**
+         * Terme a de la haversine si le point est dans le disque, -1 sinon
+         */
+        double haversine(double latitude, double longitude, double[] cosLatitudes, int i) {
+            double dLat = latitude - originLat;
+            if (Math.abs(dLat) > maxLatDelta) {
+                return -1;
+            }
+            double dLon = Math.abs(longitude - originLon);
+            if (dLon > 180.0) {
+                dLon = 360.0 - dLon;
+            }
+            if (dLon > maxLonDelta) {
+                return -1;
+            }
+            double sinLat = Math.sin(Math.toRadians(dLat) / 2);
+            double sinLon = Math.sin(Math.toRadians(dLon) / 2);
+            double cosLatitude = cosLatitudes != null ? cosLatitudes[i] : Math.cos(Math.toRadians(latitude));
+            double a = sinLat * sinLat + cosOrigin * cosLatitude * sinLon * sinLon;
+            return a <= maxA ? a : -1;
+        }
+
+        static double distanceKm(double a) {
+            return 2 * GeoUtils.EARTH_RADIUS_KM * Math.asin(Math.min(1.0, Math.sqrt(a)));
+        }
+    }
+}
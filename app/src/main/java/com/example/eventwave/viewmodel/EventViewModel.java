@@ -5,82 +5,198 @@ import android.location.Location;
 
 import androidx.lifecycle.AndroidViewModel;
 import androidx.lifecycle.LiveData;
+import androidx.lifecycle.MediatorLiveData;
 import androidx.lifecycle.MutableLiveData;
 import androidx.lifecycle.Transformations;
+import androidx.lifecycle.ViewModelKt;
+import androidx.paging.Pager;
+import androidx.paging.PagingConfig;
+import androidx.paging.PagingData;
+import androidx.paging.PagingLiveData;
 
 import com.example.eventwave.model.Event;
+import com.example.eventwave.model.EventCategory;
 import com.example.eventwave.repository.EventRepository;
+import com.example.eventwave.utils.Constants;
+import com.example.eventwave.utils.EventColumns;
+import com.example.eventwave.utils.FtsQuery;
 
-import java.util.ArrayList;
+import java.util.Collections;
 import java.util.List;
-import java.util.stream.Collectors;
+import java.util.Objects;
+import java.util.concurrent.Executor;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
 
 public class EventViewModel extends AndroidViewModel {
+    // Construction des colonnes hors du thread principal, dans l'ordre d'arrivée des résultats Room
+    private static final Executor COLUMNS_EXECUTOR = Executors.newSingleThreadExecutor();
+    // Écritures différées de l'historique, regroupées par rafale de consultations
+    private static final ScheduledExecutorService HISTORY_SCHEDULER = Executors.newSingleThreadScheduledExecutor();
+
     private final EventRepository repository;
     private final MutableLiveData<Location> currentLocation = new MutableLiveData<>();
     private final MutableLiveData<Double> searchRadius = new MutableLiveData<>(5.0);
     private final MutableLiveData<Boolean> showFavoritesOnly = new MutableLiveData<>(false);
     private final MutableLiveData<String> error = new MutableLiveData<>();
-    private final MutableLiveData<List<Event>> historyEvents = new MutableLiveData<>(new ArrayList<>());
+    private final MediatorLiveData<List<Event>> historyEvents = new MediatorLiveData<>();
+    private final HistoryCache historyCache;
+    private final MediatorLiveData<NearbyQuery> nearbyQuery = new MediatorLiveData<>();
     private final LiveData<List<Event>> events;
+    private final MediatorLiveData<EventColumns> eventColumns = new MediatorLiveData<>();
+    private final MutableLiveData<EventCategory> pagedCategory = new MutableLiveData<>(null);
+    private final LiveData<PagingData<Event>> pagedEvents;
+    private final MutableLiveData<String> searchMatch = new MutableLiveData<>(null);
+    private final LiveData<PagingData<Event>> searchResults;
 
     public EventViewModel(Application application) {
         super(application);
         repository = new EventRepository(application);
-        events = repository.getAllEvents();
+        // Graphe de requêtes : position, rayon, favoris et catégorie choisissent la requête Room ;
+        // un changement de filtre relit la base locale, sans appel réseau
+        nearbyQuery.addSource(currentLocation, ignored -> updateNearbyQuery());
+        nearbyQuery.addSource(searchRadius, ignored -> updateNearbyQuery());
+        nearbyQuery.addSource(showFavoritesOnly, ignored -> updateNearbyQuery());
+        nearbyQuery.addSource(pagedCategory, ignored -> updateNearbyQuery());
+        events = Transformations.switchMap(Transformations.distinctUntilChanged(nearbyQuery), this::queryEvents);
+        historyCache = new HistoryCache(Constants.HISTORY_MAX_ENTRIES, HISTORY_SCHEDULER,
+                Constants.HISTORY_WRITE_DELAY_MS, repository::saveHistory);
+        historyEvents.addSource(repository.getHistoryEvents(), persisted -> {
+            historyCache.reset(persisted != null ? persisted : Collections.emptyList());
+            historyEvents.setValue(historyCache.snapshot());
+        });
+        eventColumns.addSource(events, list -> COLUMNS_EXECUTOR.execute(() ->
+                eventColumns.postValue(EventColumns.of(list != null ? list : Collections.emptyList()))));
+
+        // Liste paginée : une nouvelle source par catégorie, pages conservées dans le scope du ViewModel
+        PagingConfig config = new PagingConfig(
+                Constants.EVENTS_PAGE_SIZE,
+                Constants.EVENTS_PAGE_SIZE,
+                false,
+                Constants.EVENTS_PAGE_SIZE * 2,
+                Constants.EVENTS_MAX_IN_MEMORY);
+        pagedEvents = Transformations.switchMap(pagedCategory, category ->
+                PagingLiveData.cachedIn(
+                        PagingLiveData.getLiveData(new Pager<>(config,
+                                () -> repository.createEventPagingSource(category))),
+                        ViewModelKt.getViewModelScope(this)));
+
+        // Recherche plein texte : une source par expression, dans la catégorie courante
+        searchResults = Transformations.switchMap(searchMatch, match -> {
+            if (match == null) {
+                return new MutableLiveData<>(PagingData.empty());
+            }
+            EventCategory category = pagedCategory.getValue();
+            return PagingLiveData.cachedIn(
+                    PagingLiveData.getLiveData(new Pager<>(config,
+                            () -> repository.createSearchPagingSource(match, category))),
+                    ViewModelKt.getViewModelScope(this));
+        });
     }
 
-    private double calculateDistance(Location location1, Location location2) {
-        if (location1 == null || location2 == null) return Double.MAX_VALUE;
-        return location1.distanceTo(location2) / 1000.0; // Convert to kilometers
+    /**
+     * Critères courants ; sans position, la requête porte sur tous les événements
+     */
+    private void updateNearbyQuery() {
+        Double radius = searchRadius.getValue();
+        nearbyQuery.setValue(new NearbyQuery(currentLocation.getValue(),
+                radius != null ? radius : Constants.DEFAULT_VISIBLE_RADIUS_KM,
+                Boolean.TRUE.equals(showFavoritesOnly.getValue()),
+                pagedCategory.getValue()));
     }
 
-    private List<Event> filterEventsByDistance(List<Event> events, Location userLocation, double maxRadius) {
-        if (userLocation == null || events == null) return events;
-        
-        return events.stream()
-                .filter(event -> {
-                    Location eventLocation = new Location("");
-                    eventLocation.setLatitude(event.getLatitude());
-                    eventLocation.setLongitude(event.getLongitude());
-                    double distance = calculateDistance(userLocation, eventLocation);
-                    event.setDistance(distance); // Assuming you have this field in Event
-                    return distance <= maxRadius;
-                })
-                .sorted((e1, e2) -> Double.compare(e1.getDistance(), e2.getDistance()))
-                .collect(Collectors.toList());
+    /**
+     * Requête Room indexée la plus sélective pour les critères ; la combinaison favoris et
+     * catégorie passe par l'index des favoris, la catégorie étant filtrée sur les colonnes
+     */
+    private LiveData<List<Event>> queryEvents(NearbyQuery query) {
+        if (query.location == null) {
+            return repository.getAllEvents();
+        } else if (query.favoritesOnly) {
+            return repository.getFavoriteEventsNearby(query.location, query.radiusKm);
+        } else if (query.category != null) {
+            return repository.getEventsByCategoryNearby(query.category, query.location, query.radiusKm);
+        }
+        return repository.getEventsNearby(query.location, query.radiusKm);
     }
 
+    /**
+     * Événements de la zone courante (rectangle englobant du rayon), ou tous sans position
+     */
     public LiveData<List<Event>> getEvents() {
         return events;
     }
 
+    /**
+     * Mêmes événements que getEvents(), en colonnes : pour les parcours complets (carte, distance)
+     */
+    public LiveData<EventColumns> getEventColumns() {
+        return eventColumns;
+    }
+
+    /**
+     * Liste de l'accueil : toute la base locale par date, filtrée par catégorie seulement.
+     * Rayon et favoris ne s'y appliquent pas ; ils restreignent la zone synchronisée et la
+     * carte (getEventColumns), les favoris ayant leur propre écran.
+     */
+    public LiveData<PagingData<Event>> getPagedEvents() {
+        return pagedEvents;
+    }
+
+    /**
+     * Catégorie de la liste paginée, null pour toutes les catégories
+     */
+    public void setPagedCategory(EventCategory category) {
+        if (!Objects.equals(category, pagedCategory.getValue())) {
+            pagedCategory.setValue(category);
+            if (searchMatch.getValue() != null) {
+                // Relance la recherche en cours dans la nouvelle catégorie
+                searchMatch.setValue(searchMatch.getValue());
+            }
+        }
+    }
+
+    public LiveData<PagingData<Event>> getSearchResults() {
+        return searchResults;
+    }
+
+    /**
+     * Recherche plein texte (préfixes, "phrases", OR, NEAR) ; une saisie vide l'arrête
+     */
+    public void setSearchQuery(String query) {
+        String match = FtsQuery.build(query);
+        if (!Objects.equals(match, searchMatch.getValue())) {
+            searchMatch.setValue(match);
+        }
+    }
+
     public LiveData<List<Event>> getFavoriteEvents() {
         return repository.getFavoriteEvents();
     }
 
     public LiveData<List<Event>> getHistoryEvents() {
-        return repository.getHistoryEvents();
+        return historyEvents;
     }
 
+    /**
+     * Affichage immédiat depuis le cache, écriture en base différée et groupée
+     */
     public void addToHistory(Event event) {
-        List<Event> currentHistory = historyEvents.getValue();
-        if (currentHistory != null) {
-            if (!currentHistory.contains(event)) {
-                currentHistory.add(0, event);
-                if (currentHistory.size() > 50) { // Limiter à 50 événements
-                    currentHistory = currentHistory.subList(0, 50);
-                }
-                historyEvents.setValue(currentHistory);
-                repository.saveHistory(currentHistory);
-            }
-        }
+        historyCache.record(event, System.currentTimeMillis());
+        historyEvents.setValue(historyCache.snapshot());
+    }
+
+    /**
+     * Écrit sans attendre les consultations en attente, à l'arrêt de l'interface
+     */
+    public void flushHistory() {
+        historyCache.flush();
     }
 
     public void clearHistory() {
-        historyEvents.setValue(new ArrayList<>());
+        historyCache.clear();
+        historyEvents.setValue(Collections.emptyList());
         repository.clearHistory();
-        refreshHistory();
     }
 
     public void toggleFavorite(Event event) {
@@ -89,30 +205,52 @@ public class EventViewModel extends AndroidViewModel {
 
     public void setCurrentLocation(Location location) {
         currentLocation.setValue(location);
-        refreshEventsWithCurrentLocation();
+        refreshIfUncovered();
     }
 
     public void setSearchRadius(double radius) {
         searchRadius.setValue(radius);
-        refreshEventsWithCurrentLocation();
+        refreshIfUncovered();
     }
 
+    /**
+     * Filtre purement local : la requête Room change, la zone couverte non
+     */
     public void toggleShowFavoritesOnly() {
         Boolean currentValue = showFavoritesOnly.getValue();
         showFavoritesOnly.setValue(currentValue != null ? !currentValue : true);
-        refreshEventsWithCurrentLocation();
     }
 
-    private void refreshEventsWithCurrentLocation() {
+    /**
+     * Synchronise seulement si le disque demandé touche des tuiles absentes ou périmées :
+     * un rayon réduit ou un petit déplacement sont servis par la base locale
+     */
+    private void refreshIfUncovered() {
         Location location = currentLocation.getValue();
         Double radius = searchRadius.getValue();
-        
-        if (location != null && radius != null) {
-            try {
-                repository.refreshEvents(location);
-            } catch (Exception e) {
-                error.setValue("Erreur lors de la mise à jour des événements : " + e.getMessage());
-            }
+        if (location == null || radius == null) {
+            return;
+        }
+        if (EventRepository.getTileCoverage().coverage(location.getLatitude(), location.getLongitude(),
+                radius, System.currentTimeMillis()) >= 1.0) {
+            return;
+        }
+        try {
+            refreshEvents(location, radius, false);
+        } catch (Exception e) {
+            error.setValue("Erreur lors de la mise à jour des événements : " + e.getMessage());
+        }
+    }
+
+    /**
+     * @param immediate faux pour les changements continus (position, curseur de rayon),
+     *                  regroupés par le dépôt en un seul rafraîchissement
+     */
+    private void refreshEvents(Location location, double radiusKm, boolean immediate) {
+        if (immediate) {
+            repository.refreshEvents(location, radiusKm);
+        } else {
+            repository.scheduleRefresh(location, radiusKm);
         }
     }
 
@@ -128,9 +266,15 @@ public class EventViewModel extends AndroidViewModel {
         repository.clearCache();
     }
 
+    /**
+     * Rafraîchissement forcé, réservé à une action explicite de l'utilisateur : toute la zone
+     * est récupérée, même si ses tuiles sont fraîches. Un changement de position ou de rayon
+     * passe par setCurrentLocation / setSearchRadius.
+     */
     public void refreshEvents() {
         Location location = currentLocation.getValue();
-        repository.refreshEvents(location);
+        Double radius = searchRadius.getValue();
+        refreshEvents(location, radius != null ? radius : Constants.DEFAULT_VISIBLE_RADIUS_KM, true);
     }
 
     public void refreshHistory() {
@@ -144,4 +288,53 @@ public class EventViewModel extends AndroidViewModel {
     public Location getUserLocation() {
         return currentLocation.getValue();
     }
+
+    /**
+     * Critères d'une requête de proximité ; égalité par valeur pour ne pas relancer une requête identique
+     */
+    private static final class NearbyQuery {
+        final Location location;
+        final double radiusKm;
+        final boolean favoritesOnly;
+        final EventCategory category;
+
+        NearbyQuery(Location location, double radiusKm, boolean favoritesOnly, EventCategory category) {
+            this.location = location;
+            this.radiusKm = radiusKm;
+            this.favoritesOnly = favoritesOnly;
+            this.category = category;
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            if (this == o) return true;
+            if (!(o instanceof NearbyQuery)) return false;
+            NearbyQuery other = (NearbyQuery) o;
+            return radiusKm == other.radiusKm
+                    && favoritesOnly == other.favoritesOnly
+                    && category == other.category
+                    && sameLocation(location, other.location);
+        }
+
+        @Override
+        public int hashCode() {
+            return Objects.hash(radiusKm, favoritesOnly, category,
+                    location != null ? location.getLatitude() : null,
+                    location != null ? location.getLongitude() : null);
+        }
+
+        private static boolean sameLocation(Location a, Location b) {
+            if (a == null || b == null) {
+                return a == b;
+            }
+            return a.getLatitude() == b.getLatitude() && a.getLongitude() == b.getLongitude();
+        }
+    }
+
+    @Override
+    protected void onCleared() {
+        super.onCleared();
+        historyCache.flush();
+        repository.close();
+    }
 } 
\ No newline at end of file
@@ -0,0 +1,142 @@
+package com.example.eventwave.viewmodel;
+
+import com.example.eventwave.model.Event;
+import com.example.eventwave.model.HistoryEntry;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Historique en mémoire du ViewModel : LRU borné, indexé par identifiant d'événement
+ * (une copie modifiée, favori compris, reste la même entrée), avec écriture différée.
+ * Une rafale de consultations donne une seule écriture groupée, déclenchée après un délai
+ * ou par {@link #flush()} à l'arrêt de l'interface.
+ *
+ * Les consultations non encore confirmées par le writer restent superposées aux listes
+ * relues de Room, pour ne pas disparaître de l'affichage pendant l'écriture.
+ */
+final class HistoryCache {
+
+    /**
+     * Écriture d'un lot ; onWritten est appelé une fois le lot persisté
+     */
+    interface Writer {
+        void write(List<HistoryEntry> batch, Runnable onWritten);
+    }
+
+    private final int capacity;
+    private final ScheduledExecutorService scheduler;
+    private final long writeDelayMs;
+    private final Writer writer;
+
+    // Ordre d'accès : la consultation la plus récente en dernier, la plus ancienne évincée
+    private final LinkedHashMap<String, Event> entries;
+    // Consultations non confirmées, par identifiant : une seule par événement, la dernière
+    private final Map<String, HistoryEntry> unconfirmed = new LinkedHashMap<>();
+    private final Map<String, HistoryEntry> pending = new LinkedHashMap<>();
+    private ScheduledFuture<?> scheduledFlush;
+
+    HistoryCache(int capacity, ScheduledExecutorService scheduler, long writeDelayMs, Writer writer) {
+        this.capacity = capacity;
+        this.scheduler = scheduler;
+        this.writeDelayMs = writeDelayMs;
+        this.writer = writer;
+        this.entries = new LinkedHashMap<String, Event>(capacity * 4 / 3 + 1, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<String, Event> eldest) {
+                return size() > HistoryCache.this.capacity;
+            }
+        };
+    }
+
+    /**
+     * Enregistre une consultation en O(1) et programme l'écriture du lot s'il n'y en a pas déjà une
+     */
+    synchronized void record(Event event, long viewedAt) {
+        entries.put(event.getId(), event);
+        HistoryEntry entry = new HistoryEntry(event.getId(), viewedAt);
+        // Réinsertion : l'ordre des lots suit celui des consultations
+        pending.remove(event.getId());
+        pending.put(event.getId(), entry);
+        unconfirmed.remove(event.getId());
+        unconfirmed.put(event.getId(), entry);
+        if (scheduledFlush == null) {
+            scheduledFlush = scheduler.schedule(this::flush, writeDelayMs, TimeUnit.MILLISECONDS);
+        }
+    }
+
+    /**
+     * Remplace le contenu par l'historique persistant (du plus récent au plus ancien),
+     * puis réapplique les consultations non confirmées
+     */
+    synchronized void reset(List<Event> persisted) {
+        Map<String, Event> previous = new LinkedHashMap<>(entries);
+        entries.clear();
+        for (int i = Math.min(persisted.size(), capacity) - 1; i >= 0; i--) {
+            Event event = persisted.get(i);
+            entries.put(event.getId(), event);
+        }
+        for (HistoryEntry entry : unconfirmed.values()) {
+            Event event = entries.containsKey(entry.eventId) ? entries.get(entry.eventId) : previous.get(entry.eventId);
+            if (event != null) {
+                entries.put(entry.eventId, event);
+            }
+        }
+    }
+
+    /**
+     * Événements du plus récent au plus ancien
+     */
+    synchronized List<Event> snapshot() {
+        List<Event> events = new ArrayList<>(entries.values());
+        Collections.reverse(events);
+        return events;
+    }
+
+    /**
+     * Écrit immédiatement les consultations en attente, en un seul lot
+     */
+    void flush() {
+        List<HistoryEntry> batch;
+        synchronized (this) {
+            if (scheduledFlush != null) {
+                scheduledFlush.cancel(false);
+                scheduledFlush = null;
+            }
+            if (pending.isEmpty()) {
+                return;
+            }
+            batch = new ArrayList<>(pending.values());
+            pending.clear();
+        }
+        // Hors verrou : le writer peut confirmer le lot sur son propre thread
+        writer.write(batch, () -> confirm(batch));
+    }
+
+    synchronized void clear() {
+        if (scheduledFlush != null) {
+            scheduledFlush.cancel(false);
+            scheduledFlush = null;
+        }
+        entries.clear();
+        pending.clear();
+        unconfirmed.clear();
+    }
+
+    /**
+     * Retire les consultations persistées, sauf celles remplacées entre-temps par une plus récente
+     */
+    private synchronized void confirm(List<HistoryEntry> batch) {
+        for (HistoryEntry entry : batch) {
+            if (unconfirmed.get(entry.eventId) == entry) {
+                unconfirmed.remove(entry.eventId);
+            }
+        }
+    }
+}
@@ -0,0 +1,18 @@
+package com.example.eventwave.api;
+
+import okhttp3.OkHttpClient;
+
+/**
+ * Variante release : aucune journalisation HTTP, le corps des réponses n'est jamais écrit dans les logs
+ */
+final class HttpDebugLogging {
+
+    private HttpDebugLogging() {
+    }
+
+    static void install(OkHttpClient.Builder builder) {
+    }
+
+    static void setBodyLoggingEnabled(boolean enabled) {
+    }
+}
@@ -0,0 +1,163 @@
+package com.example.eventwave.api;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+import java.io.IOException;
+import java.util.concurrent.TimeUnit;
+
+import okhttp3.Cache;
+import okhttp3.HttpUrl;
+import okhttp3.OkHttpClient;
+import okhttp3.Request;
+import okhttp3.Response;
+import okhttp3.mockwebserver.MockResponse;
+import okhttp3.mockwebserver.MockWebServer;
+import okhttp3.mockwebserver.RecordedRequest;
+
+import static org.junit.Assert.*;
+
+/**
+ * Tests de la politique de cache HTTP contre un MockWebServer et un cache sur disque temporaire.
+ */
+public class CachePolicyInterceptorTest {
+    private static final int ONE_HOUR = 3600;
+    private static final int ONE_WEEK = 7 * 24 * 3600;
+
+    @Rule
+    public TemporaryFolder folder = new TemporaryFolder();
+
+    private MockWebServer server;
+    private Cache cache;
+    private HttpCacheMetrics metrics;
+
+    @Before
+    public void setUp() throws Exception {
+        server = new MockWebServer();
+        server.start();
+        cache = new Cache(folder.newFolder("http"), 1024 * 1024);
+        metrics = new HttpCacheMetrics();
+    }
+
+    @After
+    public void tearDown() throws Exception {
+        server.shutdown();
+        cache.close();
+    }
+
+    @Test
+    public void freshResponseIsServedWithoutNetwork() throws Exception {
+        OkHttpClient client = client(60, ONE_HOUR, ONE_WEEK);
+        server.enqueue(new MockResponse().setBody("evenements"));
+
+        assertEquals("evenements", get(client, server.url("/events?latlong=48.857,2.352")));
+        assertEquals("evenements", get(client, server.url("/events?latlong=48.857,2.352")));
+
+        assertEquals(1, server.getRequestCount());
+        assertEquals(1, metrics.getMissCount());
+        assertEquals(1, metrics.getHitCount());
+        assertEquals("evenements".length(), metrics.getBytesSaved());
+        assertEquals(0, metrics.getRevalidationCount());
+    }
+
+    @Test
+    public void serverCacheHeadersAreOverridden() throws Exception {
+        OkHttpClient client = client(60, ONE_HOUR, ONE_WEEK);
+        server.enqueue(new MockResponse()
+                .setHeader("Cache-Control", "no-cache, no-store")
+                .setHeader("Pragma", "no-cache")
+                .setBody("evenements"));
+
+        get(client, server.url("/events"));
+        get(client, server.url("/events"));
+
+        assertEquals(1, server.getRequestCount());
+    }
+
+    @Test
+    public void staleResponseIsServedThenRevalidatedInBackground() throws Exception {
+        // Jamais fraîche : chaque lecture sert le cache puis le revalide
+        OkHttpClient client = client(0, ONE_HOUR, ONE_WEEK);
+        server.enqueue(new MockResponse().setHeader("ETag", "\"v1\"").setBody("v1"));
+        server.enqueue(new MockResponse().setResponseCode(304));
+
+        get(client, server.url("/events"));
+        try (Response response = execute(client, server.url("/events"))) {
+            assertEquals("v1", response.body().string());
+            assertNull(response.networkResponse());
+        }
+
+        server.takeRequest();
+        RecordedRequest revalidation = server.takeRequest(5, TimeUnit.SECONDS);
+        assertNotNull("Aucune revalidation en arrière-plan", revalidation);
+        assertEquals("\"v1\"", revalidation.getHeader("If-None-Match"));
+        awaitConditionalHit();
+        assertEquals(1, metrics.getStaleHitCount());
+        assertEquals(1, metrics.getRevalidationCount());
+    }
+
+    @Test
+    public void staleCacheIsServedWhenNetworkIsDown() throws Exception {
+        // Sans fenêtre de revalidation, la seconde lecture doit passer par le réseau
+        OkHttpClient client = client(0, 0, ONE_WEEK);
+        MockWebServer offline = new MockWebServer();
+        offline.start();
+        HttpUrl url = offline.url("/events");
+        offline.enqueue(new MockResponse().setBody("evenements"));
+        get(client, url);
+        offline.shutdown();
+
+        assertEquals("evenements", get(client, url));
+        assertEquals(1, metrics.getOfflineHitCount());
+        assertTrue(metrics.getBytesSaved() > 0);
+    }
+
+    @Test
+    public void networkErrorIsRethrownWithoutCachedResponse() throws Exception {
+        OkHttpClient client = client(60, ONE_HOUR, ONE_WEEK);
+        MockWebServer offline = new MockWebServer();
+        offline.start();
+        HttpUrl url = offline.url("/events");
+        offline.shutdown();
+
+        try {
+            get(client, url);
+            fail("IOException attendue");
+        } catch (IOException expected) {
+            assertEquals(0, metrics.getOfflineHitCount());
+        }
+    }
+
+    private OkHttpClient client(int freshSeconds, int staleWhileRevalidateSeconds, int maxStaleOfflineSeconds) {
+        CachePolicyInterceptor policy = new CachePolicyInterceptor(
+                freshSeconds, staleWhileRevalidateSeconds, maxStaleOfflineSeconds, metrics);
+        OkHttpClient client = new OkHttpClient.Builder()
+                .cache(cache)
+                .addInterceptor(policy)
+                .addNetworkInterceptor(policy.networkInterceptor())
+                .build();
+        policy.setCallFactory(client);
+        return client;
+    }
+
+    private static Response execute(OkHttpClient client, HttpUrl url) throws IOException {
+        return client.newCall(new Request.Builder().url(url).build()).execute();
+    }
+
+    private static String get(OkHttpClient client, HttpUrl url) throws IOException {
+        try (Response response = execute(client, url)) {
+            return response.body().string();
+        }
+    }
+
+    private void awaitConditionalHit() throws InterruptedException {
+        long deadline = System.currentTimeMillis() + 5000;
+        while (metrics.getConditionalHitCount() == 0 && System.currentTimeMillis() < deadline) {
+            Thread.sleep(10);
+        }
+        assertEquals(1, metrics.getConditionalHitCount());
+    }
+}
@@ -0,0 +1,206 @@
+package com.example.eventwave.api;
+
+import com.example.eventwave.model.Event;
+
+import org.junit.After;
+import org.junit.Test;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.SynchronousQueue;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.Assert.*;
+
+public class EventAggregatorTest {
+    private final ExecutorService executor = Executors.newCachedThreadPool();
+    private final ProviderMetrics metrics = new ProviderMetrics();
+
+    @After
+    public void tearDown() {
+        executor.shutdownNow();
+    }
+
+    @Test
+    public void slowProviderDoesNotDelayTheOthers() throws Exception {
+        CountDownLatch fastDelivered = new CountDownLatch(1);
+        // La source lente attend que la rapide ait déjà été transmise : impossible en séquentiel
+        EventProvider slow = new FakeProvider("lent", 5_000, (listener) -> {
+            assertTrue(fastDelivered.await(2, TimeUnit.SECONDS));
+            listener.onPage(List.of(event("lent:1")), 0);
+        });
+        EventProvider fast = new FakeProvider("rapide", 5_000,
+                (listener) -> listener.onPage(List.of(event("rapide:1"), event("rapide:2")), 0));
+        List<String> order = Collections.synchronizedList(new ArrayList<>());
+
+        EventAggregator.Result result = aggregator(slow, fast).aggregate(48.85, 2.35, 5, (provider, page) -> {
+            order.add(provider);
+            if (provider.equals("rapide")) {
+                fastDelivered.countDown();
+            }
+        });
+
+        assertEquals(Arrays.asList("rapide", "lent"), order);
+        assertEquals(Set.of("lent", "rapide"), result.getCompleted());
+        assertEquals(3, result.getEvents().size());
+        assertEquals(2, metrics.getLastItemCount("rapide"));
+        assertEquals(0.0, metrics.getErrorRate("rapide"), 0);
+    }
+
+    @Test
+    public void providerPastItsDeadlineIsCancelledAndKeepsEarlierPages() throws Exception {
+        CountDownLatch interrupted = new CountDownLatch(1);
+        EventProvider hanging = new FakeProvider("bloqué", 100, (listener) -> {
+            listener.onPage(List.of(event("bloqué:1")), 0);
+            try {
+                Thread.sleep(10_000);
+            } catch (InterruptedException e) {
+                interrupted.countDown();
+                throw new IOException("interrompu");
+            }
+            listener.onPage(List.of(event("bloqué:2")), 1);
+        });
+        EventProvider fast = new FakeProvider("rapide", 5_000,
+                (listener) -> listener.onPage(List.of(event("rapide:1")), 0));
+
+        long start = System.nanoTime();
+        EventAggregator.Result result = aggregator(hanging, fast).aggregate(48.85, 2.35, 5, null);
+
+        assertTrue(TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start) < 5_000);
+        assertTrue(interrupted.await(2, TimeUnit.SECONDS));
+        assertEquals(Set.of("rapide"), result.getCompleted());
+        assertEquals(Set.of("bloqué"), result.getFailed());
+        assertEquals(2, result.getEvents().size());
+        assertEquals(1, metrics.getTimeoutCount("bloqué"));
+        assertEquals(1.0, metrics.getErrorRate("bloqué"), 0);
+        assertEquals(1, metrics.getLastItemCount("bloqué"));
+    }
+
+    @Test
+    public void failingAndDisabledProviders() throws Exception {
+        EventProvider failing = new FakeProvider("panne", 5_000, (listener) -> {
+            throw new IOException("HTTP 500");
+        });
+        FakeProvider disabled = new FakeProvider("inactif", 5_000,
+                (listener) -> fail("une source inactive n'est pas interrogée"));
+        disabled.enabled = false;
+
+        EventAggregator.Result result = aggregator(failing, disabled).aggregate(48.85, 2.35, 5, null);
+
+        assertTrue(result.getCompleted().isEmpty());
+        assertEquals(Set.of("panne"), result.getFailed());
+        assertEquals(1, metrics.getErrorCount("panne"));
+        assertEquals(0, metrics.getCount("inactif"));
+    }
+
+    @Test
+    public void truncatedProviderKeepsItsPagesButIsNotCompleted() throws Exception {
+        EventProvider truncated = new FakeProvider("tronqué", 5_000, (listener) -> {
+            listener.onPage(List.of(event("tronqué:1")), 0);
+            listener.onTruncated();
+        });
+        EventProvider whole = new FakeProvider("entier", 5_000,
+                (listener) -> listener.onPage(List.of(event("entier:1")), 0));
+
+        EventAggregator.Result result = aggregator(truncated, whole).aggregate(48.85, 2.35, 5, null);
+
+        // Ses lignes absentes ne doivent pas être supprimées : il reste des pages non lues
+        assertEquals(Set.of("entier"), result.getCompleted());
+        assertEquals(Set.of("tronqué"), result.getTruncated());
+        assertTrue(result.getFailed().isEmpty());
+        assertEquals(2, result.getEvents().size());
+        assertEquals(0.0, metrics.getErrorRate("tronqué"), 0);
+    }
+
+    @Test
+    public void providerRejectedBySaturatedThreadsCountsAsFailed() throws Exception {
+        // Un seul thread, aucune file : la seconde source est refusée
+        ThreadPoolExecutor saturated = new ThreadPoolExecutor(1, 1, 0, TimeUnit.SECONDS, new SynchronousQueue<>());
+        try {
+            EventProvider running = new FakeProvider("servie", 5_000, (listener) -> {
+                Thread.sleep(50);
+                listener.onPage(List.of(event("servie:1")), 0);
+            });
+            EventProvider refused = new FakeProvider("refusée", 5_000,
+                    (listener) -> listener.onPage(List.of(event("refusée:1")), 0));
+
+            EventAggregator.Result result = new EventAggregator(Arrays.asList(running, refused), saturated, metrics)
+                    .aggregate(48.85, 2.35, 5, null);
+
+            // Ses lignes stockées ne doivent pas être supprimées
+            assertEquals(Set.of("servie"), result.getCompleted());
+            assertEquals(Set.of("refusée"), result.getFailed());
+            assertEquals(1, result.getEvents().size());
+            assertEquals(1.0, metrics.getErrorRate("refusée"), 0);
+        } finally {
+            saturated.shutdownNow();
+        }
+    }
+
+    @Test
+    public void ownerComesFromTheIdPrefix() {
+        assertEquals("openagenda", EventProvider.ownerOf(EventProvider.qualify("openagenda", "42")));
+        assertEquals(EventProvider.TICKETMASTER, EventProvider.ownerOf("vvG1zZ9pQ"));
+    }
+
+    private EventAggregator aggregator(EventProvider... providers) {
+        return new EventAggregator(Arrays.asList(providers), executor, metrics);
+    }
+
+    private static Event event(String id) {
+        return new Event(id, "Titre " + id, "", "", "Musique", "Lieu", 48.85, 2.35, 1_900_000_000_000L, false);
+    }
+
+    private interface Body {
+        void run(EventProvider.PageListener listener) throws Exception;
+    }
+
+    private static class FakeProvider implements EventProvider {
+        final String name;
+        final long deadlineMillis;
+        final Body body;
+        boolean enabled = true;
+
+        FakeProvider(String name, long deadlineMillis, Body body) {
+            this.name = name;
+            this.deadlineMillis = deadlineMillis;
+            this.body = body;
+        }
+
+        @Override
+        public String getName() {
+            return name;
+        }
+
+        @Override
+        public boolean isEnabled() {
+            return enabled;
+        }
+
+        @Override
+        public long getDeadlineMillis() {
+            return deadlineMillis;
+        }
+
+        @Override
+        public List<Event> fetch(double latitude, double longitude, double radiusKm,
+                                 EventProvider.PageListener listener) throws IOException {
+            try {
+                body.run(listener);
+            } catch (IOException | RuntimeException | AssertionError e) {
+                throw e;
+            } catch (Exception e) {
+                throw new IOException(e);
+            }
+            return Collections.emptyList();
+        }
+    }
+}
@@ -0,0 +1,86 @@
+package com.example.eventwave.api;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+import java.io.IOException;
+
+import okhttp3.OkHttpClient;
+import okhttp3.Request;
+import okhttp3.Response;
+import okhttp3.mockwebserver.MockResponse;
+import okhttp3.mockwebserver.MockWebServer;
+import retrofit2.Retrofit;
+
+import static org.junit.Assert.*;
+
+/**
+ * Tests de la pile HTTP partagée : un seul pool de connexions et un seul dispatcher.
+ */
+public class HttpClientProviderTest {
+
+    @Rule
+    public TemporaryFolder folder = new TemporaryFolder();
+
+    private MockWebServer server;
+
+    @Before
+    public void setUp() throws Exception {
+        server = new MockWebServer();
+        server.start();
+    }
+
+    @After
+    public void tearDown() throws Exception {
+        server.shutdown();
+    }
+
+    @Test
+    public void ticketmasterRetrofitIsSharedPerBaseUrl() {
+        String baseUrl = server.url("/").toString();
+
+        assertSame(HttpClientProvider.getTicketmasterRetrofit(baseUrl, null),
+                HttpClientProvider.getTicketmasterRetrofit(baseUrl, null));
+    }
+
+    @Test
+    public void allClientsShareOnePoolAndDispatcher() throws Exception {
+        OkHttpClient base = HttpClientProvider.getClient();
+        Retrofit cached = HttpClientProvider.getTicketmasterRetrofit(server.url("/").toString(), folder.newFolder());
+        OkHttpClient caching = (OkHttpClient) cached.callFactory();
+
+        assertNotSame(base, caching);
+        assertSame(base.connectionPool(), caching.connectionPool());
+        assertSame(base.dispatcher(), caching.dispatcher());
+        assertSame(base.connectionPool(), ((OkHttpClient) RetrofitClient.getOpenAgendaClient().callFactory())
+                .connectionPool());
+    }
+
+    @Test
+    public void sequentialCallsReuseTheSameConnection() throws Exception {
+        ConnectionMetrics metrics = HttpClientProvider.getConnectionMetrics();
+        metrics.reset();
+        for (int i = 0; i < 3; i++) {
+            server.enqueue(new MockResponse().setBody("ok"));
+        }
+
+        for (int i = 0; i < 3; i++) {
+            get(HttpClientProvider.getClient());
+        }
+
+        assertEquals(3, metrics.getCallCount());
+        assertEquals(3, metrics.getAcquisitionCount());
+        assertEquals(1, metrics.getConnectionsOpened());
+        assertEquals(0, metrics.getTlsHandshakeCount());
+        assertEquals(2.0 / 3, metrics.getReuseRatio(), 1e-9);
+    }
+
+    private void get(OkHttpClient client) throws IOException {
+        try (Response response = client.newCall(new Request.Builder().url(server.url("/")).build()).execute()) {
+            assertEquals("ok", response.body().string());
+        }
+    }
+}
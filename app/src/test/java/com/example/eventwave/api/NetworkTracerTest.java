@@ -0,0 +1,130 @@
+package com.example.eventwave.api;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.io.IOException;
+import java.util.List;
+
+import okhttp3.OkHttpClient;
+import okhttp3.Request;
+import okhttp3.Response;
+import okhttp3.mockwebserver.MockResponse;
+import okhttp3.mockwebserver.MockWebServer;
+
+import static org.junit.Assert.*;
+
+/**
+ * Tests du traçage réseau échantillonné contre un MockWebServer.
+ */
+public class NetworkTracerTest {
+    private MockWebServer server;
+    private ConnectionMetrics metrics;
+
+    @Before
+    public void setUp() throws Exception {
+        server = new MockWebServer();
+        server.start();
+        metrics = new ConnectionMetrics();
+    }
+
+    @After
+    public void tearDown() throws Exception {
+        server.shutdown();
+    }
+
+    @Test
+    public void tracesPhasesAndSizesWithoutQuery() throws Exception {
+        NetworkTracer tracer = new NetworkTracer(metrics, 10, 1.0);
+        OkHttpClient client = client(tracer);
+        server.enqueue(new MockResponse().setBody("0123456789"));
+        server.enqueue(new MockResponse().setBody("abc"));
+
+        get(client, "/discovery/v2/events.json?apikey=secret");
+        get(client, "/discovery/v2/events.json?apikey=secret");
+
+        List<NetworkTrace> traces = tracer.getTraces();
+        assertEquals(2, traces.size());
+        NetworkTrace first = traces.get(0);
+        assertEquals("GET", first.method);
+        assertEquals("/discovery/v2/events.json", first.path);
+        assertFalse(first.toString().contains("secret"));
+        assertEquals(200, first.code);
+        assertEquals(10, first.responseBytes);
+        assertFalse(first.connectionReused);
+        assertTrue(first.connectMicros >= 0);
+        assertEquals(-1, first.tlsMicros);
+        assertTrue(first.ttfbMicros >= 0 && first.ttfbMicros <= first.totalMicros);
+        assertTrue(first.bodyMicros >= 0);
+        assertFalse(first.isFailed());
+
+        NetworkTrace second = traces.get(1);
+        assertTrue(second.connectionReused);
+        assertEquals(-1, second.connectMicros);
+        assertEquals(3, second.responseBytes);
+        // Les compteurs partagés suivent aussi les appels tracés
+        assertEquals(2, metrics.getCallCount());
+        assertEquals(1, metrics.getConnectionsOpened());
+    }
+
+    @Test
+    public void unsampledCallsOnlyUpdateCounters() throws Exception {
+        NetworkTracer tracer = new NetworkTracer(metrics, 10, 0.0);
+        OkHttpClient client = client(tracer);
+        server.enqueue(new MockResponse().setBody("ok"));
+
+        get(client, "/");
+
+        assertTrue(tracer.getTraces().isEmpty());
+        assertEquals(1, metrics.getCallCount());
+        assertSame(metrics, tracer.create(client.newCall(new Request.Builder().url(server.url("/")).build())));
+    }
+
+    @Test
+    public void ringBufferKeepsMostRecentTraces() throws Exception {
+        NetworkTracer tracer = new NetworkTracer(metrics, 2, 1.0);
+        OkHttpClient client = client(tracer);
+        for (int i = 0; i < 3; i++) {
+            server.enqueue(new MockResponse().setBody("ok"));
+        }
+
+        get(client, "/a");
+        get(client, "/b");
+        get(client, "/c");
+
+        List<NetworkTrace> traces = tracer.getTraces();
+        assertEquals(2, traces.size());
+        assertEquals("/b", traces.get(0).path);
+        assertEquals("/c", traces.get(1).path);
+    }
+
+    @Test
+    public void failedCallIsTraced() throws Exception {
+        NetworkTracer tracer = new NetworkTracer(metrics, 10, 1.0);
+        OkHttpClient client = client(tracer);
+        MockWebServer offline = new MockWebServer();
+        offline.start();
+        String url = offline.url("/").toString();
+        offline.shutdown();
+
+        try (Response ignored = client.newCall(new Request.Builder().url(url).build()).execute()) {
+            fail("IOException attendue");
+        } catch (IOException expected) {
+            NetworkTrace trace = tracer.getTraces().get(0);
+            assertTrue(trace.isFailed());
+            assertEquals(0, trace.code);
+            assertEquals(1, metrics.getFailedCallCount());
+        }
+    }
+
+    private static OkHttpClient client(NetworkTracer tracer) {
+        return new OkHttpClient.Builder().eventListenerFactory(tracer).build();
+    }
+
+    private void get(OkHttpClient client, String path) throws IOException {
+        try (Response response = client.newCall(new Request.Builder().url(server.url(path)).build()).execute()) {
+            response.body().string();
+        }
+    }
+}
@@ -0,0 +1,130 @@
+package com.example.eventwave.api;
+
+import com.example.eventwave.model.Event;
+import com.example.eventwave.model.TicketmasterEvent;
+import com.example.eventwave.model.TicketmasterPage;
+import com.example.eventwave.model.TicketmasterResponse;
+import com.google.gson.Gson;
+
+import org.junit.Test;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.StringReader;
+import java.nio.charset.StandardCharsets;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.Assert.*;
+
+/**
+ * Le décodage en flux doit produire exactement les Event du modèle Gson complet.
+ */
+public class TicketmasterPageParserTest {
+
+    @Test
+    public void matchesReflectiveDecoding() throws Exception {
+        String json = fixture();
+
+        TicketmasterPage page = TicketmasterPageParser.parse(new StringReader(json));
+
+        TicketmasterResponse response = new Gson().fromJson(json, TicketmasterResponse.class);
+        List<Event> expected = new ArrayList<>();
+        for (TicketmasterEvent tmEvent : response.getEvents()) {
+            expected.add(TicketmasterEventMapper.toEvent(tmEvent));
+        }
+        assertEquals(4, page.events.size());
+        assertEquals(expected, page.events);
+    }
+
+    @Test
+    public void projectsOnlyUsedFields() throws Exception {
+        List<Event> events = TicketmasterPageParser.parse(new StringReader(fixture())).events;
+
+        Event jazz = events.get(0);
+        assertEquals("Z698xZG2Z17a6Gk", jazz.getId());
+        assertEquals("Orchestre National de Jazz", jazz.getTitle());
+        // Première image d'au moins 640x360
+        assertEquals("https://s1.ticketm.net/dam/c/1a2/onj_RETINA_PORTRAIT_3_2.jpg", jazz.getImageUrl());
+        // Seuls la première classification et le premier lieu comptent
+        assertEquals("Musique", jazz.getCategory());
+        assertEquals("Événement Music à Paris", jazz.getDescription());
+        assertEquals("Philharmonie de Paris, Paris", jazz.getVenueName());
+        assertEquals(48.89183, jazz.getLatitude(), 0);
+        assertEquals(2.39416, jazz.getLongitude(), 0);
+        assertEquals(Instant.parse("2030-06-21T18:00:00Z").toEpochMilli(), jazz.getStartDate());
+
+        Event match = events.get(1);
+        // Aucune image assez grande : la première ; coordonnées numériques acceptées
+        assertEquals("https://s1.ticketm.net/dam/c/psg_SMALL.jpg", match.getImageUrl());
+        assertEquals("Sport", match.getCategory());
+        assertEquals("Parc des Princes, Ville non spécifiée", match.getVenueName());
+        assertEquals(48.8414, match.getLatitude(), 0);
+
+        Event unnamed = events.get(2);
+        assertEquals("Événement sans nom", unnamed.getTitle());
+        assertEquals("", unnamed.getImageUrl());
+        assertEquals("Événement", unnamed.getCategory());
+        assertEquals("Lieu non spécifié, Ville non spécifiée", unnamed.getVenueName());
+
+        Event musical = events.get(3);
+        assertEquals("Théâtre", musical.getCategory());
+        assertEquals(0.0, musical.getLongitude(), 0);
+    }
+
+    @Test
+    public void readsPaginationAndNextLink() throws Exception {
+        TicketmasterPage page = TicketmasterPageParser.parse(new StringReader(fixture()));
+
+        assertEquals(0, page.page.number);
+        assertEquals(13, page.page.totalPages);
+        assertEquals(50, page.page.totalElements);
+        assertEquals("/discovery/v2/events.json?page=1&size=4", page.nextHref);
+    }
+
+    @Test
+    public void emptyResultHasNoEvents() throws Exception {
+        TicketmasterPage page = TicketmasterPageParser.parse(new StringReader(
+                "{\"_links\":{\"self\":{\"href\":\"/x\"}},\"page\":{\"size\":20,\"totalElements\":0,"
+                        + "\"totalPages\":0,\"number\":0}}"));
+
+        assertTrue(page.events.isEmpty());
+        assertNull(page.nextHref);
+        assertEquals(0, page.page.totalPages);
+    }
+
+    @Test
+    public void skipsEventsWithoutId() throws Exception {
+        TicketmasterPage page = TicketmasterPageParser.parse(new StringReader(
+                "{\"_embedded\":{\"events\":[{\"name\":\"Sans id\"},null,{\"id\":\"a\",\"name\":\"Ok\"}]}}"));
+
+        assertEquals(1, page.events.size());
+        assertEquals("a", page.events.get(0).getId());
+        assertNull(page.page);
+    }
+
+    @Test
+    public void startDateFastPathMatchesInstantParse() {
+        String[] dates = {"1970-01-01T00:00:00Z", "2024-02-29T23:59:59Z", "2030-06-21T18:00:00Z",
+                "2100-03-01T12:30:45Z", "2000-12-31T00:00:01Z", "2031-01-15T19:30:00.000Z"};
+        for (String date : dates) {
+            assertEquals(date, Instant.parse(date).toEpochMilli(), TicketmasterEventMapper.parseStartDate(date));
+        }
+    }
+
+    @Test
+    public void invalidStartDateFallsBackToNow() {
+        long before = System.currentTimeMillis();
+
+        long parsed = TicketmasterEventMapper.parseStartDate("2030-02-30T20:00:00Z");
+
+        assertTrue(parsed >= before && parsed <= System.currentTimeMillis());
+    }
+
+    static String fixture() throws IOException {
+        try (InputStream in = TicketmasterPageParserTest.class.getResourceAsStream("/ticketmaster/events_page.json")) {
+            return new String(in.readAllBytes(), StandardCharsets.UTF_8);
+        }
+    }
+}
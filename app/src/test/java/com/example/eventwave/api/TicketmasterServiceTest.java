@@ -0,0 +1,420 @@
+package com.example.eventwave.api;
+
+import com.example.eventwave.model.Event;
+import com.example.eventwave.utils.Constants;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import okhttp3.mockwebserver.Dispatcher;
+import okhttp3.mockwebserver.MockResponse;
+import okhttp3.mockwebserver.MockWebServer;
+import okhttp3.mockwebserver.RecordedRequest;
+
+import static org.junit.Assert.*;
+
+/**
+ * Tests de la récupération paginée Ticketmaster contre un MockWebServer.
+ */
+public class TicketmasterServiceTest {
+    // Paris : le code pays détecté est FR
+    private static final double LAT = 48.8566;
+    private static final double LON = 2.3522;
+
+    @Rule
+    public TemporaryFolder folder = new TemporaryFolder();
+
+    private MockWebServer server;
+    private TicketmasterService service;
+
+    @Before
+    public void setUp() throws Exception {
+        server = new MockWebServer();
+        server.start();
+        service = new TicketmasterService(server.url("/").toString());
+        // Les tests de pagination consomment les réponses dans l'ordre
+        service.setFetchPolicy(TicketmasterService.FetchPolicy.SEQUENTIAL);
+    }
+
+    @After
+    public void tearDown() throws Exception {
+        server.shutdown();
+    }
+
+    @Test
+    public void followsPagesUntilTotalPages() throws Exception {
+        // Événements éloignés : pas d'arrêt anticipé
+        for (int page = 0; page < 3; page++) {
+            server.enqueue(jsonResponse(page(page, 3, 10, LAT + 1.0, LON + 1.0)));
+        }
+
+        List<Integer> pages = new ArrayList<>();
+        List<Event> events = service.getEvents(LAT, LON, 5.0, (page, pageNumber) -> pages.add(pageNumber));
+
+        assertEquals(30, events.size());
+        assertEquals(3, server.getRequestCount());
+        assertEquals(List.of(0, 1, 2), pages);
+        for (int page = 0; page < 3; page++) {
+            RecordedRequest request = server.takeRequest();
+            assertEquals(String.valueOf(page), request.getRequestUrl().queryParameter("page"));
+            assertEquals(String.valueOf(Constants.TICKETMASTER_PAGE_SIZE),
+                    request.getRequestUrl().queryParameter("size"));
+            assertEquals("FR", request.getRequestUrl().queryParameter("countryCode"));
+        }
+    }
+
+    @Test
+    public void respectsPageBudget() throws Exception {
+        for (int page = 0; page < Constants.TICKETMASTER_MAX_PAGES + 2; page++) {
+            server.enqueue(jsonResponse(page(page, 50, 10, LAT + 1.0, LON + 1.0)));
+        }
+
+        List<Event> events = service.getEvents(LAT, LON, 5.0, null);
+
+        assertEquals(Constants.TICKETMASTER_MAX_PAGES, server.getRequestCount());
+        assertEquals(Constants.TICKETMASTER_MAX_PAGES * 10, events.size());
+    }
+
+    @Test
+    public void stopsEarlyWhenVisibleRadiusIsCovered() throws Exception {
+        server.enqueue(jsonResponse(page(0, 5, Constants.TARGET_VISIBLE_EVENTS, LAT, LON)));
+        server.enqueue(jsonResponse(page(1, 5, Constants.TARGET_VISIBLE_EVENTS, LAT, LON)));
+
+        List<Event> events = service.getEvents(LAT, LON, 5.0, null);
+
+        assertEquals(1, server.getRequestCount());
+        assertEquals(Constants.TARGET_VISIBLE_EVENTS, events.size());
+    }
+
+    @Test
+    public void lastPageReachedIsNotTruncated() throws Exception {
+        for (int page = 0; page < 2; page++) {
+            server.enqueue(jsonResponse(page(page, 2, 10, LAT + 1.0, LON + 1.0)));
+        }
+        RecordingListener listener = new RecordingListener();
+
+        service.getEvents(LAT, LON, 5.0, listener);
+
+        assertEquals(List.of(0, 1), listener.pages);
+        assertFalse(listener.truncated);
+    }
+
+    @Test
+    public void exhaustedPageBudgetIsReportedAsTruncated() throws Exception {
+        for (int page = 0; page < Constants.TICKETMASTER_MAX_PAGES + 2; page++) {
+            server.enqueue(jsonResponse(page(page, 50, 10, LAT + 1.0, LON + 1.0)));
+        }
+        RecordingListener listener = new RecordingListener();
+
+        service.getEvents(LAT, LON, 5.0, listener);
+
+        // Des pages restent côté serveur : la zone n'est pas couverte en entier
+        assertEquals(Constants.TICKETMASTER_MAX_PAGES, listener.pages.size());
+        assertTrue(listener.truncated);
+    }
+
+    @Test
+    public void failedNextPageIsReportedAsTruncated() throws Exception {
+        server.enqueue(jsonResponse(page(0, 3, 10, LAT + 1.0, LON + 1.0)));
+        server.enqueue(new MockResponse().setResponseCode(500));
+        RecordingListener listener = new RecordingListener();
+
+        List<Event> events = service.getEvents(LAT, LON, 5.0, listener);
+
+        assertEquals(10, events.size());
+        assertTrue(listener.truncated);
+    }
+
+    @Test
+    public void earlyStopIsReportedAsTruncated() throws Exception {
+        server.enqueue(jsonResponse(page(0, 5, Constants.TARGET_VISIBLE_EVENTS, LAT, LON)));
+        RecordingListener listener = new RecordingListener();
+
+        service.getEvents(LAT, LON, 5.0, listener);
+
+        assertEquals(1, server.getRequestCount());
+        assertTrue(listener.truncated);
+    }
+
+    @Test
+    public void zoneFetchWithoutVisibleTargetReadsEveryPage() throws Exception {
+        // Événements tous visibles : sans objectif, la pagination va jusqu'à la dernière page
+        for (int page = 0; page < 3; page++) {
+            server.enqueue(jsonResponse(page(page, 3, Constants.TARGET_VISIBLE_EVENTS, LAT, LON)));
+        }
+        RecordingListener listener = new RecordingListener();
+
+        List<Event> events = service.getEvents(LAT, LON, 5.0, 0, listener);
+
+        assertEquals(3, server.getRequestCount());
+        assertEquals(3 * Constants.TARGET_VISIBLE_EVENTS, events.size());
+        assertFalse(listener.truncated);
+    }
+
+    @Test
+    public void primaryApiErrorIsThrownInsteadOfMockEvents() throws Exception {
+        server.enqueue(new MockResponse().setResponseCode(500));
+
+        // La source doit être comptée en échec : des données fictives videraient la zone
+        try {
+            service.getEvents(LAT, LON, 5.0, null);
+            fail("IOException attendue");
+        } catch (IOException expected) {
+            assertEquals(1, server.getRequestCount());
+        }
+    }
+
+    @Test
+    public void emptyZoneGivesNoEventsRatherThanMockEvents() throws Exception {
+        String empty = "{\"page\":{\"size\":0,\"totalElements\":0,\"totalPages\":0,\"number\":0}}";
+        for (int i = 0; i < 3; i++) {
+            server.enqueue(jsonResponse(empty));
+        }
+
+        assertTrue(service.getEvents(LAT, LON, 5.0, null).isEmpty());
+    }
+
+    @Test
+    public void followsNextLinkWhenPageInfoIsMissing() throws Exception {
+        server.enqueue(jsonResponse(eventsJson(0, 10, LAT + 1.0, LON + 1.0, "\"_links\":{\"next\":{\"href\":\"/next\"}}")));
+        server.enqueue(jsonResponse(eventsJson(1, 10, LAT + 1.0, LON + 1.0, null)));
+
+        List<Event> events = service.getEvents(LAT, LON, 5.0, null);
+
+        assertEquals(2, server.getRequestCount());
+        assertEquals(20, events.size());
+    }
+
+    @Test
+    public void deliversEachPageBeforeTheNextIsRequested() throws Exception {
+        int pageCount = 4;
+        int pageSize = Constants.TICKETMASTER_PAGE_SIZE;
+        for (int page = 0; page < pageCount; page++) {
+            server.enqueue(jsonResponse(page(page, pageCount, pageSize, LAT + 1.0, LON + 1.0)));
+        }
+
+        // Requêtes reçues par le serveur au moment où chaque page est livrée
+        List<Integer> requestsAtDelivery = new ArrayList<>();
+        List<Event> events = service.getEvents(LAT, LON, 5.0,
+                (page, pageNumber) -> requestsAtDelivery.add(server.getRequestCount()));
+
+        // Time-to-first-row : chaque page est livrée avant que la suivante soit demandée
+        assertEquals(List.of(1, 2, 3, 4), requestsAtDelivery);
+        assertEquals(pageCount * pageSize, events.size());
+        for (int page = 0; page < pageCount; page++) {
+            assertEquals(String.valueOf(page), server.takeRequest().getRequestUrl().queryParameter("page"));
+        }
+    }
+
+    @Test
+    public void throughputIsBoundByNetworkLatency() throws Exception {
+        // Préchauffage : Retrofit, Gson et le mapping sont chargés hors mesure
+        server.enqueue(jsonResponse(page(0, 1, 10, LAT + 1.0, LON + 1.0)));
+        service.getEvents(LAT, LON, 5.0, null);
+
+        int pageCount = 4;
+        int pageSize = Constants.TICKETMASTER_PAGE_SIZE;
+        long latencyMillis = 100;
+        for (int page = 0; page < pageCount; page++) {
+            server.enqueue(jsonResponse(page(page, pageCount, pageSize, LAT + 1.0, LON + 1.0))
+                    .setBodyDelay(latencyMillis, TimeUnit.MILLISECONDS));
+        }
+
+        long start = System.nanoTime();
+        long[] firstRowNanos = {-1};
+        List<Event> events = service.getEvents(LAT, LON, 5.0, (page, pageNumber) -> {
+            if (firstRowNanos[0] < 0) {
+                firstRowNanos[0] = System.nanoTime() - start;
+            }
+        });
+        long totalNanos = System.nanoTime() - start;
+        long latencyNanos = TimeUnit.MILLISECONDS.toNanos(latencyMillis);
+
+        assertEquals(pageCount * pageSize, events.size());
+        // Time-to-first-row : la première page n'attend pas la latence des trois suivantes
+        assertTrue(totalNanos - firstRowNanos[0] >= (pageCount - 1) * latencyNanos);
+        // Débit : décodage et conversion coûtent moins que la latence réseau simulée
+        long processingNanos = totalNanos - pageCount * latencyNanos;
+        double eventsPerSecond = events.size() / (totalNanos / 1e9);
+        assertTrue("Débit insuffisant : " + (long) eventsPerSecond + " événements/s, "
+                        + processingNanos / 1_000_000 + " ms hors réseau",
+                processingNanos < pageCount * latencyNanos);
+    }
+
+    @Test
+    public void hedgedPolicyPicksFirstNonEmptyCandidateInPriorityOrder() throws Exception {
+        // FR vide, US et sans-pays non vides : US l'emporte, le repli sans pays n'est pas lancé
+        server.setDispatcher(new CountryDispatcher());
+        service.setFetchPolicy(TicketmasterService.FetchPolicy.HEDGED);
+        service.setHedgeDelayMillis(TimeUnit.SECONDS.toMillis(30));
+
+        List<Event> events = service.getEvents(LAT, LON, 5.0, null);
+
+        assertEquals(10, events.size());
+        assertTrue(events.get(0).getId().startsWith("US"));
+        assertEquals(2, server.getRequestCount());
+        assertEquals("FR", server.takeRequest().getRequestUrl().queryParameter("countryCode"));
+        assertEquals("US", server.takeRequest().getRequestUrl().queryParameter("countryCode"));
+    }
+
+    @Test
+    public void hedgedPolicySendsOneRequestWhenPrimaryAnswers() throws Exception {
+        server.enqueue(jsonResponse(page(0, 1, 10, LAT + 1.0, LON + 1.0)));
+        service.setFetchPolicy(TicketmasterService.FetchPolicy.HEDGED);
+        service.setHedgeDelayMillis(TimeUnit.SECONDS.toMillis(30));
+
+        List<Event> events = service.getEvents(LAT, LON, 5.0, null);
+
+        // Pas de quota dépensé sur les replis quand le pays détecté répond
+        assertEquals(10, events.size());
+        assertEquals(1, server.getRequestCount());
+    }
+
+    @Test
+    public void hedgedPolicyLaunchesNextCandidateWhenPrimaryStalls() throws Exception {
+        CountDownLatch usRequested = new CountDownLatch(1);
+        server.setDispatcher(new Dispatcher() {
+            @Override
+            public MockResponse dispatch(RecordedRequest request) throws InterruptedException {
+                String countryCode = request.getRequestUrl().queryParameter("countryCode");
+                if ("FR".equals(countryCode)) {
+                    // Le pays détecté ne répond qu'une fois le repli US lancé
+                    usRequested.await(10, TimeUnit.SECONDS);
+                    return jsonResponse("{\"page\":{\"size\":0,\"totalElements\":0,\"totalPages\":0,\"number\":0}}");
+                }
+                if ("US".equals(countryCode)) {
+                    usRequested.countDown();
+                }
+                return jsonResponse(page(countryCode != null ? countryCode : "GL", 0, 1, 10, LAT + 1.0, LON + 1.0));
+            }
+        });
+        service.setFetchPolicy(TicketmasterService.FetchPolicy.HEDGED);
+        service.setHedgeDelayMillis(10);
+
+        List<Event> events = service.getEvents(LAT, LON, 5.0, null);
+
+        assertEquals(0, usRequested.getCount());
+        assertTrue(events.get(0).getId().startsWith("US"));
+    }
+
+    @Test
+    public void repeatedLookupForSameLatLongCostsNoNetwork() throws Exception {
+        TicketmasterService cached = new TicketmasterService(server.url("/").toString(), folder.newFolder());
+        cached.setFetchPolicy(TicketmasterService.FetchPolicy.SEQUENTIAL);
+        HttpCacheMetrics metrics = TicketmasterService.getCacheMetrics();
+        metrics.reset();
+        server.enqueue(jsonResponse(page(0, 1, 10, LAT + 1.0, LON + 1.0)));
+
+        List<Event> first = cached.getEvents(LAT, LON, 5.0, null);
+        // Une position voisine de quelques mètres tombe sur la même URL
+        List<Event> second = cached.getEvents(LAT + 0.0001, LON - 0.0001, 5.0, null);
+
+        assertEquals(10, first.size());
+        assertEquals(10, second.size());
+        assertEquals(1, server.getRequestCount());
+        assertEquals("48.857,2.352", server.takeRequest().getRequestUrl().queryParameter("latlong"));
+        assertEquals(1, metrics.getHitCount());
+        assertTrue(metrics.getBytesSaved() > 0);
+    }
+
+    @Test
+    public void sequentialPolicyStopsAtFirstNonEmptyCandidate() throws Exception {
+        server.setDispatcher(new CountryDispatcher());
+        FetchMetrics metrics = TicketmasterService.getMetrics();
+        metrics.reset();
+
+        List<Event> events = service.getEvents(LAT, LON, 5.0, null);
+
+        // FR vide puis US : le repli sans pays n'est jamais demandé
+        assertEquals(10, events.size());
+        assertEquals(2, server.getRequestCount());
+        assertEquals("FR", server.takeRequest().getRequestUrl().queryParameter("countryCode"));
+        assertEquals("US", server.takeRequest().getRequestUrl().queryParameter("countryCode"));
+        assertEquals(1, metrics.getCount(TicketmasterService.FetchPolicy.SEQUENTIAL));
+        assertEquals(0, metrics.getCount(TicketmasterService.FetchPolicy.HEDGED));
+    }
+
+    /**
+     * Répond selon le code pays demandé : FR vide, US et sans pays avec des événements
+     */
+    private static class CountryDispatcher extends Dispatcher {
+        @Override
+        public MockResponse dispatch(RecordedRequest request) {
+            String countryCode = request.getRequestUrl().queryParameter("countryCode");
+            if ("FR".equals(countryCode)) {
+                return jsonResponse("{\"page\":{\"size\":0,\"totalElements\":0,\"totalPages\":0,\"number\":0}}");
+            }
+            String prefix = "US".equals(countryCode) ? "US" : "GL";
+            return jsonResponse(page(prefix, 0, 1, 10, LAT + 1.0, LON + 1.0));
+        }
+    }
+
+    /**
+     * Pages reçues et signalement d'une pagination incomplète
+     */
+    private static class RecordingListener implements TicketmasterService.PageListener {
+        final List<Integer> pages = new ArrayList<>();
+        boolean truncated;
+
+        @Override
+        public void onPage(List<Event> events, int pageNumber) {
+            pages.add(pageNumber);
+        }
+
+        @Override
+        public void onTruncated() {
+            truncated = true;
+        }
+    }
+
+    private static MockResponse jsonResponse(String body) {
+        return new MockResponse()
+                .setHeader("Content-Type", "application/json")
+                .setBody(body);
+    }
+
+    private static String page(int number, int totalPages, int count, double lat, double lon) {
+        return page("p", number, totalPages, count, lat, lon);
+    }
+
+    private static String page(String idPrefix, int number, int totalPages, int count, double lat, double lon) {
+        String page = "\"page\":{\"size\":" + count + ",\"totalElements\":" + (totalPages * count)
+                + ",\"totalPages\":" + totalPages + ",\"number\":" + number + "}";
+        return eventsJson(idPrefix, number, count, lat, lon, page);
+    }
+
+    private static String eventsJson(int pageNumber, int count, double lat, double lon, String extra) {
+        return eventsJson("p", pageNumber, count, lat, lon, extra);
+    }
+
+    private static String eventsJson(String idPrefix, int pageNumber, int count, double lat, double lon,
+                                     String extra) {
+        StringBuilder json = new StringBuilder("{\"_embedded\":{\"events\":[");
+        for (int i = 0; i < count; i++) {
+            if (i > 0) {
+                json.append(',');
+            }
+            json.append("{\"id\":\"").append(idPrefix).append(pageNumber).append('_').append(i).append('"')
+                    .append(",\"name\":\"Concert ").append(i).append('"')
+                    .append(",\"dates\":{\"start\":{\"dateTime\":\"2030-06-21T20:00:00Z\"}}")
+                    .append(",\"classifications\":[{\"segment\":{\"id\":\"KZFzniwnSyZfZ7v7nJ\",\"name\":\"Music\"}}]")
+                    .append(",\"_embedded\":{\"venues\":[{\"name\":\"Olympia\",\"city\":{\"name\":\"Paris\"}")
+                    .append(",\"location\":{\"latitude\":\"").append(lat)
+                    .append("\",\"longitude\":\"").append(lon).append("\"}}]}}");
+        }
+        json.append("]}");
+        if (extra != null) {
+            json.append(',').append(extra);
+        }
+        return json.append('}').toString();
+    }
+}
@@ -0,0 +1,49 @@
+package com.example.eventwave.model;
+
+import com.example.eventwave.api.TicketmasterEventMapper;
+
+import org.junit.Test;
+
+import java.util.HashSet;
+import java.util.Set;
+
+import static org.junit.Assert.*;
+
+public class EventCategoryTest {
+
+    @Test
+    public void codesAreUniqueAndRoundTrip() {
+        Set<Integer> codes = new HashSet<>();
+        for (EventCategory category : EventCategory.values()) {
+            assertTrue(codes.add(category.getCode()));
+            assertSame(category, EventCategory.fromCode(category.getCode()));
+            assertSame(category, EventCategory.fromName(category.getLabel()));
+        }
+    }
+
+    @Test
+    public void unknownCodeFallsBackToOther() {
+        assertSame(EventCategory.OTHER, EventCategory.fromCode(-1));
+        assertSame(EventCategory.OTHER, EventCategory.fromCode(1_000));
+    }
+
+    @Test
+    public void freeTextIsClassifiedOnce() {
+        assertSame(EventCategory.MUSIC, EventCategory.fromName("Music"));
+        assertSame(EventCategory.SPORTS, EventCategory.fromName("Sports"));
+        assertSame(EventCategory.THEATRE, EventCategory.fromName("Arts & Theatre"));
+        assertSame(EventCategory.FAMILY, EventCategory.fromName("Miscellaneous"));
+        assertSame(EventCategory.OTHER, EventCategory.fromName("Film"));
+        assertSame(EventCategory.OTHER, EventCategory.fromName(null));
+    }
+
+    @Test
+    public void segmentIdWinsOverName() {
+        // Segment renommé côté Ticketmaster : l'identifiant reste la référence
+        assertSame(EventCategory.MUSIC, TicketmasterEventMapper.category("KZFzniwnSyZfZ7v7nJ", "Concerts"));
+        assertSame(EventCategory.SPORTS, TicketmasterEventMapper.category("KZFzniwnSyZfZ7v7nE", null));
+        assertSame(EventCategory.OTHER, TicketmasterEventMapper.category("KZFzniwnSyZfZ7v7nn", "Film"));
+        assertSame(EventCategory.THEATRE, TicketmasterEventMapper.category("inconnu", "Arts & Theatre"));
+        assertSame(EventCategory.OTHER, TicketmasterEventMapper.category(null, null));
+    }
+}
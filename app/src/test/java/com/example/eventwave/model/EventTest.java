@@ -0,0 +1,31 @@
+package com.example.eventwave.model;
+
+import com.example.eventwave.utils.GeoCells;
+
+import org.junit.Test;
+
+import static org.junit.Assert.*;
+
+public class EventTest {
+
+    @Test
+    public void sourceConstructorDerivesStoredColumns() {
+        Event event = new Event("a", "Concert", "", "", "Musique", "Olympia", 48.85, 2.35, 1_900_000_000_000L, false);
+
+        assertEquals(EventCategory.MUSIC.getCode(), event.getCategoryCode());
+        assertEquals(GeoCells.cellOf(48.85, 2.35), event.getGeoCell());
+        assertEquals(event.computeContentHash(), event.getContentHash());
+    }
+
+    @Test
+    public void roomConstructorKeepsStoredColumnsAsIs() {
+        // Valeurs d'une ligne migrée : empreinte à 0, réécrite à la prochaine synchronisation
+        Event event = new Event("a", "Concert", "", "", "Musique", 7, "Olympia", 48.85, 2.35,
+                42, 1_900_000_000_000L, true, 0L);
+
+        assertEquals(7, event.getCategoryCode());
+        assertEquals(42, event.getGeoCell());
+        assertEquals(0L, event.getContentHash());
+        assertTrue(event.isFavorite());
+    }
+}
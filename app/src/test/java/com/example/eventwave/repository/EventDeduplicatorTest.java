@@ -0,0 +1,129 @@
+package com.example.eventwave.repository;
+
+import com.example.eventwave.model.Event;
+import com.example.eventwave.model.EventAlias;
+
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import static org.junit.Assert.*;
+
+public class EventDeduplicatorTest {
+    private static final long START = 1_900_000_000_000L;
+    private static final long MINUTE = 60_000L;
+
+    @Test
+    public void sameConcertFromAnotherProviderBecomesAnAlias() {
+        EventDeduplicator deduplicator = new EventDeduplicator(Collections.emptyMap());
+        deduplicator.index("vvG1", "Jazz à Vienne : Herbie Hancock", "Théâtre Antique", 45.5236, 4.8786, START);
+
+        // Libellés sans accents, position à ~150 m, horaire d'ouverture des portes
+        List<Event> kept = deduplicator.filter(List.of(
+                event("openagenda:7", "JAZZ A VIENNE - Herbie Hancock", "Theatre antique de Vienne",
+                        45.5248, 4.8795, START - 30 * MINUTE)));
+
+        assertTrue(kept.isEmpty());
+        List<EventAlias> aliases = deduplicator.drainAliases();
+        assertEquals(1, aliases.size());
+        assertEquals("openagenda:7", aliases.get(0).aliasId);
+        assertEquals("vvG1", aliases.get(0).canonicalId);
+        assertEquals(Set.of("vvG1"), deduplicator.getConfirmedIds());
+        assertTrue(deduplicator.drainAliases().isEmpty());
+    }
+
+    @Test
+    public void duplicatesArriveInAnyOrderDuringTheSameSync() {
+        EventDeduplicator deduplicator = new EventDeduplicator(Collections.emptyMap());
+
+        List<Event> first = deduplicator.filter(List.of(
+                event("openagenda:1", "Nuit Électro", "Le Bataclan", 48.8631, 2.3708, START)));
+        List<Event> second = deduplicator.filter(List.of(
+                event("eventbrite:9", "Nuit electro", "Bataclan", 48.8630, 2.3710, START + 10 * MINUTE),
+                event("Z7", "Nuit Électro !", "Le Bataclan", 48.8631, 2.3708, START)));
+
+        assertEquals(1, first.size());
+        assertTrue(second.isEmpty());
+        assertEquals(List.of("openagenda:1", "openagenda:1"), canonicalIds(deduplicator.drainAliases()));
+    }
+
+    @Test
+    public void differentTimePlaceOrTitleAreKept() {
+        EventDeduplicator deduplicator = new EventDeduplicator(Collections.emptyMap());
+        deduplicator.index("vvG1", "Orchestre National", "Philharmonie de Paris", 48.8918, 2.3936, START);
+
+        List<Event> kept = deduplicator.filter(List.of(
+                // Séance du soir
+                event("openagenda:1", "Orchestre National", "Philharmonie de Paris", 48.8918, 2.3936,
+                        START + 180 * MINUTE),
+                // Autre salle à 2 km
+                event("openagenda:2", "Orchestre National", "Cité de la musique", 48.8918, 2.3664, START),
+                // Autre spectacle au même endroit
+                event("openagenda:3", "Ballet de printemps", "Philharmonie de Paris", 48.8918, 2.3936, START)));
+
+        assertEquals(3, kept.size());
+        assertTrue(deduplicator.drainAliases().isEmpty());
+    }
+
+    @Test
+    public void eventsOfTheSameProviderAreNeverMerged() {
+        EventDeduplicator deduplicator = new EventDeduplicator(Collections.emptyMap());
+        deduplicator.index("vvG1", "Match amical", "Parc des Princes", 48.8414, 2.2530, START);
+
+        List<Event> kept = deduplicator.filter(List.of(
+                event("vvG2", "Match amical", "Parc des Princes", 48.8414, 2.2530, START)));
+
+        assertEquals(1, kept.size());
+    }
+
+    @Test
+    public void blockBoundariesDoNotHideDuplicates() {
+        EventDeduplicator deduplicator = new EventDeduplicator(Collections.emptyMap());
+        // De part et d'autre d'une limite de cellule (48,86°) et d'une limite d'heure
+        long hour = START - START % EventDeduplicator.TIME_BUCKET_MS;
+        deduplicator.index("vvG1", "Festival Rock", "Olympia", 48.85999, 2.3280, hour - 5 * MINUTE);
+
+        List<Event> kept = deduplicator.filter(List.of(
+                event("openagenda:1", "Festival Rock", "Olympia", 48.86001, 2.3280, hour + 5 * MINUTE)));
+
+        assertTrue(kept.isEmpty());
+    }
+
+    @Test
+    public void knownAliasIsResolvedWithoutComparison() {
+        EventDeduplicator deduplicator = new EventDeduplicator(Map.of("openagenda:7", "vvG1"));
+        deduplicator.index("vvG1", "Herbie Hancock", "Théâtre Antique", 45.5236, 4.8786, START);
+
+        // Titre renommé depuis : l'alias enregistré suffit
+        List<Event> kept = deduplicator.filter(List.of(
+                event("openagenda:7", "Soirée d'ouverture", "", 45.5236, 4.8786, START)));
+
+        assertTrue(kept.isEmpty());
+        assertTrue(deduplicator.drainAliases().isEmpty());
+        assertEquals(Set.of("vvG1"), deduplicator.getConfirmedIds());
+    }
+
+    @Test
+    public void similarityIgnoresAccentsCaseAndPunctuation() {
+        assertEquals(1.0, EventDeduplicator.similarity("Théâtre du Châtelet", "THEATRE DU CHATELET !"), 0);
+        assertEquals(0.0, EventDeduplicator.similarity("", "Olympia"), 0);
+        assertTrue(EventDeduplicator.similarity("Stade de France", "Accor Arena") < EventDeduplicator.SIMILAR_TITLE);
+    }
+
+    private static List<String> canonicalIds(List<EventAlias> aliases) {
+        List<String> ids = new ArrayList<>();
+        for (EventAlias alias : aliases) {
+            ids.add(alias.canonicalId);
+        }
+        return ids;
+    }
+
+    private static Event event(String id, String title, String venue, double latitude, double longitude,
+                               long startDate) {
+        return new Event(id, title, "", "", "Musique", venue, latitude, longitude, startDate, false);
+    }
+}
@@ -0,0 +1,142 @@
+package com.example.eventwave.repository;
+
+import com.example.eventwave.model.Event;
+import com.example.eventwave.model.EventSyncState;
+import com.example.eventwave.utils.GeoHash;
+
+import org.junit.Test;
+
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import static org.junit.Assert.*;
+
+public class EventDiffTest {
+
+    @Test
+    public void unchangedRowsProduceNoWrites() {
+        Event stored = event("a", "Concert");
+        Map<String, EventSyncState> states = states(state(stored, true));
+        Set<String> seen = new HashSet<>();
+
+        Event incoming = event("a", "Concert");
+        EventDiff diff = EventDiff.forPage(states, List.of(incoming), seen);
+
+        assertTrue(diff.isEmpty());
+        // Le favori stocké est reporté sur l'objet reçu
+        assertTrue(incoming.isFavorite());
+        assertTrue(EventDiff.removals(states, seen).isEmpty());
+    }
+
+    @Test
+    public void changedRowsKeepFavoriteFlag() {
+        Map<String, EventSyncState> states = states(state(event("a", "Concert"), true));
+
+        Event incoming = event("a", "Concert (complet)");
+        EventDiff diff = EventDiff.forPage(states, List.of(incoming), new HashSet<>());
+
+        assertEquals(List.of(incoming), diff.getChanged());
+        assertTrue(diff.getInserted().isEmpty());
+        assertTrue(incoming.isFavorite());
+    }
+
+    @Test
+    public void newRowsAreInsertedAndMissingRowsRemoved() {
+        Map<String, EventSyncState> states = states(
+                state(event("a", "A"), false),
+                state(event("b", "B"), false),
+                state(event("fav", "Favori"), true));
+        Set<String> seen = new HashSet<>();
+
+        EventDiff page = EventDiff.forPage(states, Arrays.asList(event("a", "A"), event("c", "C")), seen);
+        EventDiff removals = EventDiff.removals(states, seen);
+
+        assertEquals(1, page.getInserted().size());
+        assertEquals("c", page.getInserted().get(0).getId());
+        assertTrue(page.getChanged().isEmpty());
+        // Les favoris absents de l'API sont conservés
+        assertEquals(List.of("b"), removals.getRemoved());
+    }
+
+    @Test
+    public void viewedRowsSurviveRemoval() {
+        Event viewed = event("vu", "Vu");
+        Map<String, EventSyncState> states = states(
+                new EventSyncState(viewed.getId(), viewed.computeContentHash(), false, true),
+                state(event("b", "B"), false));
+
+        // L'historique affiche encore les événements consultés qui ne sont plus renvoyés par l'API
+        assertEquals(List.of("b"), EventDiff.removals(states, new HashSet<>()).getRemoved());
+    }
+
+    @Test
+    public void onlyCompletedProvidersLoseMissingRows() {
+        Map<String, EventSyncState> states = states(
+                state(event("tm1", "Ticketmaster"), false),
+                state(event("openagenda:1", "OpenAgenda"), false));
+
+        // OpenAgenda hors délai : ses lignes stockées restent en place
+        assertEquals(List.of("tm1"), EventDiff.removals(states, new HashSet<>(), Set.of("ticketmaster")).getRemoved());
+    }
+
+    @Test
+    public void removalsStayInsideFetchedTiles() {
+        EventSyncState paris = state(event("paris", "Paris"), false);
+        paris.latitude = 48.85;
+        paris.longitude = 2.35;
+        EventSyncState lyon = state(event("lyon", "Lyon"), false);
+        lyon.latitude = 45.76;
+        lyon.longitude = 4.84;
+
+        // Seule la tuile de Paris vient d'être synchronisée : Lyon reste servi par la base locale
+        EventDiff removals = EventDiff.removals(states(paris, lyon), new HashSet<>(), null,
+                Set.of(GeoHash.encode(48.85, 2.35, 5)), 5);
+
+        assertEquals(List.of("paris"), removals.getRemoved());
+    }
+
+    @Test
+    public void duplicatesAcrossPagesAreWrittenOnce() {
+        Map<String, EventSyncState> states = new HashMap<>();
+        Set<String> seen = new HashSet<>();
+
+        EventDiff first = EventDiff.forPage(states, List.of(event("a", "A")), seen);
+        EventDiff second = EventDiff.forPage(states, List.of(event("a", "A"), event("b", "B")), seen);
+
+        assertEquals(1, first.size());
+        assertEquals(1, second.size());
+        assertEquals("b", second.getInserted().get(0).getId());
+    }
+
+    @Test
+    public void contentHashIgnoresFavoriteAndDistance() {
+        Event a = event("a", "A");
+        Event b = event("a", "A");
+        b.setFavorite(true);
+        b.setDistance(12.5);
+
+        assertEquals(a.computeContentHash(), b.computeContentHash());
+        assertNotEquals(a.computeContentHash(), event("a", "B").computeContentHash());
+    }
+
+    private static Event event(String id, String title) {
+        return new Event(id, title, "Description", "", "Musique", "Olympia",
+                48.85, 2.35, 1_900_000_000_000L, false);
+    }
+
+    private static EventSyncState state(Event event, boolean favorite) {
+        return new EventSyncState(event.getId(), event.computeContentHash(), favorite, false);
+    }
+
+    private static Map<String, EventSyncState> states(EventSyncState... states) {
+        Map<String, EventSyncState> map = new HashMap<>();
+        for (EventSyncState state : states) {
+            map.put(state.id, state);
+        }
+        return map;
+    }
+}
@@ -0,0 +1,292 @@
+package com.example.eventwave.repository;
+
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.PriorityQueue;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.Future;
+import java.util.concurrent.FutureTask;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.Assert.*;
+
+public class RefreshCoordinatorTest {
+    private static final long DEBOUNCE_MS = 500;
+
+    private final VirtualExecutor executor = new VirtualExecutor();
+    private final List<String> syncs = new ArrayList<>();
+    private SyncBody body = request -> { };
+    private final RefreshCoordinator coordinator = new RefreshCoordinator(executor, executor, request -> {
+        syncs.add(describe(request));
+        body.run(request);
+    }, DEBOUNCE_MS, 0.005, 1.0);
+
+    @Test
+    public void sliderBurstGivesOneSyncWithTheLastRadius() {
+        for (int radius = 5; radius <= 10; radius++) {
+            coordinator.request(48.85, 2.35, radius);
+            executor.advance(100);
+        }
+        executor.advance(399);
+        assertEquals(0, executor.runReady());
+
+        executor.advance(1);
+        executor.runReady();
+
+        assertEquals(List.of("48.850,2.350,10"), syncs);
+        assertFalse(coordinator.hasNewerRequest());
+    }
+
+    @Test
+    public void sameAreaJoinsTheInFlightSync() {
+        coordinator.requestNow(48.85, 2.35, 5);
+        // À quelques mètres près, rayon arrondi au même kilomètre
+        coordinator.requestNow(48.8501, 2.3501, 4.5);
+        coordinator.request(48.85, 2.35, 5);
+        executor.advance(DEBOUNCE_MS);
+        executor.runReady();
+
+        assertEquals(List.of("48.850,2.350,5"), syncs);
+    }
+
+    @Test
+    public void userRefreshIsForcedAndReplacesADebouncedSyncOfTheSameArea() {
+        List<Boolean> forced = new ArrayList<>();
+        body = request -> {
+            forced.add(request.force);
+            if (!request.force) {
+                // Bouton de rafraîchissement pendant la synchronisation automatique de la même zone
+                coordinator.requestNow(48.85, 2.35, 5);
+            }
+        };
+        coordinator.request(48.85, 2.35, 5);
+        executor.advance(DEBOUNCE_MS);
+        executor.runReady();
+
+        assertEquals(List.of("48.850,2.350,5", "48.850,2.350,5"), syncs);
+        assertEquals(List.of(false, true), forced);
+    }
+
+    @Test
+    public void debouncedRequestJoinsAForcedSyncOfTheSameArea() {
+        List<Boolean> forced = new ArrayList<>();
+        body = request -> forced.add(request.force);
+        coordinator.requestNow(48.85, 2.35, 5);
+        coordinator.request(48.85, 2.35, 5);
+        executor.advance(DEBOUNCE_MS);
+        executor.runReady();
+
+        assertEquals(List.of(true), forced);
+    }
+
+    @Test
+    public void staleQueuedSyncNeverRuns() {
+        coordinator.requestNow(48.85, 2.35, 5);
+        coordinator.requestNow(45.76, 4.84, 5);
+        executor.runReady();
+
+        assertEquals(List.of("45.760,4.840,5"), syncs);
+    }
+
+    @Test
+    public void newAreaInterruptsTheRunningSyncAndWaitsForIt() {
+        List<Object> observed = new ArrayList<>();
+        body = request -> {
+            if (request.latitude == 48.85) {
+                coordinator.requestNow(45.76, 4.84, 5);
+                observed.add(Thread.interrupted());
+                // Les deux synchronisations ne s'entrelacent jamais : rien n'est encore soumis
+                observed.add(executor.readyCount());
+                observed.add(coordinator.hasNewerRequest());
+            }
+        };
+        coordinator.requestNow(48.85, 2.35, 5);
+
+        executor.runReady();
+
+        assertEquals(List.of(true, 0, true), observed);
+        assertEquals(List.of("48.850,2.350,5", "45.760,4.840,5"), syncs);
+    }
+
+    @Test
+    public void debouncedRequestDuringSyncRunsAfterIt() {
+        body = request -> {
+            if (request.latitude == 48.85) {
+                coordinator.request(45.76, 4.84, 5);
+            }
+        };
+        coordinator.requestNow(48.85, 2.35, 5);
+        executor.runReady();
+        assertTrue(coordinator.hasNewerRequest());
+
+        executor.advance(DEBOUNCE_MS);
+        executor.runReady();
+
+        assertEquals(List.of("48.850,2.350,5", "45.760,4.840,5"), syncs);
+        assertFalse(coordinator.hasNewerRequest());
+    }
+
+    @Test
+    public void cancelDropsPendingAndQueuedRequests() {
+        coordinator.requestNow(48.85, 2.35, 5);
+        coordinator.request(45.76, 4.84, 5);
+
+        coordinator.cancel();
+        executor.advance(DEBOUNCE_MS);
+        executor.runReady();
+
+        assertTrue(syncs.isEmpty());
+        assertFalse(coordinator.hasNewerRequest());
+    }
+
+    @Test
+    public void rejectedLaunchDoesNotBlockTheNextRequest() {
+        executor.rejectNext = true;
+        coordinator.requestNow(48.85, 2.35, 5);
+        coordinator.requestNow(48.85, 2.35, 5);
+        executor.runReady();
+
+        assertEquals(List.of("48.850,2.350,5"), syncs);
+    }
+
+    @Test
+    public void syncsNeverOverlapOnTheSharedScheduler() throws Exception {
+        TaskScheduler scheduler = new TaskScheduler(4, 64);
+        AtomicInteger running = new AtomicInteger();
+        AtomicInteger maxRunning = new AtomicInteger();
+        AtomicInteger completed = new AtomicInteger();
+        CountDownLatch last = new CountDownLatch(1);
+        RefreshCoordinator concurrent = new RefreshCoordinator(executor,
+                task -> scheduler.submit(TaskScheduler.Lane.NETWORK, TaskScheduler.Priority.NORMAL, task),
+                request -> {
+                    maxRunning.accumulateAndGet(running.incrementAndGet(), Math::max);
+                    try {
+                        Thread.sleep(2);
+                    } catch (InterruptedException e) {
+                        Thread.currentThread().interrupt();
+                    } finally {
+                        running.decrementAndGet();
+                        completed.incrementAndGet();
+                    }
+                    if (request.latitude == 60) {
+                        last.countDown();
+                    }
+                }, DEBOUNCE_MS, 0.005, 1.0);
+
+        CountDownLatch done = new CountDownLatch(4);
+        for (int t = 0; t < 4; t++) {
+            int thread = t;
+            new Thread(() -> {
+                for (int i = 0; i < 50; i++) {
+                    concurrent.requestNow(45 + (thread * 50 + i) * 0.01, 2.35, 5);
+                }
+                done.countDown();
+            }).start();
+        }
+        assertTrue(done.await(5, TimeUnit.SECONDS));
+        // Dernière demande menée à terme, y compris après la fin d'une synchronisation interrompue
+        concurrent.requestNow(60, 2.35, 5);
+        assertTrue(last.await(5, TimeUnit.SECONDS));
+
+        assertEquals(1, maxRunning.get());
+        assertTrue(completed.get() < 201);
+    }
+
+    private static String describe(RefreshCoordinator.Request request) {
+        return String.format(Locale.ROOT, "%.3f,%.3f,%.0f", request.latitude, request.longitude, request.radiusKm);
+    }
+
+    private interface SyncBody {
+        void run(RefreshCoordinator.Request request);
+    }
+
+    /**
+     * Horloge virtuelle et exécuteur sur le thread du test : chaque étape est déclenchée
+     * explicitement, une synchronisation interrompue voit l'interruption sur ce même thread
+     */
+    private static final class VirtualExecutor implements RefreshCoordinator.Timer, RefreshCoordinator.Launcher {
+        private final PriorityQueue<Scheduled> queue = new PriorityQueue<>();
+        private long now;
+        private long sequence;
+        boolean rejectNext;
+
+        @Override
+        public synchronized Future<?> schedule(Runnable task, long delayMs) {
+            return enqueue(task, now + delayMs);
+        }
+
+        @Override
+        public synchronized Future<?> submit(Runnable task) {
+            if (rejectNext) {
+                rejectNext = false;
+                throw new RejectedExecutionException("File pleine");
+            }
+            return enqueue(task, now);
+        }
+
+        synchronized void advance(long ms) {
+            now += ms;
+        }
+
+        synchronized int readyCount() {
+            int count = 0;
+            for (Scheduled scheduled : queue) {
+                if (scheduled.at <= now && !scheduled.task.isCancelled()) {
+                    count++;
+                }
+            }
+            return count;
+        }
+
+        /**
+         * Exécute dans l'ordre les tâches échues, y compris celles qu'elles soumettent
+         */
+        int runReady() {
+            int count = 0;
+            while (true) {
+                Scheduled next;
+                synchronized (this) {
+                    next = queue.peek();
+                    if (next == null || next.at > now) {
+                        return count;
+                    }
+                    queue.poll();
+                }
+                if (!next.task.isCancelled()) {
+                    next.task.run();
+                    count++;
+                }
+                Thread.interrupted();
+            }
+        }
+
+        private Future<?> enqueue(Runnable task, long at) {
+            Scheduled scheduled = new Scheduled(new FutureTask<Void>(task, null), at, sequence++);
+            queue.add(scheduled);
+            return scheduled.task;
+        }
+    }
+
+    private static final class Scheduled implements Comparable<Scheduled> {
+        final FutureTask<Void> task;
+        final long at;
+        final long sequence;
+
+        Scheduled(FutureTask<Void> task, long at, long sequence) {
+            this.task = task;
+            this.at = at;
+            this.sequence = sequence;
+        }
+
+        @Override
+        public int compareTo(Scheduled other) {
+            int byTime = Long.compare(at, other.at);
+            return byTime != 0 ? byTime : Long.compare(sequence, other.sequence);
+        }
+    }
+}
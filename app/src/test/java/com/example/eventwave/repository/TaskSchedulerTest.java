@@ -0,0 +1,164 @@
+package com.example.eventwave.repository;
+
+import org.junit.After;
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.Future;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+
+import static com.example.eventwave.repository.TaskScheduler.Lane.INTERACTIVE;
+import static com.example.eventwave.repository.TaskScheduler.Lane.NETWORK;
+import static com.example.eventwave.repository.TaskScheduler.Priority.HIGH;
+import static com.example.eventwave.repository.TaskScheduler.Priority.LOW;
+import static com.example.eventwave.repository.TaskScheduler.Priority.NORMAL;
+import static org.junit.Assert.*;
+
+public class TaskSchedulerTest {
+    // Un thread par voie : l'ordre d'exécution d'une voie est déterministe
+    private final TaskScheduler scheduler = new TaskScheduler(1, 4);
+    private final CountDownLatch release = new CountDownLatch(1);
+
+    @After
+    public void tearDown() {
+        release.countDown();
+    }
+
+    @Test
+    public void higherPriorityRunsFirstThenSubmissionOrder() throws Exception {
+        block(INTERACTIVE);
+        List<String> order = Collections.synchronizedList(new ArrayList<>());
+        Future<?> last = scheduler.submit(INTERACTIVE, LOW, () -> order.add("purge"));
+        scheduler.submit(INTERACTIVE, NORMAL, () -> order.add("historique"));
+        scheduler.submit(INTERACTIVE, HIGH, () -> order.add("favori"));
+        scheduler.submit(INTERACTIVE, NORMAL, () -> order.add("cache"));
+
+        release.countDown();
+        last.get(2, TimeUnit.SECONDS);
+
+        assertEquals(List.of("favori", "historique", "cache", "purge"), order);
+    }
+
+    @Test
+    public void slowNetworkDoesNotDelayInteractiveWork() throws Exception {
+        block(NETWORK);
+
+        scheduler.submit(INTERACTIVE, HIGH, () -> { }).get(2, TimeUnit.SECONDS);
+
+        assertEquals(0, scheduler.getMetrics().getQueueDepth(INTERACTIVE));
+    }
+
+    @Test
+    public void newerRefreshInterruptsTheRunningOne() throws Exception {
+        Object key = new Object();
+        CountDownLatch started = new CountDownLatch(1);
+        CountDownLatch interrupted = new CountDownLatch(1);
+        scheduler.submit(NETWORK, NORMAL, key, () -> {
+            started.countDown();
+            try {
+                Thread.sleep(10_000);
+            } catch (InterruptedException e) {
+                interrupted.countDown();
+            }
+        });
+        assertTrue(started.await(2, TimeUnit.SECONDS));
+
+        Future<?> newer = scheduler.submit(NETWORK, NORMAL, key, () -> { });
+
+        assertTrue(interrupted.await(2, TimeUnit.SECONDS));
+        newer.get(2, TimeUnit.SECONDS);
+        assertEquals(1, scheduler.getMetrics().getCancelledCount(NETWORK));
+    }
+
+    @Test
+    public void supersededQueuedRefreshNeverRuns() throws Exception {
+        block(NETWORK);
+        Object key = new Object();
+        List<String> runs = Collections.synchronizedList(new ArrayList<>());
+        Future<?> stale = scheduler.submit(NETWORK, NORMAL, key, () -> runs.add("ancien"));
+        Future<?> latest = scheduler.submit(NETWORK, NORMAL, key, () -> runs.add("récent"));
+
+        assertTrue(stale.isCancelled());
+        assertEquals(1, scheduler.getMetrics().getQueueDepth(NETWORK));
+        release.countDown();
+        latest.get(2, TimeUnit.SECONDS);
+
+        assertEquals(List.of("récent"), runs);
+        assertEquals(0, scheduler.getMetrics().getQueueDepth(NETWORK));
+    }
+
+    @Test
+    public void cancelByKey() throws Exception {
+        block(NETWORK);
+        Object key = new Object();
+        Future<?> refresh = scheduler.submit(NETWORK, NORMAL, key, () -> fail("annulé avant exécution"));
+
+        scheduler.cancel(key);
+
+        assertTrue(refresh.isCancelled());
+        assertEquals(0, scheduler.getMetrics().getQueueDepth(NETWORK));
+    }
+
+    @Test
+    public void fullLaneRejectsUntilItDrains() throws Exception {
+        block(INTERACTIVE);
+        Future<?> last = null;
+        for (int i = 0; i < 4; i++) {
+            last = scheduler.submit(INTERACTIVE, NORMAL, () -> { });
+        }
+
+        try {
+            scheduler.submit(INTERACTIVE, HIGH, () -> { });
+            fail("file pleine");
+        } catch (RejectedExecutionException expected) {
+            // Contre-pression : l'appelant est prévenu au lieu d'allonger la file
+        }
+        TaskMetrics metrics = scheduler.getMetrics();
+        assertEquals(1, metrics.getRejectedCount(INTERACTIVE));
+        assertEquals(4, metrics.getMaxQueueDepth(INTERACTIVE));
+
+        release.countDown();
+        last.get(2, TimeUnit.SECONDS);
+        scheduler.submit(INTERACTIVE, HIGH, () -> { }).get(2, TimeUnit.SECONDS);
+    }
+
+    @Test
+    public void waitTimeIsMeasuredFromSubmission() throws Exception {
+        block(INTERACTIVE);
+        Future<?> waiting = scheduler.submit(INTERACTIVE, NORMAL, () -> { });
+        Thread.sleep(50);
+        release.countDown();
+        waiting.get(2, TimeUnit.SECONDS);
+
+        assertTrue(scheduler.getMetrics().getMaxWaitMillis(INTERACTIVE) >= 50);
+    }
+
+    @Test
+    public void executorViewRunsOnItsLane() throws Exception {
+        String thread = scheduler.executor(INTERACTIVE, HIGH)
+                .submit(() -> Thread.currentThread().getName())
+                .get(2, TimeUnit.SECONDS);
+
+        assertEquals("eventwave-interactive-1", thread);
+    }
+
+    /**
+     * Occupe l'unique thread de la voie jusqu'à release
+     */
+    private void block(TaskScheduler.Lane lane) throws InterruptedException {
+        CountDownLatch started = new CountDownLatch(1);
+        scheduler.submit(lane, HIGH, () -> {
+            started.countDown();
+            try {
+                release.await();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        });
+        assertTrue(started.await(2, TimeUnit.SECONDS));
+    }
+}
@@ -0,0 +1,185 @@
+package com.example.eventwave.repository;
+
+import com.example.eventwave.utils.GeoHash;
+import com.example.eventwave.utils.GeoUtils;
+
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.Assert.*;
+
+public class TileCoverageTest {
+    private static final int PRECISION = 5;
+    private static final long TTL_MS = TimeUnit.HOURS.toMillis(1);
+    private static final double PARIS_LAT = 48.8566;
+    private static final double PARIS_LON = 2.3522;
+
+    private final TileCoverage coverage = new TileCoverage(PRECISION, TTL_MS, 40.0);
+
+    @Test
+    public void walkingAroundTheBlockIsServedLocally() {
+        // Promenade de 2 km en boucle, un point toutes les 30 s
+        List<double[]> trace = loop(PARIS_LAT, PARIS_LON, 0.3, 60);
+
+        int regions = replay(trace, 5.0, TimeUnit.SECONDS.toMillis(30));
+
+        // Au plus une bande de tuiles de plus quand le bord du disque franchit une limite
+        assertTrue(regions + " appels", regions <= 2);
+        assertTrue(coverage.getCoveredPlanCount() >= trace.size() - 2);
+        assertTrue(coverage.getHitRatio() > 0.95);
+    }
+
+    @Test
+    public void commuteOnlyFetchesTheNewStrips() {
+        // 20 km vers l'est à 30 km/h, une position par minute
+        List<double[]> trace = line(PARIS_LAT, PARIS_LON, 0.0, 20.0, 40);
+
+        int regions = replay(trace, 5.0, TimeUnit.MINUTES.toMillis(1));
+
+        // Un appel par colonne de tuiles atteinte, et non un par position ou par tuile de coin
+        int columns = (int) (GeoHash.col(trace.get(trace.size() - 1)[1] + 0.07, PRECISION)
+                - GeoHash.col(PARIS_LON - 0.07, PRECISION)) + 1;
+        assertTrue(regions + " appels", regions <= columns);
+        assertTrue(regions < trace.size() / 3);
+        assertTrue(coverage.getHitRatio() > 0.8);
+    }
+
+    @Test
+    public void smallerRadiusIsServedLocally() {
+        replay(List.of(new double[]{PARIS_LAT, PARIS_LON}), 20.0, 0);
+
+        TileCoverage.Plan plan = coverage.plan(PARIS_LAT, PARIS_LON, 5.0, 1_000);
+
+        assertTrue(plan.isCovered());
+        assertEquals(1.0, coverage.coverage(PARIS_LAT, PARIS_LON, 5.0, 1_000), 0.0);
+    }
+
+    @Test
+    public void staleTilesAreFetchedAgain() {
+        replay(List.of(new double[]{PARIS_LAT, PARIS_LON}), 5.0, 0);
+        long later = TTL_MS + 1;
+
+        TileCoverage.Plan plan = coverage.plan(PARIS_LAT, PARIS_LON, 5.0, later);
+
+        assertEquals(0, plan.getFreshCount());
+        assertTrue(tilesOf(plan).size() >= plan.getTileCount());
+        assertEquals(0.0, coverage.coverage(PARIS_LAT, PARIS_LON, 5.0, later), 0.0);
+    }
+
+    @Test
+    public void forcedPlanFetchesFreshTilesAgain() {
+        replay(List.of(new double[]{PARIS_LAT, PARIS_LON}), 5.0, 0);
+        double hitRatio = coverage.getHitRatio();
+
+        TileCoverage.Plan forced = coverage.plan(PARIS_LAT, PARIS_LON, 5.0, 1_000, true);
+
+        // Rafraîchissement de l'utilisateur : tout le carré englobant, bien que frais
+        assertFalse(forced.isCovered());
+        assertEquals(0, forced.getFreshCount());
+        assertTrue(tilesOf(forced).size() >= forced.getTileCount());
+        assertEquals(hitRatio, coverage.getHitRatio(), 0.0);
+        assertTrue(coverage.plan(PARIS_LAT, PARIS_LON, 5.0, 1_000).isCovered());
+    }
+
+    @Test
+    public void unmarkedRegionIsPlannedAgain() {
+        // Source en erreur : les tuiles ne sont pas enregistrées
+        TileCoverage.Plan first = coverage.plan(PARIS_LAT, PARIS_LON, 5.0, 0);
+        TileCoverage.Plan second = coverage.plan(PARIS_LAT, PARIS_LON, 5.0, 1_000);
+
+        assertEquals(tilesOf(first), tilesOf(second));
+        assertEquals(0.0, coverage.getHitRatio(), 0.0);
+    }
+
+    @Test
+    public void regionsCoverEveryMissingTile() {
+        replay(List.of(new double[]{PARIS_LAT, PARIS_LON}), 5.0, 0);
+
+        TileCoverage.Plan plan = coverage.plan(PARIS_LAT + 0.1, PARIS_LON + 0.1, 50.0, 1_000);
+
+        // Carré englobant le disque, moins les tuiles fraîches autour de Paris
+        Set<String> fetched = tilesOf(plan);
+        assertTrue(fetched.size() >= plan.getTileCount() - plan.getFreshCount());
+        assertTrue(plan.getRegions().size() <= 12);
+        for (TileCoverage.Region region : plan.getRegions()) {
+            // Le disque interrogé contient chaque tuile de sa région, coins compris
+            assertTrue(region.radiusKm <= 40.0);
+            for (String tile : region.getTiles()) {
+                assertFalse(coverage.isFresh(tile, 1_000));
+                for (double[] corner : corners(tile)) {
+                    assertTrue(GeoUtils.distanceKm(region.latitude, region.longitude, corner[0], corner[1])
+                            <= region.radiusKm + 1e-6);
+                }
+            }
+        }
+    }
+
+    /**
+     * Rejoue une trace comme l'application : chaque position planifie, puis toutes les
+     * régions sont récupérées avec succès. Renvoie le nombre d'appels aux sources.
+     */
+    private int replay(List<double[]> trace, double radiusKm, long stepMs) {
+        int regions = 0;
+        long now = 0;
+        for (double[] point : trace) {
+            TileCoverage.Plan plan = coverage.plan(point[0], point[1], radiusKm, now);
+            for (TileCoverage.Region region : plan.getRegions()) {
+                coverage.markFetched(region.getTiles(), now);
+                regions++;
+            }
+            assertEquals(1.0, coverage.coverage(point[0], point[1], radiusKm, now), 0.0);
+            now += stepMs;
+        }
+        return regions;
+    }
+
+    private static Set<String> tilesOf(TileCoverage.Plan plan) {
+        Set<String> tiles = new HashSet<>();
+        for (TileCoverage.Region region : plan.getRegions()) {
+            tiles.addAll(region.getTiles());
+        }
+        return tiles;
+    }
+
+    /**
+     * Trajet rectiligne de distanceKm selon le cap (0 = est, 90 = nord), en points équidistants
+     */
+    private static List<double[]> line(double lat, double lon, double headingDegrees, double distanceKm, int steps) {
+        List<double[]> trace = new ArrayList<>();
+        double kmPerDegree = Math.PI * GeoUtils.EARTH_RADIUS_KM / 180.0;
+        double heading = Math.toRadians(headingDegrees);
+        for (int i = 0; i <= steps; i++) {
+            double d = distanceKm * i / steps;
+            trace.add(new double[]{
+                    lat + d * Math.sin(heading) / kmPerDegree,
+                    lon + d * Math.cos(heading) / (kmPerDegree * Math.cos(Math.toRadians(lat)))});
+        }
+        return trace;
+    }
+
+    /**
+     * Boucle de rayon radiusKm autour d'un point
+     */
+    private static List<double[]> loop(double lat, double lon, double radiusKm, int steps) {
+        List<double[]> trace = new ArrayList<>();
+        double kmPerDegree = Math.PI * GeoUtils.EARTH_RADIUS_KM / 180.0;
+        for (int i = 0; i <= steps; i++) {
+            double angle = 2 * Math.PI * i / steps;
+            trace.add(new double[]{
+                    lat + radiusKm * Math.sin(angle) / kmPerDegree,
+                    lon + radiusKm * Math.cos(angle) / (kmPerDegree * Math.cos(Math.toRadians(lat)))});
+        }
+        return trace;
+    }
+
+    private static List<double[]> corners(String tile) {
+        double[] b = GeoHash.bounds(tile);
+        return List.of(new double[]{b[0], b[1]}, new double[]{b[0], b[3]},
+                new double[]{b[2], b[1]}, new double[]{b[2], b[3]});
+    }
+}
@@ -0,0 +1,83 @@
+package com.example.eventwave.utils;
+
+import com.example.eventwave.model.Event;
+import com.example.eventwave.model.EventCategory;
+
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.List;
+
+import static org.junit.Assert.*;
+
+public class EventColumnsTest {
+
+    private static final List<Event> EVENTS = Arrays.asList(
+            event("c", "Musique", 48.8600, 2.3500, 3_000L, false),
+            event("a", "Sport", 48.8420, 2.2530, 1_000L, true),
+            event("b", "Musique", 48.8700, 2.3600, 1_000L, true),
+            event("d", "Théâtre", 45.7640, 4.8357, 2_000L, false));
+
+    @Test
+    public void rowsAreChronologicalAndMaterializeLikeTheSource() {
+        EventColumns columns = EventColumns.of(EVENTS);
+
+        assertEquals(4, columns.size());
+        // (startDate, id) : a et b à égalité de date, départagés par l'id
+        assertEquals(Arrays.asList("a", "b", "d", "c"), ids(columns.materialize(columns.select(null, false), 10)));
+
+        Event b = columns.materialize(1);
+        Event source = EVENTS.get(2);
+        assertEquals(source, b);
+        assertNotSame(source, b);
+        assertEquals(source.getContentHash(), b.getContentHash());
+        assertTrue(b.isFavorite());
+        assertEquals("Musique", columns.getCategory(1));
+        assertEquals(EventCategory.MUSIC, columns.getEventCategory(1));
+    }
+
+    @Test
+    public void selectCombinesCategoryAndFavorites() {
+        EventColumns columns = EventColumns.of(EVENTS);
+
+        assertEquals(Arrays.asList("b", "c"), ids(columns.materialize(columns.select(EventCategory.MUSIC, false), 10)));
+        assertEquals(Arrays.asList("b"), ids(columns.materialize(columns.select(EventCategory.MUSIC, true), 10)));
+        assertEquals(Arrays.asList("a", "b"), ids(columns.materialize(columns.select(null, true), 10)));
+        assertTrue(columns.select(EventCategory.FAMILY, false).isEmpty());
+        assertEquals(Arrays.asList("a"), ids(columns.materialize(columns.select(null, false), 1)));
+    }
+
+    @Test
+    public void nearestRunsOnSelectedRowsOnly() {
+        EventColumns columns = EventColumns.of(EVENTS);
+
+        List<Event> all = columns.nearest(null, 48.8566, 2.3522, 10, 10);
+        assertEquals(Arrays.asList("c", "b", "a"), ids(all));
+        assertEquals(GeoUtils.distanceKm(48.8566, 2.3522, 48.8600, 2.3500), all.get(0).getDistance(), 1e-9);
+
+        BitSet favorites = columns.select(null, true);
+        assertEquals(Arrays.asList("b", "a"), ids(columns.nearest(favorites, 48.8566, 2.3522, 10, 10)));
+        assertEquals(Arrays.asList("b"), ids(columns.nearest(favorites, 48.8566, 2.3522, 10, 1)));
+    }
+
+    @Test
+    public void emptySnapshot() {
+        assertEquals(0, EventColumns.EMPTY.size());
+        assertTrue(EventColumns.EMPTY.select(null, false).isEmpty());
+        assertTrue(EventColumns.EMPTY.nearest(null, 48.8566, 2.3522, 10, 10).isEmpty());
+    }
+
+    private static List<String> ids(List<Event> events) {
+        List<String> ids = new ArrayList<>();
+        for (Event event : events) {
+            ids.add(event.getId());
+        }
+        return ids;
+    }
+
+    private static Event event(String id, String category, double lat, double lon, long start, boolean favorite) {
+        return new Event(id, "Titre " + id, "Description " + id, "", category, "Lieu " + id, lat, lon, start, favorite);
+    }
+}
@@ -0,0 +1,36 @@
+package com.example.eventwave.utils;
+
+import org.junit.Test;
+
+import static org.junit.Assert.*;
+
+public class FtsQueryTest {
+
+    @Test
+    public void wordsBecomeFoldedPrefixes() {
+        assertEquals("theatre* chat*", FtsQuery.build("Théâtre  Chât"));
+    }
+
+    @Test
+    public void quotedTextIsAnExactPhrase() {
+        assertEquals("\"fete de la musique\" paris*", FtsQuery.build("\"Fête de la musique\" Paris"));
+        // Guillemet non refermé : la phrase va jusqu'à la fin
+        assertEquals("\"jazz club\"", FtsQuery.build("\"jazz club"));
+    }
+
+    @Test
+    public void keepsOperatorsBetweenTerms() {
+        assertEquals("jazz* OR blues*", FtsQuery.build("jazz OR blues"));
+        assertEquals("concert* NEAR/3 parc*", FtsQuery.build("concert NEAR/3 parc"));
+        // Opérateurs en tête, en fin ou en minuscules : ignorés ou traités comme des mots
+        assertEquals("jazz*", FtsQuery.build("OR jazz NEAR"));
+        assertEquals("jazz* or* blues*", FtsQuery.build("jazz or blues"));
+    }
+
+    @Test
+    public void neutralizesFtsSyntax() {
+        assertEquals("a* b* c*", FtsQuery.build("a:b-c*"));
+        assertNull(FtsQuery.build("  *:- \"\" "));
+        assertNull(FtsQuery.build(null));
+    }
+}
@@ -0,0 +1,96 @@
+package com.example.eventwave.utils;
+
+import com.example.eventwave.model.FtsMatch;
+
+import org.junit.Test;
+
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.util.List;
+
+import static org.junit.Assert.*;
+
+public class FtsRankingTest {
+    private static final int COLUMNS = 4;
+
+    @Test
+    public void titleHitOutranksDescriptionHit() {
+        // 1 phrase, 100 lignes, 10 contiennent le mot
+        FtsMatch inDescription = match(1, hits(FtsRanking.COLUMN_DESCRIPTION, 1, 10));
+        FtsMatch inTitle = match(2, hits(FtsRanking.COLUMN_TITLE, 1, 10));
+
+        assertArrayEquals(new long[]{2, 1}, FtsRanking.rank(List.of(inDescription, inTitle)));
+    }
+
+    @Test
+    public void rareTermsWeighMore() {
+        double rare = FtsRanking.bm25(FtsRanking.parseMatchInfo(hits(FtsRanking.COLUMN_TITLE, 1, 2)),
+                FtsRanking.COLUMN_WEIGHTS);
+        double common = FtsRanking.bm25(FtsRanking.parseMatchInfo(hits(FtsRanking.COLUMN_TITLE, 1, 90)),
+                FtsRanking.COLUMN_WEIGHTS);
+
+        assertTrue(rare > common);
+        assertTrue(common > 0);
+    }
+
+    @Test
+    public void moreHitsScoreHigherWithDiminishingReturns() {
+        double one = FtsRanking.bm25(FtsRanking.parseMatchInfo(hits(FtsRanking.COLUMN_TITLE, 1, 10)),
+                FtsRanking.COLUMN_WEIGHTS);
+        double two = FtsRanking.bm25(FtsRanking.parseMatchInfo(hits(FtsRanking.COLUMN_TITLE, 2, 10)),
+                FtsRanking.COLUMN_WEIGHTS);
+        double three = FtsRanking.bm25(FtsRanking.parseMatchInfo(hits(FtsRanking.COLUMN_TITLE, 3, 10)),
+                FtsRanking.COLUMN_WEIGHTS);
+
+        assertTrue(two > one);
+        assertTrue(three - two < two - one);
+    }
+
+    @Test
+    public void convertsUtf8OffsetsToCharRanges() {
+        String title = "Théâtre du Châtelet";
+        // "Théâtre" : 9 octets ; "Châtelet" commence à l'octet 13 et en fait 9
+        String offsets = "0 0 0 9 1 0 4 6 0 1 13 9";
+
+        assertArrayEquals(new int[]{0, 7, 11, 19}, FtsRanking.highlights(offsets, FtsRanking.COLUMN_TITLE, title));
+        assertEquals(0, FtsRanking.highlights(offsets, FtsRanking.COLUMN_VENUE, "Paris").length);
+        assertEquals(0, FtsRanking.highlights(null, FtsRanking.COLUMN_TITLE, title).length);
+    }
+
+    @Test
+    public void keepsSurrogatePairsWhole() {
+        // Emoji sur 4 octets (2 caractères Java) puis "jazz"
+        String title = "🎷 jazz";
+
+        assertArrayEquals(new int[]{3, 7}, FtsRanking.highlights("0 0 5 4", FtsRanking.COLUMN_TITLE, title));
+    }
+
+    /**
+     * matchinfo 'pcnalx' d'une ligne de 5 mots par colonne, pour une phrase
+     * trouvée hitsInRow fois dans une seule colonne
+     */
+    private static byte[] hits(int column, int hitsInRow, int rowsWithHit) {
+        int[] values = new int[3 + 2 * COLUMNS + 3 * COLUMNS];
+        values[0] = 1;
+        values[1] = COLUMNS;
+        values[2] = 100;
+        for (int c = 0; c < COLUMNS; c++) {
+            values[3 + c] = 5;
+            values[3 + COLUMNS + c] = 5;
+        }
+        int x = 3 + 2 * COLUMNS + 3 * column;
+        values[x] = hitsInRow;
+        values[x + 1] = rowsWithHit * hitsInRow;
+        values[x + 2] = rowsWithHit;
+
+        ByteBuffer buffer = ByteBuffer.allocate(values.length * 4).order(ByteOrder.nativeOrder());
+        for (int value : values) {
+            buffer.putInt(value);
+        }
+        return buffer.array();
+    }
+
+    private static FtsMatch match(long docid, byte[] matchInfo) {
+        return new FtsMatch(docid, matchInfo);
+    }
+}
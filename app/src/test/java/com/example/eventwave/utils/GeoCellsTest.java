@@ -0,0 +1,41 @@
+package com.example.eventwave.utils;
+
+import org.junit.Test;
+
+import java.util.List;
+
+import static org.junit.Assert.*;
+
+public class GeoCellsTest {
+
+    @Test
+    public void coveringCellsContainEveryPointOfTheBox() {
+        double minLat = 48.76;
+        double maxLat = 48.95;
+        double minLon = 2.21;
+        double maxLon = 2.49;
+        List<Integer> cells = GeoCells.cellsCovering(minLat, maxLat, minLon, maxLon);
+        assertNotNull(cells);
+
+        for (double lat = minLat; lat <= maxLat; lat += 0.01) {
+            for (double lon = minLon; lon <= maxLon; lon += 0.01) {
+                assertTrue(cells.contains(GeoCells.cellOf(lat, lon)));
+            }
+        }
+    }
+
+    @Test
+    public void extremeCoordinatesStayInsideTheGrid() {
+        int north = GeoCells.cellOf(90.0, 180.0);
+        int south = GeoCells.cellOf(-90.0, -180.0);
+
+        assertEquals(GeoCells.LAT_CELLS * GeoCells.LON_CELLS - 1, north);
+        assertEquals(0, south);
+    }
+
+    @Test
+    public void wideOrWrappingBoxesFallBackToPlainQuery() {
+        assertNull(GeoCells.cellsCovering(40.0, 50.0, -5.0, 10.0));
+        assertNull(GeoCells.cellsCovering(10.0, 10.5, 179.8, 180.3));
+    }
+}
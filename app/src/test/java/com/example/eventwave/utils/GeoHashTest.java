@@ -0,0 +1,45 @@
+package com.example.eventwave.utils;
+
+import org.junit.Test;
+
+import static org.junit.Assert.*;
+
+public class GeoHashTest {
+
+    @Test
+    public void encodesReferenceGeohashes() {
+        assertEquals("u4pruydqqvj", GeoHash.encode(57.64911, 10.40744, 11));
+        // Tour Eiffel
+        assertEquals("u09tunq", GeoHash.encode(48.8584, 2.2945, 7));
+        assertEquals("u09tv", GeoHash.encode(48.8566, 2.3522, 5));
+    }
+
+    @Test
+    public void tileIndicesMatchTheEncodedPoint() {
+        int precision = 5;
+        long row = GeoHash.row(48.8566, precision);
+        long col = GeoHash.col(2.3522, precision);
+
+        assertEquals(GeoHash.encode(48.8566, 2.3522, precision), GeoHash.tile(row, col, precision));
+        assertTrue(GeoHash.minLatitude(row, precision) <= 48.8566);
+        assertTrue(GeoHash.minLatitude(row + 1, precision) > 48.8566);
+        assertTrue(GeoHash.minLongitude(col, precision) <= 2.3522);
+        assertTrue(GeoHash.minLongitude(col + 1, precision) > 2.3522);
+    }
+
+    @Test
+    public void boundsContainTheEncodedPoint() {
+        double[] bounds = GeoHash.bounds("u09tv");
+
+        assertTrue(bounds[0] <= 48.8566 && 48.8566 < bounds[2]);
+        assertTrue(bounds[1] <= 2.3522 && 2.3522 < bounds[3]);
+        assertEquals(GeoHash.tileHeightDegrees(5), bounds[2] - bounds[0], 1e-12);
+        assertEquals(GeoHash.tileWidthDegrees(5), bounds[3] - bounds[1], 1e-12);
+    }
+
+    @Test
+    public void gridEdgesStayInsideTheGrid() {
+        assertEquals("zzzzz", GeoHash.encode(90.0, 180.0, 5));
+        assertEquals("00000", GeoHash.encode(-90.0, -180.0, 5));
+    }
+}
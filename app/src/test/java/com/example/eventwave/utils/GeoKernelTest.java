@@ -0,0 +1,98 @@
+package com.example.eventwave.utils;
+
+import com.example.eventwave.model.Event;
+
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Random;
+
+import static org.junit.Assert.*;
+
+public class GeoKernelTest {
+
+    @Test
+    public void nearestMatchesFullScanAndStableSort() {
+        Random random = new Random(7);
+        int count = 5000;
+        double[] lats = new double[count];
+        double[] lons = new double[count];
+        for (int i = 0; i < count; i++) {
+            lats[i] = 48.85 + (random.nextDouble() - 0.5) * 1.2;
+            lons[i] = 2.35 + (random.nextDouble() - 0.5) * 1.8;
+        }
+        // Doublons exacts : l'ordre d'origine départage
+        lats[10] = lats[20];
+        lons[10] = lons[20];
+
+        for (double radius : new double[]{0.5, 5, 25, 80}) {
+            List<Integer> expected = new ArrayList<>();
+            for (int i = 0; i < count; i++) {
+                if (GeoUtils.distanceKm(48.85, 2.35, lats[i], lons[i]) <= radius) {
+                    expected.add(i);
+                }
+            }
+            expected.sort(Comparator.comparingDouble(i -> GeoUtils.distanceKm(48.85, 2.35, lats[i], lons[i])));
+
+            int[] indices = new int[count];
+            double[] distances = new double[count];
+            int found = GeoKernel.nearest(lats, lons, GeoKernel.cosLatitudes(lats, count), count,
+                    48.85, 2.35, radius, count, indices, distances);
+
+            assertEquals(expected.size(), found);
+            assertEquals(found, GeoKernel.countWithinRadius(lats, lons, null, count, 48.85, 2.35, radius));
+            for (int i = 0; i < found; i++) {
+                assertEquals((int) expected.get(i), indices[i]);
+                assertEquals(GeoUtils.distanceKm(48.85, 2.35, lats[indices[i]], lons[indices[i]]), distances[i], 1e-9);
+            }
+        }
+    }
+
+    @Test
+    public void topKKeepsOnlyTheClosest() {
+        double[] lats = {48.90, 48.86, 48.95, 48.851, 48.87};
+        double[] lons = {2.35, 2.35, 2.35, 2.35, 2.35};
+        int[] indices = new int[2];
+        double[] distances = new double[2];
+
+        int found = GeoKernel.nearest(lats, lons, null, lats.length, 48.85, 2.35, 50, 2, indices, distances);
+
+        assertEquals(2, found);
+        assertArrayEquals(new int[]{3, 1}, indices);
+        assertTrue(distances[0] < distances[1]);
+    }
+
+    @Test
+    public void boundingBoxHandlesAntimeridianAndPoles() {
+        // De part et d'autre de l'antiméridien, à environ 11 km
+        double[] lats = {0.0, 0.0};
+        double[] lons = {179.95, -179.95};
+        assertEquals(2, GeoKernel.countWithinRadius(lats, lons, null, 2, 0.0, 180.0, 10));
+        assertEquals(0, GeoKernel.countWithinRadius(lats, lons, null, 2, 0.0, 180.0, 5));
+
+        // Disque contenant le pôle : toutes les longitudes sont possibles
+        double[] polarLats = {89.9, 89.9};
+        double[] polarLons = {0.0, 180.0};
+        assertEquals(2, GeoKernel.countWithinRadius(polarLats, polarLons, null, 2, 89.95, 90.0, 25));
+    }
+
+    @Test
+    public void nearestEventsSetsDistanceAndSkipsFarEvents() {
+        Event near = event("near", 48.8570, 2.3530);
+        Event far = event("far", 45.7640, 4.8357);
+        Event mid = event("mid", 48.8800, 2.3550);
+
+        List<Event> result = GeoKernel.nearestEvents(Arrays.asList(far, mid, near), 48.8566, 2.3522, 5, 10);
+
+        assertEquals(Arrays.asList(near, mid), result);
+        assertEquals(GeoUtils.distanceKm(48.8566, 2.3522, 48.8800, 2.3550), mid.getDistance(), 1e-9);
+        assertTrue(GeoKernel.nearestEvents(new ArrayList<>(), 48.8566, 2.3522, 5, 10).isEmpty());
+    }
+
+    private static Event event(String id, double lat, double lon) {
+        return new Event(id, id, "", "", "Musique", "", lat, lon, 0L, false);
+    }
+}
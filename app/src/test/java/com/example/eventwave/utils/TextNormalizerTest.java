@@ -0,0 +1,17 @@
+package com.example.eventwave.utils;
+
+import org.junit.Test;
+
+import java.util.List;
+
+import static org.junit.Assert.*;
+
+public class TextNormalizerTest {
+
+    @Test
+    public void foldsAccentsAndCase() {
+        assertEquals("theatre", TextNormalizer.fold("Théâtre"));
+        assertEquals("oeuvre", TextNormalizer.fold("Œuvre"));
+        assertEquals(List.of("fete", "de", "la", "musique"), TextNormalizer.tokens("Fête de la Musique !"));
+    }
+}
@@ -0,0 +1,133 @@
+package com.example.eventwave.viewmodel;
+
+import com.example.eventwave.model.Event;
+import com.example.eventwave.model.HistoryEntry;
+
+import org.junit.After;
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.Assert.*;
+
+public class HistoryCacheTest {
+    private final ScheduledExecutorService scheduler = Executors.newSingleThreadScheduledExecutor();
+    private final List<List<HistoryEntry>> batches = new ArrayList<>();
+    private final List<Runnable> confirmations = new ArrayList<>();
+
+    @After
+    public void tearDown() {
+        scheduler.shutdownNow();
+    }
+
+    @Test
+    public void revisitingMovesTheEntryInsteadOfDuplicatingIt() {
+        HistoryCache cache = cache(10);
+        Event a = event("a");
+        cache.record(a, 1);
+        cache.record(event("b"), 2);
+        // Copie devenue favorite : même identifiant, donc même entrée
+        Event favoriteCopy = event("a");
+        favoriteCopy.setFavorite(true);
+        cache.record(favoriteCopy, 3);
+
+        assertEquals(List.of("a", "b"), ids(cache.snapshot()));
+        assertTrue(cache.snapshot().get(0).isFavorite());
+    }
+
+    @Test
+    public void evictsTheLeastRecentlyViewed() {
+        HistoryCache cache = cache(2);
+        cache.record(event("a"), 1);
+        cache.record(event("b"), 2);
+        cache.record(event("a"), 3);
+        cache.record(event("c"), 4);
+
+        assertEquals(List.of("c", "a"), ids(cache.snapshot()));
+    }
+
+    @Test
+    public void burstIsWrittenAsOneBatchOnFlush() {
+        HistoryCache cache = cache(10);
+        cache.record(event("a"), 1);
+        cache.record(event("b"), 2);
+        cache.record(event("a"), 3);
+
+        assertTrue(batches.isEmpty());
+        cache.flush();
+        cache.flush();
+
+        assertEquals(1, batches.size());
+        // Une ligne par événement, dans l'ordre des dernières consultations
+        assertEquals(List.of("b", "a"), entryIds(batches.get(0)));
+        assertEquals(3, batches.get(0).get(1).viewedAt);
+    }
+
+    @Test
+    public void unconfirmedViewsSurviveAReloadFromTheDatabase() {
+        HistoryCache cache = cache(10);
+        cache.record(event("a"), 1);
+        cache.flush();
+
+        // Liste relue avant la fin de l'écriture : la consultation reste affichée
+        cache.reset(List.of(event("old")));
+        assertEquals(List.of("a", "old"), ids(cache.snapshot()));
+
+        confirmations.get(0).run();
+        cache.reset(List.of(event("old")));
+        assertEquals(List.of("old"), ids(cache.snapshot()));
+    }
+
+    @Test
+    public void flushIsScheduledAfterTheDelay() throws InterruptedException {
+        CountDownLatch written = new CountDownLatch(1);
+        HistoryCache cache = new HistoryCache(10, scheduler, 10, (batch, onWritten) -> written.countDown());
+        cache.record(event("a"), 1);
+
+        assertTrue(written.await(2, TimeUnit.SECONDS));
+    }
+
+    @Test
+    public void clearDropsPendingViews() {
+        HistoryCache cache = cache(10);
+        cache.record(event("a"), 1);
+        cache.clear();
+        cache.flush();
+
+        assertTrue(cache.snapshot().isEmpty());
+        assertTrue(batches.isEmpty());
+    }
+
+    private HistoryCache cache(int capacity) {
+        // Délai long : seules les écritures explicites sont observées
+        return new HistoryCache(capacity, scheduler, TimeUnit.HOURS.toMillis(1), (batch, onWritten) -> {
+            batches.add(batch);
+            confirmations.add(onWritten);
+        });
+    }
+
+    private static List<String> ids(List<Event> events) {
+        List<String> ids = new ArrayList<>();
+        for (Event event : events) {
+            ids.add(event.getId());
+        }
+        return ids;
+    }
+
+    private static List<String> entryIds(List<HistoryEntry> entries) {
+        List<String> ids = new ArrayList<>();
+        for (HistoryEntry entry : entries) {
+            ids.add(entry.eventId);
+        }
+        return ids;
+    }
+
+    private static Event event(String id) {
+        return new Event(id, "Titre " + id, "", "", "Musique", "Lieu", 48.85, 2.35, 1_900_000_000_000L, false);
+    }
+}
@@ -0,0 +1,131 @@
+package com.example.eventwave.benchmark;
+
+import com.example.eventwave.model.Event;
+import com.example.eventwave.utils.GeoKernel;
+import com.example.eventwave.utils.GeoUtils;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+
+/**
+ * Filtrage par distance de EventMonitoringService (GeoKernel.nearestEvents) : rayon par défaut de
+ * l'écran d'accueil (5 km) et rayon maximal des réglages (50 km), qui garde presque tout.
+ * L'ancienne version par flux sert de référence au calcul en lot de GeoKernel.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class DistanceFilterBenchmark {
+    @Param({"100", "1000", "10000", "100000"})
+    public int eventCount;
+
+    @Param({"5", "50"})
+    public double radiusKm;
+
+    private List<Event> events;
+    private double[] latitudes;
+    private double[] longitudes;
+    private double[] cosLatitudes;
+    private int[] indices;
+    private double[] distances;
+
+    @Setup
+    public void setUp() {
+        events = SyntheticEvents.events(eventCount);
+        latitudes = new double[eventCount];
+        longitudes = new double[eventCount];
+        for (int i = 0; i < eventCount; i++) {
+            latitudes[i] = events.get(i).getLatitude();
+            longitudes[i] = events.get(i).getLongitude();
+        }
+        cosLatitudes = GeoKernel.cosLatitudes(latitudes, eventCount);
+        indices = new int[eventCount];
+        distances = new double[eventCount];
+    }
+
+    @Benchmark
+    public List<Event> viewModelStream() {
+        return LegacyDistanceFilter.filter(events, SyntheticEvents.PARIS_LATITUDE,
+                SyntheticEvents.PARIS_LONGITUDE, radiusKm);
+    }
+
+    /**
+     * Ce que fait EventMonitoringService : colonnes extraites à chaque appel, tri complet
+     */
+    @Benchmark
+    public List<Event> kernelEvents() {
+        return GeoKernel.nearestEvents(events, SyntheticEvents.PARIS_LATITUDE, SyntheticEvents.PARIS_LONGITUDE,
+                radiusKm, eventCount);
+    }
+
+    /**
+     * Colonnes et cos(latitude) déjà disponibles : le noyau seul, sans aucune allocation
+     */
+    @Benchmark
+    public int kernelColumns() {
+        return GeoKernel.nearest(latitudes, longitudes, cosLatitudes, eventCount, SyntheticEvents.PARIS_LATITUDE,
+                SyntheticEvents.PARIS_LONGITUDE, radiusKm, eventCount, indices, distances);
+    }
+
+    /**
+     * Les 20 plus proches seulement (une page de liste) : tas borné au lieu du tri complet
+     */
+    @Benchmark
+    public int kernelTop20() {
+        return GeoKernel.nearest(latitudes, longitudes, cosLatitudes, eventCount, SyntheticEvents.PARIS_LATITUDE,
+                SyntheticEvents.PARIS_LONGITUDE, radiusKm, 20, indices, distances);
+    }
+
+    /**
+     * Transcription de l'ancien EventViewModel.filterEventsByDistance, android.location.Location
+     * n'existant pas sur la JVM : un point alloué par événement comme le new Location(""),
+     * la distance de GeoUtils à la place de distanceTo, le même flux et le même tri
+     */
+    static final class LegacyDistanceFilter {
+        private LegacyDistanceFilter() {
+        }
+
+        static List<Event> filter(List<Event> events, double latitude, double longitude, double maxRadius) {
+            Point userLocation = new Point(latitude, longitude);
+            return events.stream()
+                    .filter(event -> {
+                        Point eventLocation = new Point(event.getLatitude(), event.getLongitude());
+                        double distance = userLocation.distanceTo(eventLocation);
+                        event.setDistance(distance);
+                        return distance <= maxRadius;
+                    })
+                    .sorted((e1, e2) -> Double.compare(e1.getDistance(), e2.getDistance()))
+                    .collect(Collectors.toList());
+        }
+
+        private static final class Point {
+            final double latitude;
+            final double longitude;
+
+            Point(double latitude, double longitude) {
+                this.latitude = latitude;
+                this.longitude = longitude;
+            }
+
+            double distanceTo(Point other) {
+                return GeoUtils.distanceKm(latitude, longitude, other.latitude, other.longitude);
+            }
+        }
+    }
+}
@@ -0,0 +1,78 @@
+package com.example.eventwave.benchmark;
+
+import com.example.eventwave.model.Event;
+import com.example.eventwave.model.EventCategory;
+import com.example.eventwave.utils.EventColumns;
+import com.example.eventwave.utils.GeoKernel;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.ArrayList;
+import java.util.BitSet;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Requête de proximité typique (catégorie, favoris, 20 plus proches dans 10 km) sur la liste
+ * d'Event et sur l'instantané en colonnes, plus le coût de construction de l'instantané,
+ * payé une fois par résultat Room.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class EventColumnsBenchmark {
+    private static final double RADIUS_KM = 10;
+    private static final int VISIBLE_ROWS = 20;
+
+    @Param({"1000", "10000", "100000"})
+    public int eventCount;
+
+    @Param({"false", "true"})
+    public boolean favoritesOnly;
+
+    private List<Event> events;
+    private EventColumns columns;
+
+    @Setup
+    public void setUp() {
+        events = SyntheticEvents.events(eventCount);
+        columns = EventColumns.of(events);
+    }
+
+    @Benchmark
+    public EventColumns build() {
+        return EventColumns.of(events);
+    }
+
+    @Benchmark
+    public List<Event> listQuery() {
+        List<Event> candidates = new ArrayList<>();
+        for (Event event : events) {
+            if (event.getCategoryCode() == EventCategory.MUSIC.getCode() && (!favoritesOnly || event.isFavorite())) {
+                candidates.add(event);
+            }
+        }
+        return GeoKernel.nearestEvents(candidates, SyntheticEvents.PARIS_LATITUDE, SyntheticEvents.PARIS_LONGITUDE,
+                RADIUS_KM, VISIBLE_ROWS);
+    }
+
+    @Benchmark
+    public List<Event> columnsQuery() {
+        BitSet rows = columns.select(EventCategory.MUSIC, favoritesOnly);
+        return columns.nearest(rows, SyntheticEvents.PARIS_LATITUDE, SyntheticEvents.PARIS_LONGITUDE,
+                RADIUS_KM, VISIBLE_ROWS);
+    }
+}
@@ -0,0 +1,112 @@
+package com.example.eventwave.benchmark;
+
+import com.example.eventwave.model.Event;
+import com.example.eventwave.repository.EventDeduplicator;
+import com.example.eventwave.utils.GeoUtils;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Déduplication entre sources d'une synchronisation complète, un doublon OpenAgenda pour
+ * quatre événements. Le temps par opération de blocked doit croître à peu près comme le
+ * nombre d'événements (50 fois plus long pour 50 fois plus d'événements) ; la comparaison
+ * de toutes les paires, limitée à 5 000 événements, sert de référence quadratique.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class EventDedupBenchmark {
+
+    @State(Scope.Benchmark)
+    public static class Blocked {
+        @Param({"1000", "10000", "50000"})
+        public int eventCount;
+
+        List<Event> events;
+
+        @Setup
+        public void setUp() {
+            events = SyntheticEvents.crossProviderEvents(eventCount);
+        }
+    }
+
+    @State(Scope.Benchmark)
+    public static class Pairwise {
+        @Param({"1000", "5000"})
+        public int eventCount;
+
+        List<Event> events;
+
+        @Setup
+        public void setUp() {
+            events = SyntheticEvents.crossProviderEvents(eventCount);
+        }
+    }
+
+    /**
+     * Ce que fait EventRepository.refreshEvents : blocs par cellule et par heure
+     */
+    @Benchmark
+    public int blocked(Blocked state) {
+        return new EventDeduplicator(Collections.emptyMap()).filter(state.events).size();
+    }
+
+    @Benchmark
+    public int pairwise(Pairwise state) {
+        return PairwiseDedup.filter(state.events).size();
+    }
+
+    /**
+     * Chaque événement comparé à tous ceux déjà conservés, avec les mêmes seuils ;
+     * les critères les moins coûteux (source, horaire, distance) sont testés en premier
+     */
+    static final class PairwiseDedup {
+        private PairwiseDedup() {
+        }
+
+        static List<Event> filter(List<Event> events) {
+            List<Event> kept = new ArrayList<>();
+            for (Event event : events) {
+                if (!hasDuplicate(kept, event)) {
+                    kept.add(event);
+                }
+            }
+            return kept;
+        }
+
+        private static boolean hasDuplicate(List<Event> kept, Event event) {
+            boolean alias = event.getId().startsWith("openagenda:");
+            for (Event other : kept) {
+                if (other.getId().startsWith("openagenda:") == alias
+                        || Math.abs(other.getStartDate() - event.getStartDate()) > TimeUnit.HOURS.toMillis(1)
+                        || GeoUtils.distanceKm(other.getLatitude(), other.getLongitude(),
+                                event.getLatitude(), event.getLongitude()) > 0.5) {
+                    continue;
+                }
+                double title = EventDeduplicator.similarity(other.getTitle(), event.getTitle());
+                if (title >= 0.8 || (title >= 0.5
+                        && EventDeduplicator.similarity(other.getVenueName(), event.getVenueName()) >= 0.5)) {
+                    return true;
+                }
+            }
+            return false;
+        }
+    }
+}
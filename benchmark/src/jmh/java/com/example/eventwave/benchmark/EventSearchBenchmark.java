@@ -0,0 +1,184 @@
+package com.example.eventwave.benchmark;
+
+import com.example.eventwave.model.Event;
+import com.example.eventwave.model.FtsMatch;
+import com.example.eventwave.utils.FtsQuery;
+import com.example.eventwave.utils.FtsRanking;
+import com.example.eventwave.utils.TextNormalizer;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Partie Java de la recherche qui remplace EventAdapter.applyFilters : expression MATCH
+ * construite à chaque saisie, classement BM25 des correspondances (une fois par requête)
+ * et surlignage d'une page de résultats. Le MATCH lui-même est exécuté par SQLite et
+ * mesuré sur appareil (SearchTypingBenchmarkTest) ; ici, matchinfo et offsets sont
+ * recalculés à partir des événements synthétiques, au format de events_fts.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class EventSearchBenchmark {
+    // Colonnes de events_fts, dans l'ordre de FtsRanking
+    private static final int COLUMNS = 4;
+    private static final int PAGE_SIZE = 30;
+
+    @Param({"100", "1000", "10000", "100000"})
+    public int eventCount;
+
+    // Mot entier, préfixe court et deux mots
+    @Param({"jazz", "co", "concert paris"})
+    public String text;
+
+    private List<FtsMatch> matches;
+    private List<Event> page;
+    private List<String> pageOffsets;
+
+    @Setup
+    public void setUp() {
+        List<Event> events = SyntheticEvents.events(eventCount);
+        List<String> prefixes = TextNormalizer.tokens(text);
+        int phrases = prefixes.size();
+
+        // Statistiques globales de matchinfo : longueur moyenne par colonne, occurrences et lignes par phrase
+        int[][][] rowHits = new int[events.size()][][];
+        int[][] rowLengths = new int[events.size()][COLUMNS];
+        long[] totalLength = new long[COLUMNS];
+        int[][] allHits = new int[phrases][COLUMNS];
+        int[][] rowsWithHit = new int[phrases][COLUMNS];
+        for (int r = 0; r < events.size(); r++) {
+            String[] columns = columns(events.get(r));
+            rowHits[r] = new int[phrases][COLUMNS];
+            for (int c = 0; c < COLUMNS; c++) {
+                List<String> tokens = TextNormalizer.tokens(columns[c]);
+                rowLengths[r][c] = tokens.size();
+                totalLength[c] += tokens.size();
+                for (int p = 0; p < phrases; p++) {
+                    for (String token : tokens) {
+                        if (token.startsWith(prefixes.get(p))) {
+                            rowHits[r][p][c]++;
+                        }
+                    }
+                    allHits[p][c] += rowHits[r][p][c];
+                    if (rowHits[r][p][c] > 0) {
+                        rowsWithHit[p][c]++;
+                    }
+                }
+            }
+        }
+
+        matches = new ArrayList<>();
+        page = new ArrayList<>();
+        pageOffsets = new ArrayList<>();
+        for (int r = 0; r < events.size(); r++) {
+            if (!matchesAll(rowHits[r])) {
+                continue;
+            }
+            // 'pcnalx' : p, c, n, a[c], l[c], puis (ligne, total, lignes) par phrase et colonne
+            ByteBuffer blob = ByteBuffer.allocate(4 * (3 + 2 * COLUMNS + 3 * phrases * COLUMNS))
+                    .order(ByteOrder.nativeOrder());
+            blob.putInt(phrases).putInt(COLUMNS).putInt(events.size());
+            for (int c = 0; c < COLUMNS; c++) {
+                blob.putInt((int) (totalLength[c] / Math.max(1, events.size())));
+            }
+            for (int c = 0; c < COLUMNS; c++) {
+                blob.putInt(rowLengths[r][c]);
+            }
+            for (int p = 0; p < phrases; p++) {
+                for (int c = 0; c < COLUMNS; c++) {
+                    blob.putInt(rowHits[r][p][c]).putInt(allHits[p][c]).putInt(rowsWithHit[p][c]);
+                }
+            }
+            matches.add(new FtsMatch(r + 1, blob.array()));
+            if (page.size() < PAGE_SIZE) {
+                page.add(events.get(r));
+                pageOffsets.add(offsets(columns(events.get(r)), prefixes));
+            }
+        }
+    }
+
+    @Benchmark
+    public String buildQuery() {
+        return FtsQuery.build(text);
+    }
+
+    @Benchmark
+    public long[] rank() {
+        return FtsRanking.rank(matches);
+    }
+
+    @Benchmark
+    public void highlightPage(Blackhole blackhole) {
+        for (int i = 0; i < page.size(); i++) {
+            Event event = page.get(i);
+            String offsets = pageOffsets.get(i);
+            blackhole.consume(FtsRanking.highlights(offsets, FtsRanking.COLUMN_TITLE, event.getTitle()));
+            blackhole.consume(FtsRanking.highlights(offsets, FtsRanking.COLUMN_DESCRIPTION, event.getDescription()));
+        }
+    }
+
+    private static String[] columns(Event event) {
+        return new String[]{event.getTitle(), event.getDescription(), event.getVenueName(), event.getCategory()};
+    }
+
+    /**
+     * Requête FTS sans opérateur : chaque phrase doit apparaître dans au moins une colonne
+     */
+    private static boolean matchesAll(int[][] hits) {
+        for (int[] byColumn : hits) {
+            int total = 0;
+            for (int count : byColumn) {
+                total += count;
+            }
+            if (total == 0) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Quadruplets de offsets() : colonne, phrase, position et taille en octets UTF-8
+     */
+    private static String offsets(String[] columns, List<String> prefixes) {
+        StringBuilder offsets = new StringBuilder();
+        for (int c = 0; c < columns.length; c++) {
+            String column = columns[c];
+            int start = 0;
+            for (String word : column.split(" ")) {
+                String folded = TextNormalizer.fold(word);
+                for (int p = 0; p < prefixes.size(); p++) {
+                    if (folded.startsWith(prefixes.get(p))) {
+                        offsets.append(c).append(' ').append(p).append(' ')
+                                .append(column.substring(0, start).getBytes(StandardCharsets.UTF_8).length).append(' ')
+                                .append(word.getBytes(StandardCharsets.UTF_8).length).append(' ');
+                        break;
+                    }
+                }
+                start += word.length() + 1;
+            }
+        }
+        return offsets.toString();
+    }
+}
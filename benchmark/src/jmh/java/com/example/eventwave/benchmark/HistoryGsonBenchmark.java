@@ -0,0 +1,61 @@
+package com.example.eventwave.benchmark;
+
+import com.example.eventwave.model.Event;
+import com.google.gson.Gson;
+import com.google.gson.reflect.TypeToken;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.lang.reflect.Type;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Ancien stockage de l'historique, en JSON dans les SharedPreferences : relu en entier à chaque
+ * affichage, réécrit en entier à chaque consultation. Remplacé par la table Room history (une ligne
+ * écrite par consultation) ; conservé comme point de comparaison et pour la reprise au premier lancement.
+ * 50 était la limite de l'historique, les autres tailles montrent la pente.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class HistoryGsonBenchmark {
+    private static final Type HISTORY_TYPE = new TypeToken<List<Event>>(){}.getType();
+
+    @Param({"50", "100", "1000", "10000"})
+    public int historySize;
+
+    // Une instance, comme le champ gson du dépôt : les adaptateurs réflexifs restent en cache
+    private final Gson gson = new Gson();
+    private List<Event> history;
+    private String json;
+
+    @Setup
+    public void setUp() {
+        history = SyntheticEvents.events(historySize);
+        json = gson.toJson(history);
+    }
+
+    @Benchmark
+    public String save() {
+        return gson.toJson(history);
+    }
+
+    @Benchmark
+    public List<Event> load() {
+        return gson.fromJson(json, HISTORY_TYPE);
+    }
+}
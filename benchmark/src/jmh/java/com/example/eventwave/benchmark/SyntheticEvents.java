@@ -0,0 +1,155 @@
+package com.example.eventwave.benchmark;
+
+import com.example.eventwave.model.Event;
+import com.example.eventwave.model.TicketmasterEvent;
+import com.example.eventwave.utils.TextNormalizer;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.Random;
+
+/**
+ * Jeux de données synthétiques reproductibles (graine fixe) pour les benchmarks :
+ * événements répartis autour de Paris, vocabulaire et catégories proches des données réelles.
+ */
+final class SyntheticEvents {
+    static final double PARIS_LATITUDE = 48.8566;
+    static final double PARIS_LONGITUDE = 2.3522;
+    // Segments Ticketmaster tels que renvoyés par l'API, avant mapCategory
+    static final String[] SEGMENTS = {"Music", "Sports", "Arts & Theatre", "Family", "Miscellaneous", "Film"};
+    static final String[] CATEGORIES = {"Musique", "Sport", "Théâtre", "Famille", "Événement"};
+
+    private static final long SEED = 20240611L;
+    private static final String[] TITLE_WORDS = {"Concert", "Festival", "Jazz", "Orchestre", "Nuit", "Électro",
+            "Match", "Tournoi", "Opéra", "Comédie", "Ballet", "Cirque", "Salon", "Exposition", "Rock", "Symphonique",
+            "Printemps", "Été", "Rencontres", "Grand", "National", "Live", "Acoustique", "Théâtre"};
+    private static final String[] VENUES = {"Philharmonie de Paris", "Accor Arena", "Parc des Princes", "Olympia",
+            "Zénith Paris", "La Cigale", "Stade de France", "Théâtre du Châtelet", "Le Bataclan", "La Seine Musicale"};
+    private static final String[] CITIES = {"Paris", "Saint-Denis", "Boulogne-Billancourt", "Nanterre", "Montreuil"};
+    private static final long START_2030 = 1_893_456_000_000L;
+
+    private SyntheticEvents() {
+    }
+
+    /**
+     * count événements dans un rayon d'environ 50 km autour de Paris
+     */
+    static List<Event> events(int count) {
+        Random random = new Random(SEED);
+        List<Event> events = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            String city = pick(random, CITIES);
+            String category = pick(random, CATEGORIES);
+            events.add(new Event(
+                    "evt-" + i,
+                    title(random),
+                    "Événement " + category + " à " + city,
+                    "https://s1.ticketm.net/dam/a/" + i + "_RETINA_PORTRAIT_16_9.jpg",
+                    category,
+                    pick(random, VENUES) + ", " + city,
+                    PARIS_LATITUDE + (random.nextDouble() - 0.5) * 0.9,
+                    PARIS_LONGITUDE + (random.nextDouble() - 0.5) * 1.4,
+                    START_2030 + random.nextInt(365 * 24) * 3_600_000L,
+                    random.nextInt(10) == 0));
+        }
+        return events;
+    }
+
+    /**
+     * count événements tels que reçus de plusieurs sources : ceux de {@link #events(int)}, puis
+     * un sur quatre à nouveau sous un identifiant OpenAgenda, libellés en majuscules sans
+     * accents, position décalée d'une centaine de mètres et horaire d'au plus 30 minutes
+     */
+    static List<Event> crossProviderEvents(int count) {
+        int originals = count * 4 / 5;
+        List<Event> events = events(originals);
+        Random random = new Random(SEED + 1);
+        for (int i = 0; events.size() < count; i = (i + 4) % originals) {
+            Event original = events.get(i);
+            events.add(new Event(
+                    "openagenda:" + events.size(),
+                    TextNormalizer.fold(original.getTitle()).toUpperCase(Locale.ROOT),
+                    original.getDescription(),
+                    null,
+                    original.getCategory(),
+                    TextNormalizer.fold(original.getVenueName()).toUpperCase(Locale.ROOT),
+                    original.getLatitude() + (random.nextDouble() - 0.5) * 0.002,
+                    original.getLongitude() + (random.nextDouble() - 0.5) * 0.002,
+                    original.getStartDate() + (random.nextInt(61) - 30) * 60_000L,
+                    false));
+        }
+        return events;
+    }
+
+    /**
+     * Modèle Gson complet tel que construit par GsonConverterFactory : dix images par
+     * événement comme dans la Discovery API, la première assez grande à une position variable
+     */
+    static List<TicketmasterEvent> ticketmasterEvents(int count) {
+        Random random = new Random(SEED);
+        List<TicketmasterEvent> events = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            TicketmasterEvent event = new TicketmasterEvent();
+            event.id = "Z698xZ" + Integer.toString(i, 36);
+            event.name = title(random);
+            event.images = images(random, i);
+
+            event.dates = new TicketmasterEvent.Dates();
+            event.dates.start = new TicketmasterEvent.Dates.Start();
+            event.dates.start.dateTime = String.format(Locale.ROOT, "2030-%02d-%02dT%02d:%02d:00Z",
+                    1 + random.nextInt(12), 1 + random.nextInt(28), random.nextInt(24), 15 * random.nextInt(4));
+
+            TicketmasterEvent.Classification classification = new TicketmasterEvent.Classification();
+            classification.segment = new TicketmasterEvent.Classification.Segment();
+            classification.segment.name = pick(random, SEGMENTS);
+            event.classifications = List.of(classification);
+
+            TicketmasterEvent.Embedded.Venue venue = new TicketmasterEvent.Embedded.Venue();
+            venue.name = pick(random, VENUES);
+            venue.city = new TicketmasterEvent.Embedded.Venue.City();
+            venue.city.name = pick(random, CITIES);
+            venue.location = new TicketmasterEvent.Embedded.Venue.Location();
+            venue.location.latitude = Double.toString(PARIS_LATITUDE + (random.nextDouble() - 0.5) * 0.9);
+            venue.location.longitude = Double.toString(PARIS_LONGITUDE + (random.nextDouble() - 0.5) * 1.4);
+            event.embedded = new TicketmasterEvent.Embedded();
+            event.embedded.venues = List.of(venue);
+            events.add(event);
+        }
+        return events;
+    }
+
+    /**
+     * count segments bruts tirés parmi ceux de l'API
+     */
+    static String[] segments(int count) {
+        Random random = new Random(SEED);
+        String[] segments = new String[count];
+        for (int i = 0; i < count; i++) {
+            segments[i] = pick(random, SEGMENTS);
+        }
+        return segments;
+    }
+
+    private static List<TicketmasterEvent.Image> images(Random random, int index) {
+        int large = random.nextInt(10);
+        List<TicketmasterEvent.Image> images = new ArrayList<>(10);
+        for (int i = 0; i < 10; i++) {
+            TicketmasterEvent.Image image = new TicketmasterEvent.Image();
+            image.ratio = "16_9";
+            image.url = "https://s1.ticketm.net/dam/a/" + index + "_" + i + ".jpg";
+            image.width = i == large ? 1024 : 305;
+            image.height = i == large ? 576 : 172;
+            images.add(image);
+        }
+        return images;
+    }
+
+    private static String title(Random random) {
+        return pick(random, TITLE_WORDS) + " " + pick(random, TITLE_WORDS) + " " + (2020 + random.nextInt(11));
+    }
+
+    private static String pick(Random random, String[] values) {
+        return values[random.nextInt(values.length)];
+    }
+}
@@ -0,0 +1,77 @@
+package com.example.eventwave.benchmark;
+
+import com.example.eventwave.api.TicketmasterEventMapper;
+import com.example.eventwave.model.Event;
+import com.example.eventwave.model.TicketmasterEvent;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Conversion du modèle Gson complet en Event (ancien TicketmasterService.convertToEvents,
+ * désormais TicketmasterEventMapper), mapCategory et les accesseurs de TicketmasterEvent
+ * qu'elle appelle pour chaque événement.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class TicketmasterConversionBenchmark {
+    @Param({"100", "1000", "10000", "100000"})
+    public int eventCount;
+
+    private List<TicketmasterEvent> tmEvents;
+    private String[] segments;
+
+    @Setup
+    public void setUp() {
+        tmEvents = SyntheticEvents.ticketmasterEvents(eventCount);
+        segments = SyntheticEvents.segments(eventCount);
+    }
+
+    @Benchmark
+    public List<Event> toEvents() {
+        List<Event> events = new ArrayList<>(tmEvents.size());
+        for (TicketmasterEvent tmEvent : tmEvents) {
+            events.add(TicketmasterEventMapper.toEvent(tmEvent));
+        }
+        return events;
+    }
+
+    @Benchmark
+    public void mapCategory(Blackhole blackhole) {
+        for (String segment : segments) {
+            blackhole.consume(TicketmasterEventMapper.mapCategory(segment));
+        }
+    }
+
+    @Benchmark
+    public void imageUrl(Blackhole blackhole) {
+        for (TicketmasterEvent tmEvent : tmEvents) {
+            blackhole.consume(tmEvent.getImageUrl());
+        }
+    }
+
+    @Benchmark
+    public void startDateMillis(Blackhole blackhole) {
+        for (TicketmasterEvent tmEvent : tmEvents) {
+            blackhole.consume(tmEvent.getStartDateMillis());
+        }
+    }
+}
@@ -0,0 +1,118 @@
+package com.example.eventwave.benchmark;
+
+import com.example.eventwave.api.TicketmasterEventMapper;
+import com.example.eventwave.api.TicketmasterPageParser;
+import com.example.eventwave.model.Event;
+import com.example.eventwave.model.TicketmasterEvent;
+import com.example.eventwave.model.TicketmasterPage;
+import com.example.eventwave.model.TicketmasterResponse;
+import com.google.gson.Gson;
+import com.google.gson.JsonArray;
+import com.google.gson.JsonObject;
+import com.google.gson.JsonParser;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.io.Reader;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Décodage d'une page de la Discovery API : analyse en flux vers Event contre
+ * GsonConverterFactory + conversion depuis TicketmasterEvent (chemin précédent).
+ * Avec -prof gc (activé par défaut), gc.alloc.rate.norm donne les octets alloués par page.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class TicketmasterDecodeBenchmark {
+    // Taille par défaut et taille de page utilisée par la pagination
+    @Param({"20", "100"})
+    public int eventsPerPage;
+
+    private final Gson gson = new Gson();
+    private byte[] payload;
+
+    @Setup
+    public void setUp() throws IOException {
+        payload = RecordedPayloads.discoveryPage(eventsPerPage);
+    }
+
+    @Benchmark
+    public TicketmasterPage streaming() throws IOException {
+        return TicketmasterPageParser.parse(reader());
+    }
+
+    @Benchmark
+    public List<Event> reflective() {
+        TicketmasterResponse response = gson.fromJson(reader(), TicketmasterResponse.class);
+        List<Event> events = new ArrayList<>();
+        for (TicketmasterEvent tmEvent : response.getEvents()) {
+            events.add(TicketmasterEventMapper.toEvent(tmEvent));
+        }
+        return events;
+    }
+
+    /**
+     * Comme ResponseBody.charStream() : décodage UTF-8 compris dans la mesure
+     */
+    private Reader reader() {
+        return new InputStreamReader(new ByteArrayInputStream(payload), StandardCharsets.UTF_8);
+    }
+
+    /**
+     * Pages construites à partir de la réponse enregistrée partagée avec les tests de :app
+     */
+    static final class RecordedPayloads {
+        private static final String FIXTURE = "/ticketmaster/events_page.json";
+
+        private RecordedPayloads() {
+        }
+
+        /**
+         * Page de count événements : ceux de la réponse enregistrée répétés avec des identifiants distincts
+         */
+        static byte[] discoveryPage(int count) throws IOException {
+            JsonObject recorded = JsonParser.parseString(fixture()).getAsJsonObject();
+            JsonArray templates = recorded.getAsJsonObject("_embedded").getAsJsonArray("events");
+            JsonArray events = new JsonArray();
+            for (int i = 0; i < count; i++) {
+                JsonObject event = templates.get(i % templates.size()).getAsJsonObject().deepCopy();
+                event.addProperty("id", event.get("id").getAsString() + "-" + i);
+                events.add(event);
+            }
+            recorded.getAsJsonObject("_embedded").add("events", events);
+            JsonObject page = recorded.getAsJsonObject("page");
+            page.addProperty("size", count);
+            return recorded.toString().getBytes(StandardCharsets.UTF_8);
+        }
+
+        private static String fixture() throws IOException {
+            try (InputStream in = RecordedPayloads.class.getResourceAsStream(FIXTURE)) {
+                if (in == null) {
+                    throw new IOException("Réponse enregistrée introuvable : " + FIXTURE);
+                }
+                return new String(in.readAllBytes(), StandardCharsets.UTF_8);
+            }
+        }
+    }
+}